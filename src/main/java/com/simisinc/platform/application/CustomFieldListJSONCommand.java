@@ -121,6 +121,21 @@ public class CustomFieldListJSONCommand {
     return "[" + sb.toString() + "]";
   }
 
+  /**
+   * Defers decoding until the fields are first used; rows which share a schema key (like the items of a
+   * collection) share the names, labels and options of the fields and only keep their own values
+   *
+   * @param jsonValue the stored field values
+   * @param schemaKey the collection id the record belongs to, or -1
+   * @return the fields, or null when there are none
+   */
+  public static Map<String, CustomField> lazyFromJSONString(String jsonValue, long schemaKey) {
+    if (StringUtils.isBlank(jsonValue)) {
+      return null;
+    }
+    return new CustomFieldMap(jsonValue, schemaKey);
+  }
+
   public static Map<String, CustomField> populateFromJSONString(String jsonValue) throws SQLException {
     // Convert JSON string back into values
     if (StringUtils.isBlank(jsonValue)) {
@@ -156,17 +171,7 @@ public class CustomFieldListJSONCommand {
         }
         if (node.has("list")) {
           // Break into values
-          Map<String, String> optionsMap = new LinkedHashMap<>();
-          String[] listOfOptions = node.get("list").asText().split(",");
-          for (String option : listOfOptions) {
-            if (option.contains("=")) {
-              String[] thisOption = option.split("=");
-              optionsMap.put(FormFieldCommand.generateHtmlName(thisOption[0].trim(), null), thisOption[1].trim());
-              continue;
-            }
-            optionsMap.put(FormFieldCommand.generateHtmlName(option.trim(), null), option.trim());
-          }
-          customField.setListOfOptions(optionsMap);
+          customField.setListOfOptions(parseListOfOptions(node.get("list").asText()));
         }
         customFieldList.put(customField.getName(), customField);
       }
@@ -176,4 +181,19 @@ public class CustomFieldListJSONCommand {
       throw new SQLException("Could not convert from JSON", e.getMessage());
     }
   }
+
+  /** Splits a list of options like "a,b=B" into html names and values */
+  static Map<String, String> parseListOfOptions(String list) {
+    Map<String, String> optionsMap = new LinkedHashMap<>();
+    String[] listOfOptions = list.split(",");
+    for (String option : listOfOptions) {
+      if (option.contains("=")) {
+        String[] thisOption = option.split("=");
+        optionsMap.put(FormFieldCommand.generateHtmlName(thisOption[0].trim(), null), thisOption[1].trim());
+        continue;
+      }
+      optionsMap.put(FormFieldCommand.generateHtmlName(option.trim(), null), option.trim());
+    }
+    return optionsMap;
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.domain.model.CustomField;
+
+/**
+ * A record's custom fields, decoded from JSON when first used; the values are kept in an array indexed
+ * by the schema and a CustomField is only created for the fields which are read
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 3:00 PM
+ */
+final class CustomFieldMap extends AbstractMap<String, CustomField> implements Serializable {
+
+  private static final long serialVersionUID = -3129004583640278314L;
+  private static Log LOG = LogFactory.getLog(CustomFieldMap.class);
+
+  private final long schemaKey;
+  private transient String jsonValue;
+  private transient volatile boolean decoded = false;
+  private transient CustomFieldSchema schema = null;
+  private transient String[] values = null;
+  private transient CustomField[] fields = null;
+  // Used once the map is changed, or when the fields cannot use a schema
+  private transient Map<String, CustomField> map = null;
+
+  CustomFieldMap(String jsonValue, long schemaKey) {
+    this.jsonValue = jsonValue;
+    this.schemaKey = schemaKey;
+  }
+
+  private void decode() {
+    if (decoded) {
+      return;
+    }
+    synchronized (this) {
+      if (decoded) {
+        return;
+      }
+      try {
+        List<String[]> parsed = CustomFieldSchema.parse(jsonValue);
+        if (parsed == null) {
+          LOG.error("populateFromJSONString value is not an array");
+          map = new LinkedHashMap<>();
+        } else {
+          schema = CustomFieldSchema.forFields(schemaKey, parsed);
+          if (schema == null) {
+            map = CustomFieldSchema.toMap(parsed);
+          } else {
+            values = schema.values(parsed);
+            fields = new CustomField[values.length];
+          }
+        }
+      } catch (Exception e) {
+        LOG.error("Could not convert from JSON: " + e.getMessage());
+        schema = null;
+        map = new LinkedHashMap<>();
+      }
+      jsonValue = null;
+      decoded = true;
+    }
+  }
+
+  private synchronized CustomField field(int i) {
+    if (fields[i] == null) {
+      fields[i] = schema.createCustomField(i, values[i]);
+    }
+    return fields[i];
+  }
+
+  /** Changes are made to a regular map with the current fields */
+  private synchronized Map<String, CustomField> inflate() {
+    decode();
+    if (map == null) {
+      Map<String, CustomField> customFieldList = new LinkedHashMap<>();
+      for (int i = 0; i < values.length; i++) {
+        customFieldList.put(schema.getName(i), field(i));
+      }
+      // The arrays are kept for iterators which are already in use
+      map = customFieldList;
+    }
+    return map;
+  }
+
+  private synchronized Map<String, CustomField> currentMap() {
+    return map;
+  }
+
+  @Override
+  public int size() {
+    decode();
+    Map<String, CustomField> current = currentMap();
+    return current != null ? current.size() : values.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    decode();
+    Map<String, CustomField> current = currentMap();
+    return current != null ? current.containsKey(key) : schema.indexOf(key) > -1;
+  }
+
+  @Override
+  public CustomField get(Object key) {
+    decode();
+    synchronized (this) {
+      if (map != null) {
+        return map.get(key);
+      }
+      int i = schema.indexOf(key);
+      return i > -1 ? field(i) : null;
+    }
+  }
+
+  @Override
+  public CustomField put(String key, CustomField value) {
+    return inflate().put(key, value);
+  }
+
+  @Override
+  public CustomField remove(Object key) {
+    return inflate().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    inflate().clear();
+  }
+
+  @Override
+  public Set<Entry<String, CustomField>> entrySet() {
+    decode();
+    Map<String, CustomField> current = currentMap();
+    if (current != null) {
+      return current.entrySet();
+    }
+    return new AbstractSet<Entry<String, CustomField>>() {
+      @Override
+      public Iterator<Entry<String, CustomField>> iterator() {
+        return new Iterator<Entry<String, CustomField>>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < values.length;
+          }
+
+          @Override
+          public Entry<String, CustomField> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int i = next++;
+            return new SimpleImmutableEntry<>(schema.getName(i), field(i));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return values.length;
+      }
+    };
+  }
+
+  private Object writeReplace() {
+    return new LinkedHashMap<>(this);
+  }
+}
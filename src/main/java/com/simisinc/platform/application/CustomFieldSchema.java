@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.application.json.JsonCommand;
+import com.simisinc.platform.domain.model.CustomField;
+
+/**
+ * The compiled definition of a list of custom fields (names, labels, types and options); records with the
+ * same fields only need to keep an array of their values
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 3:00 PM
+ */
+final class CustomFieldSchema {
+
+  static final int NAME = 0;
+  static final int LABEL = 1;
+  static final int TYPE = 2;
+  static final int VALUE = 3;
+  static final int LIST = 4;
+
+  // The most recent schema for each collection
+  private static final Cache<Long, CustomFieldSchema> schemas = Caffeine.newBuilder().maximumSize(10_000).build();
+
+  private final String[] names;
+  private final String[] labels;
+  private final String[] types;
+  private final String[] lists;
+  private final List<Map<String, String>> options;
+  private final Map<String, Integer> index;
+
+  private CustomFieldSchema(List<String[]> fields) {
+    int size = fields.size();
+    names = new String[size];
+    labels = new String[size];
+    types = new String[size];
+    lists = new String[size];
+    options = new ArrayList<>(size);
+    index = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      String[] field = fields.get(i);
+      names[i] = field[NAME];
+      labels[i] = field[LABEL];
+      types[i] = field[TYPE];
+      lists[i] = field[LIST];
+      options.add(field[LIST] != null ? CustomFieldListJSONCommand.parseListOfOptions(field[LIST]) : null);
+      index.put(field[NAME], i);
+    }
+  }
+
+  /**
+   * Finds the schema for the fields, reusing the collection's schema when the definitions match
+   *
+   * @return the schema, or null when the fields cannot be indexed by name
+   */
+  static CustomFieldSchema forFields(long schemaKey, List<String[]> fields) {
+    if (schemaKey > 0) {
+      CustomFieldSchema schema = schemas.getIfPresent(schemaKey);
+      if (schema != null && schema.matches(fields)) {
+        return schema;
+      }
+    }
+    CustomFieldSchema schema = new CustomFieldSchema(fields);
+    if (schema.index.size() != fields.size()) {
+      // Duplicate names replace earlier values
+      return null;
+    }
+    if (schemaKey > 0) {
+      schemas.put(schemaKey, schema);
+    }
+    return schema;
+  }
+
+  boolean matches(List<String[]> fields) {
+    if (fields.size() != names.length) {
+      return false;
+    }
+    for (int i = 0; i < names.length; i++) {
+      String[] field = fields.get(i);
+      if (!Objects.equals(names[i], field[NAME]) || !Objects.equals(labels[i], field[LABEL])
+          || !Objects.equals(types[i], field[TYPE]) || !Objects.equals(lists[i], field[LIST])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  int indexOf(Object name) {
+    Integer i = index.get(name);
+    return i != null ? i : -1;
+  }
+
+  String getName(int i) {
+    return names[i];
+  }
+
+  String[] values(List<String[]> fields) {
+    String[] values = new String[fields.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = fields.get(i)[VALUE];
+    }
+    return values;
+  }
+
+  /** Creates the field, with its own copy of the options since callers may add to them */
+  CustomField createCustomField(int i, String value) {
+    CustomField customField = new CustomField();
+    customField.setName(names[i]);
+    customField.setLabel(labels[i]);
+    customField.setType(types[i]);
+    customField.setValue(value);
+    if (options.get(i) != null) {
+      customField.setListOfOptions(new LinkedHashMap<>(options.get(i)));
+    }
+    return customField;
+  }
+
+  /** Creates the fields without a schema, the same as decoding the JSON tree */
+  static Map<String, CustomField> toMap(List<String[]> fields) {
+    Map<String, CustomField> customFieldList = new LinkedHashMap<>();
+    for (String[] field : fields) {
+      CustomField customField = new CustomField();
+      customField.setName(field[NAME]);
+      customField.setLabel(field[LABEL]);
+      customField.setType(field[TYPE]);
+      customField.setValue(field[VALUE]);
+      if (field[LIST] != null) {
+        customField.setListOfOptions(CustomFieldListJSONCommand.parseListOfOptions(field[LIST]));
+      }
+      customFieldList.put(customField.getName(), customField);
+    }
+    return customFieldList;
+  }
+
+  /**
+   * Reads the field entries with a streaming parser, the values are read as text like JsonNode.asText()
+   *
+   * @return each field's name, label, type, value and list; or null when the JSON is not an array
+   */
+  static List<String[]> parse(String jsonValue) throws IOException {
+    try (JsonParser parser = JsonCommand.createParser(jsonValue)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        return null;
+      }
+      List<String[]> fields = new ArrayList<>();
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token == null) {
+          throw new IOException("Unexpected end of JSON");
+        }
+        String[] field = new String[5];
+        fields.add(field);
+        if (token != JsonToken.START_OBJECT) {
+          parser.skipChildren();
+          continue;
+        }
+        boolean hasLabel = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.currentName();
+          String text = readText(parser, parser.nextToken());
+          switch (name) {
+            case "name":
+              field[NAME] = text;
+              break;
+            case "label":
+              field[LABEL] = text;
+              hasLabel = true;
+              break;
+            case "type":
+              field[TYPE] = text;
+              break;
+            case "value":
+              field[VALUE] = text;
+              break;
+            case "list":
+              field[LIST] = text;
+              break;
+            default:
+              break;
+          }
+        }
+        if (!hasLabel) {
+          // Use the name if not found
+          field[LABEL] = field[NAME];
+        }
+      }
+      return fields;
+    }
+  }
+
+  private static String readText(JsonParser parser, JsonToken token) throws IOException {
+    if (token == null) {
+      throw new IOException("Unexpected end of JSON");
+    }
+    switch (token) {
+      case VALUE_STRING:
+      case VALUE_NUMBER_INT:
+        return parser.getText();
+      case VALUE_NUMBER_FLOAT:
+        return String.valueOf(parser.getDoubleValue());
+      case VALUE_TRUE:
+        return "true";
+      case VALUE_FALSE:
+        return "false";
+      case VALUE_NULL:
+        return "null";
+      default:
+        parser.skipChildren();
+        return "";
+    }
+  }
+}
@@ -16,7 +16,6 @@
 
 package com.simisinc.platform.application.admin;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,7 +26,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.SiteProperty;
-import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.SitePropertyCache;
 
 /**
  * Reads site properties, using a cache if possible
@@ -39,27 +38,20 @@ public class LoadSitePropertyCommand {
 
   private static Log LOG = LogFactory.getLog(LoadSitePropertyCommand.class);
 
+  /**
+   * @param prefix the property prefix, like "site"
+   * @return the prefix's properties as a read-only map, copy it to make changes
+   */
   public static Map<String, String> loadAsMap(String prefix) {
-    return loadAsMap(prefix, true);
+    return SitePropertyCache.getSnapshot().getMap(prefix);
   }
 
+  /**
+   * @param prefix the property prefix, like "site"
+   * @return the prefix's properties which have a value, as a read-only map
+   */
   public static Map<String, String> loadNonEmptyAsMap(String prefix) {
-    return loadAsMap(prefix, false);
-  }
-
-  private static Map<String, String> loadAsMap(String prefix, boolean includeEmptyValues) {
-    // Use the cache
-    List<SiteProperty> sitePropertyList = (List<SiteProperty>) CacheManager.getLoadingCache(CacheManager.SYSTEM_PROPERTY_PREFIX_CACHE)
-        .get(prefix);
-    // Return the requested map
-    Map<String, String> sitePropertyMap = new HashMap<>();
-    for (SiteProperty siteProperty : sitePropertyList) {
-      String value = siteProperty.getValue();
-      if (includeEmptyValues || StringUtils.isNotBlank(value)) {
-        sitePropertyMap.put(siteProperty.getName(), value);
-      }
-    }
-    return sitePropertyMap;
+    return SitePropertyCache.getSnapshot().getNonEmptyMap(prefix);
   }
 
   public static String loadByName(String name, String defaultValue) {
@@ -71,24 +63,22 @@ public class LoadSitePropertyCommand {
   }
 
   public static String loadByName(String name) {
-    String prefix = name.substring(0, name.indexOf("."));
-    List<SiteProperty> sitePropertyList = (List<SiteProperty>) CacheManager.getLoadingCache(CacheManager.SYSTEM_PROPERTY_PREFIX_CACHE)
-        .get(prefix);
-    if (sitePropertyList == null) {
-      return null;
-    }
-    for (SiteProperty siteProperty : sitePropertyList) {
-      if (name.equals(siteProperty.getName())) {
-        return siteProperty.getValue();
-      }
-    }
-    return null;
+    return SitePropertyCache.getSnapshot().getValue(name);
   }
 
   /** Return the value as either true/false from String value matching "true" */
   public static boolean loadByNameAsBoolean(String name) {
-    String booleanValue = loadByName(name);
-    return "true".equals(booleanValue);
+    return SitePropertyCache.getSnapshot().getBoolean(name);
+  }
+
+  /** Return the value as an int, or the default value when it is not a number */
+  public static int loadByNameAsInt(String name, int defaultValue) {
+    return SitePropertyCache.getSnapshot().getInt(name, defaultValue);
+  }
+
+  /** Return the value as an absolute http(s) url without a trailing slash, or null when it is not one */
+  public static String loadByNameAsUrl(String name) {
+    return SitePropertyCache.getSnapshot().getUrl(name);
   }
 
   /** Return the value as a List from comma separated String value */
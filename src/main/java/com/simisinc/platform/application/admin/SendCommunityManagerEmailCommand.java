@@ -16,14 +16,13 @@
 
 package com.simisinc.platform.application.admin;
 
-import com.simisinc.platform.application.email.EmailCommand;
+import com.simisinc.platform.application.email.MailQueueCommand;
 import com.simisinc.platform.domain.model.Role;
 import com.simisinc.platform.domain.model.User;
 import com.simisinc.platform.infrastructure.persistence.RoleRepository;
 import com.simisinc.platform.infrastructure.persistence.UserRepository;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.commons.mail.ImageHtmlEmail;
 
 import java.util.List;
 
@@ -61,20 +60,12 @@ public class SendCommunityManagerEmailCommand {
     if (userList == null || userList.isEmpty()) {
       return;
     }
-    try {
-      ImageHtmlEmail email = EmailCommand.prepareNewEmail();
-      for (User user : userList) {
-        if (user.getEmail().contains("@")) {
-          LOG.debug("Sending community-manager email to: " + user.getEmail() + " " + user.getFullName());
-          email.addTo(user.getEmail(), user.getFullName());
-        }
+    // Each recipient gets their own message from the mail queue
+    for (User user : userList) {
+      if (user.getEmail().contains("@")) {
+        LOG.debug("Queueing community-manager email to: " + user.getEmail() + " " + user.getFullName());
+        MailQueueCommand.queueMessage(user.getEmail(), user.getFullName(), subject, html, text);
       }
-      email.setSubject(subject);
-      email.setHtmlMsg(html);
-      email.setTextMsg(text);
-      email.send();
-    } catch (Exception e) {
-      LOG.error("sendMessage could not send mail", e);
     }
   }
 }
@@ -33,6 +33,14 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.simisinc.platform.domain.model.analytics.PerformanceMetric;
 import com.simisinc.platform.domain.model.dashboard.ActiveSessionData;
 import com.simisinc.platform.domain.model.dashboard.StatisticsData;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CacheStatistics;
+import com.simisinc.platform.infrastructure.database.QueryProfiler;
+import com.simisinc.platform.infrastructure.database.QueryStatistics;
+import com.simisinc.platform.infrastructure.database.SlowQuery;
+import com.simisinc.platform.infrastructure.distributedlock.Lease;
+import com.simisinc.platform.infrastructure.distributedlock.LockManager;
+import com.simisinc.platform.infrastructure.distributedlock.LockStatistics;
 import com.simisinc.platform.infrastructure.persistence.analytics.PerformanceMetricRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.FileItemRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.FileVersionRepository;
@@ -475,6 +483,113 @@ public class AnalyticsDataService {
       }
     }
 
+    // Database statements since the application started
+    response.set("database", loadDatabaseMetrics());
+
+    // Cache hit rates since the application started
+    response.set("caches", loadCacheMetrics());
+
+    // This node's distributed locks since the application started
+    response.set("locks", loadLockMetrics());
+
     return response;
   }
+
+  /**
+   * Load the query profiler's statistics per connection pool, the queries using the most time, and the
+   * sampled slow queries
+   */
+  public static ObjectNode loadDatabaseMetrics() {
+    ObjectNode database = MAPPER.createObjectNode();
+    database.put("slowQueryThresholdMs", QueryProfiler.getSlowQueryThresholdMillis());
+
+    ArrayNode pools = database.putArray("pools");
+    for (QueryStatistics statistics : QueryProfiler.getPoolStatistics()) {
+      pools.add(toJson(statistics));
+    }
+
+    ArrayNode queries = database.putArray("queries");
+    for (QueryStatistics statistics : QueryProfiler.getTopQueries(25)) {
+      queries.add(toJson(statistics));
+    }
+
+    ArrayNode slowQueries = database.putArray("slowQueries");
+    for (SlowQuery slowQuery : QueryProfiler.getSlowQueries()) {
+      ObjectNode node = slowQueries.addObject();
+      node.put("timestamp", slowQuery.getTimestamp());
+      node.put("pool", slowQuery.getPoolName());
+      node.put("sql", slowQuery.getFingerprint());
+      node.put("durationMs", Math.round(slowQuery.getDurationMicros() / 100.0) / 10.0);
+      node.put("parameters", slowQuery.getParameterShape());
+    }
+    return database;
+  }
+
+  /**
+   * Load the hit rate, size and evictions of each cache
+   */
+  public static ArrayNode loadCacheMetrics() {
+    ArrayNode caches = MAPPER.createArrayNode();
+    for (CacheStatistics statistics : CacheManager.getStatistics()) {
+      ObjectNode node = caches.addObject();
+      node.put("name", statistics.getName());
+      node.put("size", statistics.getSize());
+      if (statistics.getWeightedSize() > -1) {
+        node.put("weightMb", Math.round(statistics.getWeightedSize() / (1024.0 * 1024) * 10.0) / 10.0);
+      }
+      node.put("maximum", statistics.getMaximum());
+      node.put("hits", statistics.getHitCount());
+      node.put("misses", statistics.getMissCount());
+      node.put("hitRate", Math.round(statistics.getHitRate() * 1000.0) / 10.0);
+      node.put("evictions", statistics.getEvictionCount());
+      node.put("loadFailures", statistics.getLoadFailureCount());
+      node.put("avgLoadMs", Math.round(statistics.getAverageLoadPenaltyMillis() * 10.0) / 10.0);
+    }
+    return caches;
+  }
+
+  /**
+   * Load this node's lock acquisitions, the time spent waiting for them, takeovers, and the locks it holds
+   */
+  public static ObjectNode loadLockMetrics() {
+    LockStatistics statistics = LockManager.getStatistics();
+    ObjectNode locks = MAPPER.createObjectNode();
+    locks.put("acquired", statistics.getAcquired());
+    locks.put("contended", statistics.getContended());
+    locks.put("skipped", statistics.getSkipped());
+    locks.put("steals", statistics.getSteals());
+    locks.put("renewals", statistics.getRenewals());
+    locks.put("renewalsDeferred", statistics.getRenewalsDeferred());
+    locks.put("renewalErrors", statistics.getRenewalErrors());
+    locks.put("lost", statistics.getLost());
+    locks.put("waitAvg", Math.round(statistics.getWait().getAverageMillis() * 10.0) / 10.0);
+    locks.put("waitP95", Math.round(statistics.getWait().getPercentileMillis(95) * 10.0) / 10.0);
+    locks.put("waitMax", Math.round(statistics.getWait().getMaxMicros() / 100.0) / 10.0);
+
+    long now = System.currentTimeMillis();
+    ArrayNode holders = locks.putArray("holders");
+    for (Lease lease : LockManager.getHolders()) {
+      ObjectNode node = holders.addObject();
+      node.put("name", lease.getName());
+      node.put("fencingToken", lease.getFencingToken());
+      node.put("heldSeconds", (now - lease.getAcquiredAt()) / 1000);
+      node.put("expiresSeconds", Math.max(0, (lease.getExpiresAt() - now) / 1000));
+    }
+    return locks;
+  }
+
+  private static ObjectNode toJson(QueryStatistics statistics) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("name", statistics.getName());
+    node.put("count", statistics.getExecutions());
+    node.put("rows", statistics.getRows());
+    node.put("errors", statistics.getErrors());
+    node.put("totalMs", Math.round(statistics.getLatency().getTotalMicros() / 1000.0));
+    node.put("avg", Math.round(statistics.getLatency().getAverageMillis() * 10.0) / 10.0);
+    node.put("p50", Math.round(statistics.getLatency().getPercentileMillis(50) * 10.0) / 10.0);
+    node.put("p95", Math.round(statistics.getLatency().getPercentileMillis(95) * 10.0) / 10.0);
+    node.put("p99", Math.round(statistics.getLatency().getPercentileMillis(99) * 10.0) / 10.0);
+    node.put("max", Math.round(statistics.getLatency().getMaxMicros() / 100.0) / 10.0);
+    return node;
+  }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+
+/**
+ * Creates an iCalendar (RFC 5545) document of calendar events for calendar subscriptions
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+public class CalendarIcsCommand {
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+      .withZone(ZoneOffset.UTC);
+  private static final int MAX_LINE_OCTETS = 75;
+
+  private CalendarIcsCommand() {
+  }
+
+  /** Only published events which are not archived are shared */
+  public static boolean isPublic(CalendarEvent calendarEvent) {
+    return calendarEvent.getPublished() != null && calendarEvent.getArchived() == null
+        && calendarEvent.getStartDate() != null;
+  }
+
+  /**
+   * @param calendarName the name subscribers see
+   * @param calendarEventList the events to include
+   * @param siteUrl the site's url, used for event links
+   * @param zoneId the zone of the stored event dates
+   * @return the iCalendar text
+   */
+  public static String createIcs(String calendarName, List<CalendarEvent> calendarEventList, String siteUrl,
+      ZoneId zoneId) {
+    String host = StringUtils.defaultIfBlank(StringUtils.substringBefore(
+        StringUtils.substringAfter(StringUtils.defaultString(siteUrl), "://"), "/"), "localhost");
+    StringBuilder sb = new StringBuilder();
+    appendLine(sb, "BEGIN:VCALENDAR");
+    appendLine(sb, "VERSION:2.0");
+    appendLine(sb, "PRODID:-//SimIS Inc.//CMS Platform//EN");
+    appendLine(sb, "CALSCALE:GREGORIAN");
+    appendLine(sb, "METHOD:PUBLISH");
+    if (StringUtils.isNotBlank(calendarName)) {
+      appendLine(sb, "X-WR-CALNAME:" + escape(calendarName));
+    }
+    for (CalendarEvent calendarEvent : calendarEventList) {
+      if (!isPublic(calendarEvent)) {
+        continue;
+      }
+      appendLine(sb, "BEGIN:VEVENT");
+      String uid = StringUtils.defaultIfBlank(calendarEvent.getUniqueId(), "event-" + calendarEvent.getId());
+      appendLine(sb, "UID:" + escape(uid + "@" + host));
+      Timestamp stamp = calendarEvent.getModified() != null ? calendarEvent.getModified()
+          : calendarEvent.getCreated() != null ? calendarEvent.getCreated() : calendarEvent.getPublished();
+      appendLine(sb, "DTSTAMP:" + UTC_FORMAT.format(stamp.toInstant()));
+      Timestamp endDate = calendarEvent.getEndDate() != null ? calendarEvent.getEndDate() : calendarEvent.getStartDate();
+      if (calendarEvent.getAllDay()) {
+        // The end date is shown as a full day, so the exclusive end is the next day
+        LocalDate start = calendarEvent.getStartDate().toInstant().atZone(zoneId).toLocalDate();
+        LocalDate end = endDate.toInstant().atZone(zoneId).toLocalDate().plusDays(1);
+        appendLine(sb, "DTSTART;VALUE=DATE:" + DATE_FORMAT.format(start));
+        appendLine(sb, "DTEND;VALUE=DATE:" + DATE_FORMAT.format(end.isAfter(start) ? end : start.plusDays(1)));
+      } else {
+        Instant start = calendarEvent.getStartDate().toInstant();
+        Instant end = endDate.toInstant();
+        appendLine(sb, "DTSTART:" + UTC_FORMAT.format(start));
+        appendLine(sb, "DTEND:" + UTC_FORMAT.format(end.isAfter(start) ? end : start));
+      }
+      appendLine(sb, "SUMMARY:" + escape(StringUtils.defaultString(calendarEvent.getTitle())));
+      if (StringUtils.isNotBlank(calendarEvent.getSummary())) {
+        appendLine(sb, "DESCRIPTION:" + escape(calendarEvent.getSummary()));
+      }
+      if (StringUtils.isNotBlank(calendarEvent.getLocation())) {
+        appendLine(sb, "LOCATION:" + escape(calendarEvent.getLocation()));
+      }
+      if (StringUtils.isNotBlank(calendarEvent.getDetailsUrl())) {
+        appendLine(sb, "URL:" + calendarEvent.getDetailsUrl());
+      } else if (StringUtils.isNotBlank(siteUrl) && calendarEvent.getUniqueId() != null) {
+        appendLine(sb, "URL:" + Strings.CS.removeEnd(siteUrl, "/") + calendarEvent.getLink());
+      }
+      appendLine(sb, "END:VEVENT");
+    }
+    appendLine(sb, "END:VCALENDAR");
+    return sb.toString();
+  }
+
+  /** Escapes text values */
+  static String escape(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 16);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+        case ';':
+        case ',':
+          sb.append('\\').append(c);
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /** Adds the content line, folded so no line is longer than 75 octets */
+  static void appendLine(StringBuilder sb, String line) {
+    int octets = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      int length;
+      if (Character.isHighSurrogate(c) && i + 1 < line.length()) {
+        length = 4;
+      } else {
+        length = String.valueOf(c).getBytes(StandardCharsets.UTF_8).length;
+      }
+      if (octets + length > MAX_LINE_OCTETS) {
+        sb.append("\r\n ");
+        // The leading space counts toward the folded line
+        octets = 1;
+      }
+      sb.append(c);
+      if (length == 4) {
+        sb.append(line.charAt(++i));
+      }
+      octets += length;
+    }
+    sb.append("\r\n");
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.cms;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.domain.model.cms.Content;
+import com.simisinc.platform.infrastructure.cache.ContentFragment;
+import com.simisinc.platform.infrastructure.cache.ContentFragmentCache;
+import com.simisinc.platform.infrastructure.cache.SitePropertyCache;
+import com.simisinc.platform.presentation.controller.WidgetContext;
+import com.zeroio.platform.application.cms.DiagramHtmlCommand;
+
+/**
+ * Compiles published content, with its embedded content and theme values resolved, into a cached
+ * fragment; only the per-user diagram tokens are rendered on each request
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 AM
+ */
+public class ContentFragmentCommand {
+
+  private static Log LOG = LogFactory.getLog(ContentFragmentCommand.class);
+
+  private static final String THEME_PREFIX = "theme";
+  private static final Pattern DYNAMIC_TOKEN_PATTERN = Pattern.compile("\\$\\{diagram:[^\\}]*\\}");
+
+  /**
+   * Returns the rendered published html for the content, or null when the fragment cache is not available
+   */
+  public static String renderPublishedContent(WidgetContext context, String uniqueId) {
+    ContentFragment fragment = loadFragment(uniqueId);
+    if (fragment == null) {
+      return null;
+    }
+    return render(context, fragment);
+  }
+
+  static ContentFragment loadFragment(String uniqueId) {
+    if (!ContentFragmentCache.isEnabled()) {
+      return null;
+    }
+    ContentFragment fragment = ContentFragmentCache.get(uniqueId);
+    if (fragment != null && isCurrent(fragment)) {
+      return fragment;
+    }
+    // Capture the theme version before compiling so a concurrent change is detected on the next use
+    Object themeVersion = currentThemeVersion();
+    fragment = compile(uniqueId, themeVersion);
+    if (fragment != null) {
+      ContentFragmentCache.put(fragment);
+    }
+    return fragment;
+  }
+
+  /**
+   * Compares the content objects the fragment was compiled from with the currently cached content
+   */
+  static boolean isCurrent(ContentFragment fragment) {
+    if (fragment.getThemeVersion() != currentThemeVersion()) {
+      return false;
+    }
+    for (Map.Entry<String, Content> dependency : fragment.getDependencies().entrySet()) {
+      if (LoadContentCommand.loadContentByUniqueId(dependency.getKey()) != dependency.getValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static ContentFragment compile(String uniqueId, Object themeVersion) {
+    Map<String, Content> dependencies = new LinkedHashMap<>();
+    Content content = LoadContentCommand.loadContentByUniqueId(uniqueId);
+    dependencies.put(uniqueId, content);
+    if (content == null || content.getContent() == null) {
+      return null;
+    }
+
+    // Resolve the embedded content like a visitor would see it, recording each dependency
+    String html = content.getContent();
+    for (int pass = 0; pass < 5; pass++) {
+      if (!html.contains("${uniqueId:")) {
+        break;
+      }
+      html = ContentHtmlCommand.replaceUniqueIdTokens(html, embeddedUniqueId -> {
+        Content embeddedContent = LoadContentCommand.loadContentByUniqueId(embeddedUniqueId);
+        dependencies.putIfAbsent(embeddedUniqueId, embeddedContent);
+        if (embeddedContent != null) {
+          return embeddedContent.getContent();
+        }
+        return "";
+      });
+    }
+
+    // Split out the dynamic tokens, the static segments get the theme values now
+    List<String> segments = new ArrayList<>();
+    List<Boolean> dynamic = new ArrayList<>();
+    Matcher matcher = DYNAMIC_TOKEN_PATTERN.matcher(html);
+    int lastIdx = 0;
+    while (matcher.find()) {
+      if (matcher.start() > lastIdx) {
+        segments.add(ContentValuesCommand.replaceDynamicValues(html.substring(lastIdx, matcher.start())));
+        dynamic.add(false);
+      }
+      segments.add(matcher.group());
+      dynamic.add(true);
+      lastIdx = matcher.end();
+    }
+    if (lastIdx < html.length()) {
+      segments.add(ContentValuesCommand.replaceDynamicValues(html.substring(lastIdx)));
+      dynamic.add(false);
+    }
+
+    boolean[] dynamicValues = new boolean[dynamic.size()];
+    for (int i = 0; i < dynamicValues.length; i++) {
+      dynamicValues[i] = dynamic.get(i);
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Compiled content fragment: " + uniqueId + " segments=" + segments.size() + " dependencies="
+          + dependencies.keySet());
+    }
+    return new ContentFragment(uniqueId, segments.toArray(new String[0]), dynamicValues, dependencies, themeVersion);
+  }
+
+  static String render(WidgetContext context, ContentFragment fragment) {
+    if (!fragment.hasDynamicSegments() && fragment.getSegmentCount() == 1) {
+      return fragment.getSegment(0);
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < fragment.getSegmentCount(); i++) {
+      if (fragment.isDynamic(i)) {
+        String tokenHtml = DiagramHtmlCommand.replaceDiagramTokens(context, fragment.getSegment(i));
+        sb.append(ContentValuesCommand.replaceDynamicValues(tokenHtml));
+      } else {
+        sb.append(fragment.getSegment(i));
+      }
+    }
+    return sb.toString();
+  }
+
+  private static Object currentThemeVersion() {
+    if (!SitePropertyCache.isEnabled()) {
+      return null;
+    }
+    return SitePropertyCache.getSnapshot().getPrefixVersion(THEME_PREFIX);
+  }
+}
@@ -55,6 +55,7 @@ public class ContentHtmlCommand {
         context.getPreferences().get("contentUniqueId"));
     // The derived content HTML or the fallback HTML if a uniqueId is not found
     String html = null;
+    boolean hasEditorPermission = (context.hasRole("admin") || context.hasRole("content-manager"));
 
     // Use the html in the content repository if there's a matching uniqueId
     if (uniqueId != null) {
@@ -66,11 +67,18 @@ public class ContentHtmlCommand {
       Content content = LoadContentCommand.loadContentByUniqueId(uniqueId);
       if (content == null) {
         LOG.debug("Content not found for uniqueId: " + uniqueId);
+      } else if (!hasEditorPermission && content.getContent() != null) {
+        // Visitors see the published content, which is compiled once and then cached
+        String fragmentHtml = ContentFragmentCommand.renderPublishedContent(context, uniqueId);
+        if (fragmentHtml != null) {
+          return fragmentHtml;
+        }
+        html = content.getContent();
       } else {
         // Use the content repository's html
         html = content.getContent();
         // Look for draft content if this role is allowed to
-        if (context.hasRole("admin") || context.hasRole("content-manager")) {
+        if (hasEditorPermission) {
           if (content.getDraftContent() != null) {
             LOG.debug("Setting draft content...");
             html = content.getDraftContent();
@@ -91,7 +99,6 @@ public class ContentHtmlCommand {
     html = ContentValuesCommand.replaceDynamicValues(html);
 
     // Display a button for admins to add content
-    boolean hasEditorPermission = (context.hasRole("admin") || context.hasRole("content-manager"));
     if (uniqueId != null && html == null) {
       if (hasEditorPermission) {
         html = "<a class=\"button tiny radius primary\" href=\"" + context.getContextPath()
@@ -211,7 +218,7 @@ public class ContentHtmlCommand {
    * @param resolver function that maps a uniqueId string to its replacement
    * @return the HTML with all tokens replaced
    */
-  private static String replaceUniqueIdTokens(String html, Function<String, String> resolver) {
+  static String replaceUniqueIdTokens(String html, Function<String, String> resolver) {
     if (html == null) {
       return null;
     }
@@ -16,9 +16,22 @@
 
 package com.simisinc.platform.application.cms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.simisinc.platform.domain.model.cms.WikiParserExtension;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
 import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
+import com.vladsch.flexmark.ext.gitlab.GitLabExtension;
 import com.vladsch.flexmark.ext.tables.TablesExtension;
 import com.vladsch.flexmark.ext.typographic.TypographicExtension;
 import com.vladsch.flexmark.ext.wikilink.WikiLinkExtension;
@@ -27,14 +40,11 @@ import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.data.MutableDataSet;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
-import java.util.Arrays;
+import com.vladsch.flexmark.util.misc.Extension;
 
 /**
- * Methods for working with markdown
+ * Methods for working with markdown; the parsers and renderers are shared, and the rendered html is cached by
+ * the hash of the markdown
  *
  * @author matt rajkowski
  * @created 12/21/2021 3:48 PM
@@ -43,6 +53,55 @@ public class MarkdownCommand {
 
   private static Log LOG = LogFactory.getLog(MarkdownCommand.class);
 
+  // The parser and renderer are thread-safe once built
+  private static final MarkdownRenderer STANDARD_RENDERER = new MarkdownRenderer("standard", null);
+
+  // Wiki links use the prefix of the page showing the wiki
+  private static final Cache<String, MarkdownRenderer> wikiRenderers = Caffeine.newBuilder()
+      .maximumSize(100)
+      .build();
+
+  /** A parser and renderer for a set of extensions and options */
+  static class MarkdownRenderer {
+
+    private final String key;
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+
+    MarkdownRenderer(String key, String wikiLinkPrefix) {
+      this.key = key;
+      // Set the markup conversion settings
+      List<Extension> extensions = new ArrayList<>(Arrays.asList(
+//          AnchorLinkExtension.create(),
+          StrikethroughExtension.create(),
+          TablesExtension.create(),
+          TaskListExtension.create(),
+          TypographicExtension.create(),
+          WikiLinkExtension.create(),
+          YouTubeLinkExtension.create(),
+          WikiParserExtension.create()));
+      MutableDataSet options = new MutableDataSet();
+      if (wikiLinkPrefix != null) {
+        extensions.add(GitLabExtension.create());
+        options.set(WikiLinkExtension.LINK_PREFIX, wikiLinkPrefix + "/");
+      }
+      options.set(Parser.EXTENSIONS, extensions);
+      options.set(HtmlRenderer.SOFT_BREAK, "<br />\n");
+      options.set(HtmlRenderer.GENERATE_HEADER_ID, true);
+      parser = Parser.builder(options).build();
+      renderer = HtmlRenderer.builder(options).build();
+    }
+
+    String getKey() {
+      return key;
+    }
+
+    String render(String markdown) {
+      Node document = parser.parse(markdown);
+      return renderer.render(document);
+    }
+  }
+
   /**
    * Turns markdown into HTML
    *
@@ -50,32 +109,59 @@ public class MarkdownCommand {
    * @return
    */
   public static String html(String markdown) {
+    return html(markdown, STANDARD_RENDERER, CacheManager.getCache(CacheManager.MARKDOWN_HTML_CACHE));
+  }
+
+  /**
+   * Turns wiki markdown into HTML, with the wiki links relative to the wiki's page
+   *
+   * @param markdown the wiki page's markdown
+   * @param wikiLinkPrefix the url of the page showing the wiki
+   * @return
+   */
+  public static String wikiHtml(String markdown, String wikiLinkPrefix) {
+    return html(markdown, getWikiRenderer(wikiLinkPrefix), CacheManager.getCache(CacheManager.MARKDOWN_HTML_CACHE));
+  }
+
+  static MarkdownRenderer getWikiRenderer(String wikiLinkPrefix) {
+    String prefix = StringUtils.defaultString(wikiLinkPrefix);
+    return wikiRenderers.get(prefix, k -> new MarkdownRenderer("wiki|" + k, k));
+  }
+
+  static String html(String markdown, MarkdownRenderer markdownRenderer, Cache<String, String> cache) {
     if (StringUtils.isBlank(markdown)) {
       return "";
     }
+    if (cache == null) {
+      return markdownRenderer.render(markdown);
+    }
+    String key = cacheKey(markdownRenderer, markdown);
+    String html = cache.getIfPresent(key);
+    if (html == null) {
+      html = markdownRenderer.render(markdown);
+      cache.put(key, html);
+    }
+    return html;
+  }
+
+  private static String cacheKey(MarkdownRenderer markdownRenderer, String markdown) {
+    return markdownRenderer.getKey() + ":" + DigestUtils.sha256Hex(markdown);
+  }
 
-    // Set the markup conversion settings
-    MutableDataSet options = new MutableDataSet();
-    options.set(Parser.EXTENSIONS, Arrays.asList(
-//        AnchorLinkExtension.create(),
-            StrikethroughExtension.create(),
-            TablesExtension.create(),
-            TaskListExtension.create(),
-            TypographicExtension.create(),
-            WikiLinkExtension.create(),
-            YouTubeLinkExtension.create(),
-            WikiParserExtension.create()
-        )
-    );
-    options.set(HtmlRenderer.SOFT_BREAK, "<br />\n");
-    options.set(HtmlRenderer.GENERATE_HEADER_ID, true);
-//    options.set(WikiLinkExtension.LINK_PREFIX, wikiLinkPrefix + "/");
-    Parser parser = Parser.builder(options).build();
-    HtmlRenderer renderer = HtmlRenderer.builder(options).build();
-
-    // Convert the markup to html
-    Node document = parser.parse(markdown);
-    return renderer.render(document);
+  /**
+   * Removes the html rendered from markdown which is being replaced or deleted
+   *
+   * @param markdown the previous markdown
+   */
+  public static void invalidate(String markdown) {
+    Cache<String, String> cache = CacheManager.getCache(CacheManager.MARKDOWN_HTML_CACHE);
+    if (cache == null || StringUtils.isBlank(markdown)) {
+      return;
+    }
+    cache.invalidate(cacheKey(STANDARD_RENDERER, markdown));
+    for (MarkdownRenderer markdownRenderer : wikiRenderers.asMap().values()) {
+      cache.invalidate(cacheKey(markdownRenderer, markdown));
+    }
   }
 
 }
@@ -74,6 +74,10 @@ public class SaveWikiPageCommand {
     wikiPage.setUniqueId(generateUniqueId(wikiPage, wikiPageBean));
     wikiPage.setWikiId(wikiPageBean.getWikiId());
     wikiPage.setTitle(wikiPageBean.getTitle());
+    // The previously rendered html is no longer needed
+    if (wikiPage.getBody() != null && !wikiPage.getBody().equals(wikiPageBean.getBody())) {
+      MarkdownCommand.invalidate(wikiPage.getBody());
+    }
     wikiPage.setBody(wikiPageBean.getBody());
     wikiPage.setSummary(wikiPageBean.getSummary());
     wikiPage.setCreatedBy(wikiPageBean.getCreatedBy());
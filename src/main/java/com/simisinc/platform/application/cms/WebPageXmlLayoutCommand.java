@@ -19,9 +19,9 @@ package com.simisinc.platform.application.cms;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletContext;
 
@@ -30,7 +30,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.WebPage;
-import com.simisinc.platform.infrastructure.persistence.cms.WebPageRepository;
 import com.simisinc.platform.presentation.controller.Page;
 import com.simisinc.platform.presentation.controller.XMLPageLoader;
 
@@ -45,7 +44,8 @@ public class WebPageXmlLayoutCommand {
   private static Log LOG = LogFactory.getLog(WebPageXmlLayoutCommand.class);
 
   private static XMLPageLoader pages = new XMLPageLoader(new HashMap<>());
-  private static XMLPageLoader customPages = new XMLPageLoader(new HashMap<>());
+  // Parsed from the web page's XML when first requested
+  private static XMLPageLoader customPages = new XMLPageLoader(new ConcurrentHashMap<>());
 
   public static Map<String, String> init(File webAppPath) throws MalformedURLException {
     // Load the widget library, the XML validates against it
@@ -60,18 +60,9 @@ public class WebPageXmlLayoutCommand {
     pages.addDirectory(new File(webAppPath, "/WEB-INF/json-services"));
     pages.load();
 
-    // Test and Pre-process the XML layouts
-    LOG.info("Loading the custom page layouts...");
-    List<WebPage> webPageList = WebPageRepository.findAll();
-    for (WebPage webPage : webPageList) {
-      try {
-        if (webPage.getPageXml() != null) {
-          customPages.addFromXml(webPage.getLink(), webPage);
-        }
-      } catch (Exception e) {
-        LOG.error("Page XML Error: " + webPage.getLink() + " " + e.getMessage(), e);
-      }
-    }
+
+    // The custom page layouts are parsed when first used
+    customPages.clear();
     return pages.getWidgetLibrary();
   }
 
@@ -107,18 +98,9 @@ public class WebPageXmlLayoutCommand {
 
     pages.load();
 
-    // Test and Pre-process the XML layouts
-    LOG.info("Loading the custom page layouts...");
-    List<WebPage> webPageList = WebPageRepository.findAll();
-    for (WebPage webPage : webPageList) {
-      try {
-        if (webPage.getPageXml() != null) {
-          customPages.addFromXml(webPage.getLink(), webPage);
-        }
-      } catch (Exception e) {
-        LOG.error("Page XML Error: " + webPage.getLink() + " " + e.getMessage(), e);
-      }
-    }
+
+    // The custom page layouts are parsed when first used
+    customPages.clear();
     return pages.getWidgetLibrary();
   }
 
@@ -164,15 +146,13 @@ public class WebPageXmlLayoutCommand {
       // Check the Web Page Repository for more info
       if (webPage != null) {
         if (StringUtils.isNotBlank(webPage.getPageXml())) {
-          pageRef = customPages.get(pagePath);
-          if (pageRef == null) {
-            try {
-              // @todo pre-process these
-              LOG.debug("Creating page from XML...");
-              pageRef = customPages.addFromXml(pagePath, webPage);
-            } catch (Exception e) {
-              LOG.error("The XML had an error...", e);
-            }
+          // Saved pages are removed by link, so that's the name used
+          String pageName = StringUtils.isNotBlank(webPage.getLink()) ? webPage.getLink() : pagePath;
+          try {
+            LOG.debug("Creating page from XML: " + pageName);
+            pageRef = customPages.addFromXml(pageName, webPage);
+          } catch (Exception e) {
+            LOG.error("Page XML Error: " + pageName + " " + e.getMessage(), e);
           }
         } else if (StringUtils.isNotBlank(webPage.getTemplate())) {
           LOG.debug("Looking for XML template: " + webPage.getTemplate());
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.application.ecommerce;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.application.DataException;
+import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
+import com.simisinc.platform.domain.model.ecommerce.InventoryHold;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.ProductCatalogCache;
+import com.simisinc.platform.infrastructure.distributedlock.Lease;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.InventoryAllocationRepository;
+
+/**
+ * Holds inventory for a cart from the start of checkout until the order is paid; holds are taken from this node's
+ * share of each sku so a checkout spike does not queue on the sku rows, and the sold units are applied to the skus
+ * in batches
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class InventoryReservationCommand {
+
+  private static Log LOG = LogFactory.getLog(InventoryReservationCommand.class);
+
+  public static final String NODE_ID = UUID.randomUUID().toString();
+
+  // The units claimed from a sku at a time, and the units a node keeps on hand between checkouts
+  private static final int BLOCK_SIZE = 10;
+  private static final int DEFAULT_HOLD_MINUTES = 10;
+  // Allocations not renewed in this time belong to a node which stopped
+  private static final long STALE_ALLOCATION_MILLIS = Duration.ofMinutes(5).toMillis();
+
+  // Every node maintains its own holds and allocations, so this is not a cluster job
+  private static final long MAINTAIN_INTERVAL_SECONDS = 15L;
+
+  private static InventoryReservationPool pool = null;
+  private static ScheduledExecutorService maintainer = null;
+
+  public static boolean isEnabled() {
+    return LoadSitePropertyCommand.loadByNameAsBoolean("ecommerce.reserveInventory");
+  }
+
+  private static synchronized InventoryReservationPool usePool() {
+    if (pool == null) {
+      pool = new InventoryReservationPool(NODE_ID, new InventoryReservationPool.Allocator() {
+        @Override
+        public int claim(long skuId, int quantity) {
+          return InventoryAllocationRepository.claim(skuId, NODE_ID, quantity);
+        }
+
+        @Override
+        public boolean release(long skuId, int quantity) {
+          return InventoryAllocationRepository.release(skuId, NODE_ID, quantity);
+        }
+      }, BLOCK_SIZE);
+      startMaintainer();
+    }
+    return pool;
+  }
+
+  private static synchronized void startMaintainer() {
+    if (maintainer != null) {
+      return;
+    }
+    maintainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "inventory-holds");
+      thread.setDaemon(true);
+      return thread;
+    });
+    maintainer.scheduleWithFixedDelay(() -> {
+      try {
+        maintainNode();
+      } catch (Exception e) {
+        LOG.error("Could not maintain the inventory holds: " + e.getMessage());
+      }
+    }, MAINTAIN_INTERVAL_SECONDS, MAINTAIN_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private static synchronized InventoryReservationPool currentPool() {
+    return pool;
+  }
+
+  /**
+   * Holds the quantities for the cart, replacing the cart's previous hold
+   *
+   * @param skuQuantities the quantity of each sku id which has limited inventory
+   * @throws DataException when a sku does not have enough inventory
+   */
+  public static InventoryHold reserve(long cartId, Map<Long, Integer> skuQuantities) throws DataException {
+    int minutes = LoadSitePropertyCommand.loadByNameAsInt("ecommerce.reservationMinutes", DEFAULT_HOLD_MINUTES);
+    long expires = System.currentTimeMillis() + Duration.ofMinutes(Math.max(1, minutes)).toMillis();
+    InventoryHold hold = usePool().reserve(cartId, skuQuantities, expires);
+    if (hold == null) {
+      throw new DataException("A product is no longer available in the quantity requested, please review the cart");
+    }
+    return hold;
+  }
+
+  /** Makes the cart's held units available to other checkouts */
+  public static void release(long cartId) {
+    InventoryReservationPool current = currentPool();
+    if (current != null) {
+      current.release(cartId);
+    }
+  }
+
+  /**
+   * Takes the cart's hold while the paid order is saved, so it cannot expire in the meantime; the caller must
+   * complete or restore the hold
+   *
+   * @return the hold, or null if there isn't one
+   */
+  public static InventoryHold takeHold(long cartId) {
+    InventoryReservationPool current = currentPool();
+    return current != null ? current.take(cartId) : null;
+  }
+
+  /** The order was saved with the hold's units recorded as sold */
+  public static void completeHold(InventoryHold hold) {
+    usePool().complete(hold);
+  }
+
+  /** The order was saved without using the hold (a test order), so the units are available again */
+  public static void releaseHold(InventoryHold hold) {
+    usePool().release(hold);
+  }
+
+  /** The order could not be saved, the hold stays with the cart until it expires */
+  public static void restoreHold(InventoryHold hold) {
+    usePool().restore(hold);
+  }
+
+  /**
+   * Releases expired holds, keeps this node's allocations from being reclaimed, and returns units this node does
+   * not need; runs on this node's maintenance thread while the pool is in use
+   */
+  static void maintainNode() {
+    InventoryReservationPool current = currentPool();
+    if (current == null) {
+      return;
+    }
+    int expired = current.expire(System.currentTimeMillis());
+    if (expired > 0) {
+      LOG.debug("Released expired inventory holds: " + expired);
+    }
+    Set<Long> allocatedSkuIds = InventoryAllocationRepository.renew(NODE_ID);
+    if (allocatedSkuIds != null) {
+      Set<Long> reclaimed = new HashSet<>(current.getSkuIds());
+      reclaimed.removeAll(allocatedSkuIds);
+      if (!reclaimed.isEmpty()) {
+        int dropped = current.forget(reclaimed);
+        if (dropped > 0) {
+          LOG.warn("This node's inventory allocations were reclaimed, dropped holds: " + dropped);
+        }
+      }
+    }
+    current.returnSurplus(BLOCK_SIZE);
+  }
+
+  /**
+   * Applies the units sold across the cluster to the skus and reclaims the allocations of stopped nodes
+   *
+   * @param lease the lock held by this node, the commits are only applied while it is current
+   * @return the number of skus with a changed inventory
+   */
+  public static int applyCommits(Lease lease) {
+    Timestamp staleBefore = new Timestamp(System.currentTimeMillis() - STALE_ALLOCATION_MILLIS);
+    Set<Long> changedSkuIds = InventoryAllocationRepository.applyCommits(staleBefore, lease);
+    for (Long skuId : changedSkuIds) {
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, ProductCatalogCache.findProductIdForSku(skuId));
+    }
+    return changedSkuIds.size();
+  }
+
+  /** Stops maintaining the holds and returns this node's unused units so other nodes can claim them */
+  public static synchronized void shutdown() {
+    if (maintainer != null) {
+      maintainer.shutdownNow();
+      maintainer = null;
+    }
+    if (pool != null) {
+      pool.returnSurplus(0);
+      pool = null;
+    }
+  }
+}
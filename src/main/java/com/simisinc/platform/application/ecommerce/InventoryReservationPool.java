@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.application.ecommerce;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.simisinc.platform.domain.model.ecommerce.InventoryHold;
+
+/**
+ * A node's share of the inventory: units are claimed from the database in blocks and kept in a counter per
+ * sku, so checkouts on this node reserve from memory and only refills and returns touch the sku row
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+final class InventoryReservationPool {
+
+  /** Moves units between the database and this node */
+  interface Allocator {
+
+    /** @return the number of units granted to this node, up to the quantity requested */
+    int claim(long skuId, int quantity);
+
+    /** @return true if the units were given back */
+    boolean release(long skuId, int quantity);
+  }
+
+  // After a refill comes up short, the database is not asked again for a moment
+  private static final long SOLD_OUT_RETRY_MILLIS = 1_000L;
+
+  private final String nodeId;
+  private final Allocator allocator;
+  private final int blockSize;
+  private final Map<Long, SkuCounter> counters = new ConcurrentHashMap<>();
+  private final Map<Long, InventoryHold> holds = new ConcurrentHashMap<>();
+  // Holds taken while their orders are saved
+  private final Set<InventoryHold> saving = ConcurrentHashMap.newKeySet();
+  // The skus of a saving hold whose units were reclaimed, their counters no longer include the hold
+  private final Map<InventoryHold, Set<Long>> reclaimedHolds = new ConcurrentHashMap<>();
+
+  private static final class SkuCounter {
+
+    // Claimed by this node and not held or sold
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger held = new AtomicInteger();
+    private volatile long retryClaimAfter = 0L;
+
+    private boolean tryTake(int quantity) {
+      while (true) {
+        int current = available.get();
+        if (current < quantity) {
+          return false;
+        }
+        if (available.compareAndSet(current, current - quantity)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  InventoryReservationPool(String nodeId, Allocator allocator, int blockSize) {
+    this.nodeId = nodeId;
+    this.allocator = allocator;
+    this.blockSize = Math.max(1, blockSize);
+  }
+
+  private SkuCounter counter(long skuId) {
+    return counters.computeIfAbsent(skuId, id -> new SkuCounter());
+  }
+
+  /**
+   * Holds the quantities for the cart, replacing the cart's previous hold
+   *
+   * @param skuQuantities the quantity of each sku id
+   * @param expires when the hold is released if the order is not paid
+   * @return the hold, or null when a sku does not have enough inventory
+   */
+  InventoryHold reserve(long cartId, Map<Long, Integer> skuQuantities, long expires) {
+    release(cartId);
+    // A consistent order, so concurrent refills for several skus don't starve each other
+    Map<Long, Integer> sorted = new TreeMap<>(skuQuantities);
+    List<Map.Entry<Long, Integer>> taken = new ArrayList<>();
+    for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+      if (entry.getValue() <= 0) {
+        continue;
+      }
+      if (!take(entry.getKey(), entry.getValue())) {
+        for (Map.Entry<Long, Integer> undo : taken) {
+          putBack(undo.getKey(), undo.getValue());
+        }
+        return null;
+      }
+      taken.add(entry);
+    }
+    InventoryHold hold = new InventoryHold(cartId, nodeId, sorted, expires);
+    for (Map.Entry<Long, Integer> entry : hold.getSkuQuantities().entrySet()) {
+      counter(entry.getKey()).held.addAndGet(entry.getValue());
+    }
+    InventoryHold previous = holds.put(cartId, hold);
+    if (previous != null) {
+      // A concurrent checkout for the same cart
+      giveBack(previous, null);
+    }
+    return hold;
+  }
+
+  private boolean take(long skuId, int quantity) {
+    SkuCounter counter = counter(skuId);
+    if (counter.tryTake(quantity)) {
+      return true;
+    }
+    synchronized (counter) {
+      if (counter.tryTake(quantity)) {
+        return true;
+      }
+      if (System.currentTimeMillis() < counter.retryClaimAfter) {
+        return false;
+      }
+      int request = Math.max(blockSize, quantity - counter.available.get());
+      int granted = allocator.claim(skuId, request);
+      if (granted < request) {
+        counter.retryClaimAfter = System.currentTimeMillis() + SOLD_OUT_RETRY_MILLIS;
+      }
+      if (granted > 0) {
+        counter.available.addAndGet(granted);
+      }
+      return counter.tryTake(quantity);
+    }
+  }
+
+  private void putBack(long skuId, int quantity) {
+    counter(skuId).available.addAndGet(quantity);
+  }
+
+  /**
+   * @param reclaimedSkuIds skus whose counters were reset after the hold was made, or null
+   */
+  private void giveBack(InventoryHold hold, Set<Long> reclaimedSkuIds) {
+    for (Map.Entry<Long, Integer> entry : hold.getSkuQuantities().entrySet()) {
+      if (reclaimedSkuIds != null && reclaimedSkuIds.contains(entry.getKey())) {
+        continue;
+      }
+      SkuCounter counter = counter(entry.getKey());
+      counter.held.addAndGet(-entry.getValue());
+      counter.available.addAndGet(entry.getValue());
+    }
+  }
+
+  /**
+   * Removes the cart's hold so it cannot expire while the order is being saved; the hold is then either
+   * completed or restored
+   */
+  InventoryHold take(long cartId) {
+    InventoryHold hold = holds.remove(cartId);
+    if (hold != null) {
+      saving.add(hold);
+    }
+    return hold;
+  }
+
+  /** The held units were sold */
+  void complete(InventoryHold hold) {
+    saving.remove(hold);
+    Set<Long> reclaimedSkuIds = reclaimedHolds.remove(hold);
+    for (Map.Entry<Long, Integer> entry : hold.getSkuQuantities().entrySet()) {
+      if (reclaimedSkuIds == null || !reclaimedSkuIds.contains(entry.getKey())) {
+        counter(entry.getKey()).held.addAndGet(-entry.getValue());
+      }
+    }
+  }
+
+  /** The order was not saved, the hold is kept until it expires unless some of its units were reclaimed */
+  void restore(InventoryHold hold) {
+    saving.remove(hold);
+    Set<Long> reclaimedSkuIds = reclaimedHolds.remove(hold);
+    if (reclaimedSkuIds != null || holds.putIfAbsent(hold.getCartId(), hold) != null) {
+      giveBack(hold, reclaimedSkuIds);
+    }
+  }
+
+  /** Makes the cart's held units available again */
+  boolean release(long cartId) {
+    InventoryHold hold = holds.remove(cartId);
+    if (hold == null) {
+      return false;
+    }
+    giveBack(hold, null);
+    return true;
+  }
+
+  void release(InventoryHold hold) {
+    saving.remove(hold);
+    giveBack(hold, reclaimedHolds.remove(hold));
+  }
+
+  /** @return the number of holds released */
+  int expire(long now) {
+    int count = 0;
+    for (InventoryHold hold : holds.values()) {
+      if (hold.getExpires() <= now && holds.remove(hold.getCartId(), hold)) {
+        giveBack(hold, null);
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the available units above the amount kept on hand to the database, so other nodes can claim them
+   *
+   * @return the number of units returned
+   */
+  int returnSurplus(int keep) {
+    int returned = 0;
+    for (Map.Entry<Long, SkuCounter> entry : counters.entrySet()) {
+      SkuCounter counter = entry.getValue();
+      synchronized (counter) {
+        int surplus = counter.available.get() - Math.max(0, keep);
+        if (surplus <= 0 || !counter.tryTake(surplus)) {
+          continue;
+        }
+        if (allocator.release(entry.getKey(), surplus)) {
+          returned += surplus;
+        } else {
+          counter.available.addAndGet(surplus);
+        }
+      }
+    }
+    return returned;
+  }
+
+  /**
+   * The database no longer has an allocation for these skus, their available and held units were returned to the
+   * skus and may be claimed by other nodes; the holds on them are dropped, so those orders update the skus directly
+   *
+   * @return the number of holds dropped
+   */
+  int forget(Set<Long> skuIds) {
+    for (Long skuId : skuIds) {
+      SkuCounter counter = counters.get(skuId);
+      if (counter != null) {
+        synchronized (counter) {
+          counter.available.set(0);
+          counter.held.set(0);
+        }
+      }
+    }
+    int count = 0;
+    for (InventoryHold hold : holds.values()) {
+      Set<Long> reclaimedSkuIds = reclaimedSkuIds(hold, skuIds);
+      if (reclaimedSkuIds != null && holds.remove(hold.getCartId(), hold)) {
+        giveBack(hold, reclaimedSkuIds);
+        ++count;
+      }
+    }
+    for (InventoryHold hold : saving) {
+      Set<Long> reclaimedSkuIds = reclaimedSkuIds(hold, skuIds);
+      if (reclaimedSkuIds != null) {
+        reclaimedHolds.merge(hold, reclaimedSkuIds, (a, b) -> {
+          Set<Long> merged = new HashSet<>(a);
+          merged.addAll(b);
+          return merged;
+        });
+      }
+    }
+    return count;
+  }
+
+  private static Set<Long> reclaimedSkuIds(InventoryHold hold, Set<Long> skuIds) {
+    Set<Long> reclaimed = null;
+    for (Long skuId : hold.getSkuQuantities().keySet()) {
+      if (skuIds.contains(skuId)) {
+        if (reclaimed == null) {
+          reclaimed = new HashSet<>();
+        }
+        reclaimed.add(skuId);
+      }
+    }
+    return reclaimed;
+  }
+
+  Set<Long> getSkuIds() {
+    return counters.keySet();
+  }
+
+  int getAvailable(long skuId) {
+    SkuCounter counter = counters.get(skuId);
+    return counter != null ? counter.available.get() : 0;
+  }
+
+  int getHeld(long skuId) {
+    SkuCounter counter = counters.get(skuId);
+    return counter != null ? counter.held.get() : 0;
+  }
+
+  int getHoldCount() {
+    return holds.size();
+  }
+}
@@ -17,10 +17,19 @@
 package com.simisinc.platform.application.ecommerce;
 
 import com.simisinc.platform.domain.model.ecommerce.Product;
+import com.simisinc.platform.domain.model.ecommerce.ProductSku;
+import com.simisinc.platform.infrastructure.cache.ProductCatalog;
+import com.simisinc.platform.infrastructure.cache.ProductCatalogCache;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSkuRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSkuSpecification;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Loads product objects
  *
@@ -31,19 +40,73 @@ public class LoadProductCommand {
 
   private static Log LOG = LogFactory.getLog(LoadProductCommand.class);
 
+  /** Loads the product from the repository, to be changed */
   public static Product loadProductById(long productId) {
     return ProductRepository.findById(productId);
   }
 
+  /** The catalog's product is shared and must not be changed */
   public static Product loadProductByUniqueId(String uniqueId) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      return StringUtils.isBlank(uniqueId) ? null : catalog.getProductByUniqueId(uniqueId);
+    }
     return ProductRepository.findByUniqueId(uniqueId);
   }
 
+  /** The catalog's product is shared and must not be changed */
   public static Product loadProductBySku(String sku) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      return StringUtils.isBlank(sku) ? null : catalog.getProductBySku(sku);
+    }
     return ProductRepository.findBySku(sku);
   }
 
+  /** The catalog's product is shared and must not be changed */
   public static Product loadProductMetaDataById(long productId) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      return catalog.getProduct(productId);
+    }
     return ProductRepository.findById(productId, false);
   }
+
+  /** The catalog's SKU is shared and must not be changed */
+  public static ProductSku loadProductSkuById(long skuId) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      return catalog.getProductSku(skuId);
+    }
+    return ProductSkuRepository.findById(skuId);
+  }
+
+  /**
+   * The product's enabled SKUs in display order; the catalog's SKUs are shared and must not be changed
+   *
+   * @param uniqueId the product
+   * @param sku a SKU code to limit the results to, or null for all of the product's enabled SKUs
+   */
+  public static List<ProductSku> loadProductSkusForSale(String uniqueId, String sku) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      List<ProductSku> productSkuList = new ArrayList<>();
+      Product product = StringUtils.isBlank(uniqueId) ? null : catalog.getProductByUniqueId(uniqueId);
+      if (product != null) {
+        for (ProductSku productSku : catalog.getEnabledProductSkus(product.getId())) {
+          if (StringUtils.isBlank(sku) || sku.equals(productSku.getSku())) {
+            productSkuList.add(productSku);
+          }
+        }
+      }
+      return productSkuList;
+    }
+    ProductSkuSpecification productSkuSpecification = new ProductSkuSpecification();
+    productSkuSpecification.setShowOnline(true);
+    productSkuSpecification.setProductUniqueId(uniqueId);
+    if (StringUtils.isNotBlank(sku)) {
+      productSkuSpecification.setSku(sku);
+    }
+    return ProductSkuRepository.findAll(productSkuSpecification, null);
+  }
 }
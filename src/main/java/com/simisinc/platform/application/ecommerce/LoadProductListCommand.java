@@ -17,6 +17,8 @@
 package com.simisinc.platform.application.ecommerce;
 
 import com.simisinc.platform.domain.model.ecommerce.Product;
+import com.simisinc.platform.infrastructure.cache.ProductCatalog;
+import com.simisinc.platform.infrastructure.cache.ProductCatalogCache;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSpecification;
@@ -36,7 +38,14 @@ public class LoadProductListCommand {
 
   private static Log LOG = LogFactory.getLog(LoadProductListCommand.class);
 
+  /**
+   * The catalog's products are shared, priced, and must not be changed
+   */
   public static List<Product> loadProductsForSale(ArrayList<String> productUniqueIdList, int limit) {
+    ProductCatalog catalog = ProductCatalogCache.getSnapshot();
+    if (catalog != null) {
+      return catalog.getProductsForSale(productUniqueIdList, limit);
+    }
     // Find all products for sale based on conditions
     ProductSpecification specification = new ProductSpecification();
     specification.setIsForSale(true);
@@ -23,7 +23,9 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,7 +50,6 @@ import com.simisinc.platform.infrastructure.persistence.ecommerce.CartRepository
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CustomerRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSkuRepository;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateRepository;
 
 /**
  * Generates an order from a cart
@@ -133,6 +134,7 @@ public class OrderCommand {
     // Validate the cart items and generate a running total
     BigDecimal numberOfItems = new BigDecimal(0);
     BigDecimal runningTotal = new BigDecimal(0);
+    Map<Long, Integer> limitedSkuQuantities = new LinkedHashMap<>();
     List<CartItem> cartItemList = CartItemRepository.findValidItemsByCartId(cart.getId());
     for (CartItem cartItem : cartItemList) {
 
@@ -149,6 +151,9 @@ public class OrderCommand {
       }
       numberOfItems = numberOfItems.add(cartItem.getQuantity());
       runningTotal = runningTotal.add(productSku.getPrice().multiply(cartItem.getQuantity()));
+      if (!productSku.getAllowBackorders()) {
+        limitedSkuQuantities.merge(productSku.getId(), cartItem.getQuantity().intValue(), Integer::sum);
+      }
     }
 
     if (runningTotal.compareTo(cart.getSubtotalAmount()) != 0) {
@@ -198,7 +203,7 @@ public class OrderCommand {
     order.setShippingAddress(customer.getShippingAddress());
 
     // Shipping information
-    ShippingRate shippingRate = ShippingRateRepository.findById(cart.getShippingRateId());
+    ShippingRate shippingRate = ShippingRatesCommand.findShippingRateById(cart.getShippingRateId());
     if (shippingRate != null) {
       order.setShippingRateId(shippingRate.getId());
       order.setShippingMethodId(shippingRate.getShippingMethodId());
@@ -240,8 +245,17 @@ public class OrderCommand {
     int statusId = OrderStatusCommand.retrieveStatusId(CREATED);
     order.setStatusId(statusId);
 
+    // Hold the inventory until the order is paid
+    boolean reserveInventory = InventoryReservationCommand.isEnabled() && !limitedSkuQuantities.isEmpty();
+    if (reserveInventory) {
+      InventoryReservationCommand.reserve(cart.getId(), limitedSkuQuantities);
+    }
+
     // Save the order as created (and update the cart order id)
     Order validOrder = OrderRepository.create(order, cartItemList);
+    if (validOrder == null && reserveInventory) {
+      InventoryReservationCommand.release(cart.getId());
+    }
     if (validOrder != null) {
       long oldOrderId = cart.getOrderId();
       cart.setOrderId(order.getId());
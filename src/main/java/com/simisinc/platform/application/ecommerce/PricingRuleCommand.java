@@ -19,6 +19,8 @@ package com.simisinc.platform.application.ecommerce;
 import com.simisinc.platform.domain.model.ecommerce.Cart;
 import com.simisinc.platform.domain.model.ecommerce.CartItem;
 import com.simisinc.platform.domain.model.ecommerce.PricingRule;
+import com.simisinc.platform.infrastructure.cache.PricingRuleCache;
+import com.simisinc.platform.infrastructure.cache.PricingRuleIndex;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CartItemRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.PricingRuleRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.PricingRuleSpecification;
@@ -31,10 +33,7 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
-
-import static java.util.stream.Collectors.toList;
+import java.util.Set;
 
 /**
  * Applies pricing rules
@@ -52,6 +51,12 @@ public class PricingRuleCommand {
       return null;
     }
 
+    // Use the index of enabled rules
+    PricingRuleIndex index = PricingRuleCache.getIndex();
+    if (index != null) {
+      return index.findValidPromoCode(promoCode, countryCode, System.currentTimeMillis());
+    }
+
     // Find the specified promo code
     PricingRuleSpecification specification = new PricingRuleSpecification();
     specification.setEnabled(true);
@@ -99,9 +104,11 @@ public class PricingRuleCommand {
       }
     } else {
       // Add only the valid sku items to the eligible amount and list
-      List<String> validSkuList = Stream.of(pricingRule.getValidSkus().toUpperCase().split(Pattern.quote(",")))
-          .map(String::trim)
-          .collect(toList());
+      PricingRuleIndex index = PricingRuleCache.getIndex();
+      Set<String> validSkuList = (index != null ? index.getValidSkus(pricingRule.getId()) : null);
+      if (validSkuList == null) {
+        validSkuList = PricingRuleIndex.parseSkus(pricingRule.getValidSkus());
+      }
       // There will be a new eligible amount based on the valid SKUs
       eligibleAmount = new BigDecimal(0);
       for (CartItem item : cartItemList) {
@@ -221,6 +228,10 @@ public class PricingRuleCommand {
     if (StringUtils.isBlank(sku)) {
       return null;
     }
+    PricingRuleIndex index = PricingRuleCache.getIndex();
+    if (index != null) {
+      return index.findRulesForSku(sku);
+    }
     return PricingRuleRepository.findAllRulesByValidSku(sku);
   }
 }
@@ -39,6 +39,13 @@ public class ProductPriceCommand {
     productSkuSpecification.setShowOnline(true);
     productSkuSpecification.setProductId(product.getId());
     List<ProductSku> productSkuList = ProductSkuRepository.findAll(productSkuSpecification, null);
+    configurePriceAndStartingPrice(product, productSkuList);
+  }
+
+  /**
+   * Sets the price, or starting from price, using the product's enabled SKUs in display order
+   */
+  public static void configurePriceAndStartingPrice(Product product, List<ProductSku> productSkuList) {
     // Determine the price to show, or range of prices to show...
     if (productSkuList == null || productSkuList.isEmpty()) {
       // no price to show
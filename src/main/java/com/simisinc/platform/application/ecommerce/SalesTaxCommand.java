@@ -18,6 +18,8 @@ package com.simisinc.platform.application.ecommerce;
 
 import com.simisinc.platform.application.DataException;
 import com.simisinc.platform.domain.model.ecommerce.*;
+import com.simisinc.platform.infrastructure.cache.SalesTaxCache;
+import com.simisinc.platform.infrastructure.cache.SalesTaxTable;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.SalesTaxNexusAddressRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.USSalesTaxRatesRepository;
 import org.apache.commons.lang3.StringUtils;
@@ -125,8 +127,11 @@ public class SalesTaxCommand {
       return null;
     }
 
+    // Use the in-memory table of rates and nexus addresses when available
+    SalesTaxTable salesTaxTable = SalesTaxCache.getTable();
+
     // See which countries and states to base taxes on
-    List<SalesTaxNexusAddress> nexusAddressList = SalesTaxNexusAddressRepository.findAll();
+    List<SalesTaxNexusAddress> nexusAddressList = findNexusAddresses();
     if (nexusAddressList == null) {
       LOG.debug("No nexus addresses have been setup");
       return null;
@@ -148,26 +153,57 @@ public class SalesTaxCommand {
         }
 
         // Now calculate
-        USSalesTaxRate salesTaxRate = USSalesTaxRatesRepository.findByStateZipCode(state, zipCode);
-        if (salesTaxRate == null) {
-          // Find just by state - zip code was not found
-          LOG.debug("Zip code was not found: " + zipCode);
-          salesTaxRate = USSalesTaxRatesRepository.findByState(state);
-          if (salesTaxRate == null) {
-            LOG.debug("Could not find state: " + state);
-            return null;
-          }
+        BigDecimal combinedRate = findCombinedRate(salesTaxTable, state, zipCode);
+        if (combinedRate == null) {
+          return null;
         }
         // A rate was found
-        LOG.debug("Found tax rate: " + salesTaxRate.getCombinedRate().doubleValue());
-        if (salesTaxRate.getCombinedRate().doubleValue() >= 0.0) {
-          return salesTaxRate.getCombinedRate();
+        LOG.debug("Found tax rate: " + combinedRate.doubleValue());
+        if (combinedRate.doubleValue() >= 0.0) {
+          return combinedRate;
         }
       }
     }
     return null;
   }
 
+  /**
+   * @return the nexus addresses, or null if none have been setup
+   */
+  public static List<SalesTaxNexusAddress> findNexusAddresses() {
+    SalesTaxTable salesTaxTable = SalesTaxCache.getTable();
+    if (salesTaxTable != null) {
+      return salesTaxTable.getNexusAddresses();
+    }
+    return SalesTaxNexusAddressRepository.findAll();
+  }
+
+  private static BigDecimal findCombinedRate(SalesTaxTable salesTaxTable, String state, String zipCode) {
+    if (salesTaxTable != null) {
+      BigDecimal combinedRate = salesTaxTable.findZipCodeRate(state, zipCode);
+      if (combinedRate == null) {
+        // Find just by state - zip code was not found
+        LOG.debug("Zip code was not found: " + zipCode);
+        combinedRate = salesTaxTable.findStateRate(state);
+        if (combinedRate == null) {
+          LOG.debug("Could not find state: " + state);
+        }
+      }
+      return combinedRate;
+    }
+    USSalesTaxRate salesTaxRate = USSalesTaxRatesRepository.findByStateZipCode(state, zipCode);
+    if (salesTaxRate == null) {
+      // Find just by state - zip code was not found
+      LOG.debug("Zip code was not found: " + zipCode);
+      salesTaxRate = USSalesTaxRatesRepository.findByState(state);
+      if (salesTaxRate == null) {
+        LOG.debug("Could not find state: " + state);
+        return null;
+      }
+    }
+    return salesTaxRate.getCombinedRate();
+  }
+
   public static BigDecimal estimateTax(Cart cart, Address address, BigDecimal taxRate, ShippingRate shippingRate) throws DataException {
 
     // Require an address
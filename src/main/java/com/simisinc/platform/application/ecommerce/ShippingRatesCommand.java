@@ -18,6 +18,8 @@ package com.simisinc.platform.application.ecommerce;
 
 import com.simisinc.platform.application.DataException;
 import com.simisinc.platform.domain.model.ecommerce.*;
+import com.simisinc.platform.infrastructure.cache.ShippingRateCache;
+import com.simisinc.platform.infrastructure.cache.ShippingRateMatrix;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CartItemRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingCountryRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateRepository;
@@ -57,7 +59,9 @@ public class ShippingRatesCommand {
     }
 
     // Use the country to determine the rates
-    ShippingCountry shippingCountry = ShippingCountryRepository.findByEnabledCountry(address.getCountry());
+    ShippingRateMatrix shippingRateMatrix = ShippingRateCache.getMatrix();
+    ShippingCountry shippingCountry = (shippingRateMatrix != null ? shippingRateMatrix.findEnabledCountry(address.getCountry())
+        : ShippingCountryRepository.findByEnabledCountry(address.getCountry()));
     if (shippingCountry == null) {
       // Let the user know something about this
       LOG.warn("Country not found: " + address.getCountry());
@@ -85,18 +89,18 @@ public class ShippingRatesCommand {
 
     // For a country, look for region specific pricing first
     shippingRateSpecification.setSpecificRegionOnly(true);
-    List<ShippingRate> fullShippingRateList = ShippingRateRepository.findAll(shippingRateSpecification, null);
+    List<ShippingRate> fullShippingRateList = findRates(shippingRateMatrix, shippingRateSpecification);
 
     // If nothing, look for the best match, like for a whole country
     if (fullShippingRateList.isEmpty()) {
       shippingRateSpecification.setSpecificRegionOnly(false);
-      fullShippingRateList = ShippingRateRepository.findAll(shippingRateSpecification, null);
+      fullShippingRateList = findRates(shippingRateMatrix, shippingRateSpecification);
     }
 
     // Fallback to non-country specific settings, like for supporting multiple countries with the same rate
     if (fullShippingRateList.isEmpty()) {
       shippingRateSpecification.setAddress("*", "*", "*");
-      fullShippingRateList = ShippingRateRepository.findAll(shippingRateSpecification, null);
+      fullShippingRateList = findRates(shippingRateMatrix, shippingRateSpecification);
     }
 
     // Use the cart items for valid items
@@ -134,6 +138,28 @@ public class ShippingRatesCommand {
     return shippingRateList;
   }
 
+  /**
+   * @return the shipping rate, from the shipping rate matrix when available
+   */
+  public static ShippingRate findShippingRateById(long shippingRateId) {
+    ShippingRateMatrix shippingRateMatrix = ShippingRateCache.getMatrix();
+    if (shippingRateMatrix != null) {
+      return shippingRateMatrix.getRate(shippingRateId);
+    }
+    return ShippingRateRepository.findById(shippingRateId);
+  }
+
+  private static List<ShippingRate> findRates(ShippingRateMatrix shippingRateMatrix,
+      ShippingRateSpecification shippingRateSpecification) {
+    if (shippingRateMatrix != null) {
+      List<ShippingRate> shippingRateList = shippingRateMatrix.findRates(shippingRateSpecification);
+      if (shippingRateList != null) {
+        return shippingRateList;
+      }
+    }
+    return ShippingRateRepository.findAll(shippingRateSpecification, null);
+  }
+
   public static boolean validateShippingRate(Customer customer, Cart cart, ShippingRate shippingRate) {
     try {
       List<ShippingRate> validShippingRates = findDeliveryOptions(customer, cart);
@@ -34,7 +34,6 @@ import com.simisinc.platform.application.http.HttpPostCommand;
 import com.simisinc.platform.application.json.JsonCommand;
 import com.simisinc.platform.domain.model.ecommerce.Order;
 import com.simisinc.platform.domain.model.ecommerce.SalesTaxNexusAddress;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.SalesTaxNexusAddressRepository;
 
 /**
  * Commands for working with TaxJar
@@ -90,7 +89,7 @@ public class TaxJarCommand {
     }
     String stateISO = order.getShippingAddress().getState();
 
-    List<SalesTaxNexusAddress> nexusAddressList = SalesTaxNexusAddressRepository.findAll();
+    List<SalesTaxNexusAddress> nexusAddressList = SalesTaxCommand.findNexusAddresses();
     if (nexusAddressList == null) {
       LOG.debug("No nexus addresses configured");
       return false;
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Spaces out the messages sent to each recipient domain, so bulk sends stay under the providers' limits;
+ * each domain has a token bucket which allows a short burst
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class DomainRateLimiter {
+
+  private final int messagesPerMinute;
+  private final double capacity;
+  private final double tokensPerMilli;
+  private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterAccess(Duration.ofMinutes(10))
+      .build();
+
+  private static final class Bucket {
+    private double tokens;
+    private long updated;
+
+    private Bucket(double tokens, long updated) {
+      this.tokens = tokens;
+      this.updated = updated;
+    }
+  }
+
+  /**
+   * @param messagesPerMinute the sustained rate for each domain, a burst of up to 1/6th is allowed
+   */
+  public DomainRateLimiter(int messagesPerMinute) {
+    this.messagesPerMinute = Math.max(1, messagesPerMinute);
+    this.capacity = Math.max(1.0, this.messagesPerMinute / 6.0);
+    this.tokensPerMilli = this.messagesPerMinute / 60_000.0;
+  }
+
+  public int getMessagesPerMinute() {
+    return messagesPerMinute;
+  }
+
+  /**
+   * Takes a send permit for the domain
+   *
+   * @return 0 when the message can be sent now, otherwise the milliseconds to wait
+   */
+  public long acquire(String domain, long nowMillis) {
+    String key = domain == null ? "" : domain.toLowerCase(Locale.ROOT);
+    Bucket bucket = buckets.get(key, k -> new Bucket(capacity, nowMillis));
+    synchronized (bucket) {
+      if (nowMillis > bucket.updated) {
+        bucket.tokens = Math.min(capacity, bucket.tokens + (nowMillis - bucket.updated) * tokensPerMilli);
+        bucket.updated = nowMillis;
+      }
+      if (bucket.tokens >= 1.0) {
+        bucket.tokens -= 1.0;
+        return 0L;
+      }
+      return (long) Math.ceil((1.0 - bucket.tokens) / tokensPerMilli);
+    }
+  }
+}
@@ -19,6 +19,13 @@ package com.simisinc.platform.application.email;
 import java.io.File;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.activation.DataSource;
+import javax.mail.Session;
+import javax.mail.util.ByteArrayDataSource;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -117,4 +124,63 @@ public class EmailCommand {
     }
     return email;
   }
+
+  /**
+   * Creates a mail session for sending with reusable transports, using the same settings as a prepared email
+   *
+   * @param mailProperties the mail.* site properties
+   */
+  public static Session createMailSession(Map<String, String> mailProperties) {
+    String mailHostName = mailProperties.get("mail.host_name");
+    String mailPort = mailProperties.get("mail.port");
+    String mailUsername = mailProperties.get("mail.username");
+    String mailPassword = mailProperties.get("mail.password");
+
+    Properties properties = new Properties();
+    properties.setProperty("mail.transport.protocol", "smtp");
+    properties.setProperty("mail.smtp.host", StringUtils.defaultIfBlank(mailHostName, "127.0.0.1"));
+    properties.setProperty("mail.smtp.port", StringUtils.defaultIfBlank(mailPort, "25"));
+    properties.setProperty("mail.smtp.connectiontimeout", String.valueOf(EmailConstants.SOCKET_TIMEOUT.toMillis()));
+    properties.setProperty("mail.smtp.timeout", String.valueOf(EmailConstants.SOCKET_TIMEOUT.toMillis()));
+    if ("true".equals(mailProperties.get("mail.ssl"))) {
+      properties.setProperty("mail.smtp.ssl.enable", "true");
+      properties.setProperty("mail.smtp.ssl.checkserveridentity", "true");
+    } else if ("true".equals(mailProperties.get("mail.tls"))) {
+      properties.setProperty("mail.smtp.starttls.enable", "true");
+      properties.setProperty("mail.smtp.starttls.required", "true");
+      properties.setProperty("mail.smtp.ssl.checkserveridentity", "true");
+    }
+    if (StringUtils.isNotBlank(mailUsername) && StringUtils.isNotBlank(mailPassword)) {
+      properties.setProperty("mail.smtp.auth", "true");
+      return Session.getInstance(properties, new DefaultAuthenticator(mailUsername, mailPassword));
+    }
+    return Session.getInstance(properties);
+  }
+
+  /**
+   * Loads the site logo for embedding as cid:sitelogo, so a batch of emails can share it
+   *
+   * @return the logo, or null if there isn't one
+   */
+  public static DataSource loadSiteLogo() {
+    String siteLogo = LoadSitePropertyCommand.loadByName("site.logo");
+    if (StringUtils.isBlank(siteLogo)) {
+      return null;
+    }
+    try {
+      Image record = ImageUrlCommand.decodeToImageRecord(siteLogo);
+      if (record != null) {
+        File file = FileSystemCommand.getFileServerRootPath(record.getFileServerPath());
+        if (file.isFile()) {
+          ByteArrayDataSource dataSource = new ByteArrayDataSource(Files.readAllBytes(file.toPath()),
+              StringUtils.defaultIfBlank(record.getFileType(), "application/octet-stream"));
+          dataSource.setName(file.getName());
+          return dataSource;
+        }
+      }
+    } catch (Exception e) {
+      LOG.error("Could not load logo: " + siteLogo, e);
+    }
+    return null;
+  }
 }
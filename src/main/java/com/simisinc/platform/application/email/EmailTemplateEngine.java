@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+import org.thymeleaf.templateresolver.WebApplicationTemplateResolver;
+import org.thymeleaf.web.servlet.JavaxServletWebApplication;
+
+import com.simisinc.platform.application.filesystem.FileChangeWatcher;
+
+/**
+ * The shared template engine for the email templates; parsed templates are cached unless turned off and are
+ * evicted when the template files change
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:30 PM
+ */
+public class EmailTemplateEngine {
+
+  private static Log LOG = LogFactory.getLog(EmailTemplateEngine.class);
+
+  public static final String TEMPLATE_PREFIX = "/WEB-INF/email-templates/";
+  private static final long CHECK_INTERVAL_MILLIS = 5_000L;
+  // CMS_TEMPLATE_CACHE=false re-reads the templates on each use, for development
+  static final boolean CACHEABLE = !"false".equals(System.getenv("CMS_TEMPLATE_CACHE"));
+
+  private static TemplateEngine templateEngine = null;
+  private static FileChangeWatcher fileChangeWatcher = null;
+  private static ServletContext engineServletContext = null;
+
+  private EmailTemplateEngine() {
+  }
+
+  /**
+   * Creates an engine for the email templates at the resolver's location
+   */
+  static TemplateEngine create(AbstractConfigurableTemplateResolver templateResolver, boolean cacheable) {
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateResolver.setSuffix(".html");
+    templateResolver.setCacheable(cacheable);
+    TemplateEngine engine = new TemplateEngine();
+    engine.setTemplateResolver(templateResolver);
+    return engine;
+  }
+
+  private static synchronized TemplateEngine getTemplateEngine(ServletContext servletContext) {
+    if (templateEngine == null || engineServletContext != servletContext) {
+      JavaxServletWebApplication application = JavaxServletWebApplication.buildApplication(servletContext);
+      WebApplicationTemplateResolver templateResolver = new WebApplicationTemplateResolver(application);
+      templateResolver.setPrefix(TEMPLATE_PREFIX);
+      templateEngine = create(templateResolver, CACHEABLE);
+      fileChangeWatcher = FileChangeWatcher.forDirectory(servletContext.getRealPath(TEMPLATE_PREFIX),
+          CHECK_INTERVAL_MILLIS);
+      engineServletContext = servletContext;
+      LOG.info("Email template engine created");
+    } else if (fileChangeWatcher != null && fileChangeWatcher.hasChanged()) {
+      templateEngine.clearTemplateCache();
+    }
+    return templateEngine;
+  }
+
+  /**
+   * Renders an email template
+   *
+   * @param servletContext the web application with the email templates
+   * @param template the template name, like "ecommerce/order-confirmation.html"
+   * @param context the template variables
+   * @return the html, or null when there is no servlet context
+   */
+  public static String process(ServletContext servletContext, String template, IContext context) {
+    if (servletContext == null) {
+      LOG.error("A servlet context is required to render: " + template);
+      return null;
+    }
+    return getTemplateEngine(servletContext).process(template, context);
+  }
+}
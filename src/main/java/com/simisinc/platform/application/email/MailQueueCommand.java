@@ -0,0 +1,408 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import javax.activation.DataSource;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import javax.mail.util.ByteArrayDataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.mail.DataSourceResolver;
+import org.apache.commons.mail.EmailConstants;
+import org.apache.commons.mail.ImageHtmlEmail;
+import org.apache.commons.mail.resolver.DataSourceUrlResolver;
+
+import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
+import com.simisinc.platform.domain.model.mailinglists.MailQueueMessage;
+import com.simisinc.platform.infrastructure.persistence.mailinglists.MailQueueRepository;
+
+/**
+ * Queues outbound emails and delivers the queue in batches, over pooled SMTP connections with per-domain
+ * rate limits and retries
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class MailQueueCommand {
+
+  private static Log LOG = LogFactory.getLog(MailQueueCommand.class);
+
+  public static final int MAX_ATTEMPTS = 8;
+  public static final int DEFAULT_DOMAIN_RATE = 60;
+
+  private static final String SITE_LOGO_CID = "sitelogo";
+  private static final int BATCH_SIZE = 50;
+  private static final int CLAIM_EXPIRATION_MINUTES = 10;
+  private static final long PROCESS_MILLIS = Duration.ofSeconds(50).toMillis();
+  private static final long MAX_WAIT_MILLIS = Duration.ofSeconds(5).toMillis();
+  private static final long FIRST_RETRY_MILLIS = Duration.ofMinutes(1).toMillis();
+  private static final long MAX_RETRY_MILLIS = Duration.ofHours(6).toMillis();
+
+  // Transports
+  private static final int POOL_SIZE = 4;
+  private static final int MESSAGES_PER_CONNECTION = 100;
+  private static final long CONNECTION_IDLE_MILLIS = Duration.ofSeconds(60).toMillis();
+
+  private static Map<String, String> poolSettings = null;
+  private static MailTransportPool transportPool = null;
+  private static DomainRateLimiter rateLimiter = null;
+
+  /**
+   * Queues an email from the site's default sender
+   *
+   * @return true if the email was queued
+   */
+  public static boolean queueMessage(String toAddress, String toName, String subject, String html, String text) {
+    MailQueueMessage message = new MailQueueMessage();
+    message.setToAddress(toAddress);
+    message.setToName(toName);
+    message.setSubject(subject);
+    message.setHtmlBody(html);
+    message.setTextBody(text);
+    return queueMessage(message);
+  }
+
+  /**
+   * Queues an email, the sender defaults to the site's mail settings
+   *
+   * @return true if the email was queued
+   */
+  public static boolean queueMessage(MailQueueMessage message) {
+    String toAddress = StringUtils.trimToNull(message.getToAddress());
+    String domain = domainOf(toAddress);
+    if (domain == null) {
+      LOG.warn("Email not queued, invalid address: " + toAddress);
+      return false;
+    }
+    message.setToAddress(toAddress);
+    message.setToDomain(domain);
+    if (StringUtils.isBlank(message.getFromAddress())) {
+      message.setFromAddress(LoadSitePropertyCommand.loadByName("mail.from_address"));
+      message.setFromName(LoadSitePropertyCommand.loadByName("mail.from_name"));
+    }
+    return MailQueueRepository.add(message) != null;
+  }
+
+  static String domainOf(String emailAddress) {
+    if (emailAddress == null) {
+      return null;
+    }
+    int idx = emailAddress.lastIndexOf('@');
+    if (idx < 1 || idx == emailAddress.length() - 1) {
+      return null;
+    }
+    return emailAddress.substring(idx + 1).toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Claims and sends the due messages until the queue is empty, or for up to 50 seconds
+   *
+   * @param keepSending checked before each batch is claimed, false once this node should stop
+   * @return the number of messages sent
+   */
+  public static int processQueue(BooleanSupplier keepSending) {
+    MailTransportPool pool = usePool();
+    DomainRateLimiter limiter = useRateLimiter();
+    long start = System.currentTimeMillis();
+    int total = 0;
+    try {
+      while (System.currentTimeMillis() - start < PROCESS_MILLIS && keepSending.getAsBoolean()) {
+        List<MailQueueMessage> batch = MailQueueRepository.claimBatch(BATCH_SIZE, CLAIM_EXPIRATION_MINUTES);
+        if (batch.isEmpty()) {
+          break;
+        }
+        // The inline logo is loaded once for the batch
+        long now = System.currentTimeMillis();
+        int sent = deliver(batch, pool, limiter, EmailCommand.loadSiteLogo(), now);
+        long nextDue = Long.MAX_VALUE;
+        for (MailQueueMessage message : batch) {
+          save(message);
+          if (message.getStatus() == MailQueueMessage.QUEUED) {
+            nextDue = Math.min(nextDue, message.getNextAttempt().getTime());
+          }
+        }
+        total += sent;
+        if (sent == 0) {
+          // Everything was rate limited or failed, wait briefly for the rate limit or try again later
+          long wait = nextDue - System.currentTimeMillis();
+          if (wait > MAX_WAIT_MILLIS || System.currentTimeMillis() + wait - start >= PROCESS_MILLIS) {
+            break;
+          }
+          Thread.sleep(Math.max(wait, 0L));
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    if (total > 0) {
+      LOG.info("Sent queued emails: " + total);
+    }
+    return total;
+  }
+
+  private static void save(MailQueueMessage message) {
+    if (message.getStatus() == MailQueueMessage.SENT) {
+      MailQueueRepository.markSent(message);
+    } else if (message.getStatus() == MailQueueMessage.FAILED) {
+      MailQueueRepository.markFailed(message);
+    } else {
+      MailQueueRepository.reschedule(message);
+    }
+  }
+
+  private static synchronized MailTransportPool usePool() {
+    Map<String, String> settings = LoadSitePropertyCommand.loadNonEmptyAsMap("mail");
+    if (transportPool == null || !settings.equals(poolSettings)) {
+      if (transportPool != null) {
+        transportPool.close();
+      }
+      transportPool = new MailTransportPool(EmailCommand.createMailSession(settings), POOL_SIZE,
+          MESSAGES_PER_CONNECTION, CONNECTION_IDLE_MILLIS);
+      poolSettings = settings;
+    }
+    return transportPool;
+  }
+
+  private static synchronized DomainRateLimiter useRateLimiter() {
+    int messagesPerMinute = LoadSitePropertyCommand.loadByNameAsInt("mail.domain_rate", DEFAULT_DOMAIN_RATE);
+    if (rateLimiter == null || rateLimiter.getMessagesPerMinute() != Math.max(1, messagesPerMinute)) {
+      rateLimiter = new DomainRateLimiter(messagesPerMinute);
+    }
+    return rateLimiter;
+  }
+
+  /** Closes the pooled connections */
+  public static synchronized void shutdown() {
+    if (transportPool != null) {
+      transportPool.close();
+      transportPool = null;
+      poolSettings = null;
+    }
+  }
+
+  /**
+   * Sends a batch of messages over a pooled connection, updating each message's status: sent, failed, or
+   * queued with the time of the next attempt
+   *
+   * @param logo the site logo to embed for cid:sitelogo, or null
+   * @return the number of messages sent
+   */
+  static int deliver(List<MailQueueMessage> batch, MailTransportPool pool, DomainRateLimiter limiter,
+      DataSource logo, long now) {
+    Map<String, DataSourceResolver> resolvers = new HashMap<>();
+    MailTransportPool.PooledTransport transport = null;
+    String unavailableError = null;
+    int sent = 0;
+    try {
+      for (MailQueueMessage message : batch) {
+        if (unavailableError != null) {
+          retry(message, now, unavailableError);
+          continue;
+        }
+        long wait = limiter.acquire(message.getToDomain(), now);
+        if (wait > 0) {
+          message.setStatus(MailQueueMessage.QUEUED);
+          message.setNextAttempt(new Timestamp(now + wait));
+          continue;
+        }
+        MimeMessage mimeMessage;
+        try {
+          // Resources found in the html are loaded once per site for the batch
+          DataSourceResolver resolver = resolvers.computeIfAbsent(StringUtils.defaultString(message.getSiteUrl()),
+              MailQueueCommand::createResolver);
+          mimeMessage = createMimeMessage(message, pool.getSession(), logo, resolver);
+        } catch (Exception e) {
+          LOG.warn("Email could not be created for queue id " + message.getId() + ": " + e.getMessage());
+          fail(message, e.getMessage());
+          continue;
+        }
+        if (transport != null && pool.isExhausted(transport)) {
+          // The connection is closed and a new one is used for the rest of the batch
+          pool.release(transport);
+          transport = null;
+        }
+        if (transport == null) {
+          try {
+            transport = pool.borrow();
+          } catch (MessagingException e) {
+            LOG.warn("Mail server is unavailable: " + e.getMessage());
+            unavailableError = e.getMessage();
+            retry(message, now, unavailableError);
+            continue;
+          }
+        }
+        try {
+          transport.sendMessage(mimeMessage);
+          message.setAttempts(message.getAttempts() + 1);
+          message.setStatus(MailQueueMessage.SENT);
+          message.setMessageId(mimeMessage.getMessageID());
+          sent++;
+        } catch (SendFailedException e) {
+          // The server rejected the recipient, the connection can still be used
+          if (e.getInvalidAddresses() != null && e.getInvalidAddresses().length > 0) {
+            message.setAttempts(message.getAttempts() + 1);
+            fail(message, e.getMessage());
+          } else {
+            retry(message, now, e.getMessage());
+          }
+        } catch (MessagingException e) {
+          LOG.warn("Email could not be sent for queue id " + message.getId() + ": " + e.getMessage());
+          pool.invalidate(transport);
+          transport = null;
+          retry(message, now, e.getMessage());
+        }
+      }
+    } finally {
+      if (transport != null) {
+        pool.release(transport);
+      }
+    }
+    return sent;
+  }
+
+  private static void retry(MailQueueMessage message, long now, String error) {
+    message.setAttempts(message.getAttempts() + 1);
+    if (message.getAttempts() >= MAX_ATTEMPTS) {
+      fail(message, error);
+      return;
+    }
+    message.setStatus(MailQueueMessage.QUEUED);
+    message.setNextAttempt(new Timestamp(now + retryDelayMillis(message.getAttempts())));
+    message.setLastError(error);
+  }
+
+  private static void fail(MailQueueMessage message, String error) {
+    message.setStatus(MailQueueMessage.FAILED);
+    message.setLastError(error);
+  }
+
+  /**
+   * @param attempts the attempts made so far
+   * @return the delay before the next attempt, doubling from 1 minute up to 6 hours
+   */
+  static long retryDelayMillis(int attempts) {
+    int doublings = Math.max(0, Math.min(attempts - 1, 20));
+    return Math.min(FIRST_RETRY_MILLIS << doublings, MAX_RETRY_MILLIS);
+  }
+
+  static MimeMessage createMimeMessage(MailQueueMessage message, Session session, DataSource logo,
+      DataSourceResolver resolver) throws Exception {
+    ImageHtmlEmail email = new ImageHtmlEmail();
+    email.setMailSession(session);
+    email.setCharset(EmailConstants.UTF_8);
+    if (StringUtils.isNotBlank(message.getFromName())) {
+      email.setFrom(message.getFromAddress(), message.getFromName());
+    } else {
+      email.setFrom(message.getFromAddress());
+    }
+    if (StringUtils.isNotBlank(message.getToName())) {
+      email.addTo(message.getToAddress(), message.getToName());
+    } else {
+      email.addTo(message.getToAddress());
+    }
+    email.setSubject(message.getSubject());
+    email.setDataSourceResolver(resolver);
+    String html = message.getHtmlBody();
+    if (StringUtils.isNotBlank(html)) {
+      if (logo != null && html.contains("cid:" + SITE_LOGO_CID)) {
+        email.embed(logo, StringUtils.defaultIfBlank(logo.getName(), SITE_LOGO_CID), SITE_LOGO_CID);
+      }
+      email.setHtmlMsg(html);
+    }
+    if (StringUtils.isNotBlank(message.getTextBody())) {
+      email.setTextMsg(message.getTextBody());
+    }
+    email.buildMimeMessage();
+    MimeMessage mimeMessage = email.getMimeMessage();
+    mimeMessage.saveChanges();
+    return mimeMessage;
+  }
+
+  private static DataSourceResolver createResolver(String siteUrl) {
+    DataSourceResolver delegate = null;
+    if (StringUtils.isNotBlank(siteUrl)) {
+      try {
+        delegate = new DataSourceUrlResolver(URI.create(siteUrl).toURL());
+      } catch (Exception e) {
+        LOG.error("Could not set DataSourceUrlResolver for url: " + siteUrl);
+      }
+    }
+    return new CachingDataSourceResolver(delegate);
+  }
+
+  /** Loads each resource once and shares the content with the other emails in the batch */
+  static class CachingDataSourceResolver implements DataSourceResolver {
+
+    private final DataSourceResolver delegate;
+    private final Map<String, DataSource> resources = new HashMap<>();
+
+    CachingDataSourceResolver(DataSourceResolver delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DataSource resolve(String resourceLocation) throws IOException {
+      if (delegate == null) {
+        return null;
+      }
+      if (resources.containsKey(resourceLocation)) {
+        return resources.get(resourceLocation);
+      }
+      return copy(resourceLocation, delegate.resolve(resourceLocation));
+    }
+
+    @Override
+    public DataSource resolve(String resourceLocation, boolean isLenient) throws IOException {
+      if (delegate == null) {
+        return null;
+      }
+      if (resources.containsKey(resourceLocation)) {
+        return resources.get(resourceLocation);
+      }
+      return copy(resourceLocation, delegate.resolve(resourceLocation, isLenient));
+    }
+
+    private DataSource copy(String resourceLocation, DataSource dataSource) throws IOException {
+      ByteArrayDataSource copy = null;
+      if (dataSource != null) {
+        try (InputStream inputStream = dataSource.getInputStream()) {
+          copy = new ByteArrayDataSource(IOUtils.toByteArray(inputStream), dataSource.getContentType());
+        }
+        copy.setName(dataSource.getName());
+      }
+      resources.put(resourceLocation, copy);
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Keeps connected SMTP transports for reuse, so many messages are sent over each connection
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class MailTransportPool {
+
+  private static Log LOG = LogFactory.getLog(MailTransportPool.class);
+
+  private final Session session;
+  private final int maxIdle;
+  private final int maxMessagesPerConnection;
+  private final long maxIdleMillis;
+  private final Deque<PooledTransport> idle = new ArrayDeque<>();
+  private final AtomicInteger connectionsOpened = new AtomicInteger();
+
+  /** A connected transport and its use */
+  public static final class PooledTransport {
+
+    private final Transport transport;
+    private int messageCount = 0;
+    private long lastUsed = System.currentTimeMillis();
+
+    private PooledTransport(Transport transport) {
+      this.transport = transport;
+    }
+
+    public void sendMessage(Message message) throws MessagingException {
+      transport.sendMessage(message, message.getAllRecipients());
+      messageCount++;
+      lastUsed = System.currentTimeMillis();
+    }
+
+    public int getMessageCount() {
+      return messageCount;
+    }
+  }
+
+  public MailTransportPool(Session session, int maxIdle, int maxMessagesPerConnection, long maxIdleMillis) {
+    this.session = session;
+    this.maxIdle = maxIdle;
+    this.maxMessagesPerConnection = maxMessagesPerConnection;
+    this.maxIdleMillis = maxIdleMillis;
+  }
+
+  public Session getSession() {
+    return session;
+  }
+
+  /**
+   * @return an idle transport which is still connected, or a new connection
+   */
+  public PooledTransport borrow() throws MessagingException {
+    long now = System.currentTimeMillis();
+    while (true) {
+      PooledTransport pooled;
+      synchronized (idle) {
+        pooled = idle.pollFirst();
+      }
+      if (pooled == null) {
+        break;
+      }
+      // isConnected() checks the connection with a NOOP
+      if (now - pooled.lastUsed < maxIdleMillis && pooled.transport.isConnected()) {
+        return pooled;
+      }
+      close(pooled);
+    }
+    Transport transport = session.getTransport();
+    transport.connect();
+    connectionsOpened.incrementAndGet();
+    return new PooledTransport(transport);
+  }
+
+  /** @return true when the transport has sent its limit of messages and is to be released before the next send */
+  public boolean isExhausted(PooledTransport pooled) {
+    return pooled.messageCount >= maxMessagesPerConnection;
+  }
+
+  /** Returns a working transport to the pool */
+  public void release(PooledTransport pooled) {
+    if (pooled.messageCount < maxMessagesPerConnection) {
+      synchronized (idle) {
+        if (idle.size() < maxIdle) {
+          idle.addFirst(pooled);
+          return;
+        }
+      }
+    }
+    close(pooled);
+  }
+
+  /** Closes a transport which had a connection error */
+  public void invalidate(PooledTransport pooled) {
+    close(pooled);
+  }
+
+  /** Closes the idle transports */
+  public void close() {
+    while (true) {
+      PooledTransport pooled;
+      synchronized (idle) {
+        pooled = idle.pollFirst();
+      }
+      if (pooled == null) {
+        return;
+      }
+      close(pooled);
+    }
+  }
+
+  /** The number of connections made, for monitoring connection reuse */
+  public int getConnectionsOpened() {
+    return connectionsOpened.get();
+  }
+
+  private static void close(PooledTransport pooled) {
+    try {
+      pooled.transport.close();
+    } catch (MessagingException e) {
+      LOG.debug("Could not close transport: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.filesystem;
+
+import java.io.File;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Detects changes to the files in a directory by comparing the names, sizes and modified times, checking at
+ * most once per interval; used to evict cached templates after the template files are edited
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:30 PM
+ */
+public class FileChangeWatcher {
+
+  private static Log LOG = LogFactory.getLog(FileChangeWatcher.class);
+
+  private static final int MAX_FILES = 10_000;
+
+  private final File directory;
+  private final long intervalMillis;
+  private long nextCheckMillis;
+  private long version;
+
+  public FileChangeWatcher(File directory, long intervalMillis) {
+    this.directory = directory;
+    this.intervalMillis = intervalMillis;
+    this.version = computeVersion(directory);
+    this.nextCheckMillis = System.currentTimeMillis() + intervalMillis;
+  }
+
+  /**
+   * @return a watcher for the directory, or null if the path is not a directory (like an unexpanded war)
+   */
+  public static FileChangeWatcher forDirectory(String path, long intervalMillis) {
+    if (path == null) {
+      return null;
+    }
+    File directory = new File(path);
+    if (!directory.isDirectory()) {
+      return null;
+    }
+    return new FileChangeWatcher(directory, intervalMillis);
+  }
+
+  /**
+   * @return true once for each change found since the last check
+   */
+  public boolean hasChanged() {
+    long now = System.currentTimeMillis();
+    synchronized (this) {
+      if (now < nextCheckMillis) {
+        return false;
+      }
+      nextCheckMillis = now + intervalMillis;
+      long current = computeVersion(directory);
+      if (current == version) {
+        return false;
+      }
+      version = current;
+    }
+    LOG.info("Files changed in: " + directory.getPath());
+    return true;
+  }
+
+  static long computeVersion(File directory) {
+    long[] hash = { 17L, 0L };
+    addFiles(directory, hash);
+    return hash[0];
+  }
+
+  private static void addFiles(File directory, long[] hash) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (++hash[1] > MAX_FILES) {
+        return;
+      }
+      if (file.isDirectory()) {
+        addFiles(file, hash);
+      } else {
+        hash[0] = 31 * hash[0] + file.getPath().hashCode();
+        hash[0] = 31 * hash[0] + file.lastModified();
+        hash[0] = 31 * hash[0] + file.length();
+      }
+    }
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.http;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.validator.routines.UrlValidator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.RemoteContent;
+
+/**
+ * Gets remote content using a cache which follows the response's Cache-Control and ETag headers; expired
+ * content is used while a new copy is requested in the background, and when the remote server has an error
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 9:00 PM
+ */
+public class CachedHttpGetCommand {
+
+  private static Log LOG = LogFactory.getLog(CachedHttpGetCommand.class);
+
+  // Used when the response does not say
+  static final long DEFAULT_MAX_AGE_SECONDS = 300L;
+  static final long DEFAULT_STALE_WHILE_REVALIDATE_SECONDS = 3_600L;
+  static final long DEFAULT_STALE_IF_ERROR_SECONDS = 86_400L;
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+  private static final ThreadPoolExecutor revalidateExecutor = createExecutor();
+
+  private CachedHttpGetCommand() {
+  }
+
+  private static ThreadPoolExecutor createExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
+        runnable -> {
+          Thread thread = new Thread(runnable, "http-revalidate-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * @return the remote content, or null when it is not available
+   */
+  public static RemoteContent execute(String url) {
+    if (StringUtils.isBlank(url)) {
+      LOG.debug("No url");
+      return null;
+    }
+    String[] schemes = { "http", "https" };
+    UrlValidator urlValidator = new UrlValidator(schemes);
+    if (!urlValidator.isValid(url)) {
+      LOG.debug("Invalid url: " + url);
+      return null;
+    }
+    Cache<String, RemoteContent> cache = CacheManager.getCache(CacheManager.CONTENT_REMOTE_URL_CACHE);
+    return execute(url, cache, System.currentTimeMillis());
+  }
+
+  static RemoteContent execute(String url, Cache<String, RemoteContent> cache, long nowMillis) {
+    RemoteContent cached = cache != null ? cache.getIfPresent(url) : null;
+    if (cached != null) {
+      if (cached.isFresh(nowMillis)) {
+        return cached;
+      }
+      if (cached.isUsableWhileRevalidating(nowMillis)) {
+        revalidateInBackground(url, cache, cached);
+        return cached;
+      }
+    }
+    RemoteContent remoteContent = request(url, cache, cached);
+    if (remoteContent == null && cached != null && cached.isUsableOnError(nowMillis)) {
+      LOG.debug("Using expired content after an error: " + url);
+      return cached;
+    }
+    return remoteContent;
+  }
+
+  private static void revalidateInBackground(String url, Cache<String, RemoteContent> cache, RemoteContent cached) {
+    if (!cached.startRevalidation()) {
+      return;
+    }
+    try {
+      revalidateExecutor.execute(() -> {
+        try {
+          request(url, cache, cached);
+        } finally {
+          cached.endRevalidation();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      cached.endRevalidation();
+      LOG.debug("Too many remote content requests, using expired content: " + url);
+    }
+  }
+
+  /** Requests the content, using the previous copy's validators, and caches the result */
+  private static RemoteContent request(String url, Cache<String, RemoteContent> cache, RemoteContent previous) {
+    LOG.debug("Requesting from: " + url);
+    HttpRequest.Builder builder = HttpRequest.newBuilder()
+        .uri(URI.create(url))
+        .timeout(HttpClientService.REQUEST_TIMEOUT)
+        .GET();
+    if (previous != null && previous.getEtag() != null) {
+      builder.setHeader("If-None-Match", previous.getEtag());
+    }
+    if (previous != null && previous.getLastModified() != null) {
+      builder.setHeader("If-Modified-Since", previous.getLastModified());
+    }
+    HttpResponse<String> response = HttpClientService.send(builder.build(), HttpResponse.BodyHandlers.ofString(), true);
+    if (response == null) {
+      return null;
+    }
+    int status = response.statusCode();
+    String cacheControl = response.headers().firstValue("Cache-Control").orElse(null);
+    String etag = response.headers().firstValue("ETag").orElse(null);
+    String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+    long nowMillis = System.currentTimeMillis();
+    RemoteContent remoteContent;
+    if (status == 304 && previous != null) {
+      remoteContent = previous.revalidated(etag, lastModified, freshUntil(cacheControl, nowMillis),
+          staleUntil(cacheControl, nowMillis), staleIfErrorUntil(cacheControl, nowMillis));
+    } else if (status >= 200 && status < 300 && StringUtils.isNotEmpty(response.body())) {
+      remoteContent = new RemoteContent(response.body(), etag, lastModified, freshUntil(cacheControl, nowMillis),
+          staleUntil(cacheControl, nowMillis), staleIfErrorUntil(cacheControl, nowMillis));
+    } else {
+      LOG.debug("Received status: " + status + " for: " + url);
+      return null;
+    }
+    if (cache != null) {
+      if (isStorable(cacheControl)) {
+        cache.put(url, remoteContent);
+      } else {
+        cache.invalidate(url);
+      }
+    }
+    return remoteContent;
+  }
+
+  /** Responses for one user are not shared with others */
+  static boolean isStorable(String cacheControl) {
+    return !hasDirective(cacheControl, "no-store") && !hasDirective(cacheControl, "private");
+  }
+
+  static long freshUntil(String cacheControl, long nowMillis) {
+    if (hasDirective(cacheControl, "no-cache")) {
+      return nowMillis;
+    }
+    return nowMillis + 1000L * directiveSeconds(cacheControl, "max-age", DEFAULT_MAX_AGE_SECONDS);
+  }
+
+  static long staleUntil(String cacheControl, long nowMillis) {
+    if (hasDirective(cacheControl, "no-cache") || hasDirective(cacheControl, "must-revalidate")) {
+      return nowMillis;
+    }
+    return freshUntil(cacheControl, nowMillis)
+        + 1000L * directiveSeconds(cacheControl, "stale-while-revalidate", DEFAULT_STALE_WHILE_REVALIDATE_SECONDS);
+  }
+
+  static long staleIfErrorUntil(String cacheControl, long nowMillis) {
+    if (hasDirective(cacheControl, "must-revalidate")) {
+      return nowMillis;
+    }
+    return freshUntil(cacheControl, nowMillis)
+        + 1000L * directiveSeconds(cacheControl, "stale-if-error", DEFAULT_STALE_IF_ERROR_SECONDS);
+  }
+
+  private static boolean hasDirective(String cacheControl, String name) {
+    if (cacheControl == null) {
+      return false;
+    }
+    for (String directive : cacheControl.split(",")) {
+      String directiveName = StringUtils.substringBefore(directive, "=").trim();
+      if (name.equalsIgnoreCase(directiveName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long directiveSeconds(String cacheControl, String name, long defaultValue) {
+    if (cacheControl == null) {
+      return defaultValue;
+    }
+    for (String directive : cacheControl.split(",")) {
+      int idx = directive.indexOf('=');
+      if (idx > -1 && name.equalsIgnoreCase(directive.substring(0, idx).trim())) {
+        String value = StringUtils.strip(directive.substring(idx + 1).trim(), "\"");
+        return Math.max(0, NumberUtils.toLong(value, defaultValue));
+      }
+    }
+    return defaultValue;
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A shared http client which reuses connections, limits the concurrent requests to each host, and stops
+ * calling a host for a while after repeated failures
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 9:00 PM
+ */
+public class HttpClientService {
+
+  private static Log LOG = LogFactory.getLog(HttpClientService.class);
+
+  public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+  private static final int MAX_REQUESTS_PER_HOST = 8;
+  private static final long PERMIT_WAIT_MILLIS = 2_000L;
+  static final int FAILURE_THRESHOLD = 5;
+  static final long OPEN_CIRCUIT_MILLIS = 30_000L;
+
+  // Redirects are returned to the caller, like the per-request clients this replaces
+  private static final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(CONNECT_TIMEOUT)
+      .followRedirects(HttpClient.Redirect.NEVER)
+      .build();
+
+  // For cached content which is requested without credentials
+  private static final HttpClient redirectingClient = HttpClient.newBuilder()
+      .connectTimeout(CONNECT_TIMEOUT)
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .build();
+
+  private static final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+  /** The request limit and circuit breaker for a host */
+  static class Host {
+
+    private final Semaphore permits = new Semaphore(MAX_REQUESTS_PER_HOST);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean trialRequest = new AtomicBoolean();
+    private volatile long openUntilMillis = 0L;
+
+    /** When the circuit is open no requests are allowed, after that a single request tries the host again */
+    boolean allowRequest(long nowMillis) {
+      if (failures.get() < FAILURE_THRESHOLD) {
+        return true;
+      }
+      return nowMillis >= openUntilMillis && trialRequest.compareAndSet(false, true);
+    }
+
+    void recordSuccess() {
+      failures.set(0);
+      trialRequest.set(false);
+    }
+
+    void recordFailure(long nowMillis) {
+      if (failures.incrementAndGet() >= FAILURE_THRESHOLD) {
+        openUntilMillis = nowMillis + OPEN_CIRCUIT_MILLIS;
+      }
+      trialRequest.set(false);
+    }
+
+    boolean isOpen(long nowMillis) {
+      return failures.get() >= FAILURE_THRESHOLD && nowMillis < openUntilMillis;
+    }
+  }
+
+  private HttpClientService() {
+  }
+
+  public static HttpClient getClient() {
+    return client;
+  }
+
+  static Host getHost(String authority) {
+    return hosts.computeIfAbsent(authority, k -> new Host());
+  }
+
+  /**
+   * Sends the request using the shared client, without following redirects
+   *
+   * @return the response, or null when the request failed, or the host is failing or has too many requests
+   */
+  public static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+    return send(request, bodyHandler, false);
+  }
+
+  /**
+   * Sends the request using a shared client; a 5xx response, timeout or connection error counts as a failure
+   * for the host
+   *
+   * @param followRedirects true to follow redirects, except from https to http
+   * @return the response, or null when the request failed, or the host is failing or has too many requests
+   */
+  public static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+      boolean followRedirects) {
+    String authority = request.uri().getAuthority();
+    Host host = getHost(authority != null ? authority.toLowerCase() : "");
+    if (!host.allowRequest(System.currentTimeMillis())) {
+      LOG.debug("Skipping a request to a failing host: " + authority);
+      return null;
+    }
+    boolean acquired = false;
+    try {
+      acquired = host.permits.tryAcquire(PERMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+      if (!acquired) {
+        LOG.warn("Too many requests to host: " + authority);
+        host.trialRequest.set(false);
+        return null;
+      }
+      HttpResponse<T> response = (followRedirects ? redirectingClient : client).send(request, bodyHandler);
+      if (response.statusCode() >= 500) {
+        host.recordFailure(System.currentTimeMillis());
+      } else {
+        host.recordSuccess();
+      }
+      return response;
+    } catch (IOException e) {
+      host.recordFailure(System.currentTimeMillis());
+      LOG.warn("Request to " + authority + " failed: " + e.getClass().getSimpleName() + " " + e.getMessage());
+      return null;
+    } catch (InterruptedException e) {
+      host.trialRequest.set(false);
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      if (acquired) {
+        host.permits.release();
+      }
+    }
+  }
+}
@@ -18,7 +18,6 @@ package com.simisinc.platform.application.http;
 
 import java.io.File;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
@@ -76,8 +75,7 @@ public class HttpDownloadFileCommand {
       HttpRequest request = builder.build();
 
       // Send the request and handle the response
-      HttpClient client = HttpClient.newHttpClient();
-      HttpResponse<?> response = client.send(request, HttpResponse.BodyHandlers.ofFile(tempFile.toPath()));
+      HttpResponse<?> response = HttpClientService.send(request, HttpResponse.BodyHandlers.ofFile(tempFile.toPath()));
 
       // Make sure a file was received
       if (response == null || tempFile.length() <= 0) {
@@ -17,10 +17,8 @@
 package com.simisinc.platform.application.http;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -78,7 +76,7 @@ public class HttpGetCommand {
       } else {
         builder.GET();
       }
-      builder.timeout(Duration.ofSeconds(20));
+      builder.timeout(HttpClientService.REQUEST_TIMEOUT);
       if (headers != null) {
         for (Map.Entry<String, String> set : headers.entrySet()) {
           String name = set.getKey();
@@ -89,8 +87,7 @@ public class HttpGetCommand {
       HttpRequest request = builder.build();
 
       // Send the request and handle the response
-      HttpClient client = HttpClient.newHttpClient();
-      var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      var response = HttpClientService.send(request, HttpResponse.BodyHandlers.ofString());
       if (response == null) {
         LOG.debug("No response");
         return null;
@@ -18,11 +18,9 @@ package com.simisinc.platform.application.http;
 
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -84,7 +82,7 @@ public class HttpPostCommand {
       // Build the request
       HttpRequest.Builder builder = HttpRequest.newBuilder();
       builder.uri(URI.create(url));
-      builder.timeout(Duration.ofSeconds(20));
+      builder.timeout(HttpClientService.REQUEST_TIMEOUT);
       if (headers != null) {
         for (Map.Entry<String, String> set : headers.entrySet()) {
           String name = set.getKey();
@@ -102,9 +100,8 @@ public class HttpPostCommand {
         request = builder.POST(HttpRequest.BodyPublishers.ofString(data)).build();
       }
 
-      // Create the HTTP client
-      HttpClient client = HttpClient.newBuilder().build();
-      var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      // Send using the shared HTTP client
+      var response = HttpClientService.send(request, HttpResponse.BodyHandlers.ofString());
       if (response == null) {
         LOG.debug("No response");
         return null;
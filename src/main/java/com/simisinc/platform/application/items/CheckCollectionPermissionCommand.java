@@ -16,10 +16,12 @@
 
 package com.simisinc.platform.application.items;
 
+import com.simisinc.platform.infrastructure.cache.CollectionAccess;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.DB;
 
 /**
- * Methods to check collection object permissions
+ * Methods to check collection object permissions, using the in-memory access matrix when it is available
  *
  * @author matt rajkowski
  * @created 9/28/18 10:30 AM
@@ -27,6 +29,10 @@ import com.simisinc.platform.infrastructure.database.DB;
 public class CheckCollectionPermissionCommand {
 
   public static boolean userHasAddPermission(long collectionId, long userId) {
+    if (CollectionAccessCache.isEnabled()) {
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collectionId);
+      return access != null && access.canAdd(CollectionAccessCache.getUserGroups(userId));
+    }
     // SELECT COUNT(*) FROM user_groups WHERE user_id = 2 AND group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = 14 AND add_permission = true);
     long count = DB.selectCountFrom("user_groups",
         DB.WHERE("user_id = ?", userId)
@@ -36,15 +42,23 @@ public class CheckCollectionPermissionCommand {
   }
 
   public static boolean userHasViewPermission(long collectionId, long userId) {
-    // SELECT COUNT(*) FROM user_groups WHERE user_id = 2 AND group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = 14 AND view_permission = true);
+    if (CollectionAccessCache.isEnabled()) {
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collectionId);
+      return access != null && access.canView(CollectionAccessCache.getUserGroups(userId));
+    }
+    // SELECT COUNT(*) FROM user_groups WHERE user_id = 2 AND group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = 14 AND view_all = true);
     long count = DB.selectCountFrom("user_groups",
         DB.WHERE("user_id = ?", userId)
-            .AND("group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = ? AND view_permission = true)",
+            .AND("group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = ? AND view_all = true)",
                 collectionId));
     return (count > 0);
   }
 
   public static boolean userHasEditPermission(long collectionId, long userId) {
+    if (CollectionAccessCache.isEnabled()) {
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collectionId);
+      return access != null && access.canEdit(CollectionAccessCache.getUserGroups(userId));
+    }
     // SELECT COUNT(*) FROM user_groups WHERE user_id = 2 AND group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = 14 AND edit_permission = true);
     long count = DB.selectCountFrom("user_groups",
         DB.WHERE("user_id = ?", userId)
@@ -54,6 +68,10 @@ public class CheckCollectionPermissionCommand {
   }
 
   public static boolean userHasDeletePermission(long collectionId, long userId) {
+    if (CollectionAccessCache.isEnabled()) {
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collectionId);
+      return access != null && access.canDelete(CollectionAccessCache.getUserGroups(userId));
+    }
     // SELECT COUNT(*) FROM user_groups WHERE user_id = 2 AND group_id IN (SELECT group_id FROM collection_groups WHERE collection_id = 14 AND delete_permission = true);
     long count = DB.selectCountFrom("user_groups",
         DB.WHERE("user_id = ?", userId)
@@ -18,7 +18,7 @@
 package com.simisinc.platform.application.items;
 
 import com.simisinc.platform.application.admin.SendDataManagerEmailCommand;
-import com.simisinc.platform.application.email.EmailCommand;
+import com.simisinc.platform.application.email.MailQueueCommand;
 import com.simisinc.platform.application.maps.GeoIPCommand;
 import com.simisinc.platform.domain.model.CustomField;
 import com.simisinc.platform.domain.model.User;
@@ -27,7 +27,6 @@ import com.simisinc.platform.domain.model.items.Item;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.commons.mail.ImageHtmlEmail;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.commons.text.WordUtils;
 
@@ -134,20 +133,15 @@ public class ItemCommand {
 
     // Send the email
     if (StringUtils.isNotBlank(emailAddresses)) {
-      try {
-        ImageHtmlEmail email = EmailCommand.prepareNewEmail();
-        String[] listOfEmails = emailAddresses.split(",");
-        for (String thisEmail : listOfEmails) {
-          email.addTo(thisEmail.trim());
+      boolean queued = false;
+      String[] listOfEmails = emailAddresses.split(",");
+      for (String thisEmail : listOfEmails) {
+        if (MailQueueCommand.queueMessage(thisEmail.trim(), null, subject, html, text)) {
+          queued = true;
         }
-        email.setSubject(subject);
-        //        email.addPart(html, "text/html;charset=UTF-8");
-        email.setHtmlMsg(html);
-        email.setTextMsg(text);
-        email.send();
+      }
+      if (queued) {
         return;
-      } catch (Exception e) {
-        LOG.error("sendMessage could not send mail", e);
       }
     }
 
@@ -18,6 +18,8 @@ package com.simisinc.platform.application.items;
 
 import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccess;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.persistence.items.CollectionRepository;
 import com.simisinc.platform.infrastructure.persistence.items.CollectionSpecification;
 import org.apache.commons.lang3.StringUtils;
@@ -52,6 +54,14 @@ public class LoadCollectionCommand {
     if (collectionId < 1) {
       return null;
     }
+    if (CollectionAccessCache.isEnabled()) {
+      // Check the access matrix, then use the cached collection
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collectionId);
+      if (access == null || !access.isAuthorized(userId, CollectionAccessCache.getUserGroups(userId))) {
+        return null;
+      }
+      return loadCollectionByUniqueId(access.getUniqueId());
+    }
     CollectionSpecification specification = new CollectionSpecification();
     specification.setId(collectionId);
     specification.setForUserId(userId);
@@ -66,6 +76,17 @@ public class LoadCollectionCommand {
     if (StringUtils.isBlank(uniqueId)) {
       return null;
     }
+    if (CollectionAccessCache.isEnabled()) {
+      Collection collection = loadCollectionByUniqueId(uniqueId);
+      if (collection == null) {
+        return null;
+      }
+      CollectionAccess access = CollectionAccessCache.getCollectionAccess(collection.getId());
+      if (access == null || !access.isAuthorized(userId, CollectionAccessCache.getUserGroups(userId))) {
+        return null;
+      }
+      return collection;
+    }
     CollectionSpecification specification = new CollectionSpecification();
     specification.setUniqueId(uniqueId);
     specification.setForUserId(userId);
@@ -29,9 +29,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.text.StringEscapeUtils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * Functions for working with JSON data
@@ -43,6 +45,10 @@ public class JsonCommand {
 
   private static Log LOG = LogFactory.getLog(JsonCommand.class);
 
+  // Mappers are expensive to create and thread-safe once configured, so one is shared
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectReader READER = MAPPER.reader();
+
   public static String toJson(String value) {
     if (StringUtils.isBlank(value)) {
       return "";
@@ -53,22 +59,24 @@ public class JsonCommand {
 
   /* Create a JsonNode object from a string */
   public static JsonNode fromString(String jsonString) throws JsonProcessingException {
-    ObjectMapper mapper = new ObjectMapper();
-    return mapper.readTree(jsonString);
+    return READER.readTree(jsonString);
+  }
+
+  /* Create a streaming parser for reading values without building a tree */
+  public static JsonParser createParser(String jsonString) throws IOException {
+    return READER.createParser(jsonString);
   }
 
   /* Create a JsonNode object from a URL's resource contents */
   public static JsonNode fromURL(URL resource) throws IOException {
     try (InputStream input = resource.openStream()) {
-      ObjectMapper mapper = new ObjectMapper();
-      return mapper.readTree(input);
+      return READER.readTree(input);
     }
   }
 
   /* Create a JsonNode object from a file's contents */
   public static JsonNode fromFile(File file) throws IOException {
-    ObjectMapper mapper = new ObjectMapper();
-    return mapper.readTree(file);
+    return MAPPER.readTree(file);
   }
 
   /* Create JSON string from nested String/Object pairs */
@@ -166,8 +174,7 @@ public class JsonCommand {
       return null;
     }
     try {
-      ObjectMapper mapper = new ObjectMapper();
-      return mapper.writeValueAsString(values);
+      return MAPPER.writeValueAsString(values);
     } catch (Exception e) {
       LOG.error("toJson", e);
     }
@@ -179,8 +186,7 @@ public class JsonCommand {
       return new String[0];
     }
     try {
-      ObjectMapper mapper = new ObjectMapper();
-      return mapper.readValue(json, String[].class);
+      return READER.forType(String[].class).readValue(json);
     } catch (Exception e) {
       LOG.error("fromJson", e);
     }
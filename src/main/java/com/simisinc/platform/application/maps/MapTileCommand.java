@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.maps;
+
+/**
+ * Web mercator tile math for the z/x/y tiles used by the map widgets
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+public class MapTileCommand {
+
+  public static final int MAX_ZOOM = 22;
+
+  /** The width of a tile in pixels */
+  public static final int TILE_SIZE = 256;
+
+  /** The width of a cluster cell in pixels, a tile is divided evenly into cells */
+  public static final int CLUSTER_CELL_SIZE = 64;
+
+  private MapTileCommand() {
+  }
+
+  public static boolean isValid(int z, int x, int y) {
+    if (z < 0 || z > MAX_ZOOM) {
+      return false;
+    }
+    long tileCount = 1L << z;
+    return x >= 0 && x < tileCount && y >= 0 && y < tileCount;
+  }
+
+  /**
+   * @return the south, west, north and east edges of the tile, in degrees
+   */
+  public static double[] tileBounds(int z, int x, int y) {
+    return new double[] {
+        tileLatitude(y + 1, z),
+        tileLongitude(x, z),
+        tileLatitude(y, z),
+        tileLongitude(x + 1, z)
+    };
+  }
+
+  /** The longitude of the west edge of tile column x */
+  public static double tileLongitude(int x, int z) {
+    return x / (double) (1L << z) * 360.0 - 180.0;
+  }
+
+  /** The latitude of the north edge of tile row y */
+  public static double tileLatitude(int y, int z) {
+    double n = Math.PI - 2.0 * Math.PI * y / (double) (1L << z);
+    return Math.toDegrees(Math.atan(Math.sinh(n)));
+  }
+
+  /** The number of cluster cells across the whole map at the zoom level */
+  public static long clusterCellsPerWorld(int z) {
+    return (1L << z) * (TILE_SIZE / CLUSTER_CELL_SIZE);
+  }
+}
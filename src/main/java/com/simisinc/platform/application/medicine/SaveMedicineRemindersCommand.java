@@ -41,17 +41,13 @@ public class SaveMedicineRemindersCommand {
   //  private static String INDIVIDUALS_UNIQUE_ID = "individuals";
 
   public static void saveMedicineReminders(Medicine medicine) throws DataException {
-    // Go forward several days...
+    // Go forward several days, replacing the reminders from now on
     LocalDate now = LocalDate.now();
-    for (int i = 0; i < 31; i++) {
-      LocalDate startDate = now.plusDays(i);
-      LocalDate endDate = startDate.plusDays(1);
-      // Load all the reminders for the range... could be hundreds of people
-      MedicineReminderRepository.createMedicineReminders(
-          medicine.getId(),
-          (i == 0 ? new Timestamp(System.currentTimeMillis()) : Timestamp.valueOf(startDate.atStartOfDay())),
-          Timestamp.valueOf(endDate.atStartOfDay()),
-          startDate.getDayOfWeek());
-    }
+    MedicineReminderRepository.createMedicineReminders(
+        medicine.getId(),
+        medicine.getId(),
+        new Timestamp(System.currentTimeMillis()),
+        now,
+        31);
   }
 }
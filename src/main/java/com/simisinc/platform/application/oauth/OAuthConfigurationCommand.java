@@ -144,7 +144,7 @@ public class OAuthConfigurationCommand {
         LOG.error("HttpPost", e);
       }
     }
-    if (json.has(parameter)) {
+    if (json != null && json.has(parameter)) {
       return json.get(parameter).asText();
     }
     return null;
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.domain.model.ecommerce;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.simisinc.platform.domain.model.Entity;
+
+/**
+ * Inventory set aside for a cart while the order is placed and paid for
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class InventoryHold extends Entity {
+
+  private static final long serialVersionUID = 7615392046822731980L;
+
+  private long cartId = -1L;
+  private String nodeId = null;
+  private Map<Long, Integer> skuQuantities = new LinkedHashMap<>();
+  private long expires = 0L;
+
+  public InventoryHold() {
+  }
+
+  public InventoryHold(long cartId, String nodeId, Map<Long, Integer> skuQuantities, long expires) {
+    this.cartId = cartId;
+    this.nodeId = nodeId;
+    this.skuQuantities = Collections.unmodifiableMap(new LinkedHashMap<>(skuQuantities));
+    this.expires = expires;
+  }
+
+  public long getCartId() {
+    return cartId;
+  }
+
+  public void setCartId(long cartId) {
+    this.cartId = cartId;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public void setNodeId(String nodeId) {
+    this.nodeId = nodeId;
+  }
+
+  /** The quantity held for each sku id */
+  public Map<Long, Integer> getSkuQuantities() {
+    return skuQuantities;
+  }
+
+  public void setSkuQuantities(Map<Long, Integer> skuQuantities) {
+    this.skuQuantities = skuQuantities;
+  }
+
+  public boolean holdsSku(long skuId) {
+    return skuQuantities.containsKey(skuId);
+  }
+
+  public long getExpires() {
+    return expires;
+  }
+
+  public void setExpires(long expires) {
+    this.expires = expires;
+  }
+}
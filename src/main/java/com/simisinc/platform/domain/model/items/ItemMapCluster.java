@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.domain.model.items;
+
+import com.simisinc.platform.domain.model.Entity;
+
+/**
+ * A group of nearby items shown as one marker on a map tile; a single item includes its details
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+public class ItemMapCluster extends Entity {
+
+  private static final long serialVersionUID = 5938612322791194515L;
+
+  private long itemCount = 0;
+  private double latitude = 0;
+  private double longitude = 0;
+  private long itemId = -1L;
+  private String name = null;
+  private String street = null;
+
+  public ItemMapCluster() {
+  }
+
+  public long getItemCount() {
+    return itemCount;
+  }
+
+  public void setItemCount(long itemCount) {
+    this.itemCount = itemCount;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+  }
+
+  public long getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(long itemId) {
+    this.itemId = itemId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getStreet() {
+    return street;
+  }
+
+  public void setStreet(String street) {
+    this.street = street;
+  }
+}
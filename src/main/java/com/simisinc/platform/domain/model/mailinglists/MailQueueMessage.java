@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.domain.model.mailinglists;
+
+import java.sql.Timestamp;
+
+import com.simisinc.platform.domain.model.Entity;
+
+/**
+ * An email waiting in the outbound mail queue, one per recipient
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class MailQueueMessage extends Entity {
+
+  private static final long serialVersionUID = 3281946720518374605L;
+
+  public static final int QUEUED = 0;
+  public static final int SENDING = 1;
+  public static final int SENT = 2;
+  public static final int FAILED = 3;
+
+  private Long id = -1L;
+  private Timestamp created = null;
+  private String fromAddress = null;
+  private String fromName = null;
+  private String toAddress = null;
+  private String toName = null;
+  private String toDomain = null;
+  private String subject = null;
+  private String htmlBody = null;
+  private String textBody = null;
+  private String siteUrl = null;
+  private int status = QUEUED;
+  private int attempts = 0;
+  private Timestamp nextAttempt = null;
+  private Timestamp claimed = null;
+  private Timestamp sentDate = null;
+  private String messageId = null;
+  private String lastError = null;
+
+  public MailQueueMessage() {
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Timestamp getCreated() {
+    return created;
+  }
+
+  public void setCreated(Timestamp created) {
+    this.created = created;
+  }
+
+  public String getFromAddress() {
+    return fromAddress;
+  }
+
+  public void setFromAddress(String fromAddress) {
+    this.fromAddress = fromAddress;
+  }
+
+  public String getFromName() {
+    return fromName;
+  }
+
+  public void setFromName(String fromName) {
+    this.fromName = fromName;
+  }
+
+  public String getToAddress() {
+    return toAddress;
+  }
+
+  public void setToAddress(String toAddress) {
+    this.toAddress = toAddress;
+  }
+
+  public String getToName() {
+    return toName;
+  }
+
+  public void setToName(String toName) {
+    this.toName = toName;
+  }
+
+  public String getToDomain() {
+    return toDomain;
+  }
+
+  public void setToDomain(String toDomain) {
+    this.toDomain = toDomain;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public void setSubject(String subject) {
+    this.subject = subject;
+  }
+
+  public String getHtmlBody() {
+    return htmlBody;
+  }
+
+  public void setHtmlBody(String htmlBody) {
+    this.htmlBody = htmlBody;
+  }
+
+  public String getTextBody() {
+    return textBody;
+  }
+
+  public void setTextBody(String textBody) {
+    this.textBody = textBody;
+  }
+
+  public String getSiteUrl() {
+    return siteUrl;
+  }
+
+  public void setSiteUrl(String siteUrl) {
+    this.siteUrl = siteUrl;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public Timestamp getNextAttempt() {
+    return nextAttempt;
+  }
+
+  public void setNextAttempt(Timestamp nextAttempt) {
+    this.nextAttempt = nextAttempt;
+  }
+
+  public Timestamp getClaimed() {
+    return claimed;
+  }
+
+  public void setClaimed(Timestamp claimed) {
+    this.claimed = claimed;
+  }
+
+  public Timestamp getSentDate() {
+    return sentDate;
+  }
+
+  public void setSentDate(Timestamp sentDate) {
+    this.sentDate = sentDate;
+  }
+
+  public String getMessageId() {
+    return messageId;
+  }
+
+  public void setMessageId(String messageId) {
+    this.messageId = messageId;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+}
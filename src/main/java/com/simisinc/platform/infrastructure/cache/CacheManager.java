@@ -16,23 +16,35 @@
 
 package com.simisinc.platform.infrastructure.cache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.simisinc.platform.domain.model.App;
-import com.simisinc.platform.domain.model.SiteProperty;
-import com.simisinc.platform.domain.model.cms.Content;
-import com.simisinc.platform.domain.model.cms.Stylesheet;
-import com.simisinc.platform.domain.model.cms.TableOfContents;
-import com.simisinc.platform.domain.model.items.Collection;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
 import com.simisinc.platform.infrastructure.distributedmessaging.MessagingCommand;
 import com.simisinc.platform.infrastructure.persistence.AppRepository;
-import com.simisinc.platform.infrastructure.persistence.SitePropertyRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.ContentRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.StylesheetRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.TableOfContentsRepository;
@@ -46,13 +58,27 @@ import com.simisinc.platform.infrastructure.persistence.items.CollectionReposito
  */
 public class CacheManager {
 
+  private static Log LOG = LogFactory.getLog(CacheManager.class);
+
   public static String SYSTEM_PROPERTY_PREFIX_CACHE = "SystemPropertyPrefixCache";
   public static String APP_CACHE = "AppCache";
   public static String USER_CREDENTIALS_CACHE = "UserCredentialsCache";
   public static String STYLESHEET_WEB_PAGE_ID_CACHE = "StylesheetWebPageIdCache";
   public static String CONTENT_UNIQUE_ID_CACHE = "ContentUniqueIdCache";
+  public static String CONTENT_FRAGMENT_CACHE = "ContentFragmentCache";
+  public static String PAGE_OUTPUT_CACHE = "PageOutputCache";
   public static String CONTENT_REMOTE_URL_CACHE = "ContentRemoteUrlCache";
+  public static String MARKDOWN_HTML_CACHE = "MarkdownHtmlCache";
+  public static String PAGE_HIERARCHY_CACHE = "PageHierarchyCache";
+  public static String CALENDAR_EVENT_CACHE = "CalendarEventCache";
+  public static String CALENDAR_FEED_CACHE = "CalendarFeedCache";
+  public static String PRODUCT_CATALOG_CACHE = "ProductCatalogCache";
+  public static String PRICING_RULE_CACHE = "PricingRuleCache";
+  public static String SALES_TAX_CACHE = "SalesTaxCache";
+  public static String SHIPPING_RATE_CACHE = "ShippingRateCache";
   public static String COLLECTION_UNIQUE_ID_CACHE = "CollectionUniqueIdCache";
+  public static String COLLECTION_ACCESS_CACHE = "CollectionAccessCache";
+  public static String ITEM_MAP_TILE_CACHE = "ItemMapTileCache";
   public static String TABLE_OF_CONTENTS_UNIQUE_ID_CACHE = "TableOfContentsUniqueIdCache";
   public static String RATE_LIMIT_LOGIN_ATTEMPT_BY_USERNAME_CACHE = "RateLimitLoginAttemptByUsernameCache";
   public static String RATE_LIMIT_ATTEMPT_BY_IP_CACHE = "RateLimitAttemptByIpCache";
@@ -66,7 +92,20 @@ public class CacheManager {
   public static final String WEBSITE_PLAIN_HEADER = "PlainHeader";
   public static final String WEBSITE_FOOTER = "Footer";
 
+  /** Site properties named with this prefix and a cache name change that cache's settings */
+  public static final String CACHE_PROPERTY_PREFIX = "system.cache.";
+
+  private static final int RELOAD_THREADS = 2;
+  private static final int RELOAD_QUEUE_SIZE = 1_000;
+
+  // These caches are invalidated after the change is committed, so a reload sees the change
+  private static final Set<String> RELOAD_AFTER_INVALIDATION = Set.of(CONTENT_UNIQUE_ID_CACHE,
+      STYLESHEET_WEB_PAGE_ID_CACHE, TABLE_OF_CONTENTS_UNIQUE_ID_CACHE);
+
   private static Map<String, Cache> cacheManager = new HashMap<>();
+  private static volatile ThreadPoolExecutor reloadExecutor = null;
+  // Used to discard preloaded values which may have changed while loading
+  private static final AtomicLong invalidations = new AtomicLong();
 
   private CacheManager() {
   }
@@ -75,104 +114,177 @@ public class CacheManager {
 
     // @todo Menu Tab/Item Cache
 
-    // System Property Cache (prefix = map)
-    LoadingCache<String, List<SiteProperty>> sitePropertyListCache = Caffeine.newBuilder()
-        .maximumSize(10_000)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(SitePropertyRepository::findAllByPrefix);
-    cacheManager.put(SYSTEM_PROPERTY_PREFIX_CACHE, sitePropertyListCache);
+    // Site Property Snapshot (all properties = snapshot, a prefix key reloads the snapshot)
+    cacheManager.put(SYSTEM_PROPERTY_PREFIX_CACHE, SitePropertyCache.startup());
+
+    // Site properties can change the settings below
+    reloadExecutor = createReloadExecutor();
 
     // App Cache (publicKey = app)
-    LoadingCache<String, App> appCache = Caffeine.newBuilder()
-        .maximumSize(1_000)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(AppRepository::findByPublicKey);
-    cacheManager.put(APP_CACHE, appCache);
+    cacheManager.put(APP_CACHE, buildCache(APP_CACHE, "maximumSize=1000",
+        AppRepository::findByPublicKey));
 
     // User Credentials Cache (credentials = user id)
-    Cache<Long, String> userCredentialsCache = Caffeine.newBuilder()
-        .maximumSize(1_000_000)
-        .expireAfterAccess(20, TimeUnit.HOURS)
-        .build();
-    cacheManager.put(USER_CREDENTIALS_CACHE, userCredentialsCache);
+    cacheManager.put(USER_CREDENTIALS_CACHE,
+        buildCache(USER_CREDENTIALS_CACHE, "maximumSize=1000000,expireAfterAccess=20h", null));
 
     // Stylesheet Cache (webPageId = stylesheet)
-    LoadingCache<Long, Stylesheet> stylesheetCache = Caffeine.newBuilder()
-        .maximumSize(100)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(StylesheetRepository::findByWebPageId);
-    cacheManager.put(STYLESHEET_WEB_PAGE_ID_CACHE, stylesheetCache);
+    cacheManager.put(STYLESHEET_WEB_PAGE_ID_CACHE, buildCache(STYLESHEET_WEB_PAGE_ID_CACHE, "maximumSize=100",
+        StylesheetRepository::findByWebPageId));
 
     // Content Cache (contentUniqueId = content)
-    LoadingCache<String, Content> contentCache = Caffeine.newBuilder()
-        .maximumSize(10_000)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(ContentRepository::findByUniqueId);
-    cacheManager.put(CONTENT_UNIQUE_ID_CACHE, contentCache);
-
-    // Remote Content Cache (contentRemoteUrl = remote content)
-    Cache<String, Content> remoteContentCache = Caffeine.newBuilder()
-        .maximumSize(100)
-        .expireAfterAccess(5, TimeUnit.MINUTES)
-        .build();
-    cacheManager.put(CONTENT_REMOTE_URL_CACHE, remoteContentCache);
+    cacheManager.put(CONTENT_UNIQUE_ID_CACHE, buildCache(CONTENT_UNIQUE_ID_CACHE, "maximumWeight=67108864",
+        ContentRepository::findByUniqueId));
 
-    // Collection Unique Id Cache (collectionUniqueId = collection)
-    LoadingCache<String, Collection> collectionCache = Caffeine.newBuilder()
-        .maximumSize(100)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(CollectionRepository::findByUniqueId);
-    cacheManager.put(COLLECTION_UNIQUE_ID_CACHE, collectionCache);
+    // Compiled Content Fragment Cache (contentUniqueId = fragment)
+    cacheManager.put(CONTENT_FRAGMENT_CACHE, ContentFragmentCache.startup());
+
+    // Visitor Page Output Cache (request key = rendered page)
+    cacheManager.put(PAGE_OUTPUT_CACHE, PageOutputCache.startup());
+
+    // Page Hierarchy Snapshot (all pages = tree, a page id key reloads that page's subtree)
+    cacheManager.put(PAGE_HIERARCHY_CACHE, PageHierarchyCache.startup());
+
+    // Calendar Event Index (all calendars = index of calendars and events)
+    cacheManager.put(CALENDAR_EVENT_CACHE, CalendarEventCache.startup());
+
+    // Calendar Feed Cache (index version + calendar + range = json or ics)
+    cacheManager.put(CALENDAR_FEED_CACHE, CalendarEventCache.startupFeeds(
+        buildCache(CALENDAR_FEED_CACHE, "maximumWeight=16777216,expireAfterAccess=1h", null)));
+
+    // Product Catalog Snapshot (all products = catalog, a product id key reloads that product)
+    cacheManager.put(PRODUCT_CATALOG_CACHE, ProductCatalogCache.startup());
+
+    // Pricing Rule Index (all rules = index by promo code and SKU)
+    cacheManager.put(PRICING_RULE_CACHE, PricingRuleCache.startup());
+
+    // Sales Tax Table (all rates = rates by state and zip code, with the nexus addresses)
+    cacheManager.put(SALES_TAX_CACHE, SalesTaxCache.startup());
+
+    // Shipping Rate Matrix (all rates = rates by country, with the enabled shipping countries)
+    cacheManager.put(SHIPPING_RATE_CACHE, ShippingRateCache.startup());
+
+    // Remote Content Cache (remote url = response, kept after it expires for revalidating)
+    cacheManager.put(CONTENT_REMOTE_URL_CACHE,
+        buildCache(CONTENT_REMOTE_URL_CACHE, "maximumWeight=16777216,expireAfterWrite=1d", null));
+
+    // Rendered Markdown Cache (renderer + markdown hash = html)
+    cacheManager.put(MARKDOWN_HTML_CACHE,
+        buildCache(MARKDOWN_HTML_CACHE, "maximumWeight=16777216,expireAfterAccess=1d", null));
 
     // Collection Unique Id Cache (collectionUniqueId = collection)
-    LoadingCache<String, TableOfContents> tableOfContentsCache = Caffeine.newBuilder()
-        .maximumSize(100)
-        //        .expireAfterWrite(5, TimeUnit.MINUTES)
-        //        .refreshAfterWrite(1, TimeUnit.MINUTES)
-        .build(TableOfContentsRepository::findByUniqueId);
-    cacheManager.put(TABLE_OF_CONTENTS_UNIQUE_ID_CACHE, tableOfContentsCache);
+    cacheManager.put(COLLECTION_UNIQUE_ID_CACHE, buildCache(COLLECTION_UNIQUE_ID_CACHE, "maximumSize=100",
+        CollectionRepository::findByUniqueId));
+
+    // Collection Access Matrix (collection/user/group key = access rows)
+    cacheManager.put(COLLECTION_ACCESS_CACHE, CollectionAccessCache.startup());
+
+    // Item Map Tiles (collection id key = the collection's tiles)
+    cacheManager.put(ITEM_MAP_TILE_CACHE, ItemMapTileCache.startup());
+
+    // Table of Contents Unique Id Cache (tocUniqueId = table of contents)
+    cacheManager.put(TABLE_OF_CONTENTS_UNIQUE_ID_CACHE, buildCache(TABLE_OF_CONTENTS_UNIQUE_ID_CACHE, "maximumSize=100",
+        TableOfContentsRepository::findByUniqueId));
 
     // Login attempt by username cache
-    Cache<String, Object> loginAttemptByUsernameCache = Caffeine.newBuilder()
-        .maximumSize(100_000)
-        .expireAfterAccess(30, TimeUnit.MINUTES)
-        .build();
-    cacheManager.put(RATE_LIMIT_LOGIN_ATTEMPT_BY_USERNAME_CACHE, loginAttemptByUsernameCache);
+    cacheManager.put(RATE_LIMIT_LOGIN_ATTEMPT_BY_USERNAME_CACHE,
+        buildCache(RATE_LIMIT_LOGIN_ATTEMPT_BY_USERNAME_CACHE, "maximumSize=100000,expireAfterAccess=30m", null));
 
     // Attempt by IP cache
-    Cache<String, Object> accessAttemptByIpCache = Caffeine.newBuilder()
-        .maximumSize(1_000_000)
-        .expireAfterAccess(30, TimeUnit.MINUTES)
-        .build();
-    cacheManager.put(RATE_LIMIT_ATTEMPT_BY_IP_CACHE, accessAttemptByIpCache);
+    cacheManager.put(RATE_LIMIT_ATTEMPT_BY_IP_CACHE,
+        buildCache(RATE_LIMIT_ATTEMPT_BY_IP_CACHE, "maximumSize=1000000,expireAfterAccess=30m", null));
 
     // Rate limit by app cache
-    Cache<String, Object> rateLimitByAppCache = Caffeine.newBuilder()
-        .expireAfterAccess(15, TimeUnit.MINUTES)
-        .build();
-    cacheManager.put(RATE_LIMIT_BY_APP_CACHE, rateLimitByAppCache);
+    cacheManager.put(RATE_LIMIT_BY_APP_CACHE,
+        buildCache(RATE_LIMIT_BY_APP_CACHE, "expireAfterAccess=15m", null));
 
     // Rate limit by app+user cache
-    Cache<String, Object> rateLimitByAppUserCache = Caffeine.newBuilder()
-        .maximumSize(1_000_000)
-        .expireAfterAccess(15, TimeUnit.MINUTES)
-        .build();
-    cacheManager.put(RATE_LIMIT_BY_APP_USER_CACHE, rateLimitByAppUserCache);
+    cacheManager.put(RATE_LIMIT_BY_APP_USER_CACHE,
+        buildCache(RATE_LIMIT_BY_APP_USER_CACHE, "maximumSize=1000000,expireAfterAccess=15m", null));
 
     // Generic object cache
-    Cache<String, Object> objectCache = Caffeine.newBuilder()
-        .maximumSize(100)
-        .expireAfterAccess(24, TimeUnit.HOURS)
-        .build();
-    cacheManager.put(OBJECT_CACHE, objectCache);
+    cacheManager.put(OBJECT_CACHE, buildCache(OBJECT_CACHE, "maximumSize=1000,expireAfterAccess=24h", null));
+  }
+
+  public static void shutdown() {
+    ThreadPoolExecutor executor = reloadExecutor;
+    reloadExecutor = null;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private static ThreadPoolExecutor createReloadExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(RELOAD_THREADS, RELOAD_THREADS, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(RELOAD_QUEUE_SIZE),
+        runnable -> {
+          Thread thread = new Thread(runnable, "cache-reload-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        // When the queue is full the caller loads the value itself
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Builds a cache from its site property setting (system.cache.[cacheName]) or else its default setting; the
+   * setting uses the Caffeine spec format, for example "maximumWeight=134217728,refreshAfterWrite=10m"
+   *
+   * @param cacheName the name of the cache
+   * @param defaultSpec the setting used when there is no valid site property
+   * @param loader the loader for a loading cache, or null
+   */
+  private static <K, V> Cache<K, V> buildCache(String cacheName, String defaultSpec, CacheLoader<K, V> loader) {
+    String configuredSpec = null;
+    try {
+      configuredSpec = LoadSitePropertyCommand.loadByName(CACHE_PROPERTY_PREFIX + cacheName);
+    } catch (Exception e) {
+      LOG.warn("Could not load the settings for " + cacheName + ": " + e.getMessage());
+    }
+    return buildCache(cacheName, configuredSpec, defaultSpec, loader, reloadExecutor);
+  }
+
+  static <K, V> Cache<K, V> buildCache(String cacheName, String configuredSpec, String defaultSpec,
+      CacheLoader<K, V> loader, Executor executor) {
+    if (StringUtils.isNotBlank(configuredSpec)) {
+      try {
+        Cache<K, V> cache = newCache(configuredSpec.trim(), loader, executor);
+        LOG.info("Using the " + cacheName + " settings: " + configuredSpec.trim());
+        return cache;
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        LOG.error("Invalid " + cacheName + " settings, using the defaults: " + e.getMessage());
+      }
+    }
+    return newCache(defaultSpec, loader, executor);
+  }
+
+  private static <K, V> Cache<K, V> newCache(String spec, CacheLoader<K, V> loader, Executor executor) {
+    Caffeine<Object, Object> builder = Caffeine.from(spec);
+    if (!spec.contains("recordStats")) {
+      builder.recordStats();
+    }
+    if (spec.contains("maximumWeight")) {
+      builder.weigher(CacheWeigher::weigh);
+    }
+    if (loader == null) {
+      // refreshAfterWrite is rejected here, it needs a loader
+      return builder.build();
+    }
+    if (executor != null) {
+      // Refreshes and warm-ups share the bounded reload threads
+      builder.executor(executor);
+    }
+    return builder.build(loader);
   }
 
-  public static Cache getCache(String cacheName) {
+  /**
+   * @return the cache, typed by the caller with the key and value types it was built with
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> Cache<K, V> getCache(String cacheName) {
     return cacheManager.get(cacheName);
   }
 
@@ -187,13 +299,154 @@ public class CacheManager {
   public static void invalidateKey(String cacheName, Object key, boolean distributeInvalidation) {
     Cache cache = cacheManager.get(cacheName);
     if (cache != null) {
+      invalidations.incrementAndGet();
+      // A cached key is in use, so it is loaded again instead of by each reader which finds it missing
+      boolean reload = RELOAD_AFTER_INVALIDATION.contains(cacheName) && cache.asMap().containsKey(key);
       cache.invalidate(key);
+      invalidateDependentKeys(cacheName, key);
+      if (reload) {
+        warmUp(cacheName, List.of(key));
+      }
       if (distributeInvalidation) {
         MessagingCommand.sendNotification(cacheName, key);
       }
     }
   }
 
+  /**
+   * Loads the keys into a loading cache using the reload threads; readers of a key which is being loaded wait
+   * for that load instead of querying the database themselves
+   *
+   * @param cacheName the name of a loading cache
+   * @param keys the keys to load
+   */
+  @SuppressWarnings("unchecked")
+  public static void warmUp(String cacheName, Iterable<?> keys) {
+    Cache<?, ?> cache = cacheManager.get(cacheName);
+    Executor executor = reloadExecutor;
+    if (!(cache instanceof LoadingCache) || executor == null || keys == null) {
+      return;
+    }
+    LoadingCache<Object, ?> loadingCache = (LoadingCache<Object, ?>) cache;
+    executor.execute(() -> {
+      try {
+        loadingCache.getAll(keys);
+      } catch (Exception e) {
+        LOG.warn("Could not warm up " + cacheName + ": " + e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Adds the values from a single bulk query to a cache, without replacing values which are already cached;
+   * when a key is invalidated during the preload, the preloaded values are removed and load when used
+   *
+   * @param cacheName the name of the cache
+   * @param loader returns the values by key
+   * @return the number of values added
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> int preload(String cacheName, Supplier<Map<K, V>> loader) {
+    Cache<K, V> cache = cacheManager.get(cacheName);
+    if (cache == null) {
+      return 0;
+    }
+    long startInvalidations = invalidations.get();
+    Map<K, V> values = loader.get();
+    if (values == null || values.isEmpty() || invalidations.get() != startInvalidations) {
+      return 0;
+    }
+    List<K> added = new ArrayList<>();
+    for (Map.Entry<K, V> entry : values.entrySet()) {
+      if (entry.getKey() != null && entry.getValue() != null
+          && cache.asMap().putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+        added.add(entry.getKey());
+      }
+    }
+    if (invalidations.get() != startInvalidations) {
+      cache.invalidateAll(added);
+      return 0;
+    }
+    return added.size();
+  }
+
+  /**
+   * @return the statistics of each cache which records them, ordered by name
+   */
+  public static List<CacheStatistics> getStatistics() {
+    List<CacheStatistics> statisticsList = new ArrayList<>();
+    for (String cacheName : new TreeSet<>(cacheManager.keySet())) {
+      Cache<?, ?> cache = cacheManager.get(cacheName);
+      if (cache.policy().isRecordingStats()) {
+        statisticsList.add(createStatistics(cacheName, cache));
+      }
+    }
+    return statisticsList;
+  }
+
+  static <K, V> CacheStatistics createStatistics(String cacheName, Cache<K, V> cache) {
+    CacheStats stats = cache.stats();
+    long weightedSize = -1;
+    long maximum = -1;
+    Optional<Policy.Eviction<K, V>> eviction = cache.policy().eviction();
+    if (eviction.isPresent()) {
+      maximum = eviction.get().getMaximum();
+      weightedSize = eviction.get().weightedSize().orElse(-1);
+    }
+    return new CacheStatistics(cacheName, cache.estimatedSize(), weightedSize, maximum, stats.hitCount(),
+        stats.missCount(), stats.evictionCount(), stats.loadFailureCount(), stats.averageLoadPenalty() / 1_000_000.0);
+  }
+
+  /** Caches compiled from other cached values are invalidated locally along with them */
+  private static void invalidateDependentKeys(String cacheName, Object key) {
+    if (CONTENT_UNIQUE_ID_CACHE.equals(cacheName)) {
+      ContentFragmentCache.invalidate(String.valueOf(key));
+      PageOutputCache.invalidateDependency(PageOutputCache.contentKey(String.valueOf(key)));
+    } else if (COLLECTION_UNIQUE_ID_CACHE.equals(cacheName)) {
+      PageOutputCache.invalidateDependency(PageOutputCache.collectionKey(String.valueOf(key)));
+    } else if (COLLECTION_ACCESS_CACHE.equals(cacheName)) {
+      // The key names the collection, user or group which changed; the map tiles depend on the same access
+      CollectionAccessCache.invalidate(String.valueOf(key));
+      ItemMapTileCache.invalidateAccess(String.valueOf(key));
+    } else if (ITEM_MAP_TILE_CACHE.equals(cacheName)) {
+      // The key is the collection whose items changed
+      ItemMapTileCache.invalidate(key instanceof Long ? (Long) key : NumberUtils.toLong(String.valueOf(key), -1));
+    } else if (PAGE_HIERARCHY_CACHE.equals(cacheName)) {
+      // The key is the page which changed; submenus and page trees are part of the pages
+      PageHierarchyCache.invalidate(key instanceof Long ? (Long) key : NumberUtils.toLong(String.valueOf(key), -1));
+      PageOutputCache.invalidateAll();
+    } else if (CALENDAR_EVENT_CACHE.equals(cacheName)) {
+      // Any calendar or event change replaces the index and its feeds
+      CalendarEventCache.invalidate();
+    } else if (PRODUCT_CATALOG_CACHE.equals(cacheName)) {
+      // The key is the product whose details, SKUs or inventory changed
+      ProductCatalogCache.invalidate(key instanceof Long ? (Long) key : NumberUtils.toLong(String.valueOf(key), -1));
+    } else if (PRICING_RULE_CACHE.equals(cacheName)) {
+      // Any rule change replaces the index
+      PricingRuleCache.invalidate();
+    } else if (SALES_TAX_CACHE.equals(cacheName)) {
+      // The key is the part of the table which changed
+      SalesTaxCache.invalidate(key instanceof Long ? (Long) key : NumberUtils.toLong(String.valueOf(key), -1));
+    } else if (SHIPPING_RATE_CACHE.equals(cacheName)) {
+      // Any rate, method or country change replaces the matrix
+      ShippingRateCache.invalidate();
+    } else if (PAGE_OUTPUT_CACHE.equals(cacheName)) {
+      // The key is a dependency of the cached pages
+      PageOutputCache.invalidateDependency(String.valueOf(key));
+    } else if (SYSTEM_PROPERTY_PREFIX_CACHE.equals(cacheName)) {
+      // The key is the prefix which changed
+      SitePropertyCache.invalidate(String.valueOf(key));
+      if ("theme".equals(key)) {
+        ContentFragmentCache.invalidateAll();
+      }
+      PageOutputCache.invalidateAll();
+    } else if (OBJECT_CACHE.equals(cacheName) || STYLESHEET_WEB_PAGE_ID_CACHE.equals(cacheName)
+        || TABLE_OF_CONTENTS_UNIQUE_ID_CACHE.equals(cacheName)) {
+      // Menus, headers, footers and stylesheets are part of every page
+      PageOutputCache.invalidateAll();
+    }
+  }
+
   public static void addToObjectCache(String key, Object value) {
     if (value == null) {
       return;
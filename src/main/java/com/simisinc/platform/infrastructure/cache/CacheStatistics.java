@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+/**
+ * The hit rate, size and evictions of a cache since the application started
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 7:00 PM
+ */
+public class CacheStatistics {
+
+  private final String name;
+  private final long size;
+  private final long weightedSize;
+  private final long maximum;
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final long loadFailureCount;
+  private final double averageLoadPenaltyMillis;
+
+  CacheStatistics(String name, long size, long weightedSize, long maximum, long hitCount, long missCount,
+      long evictionCount, long loadFailureCount, double averageLoadPenaltyMillis) {
+    this.name = name;
+    this.size = size;
+    this.weightedSize = weightedSize;
+    this.maximum = maximum;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.loadFailureCount = loadFailureCount;
+    this.averageLoadPenaltyMillis = averageLoadPenaltyMillis;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** The approximate number of entries */
+  public long getSize() {
+    return size;
+  }
+
+  /** The estimated bytes, or -1 when the cache is limited by entries */
+  public long getWeightedSize() {
+    return weightedSize;
+  }
+
+  /** The maximum entries or weight, or -1 when unbounded */
+  public long getMaximum() {
+    return maximum;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public double getHitRate() {
+    long requests = hitCount + missCount;
+    return requests == 0 ? 1.0 : (double) hitCount / requests;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailureCount;
+  }
+
+  public double getAverageLoadPenaltyMillis() {
+    return averageLoadPenaltyMillis;
+  }
+}
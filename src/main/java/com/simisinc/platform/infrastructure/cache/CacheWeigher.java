@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import com.simisinc.platform.domain.model.cms.Content;
+import com.simisinc.platform.domain.model.cms.Stylesheet;
+import com.simisinc.platform.domain.model.items.Collection;
+
+/**
+ * Estimates the bytes used by a cache entry, for the caches configured with a maximumWeight
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 7:00 PM
+ */
+final class CacheWeigher {
+
+  private static final int ENTRY_BYTES = 64;
+  private static final int OBJECT_BYTES = 256;
+  private static final int MAX_ELEMENTS = 1_000;
+
+  private CacheWeigher() {
+  }
+
+  static int weigh(Object key, Object value) {
+    long bytes = ENTRY_BYTES + estimate(key) + estimate(value);
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  static long estimate(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return 40 + 2L * ((String) value).length();
+    }
+    if (value instanceof byte[]) {
+      return 16 + ((byte[]) value).length;
+    }
+    if (value instanceof Content) {
+      Content content = (Content) value;
+      return OBJECT_BYTES + estimate(content.getContent()) + estimate(content.getContentAsText())
+          + estimate(content.getDraftContent());
+    }
+    if (value instanceof RemoteContent) {
+      return ((RemoteContent) value).getWeight();
+    }
+    if (value instanceof Stylesheet) {
+      return OBJECT_BYTES + estimate(((Stylesheet) value).getCss());
+    }
+    if (value instanceof Collection) {
+      Collection collection = (Collection) value;
+      return 4 * OBJECT_BYTES + estimate(collection.getDescription()) + estimate(collection.getHeaderXml());
+    }
+    if (value instanceof java.util.Collection) {
+      // Lists of menus and similar records
+      long bytes = ENTRY_BYTES;
+      int count = 0;
+      for (Object element : (java.util.Collection<?>) value) {
+        if (++count > MAX_ELEMENTS) {
+          bytes += (long) (((java.util.Collection<?>) value).size() - MAX_ELEMENTS) * OBJECT_BYTES;
+          break;
+        }
+        bytes += estimate(element);
+      }
+      return bytes;
+    }
+    return OBJECT_BYTES;
+  }
+}
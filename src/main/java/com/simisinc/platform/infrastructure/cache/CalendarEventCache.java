@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.cms.Calendar;
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventRepository;
+import com.simisinc.platform.infrastructure.persistence.cms.CalendarRepository;
+
+/**
+ * Holds the calendar event index, and the feeds created from it; any change to a calendar or event replaces
+ * the index and removes the feeds
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+public class CalendarEventCache {
+
+  private static Log LOG = LogFactory.getLog(CalendarEventCache.class);
+
+  private static Cache<Long, CalendarEventIndex> cache = null;
+  private static Cache<String, String> feeds = null;
+
+  // Versions start from the startup time so feed keys are not reused across restarts
+  private static final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+  private CalendarEventCache() {
+  }
+
+  static Cache<Long, CalendarEventIndex> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  /** The month and week feeds, keyed by the index version, calendar and range */
+  static Cache<String, String> startupFeeds(Cache<String, String> feedCache) {
+    feeds = feedCache;
+    return feedCache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    feeds = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the index, or null when the cache is not enabled
+   */
+  public static CalendarEventIndex getIndex() {
+    Cache<Long, CalendarEventIndex> current = cache;
+    if (current == null) {
+      return null;
+    }
+    CalendarEventIndex index = current.getIfPresent(CalendarEventIndex.ALL_CALENDARS);
+    if (index != null) {
+      return index;
+    }
+    long loadVersion = version.get();
+    List<Calendar> calendarList = CalendarRepository.findAll();
+    List<CalendarEvent> eventList = CalendarEventRepository.findAll();
+    if (calendarList == null || eventList == null) {
+      return null;
+    }
+    index = CalendarEventIndex.create(loadVersion, calendarList, eventList);
+    LOG.debug("Loaded calendar index with " + index.size() + " events");
+    synchronized (CalendarEventCache.class) {
+      if (loadVersion == version.get()) {
+        current.put(CalendarEventIndex.ALL_CALENDARS, index);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Returns the feed created from the index, creating it when needed
+   *
+   * @param index the index the feed is created from
+   * @param feedKey the calendar, range and format of the feed
+   */
+  public static String getFeed(CalendarEventIndex index, String feedKey, Supplier<String> feedSupplier) {
+    Cache<String, String> current = feeds;
+    if (current == null) {
+      return feedSupplier.get();
+    }
+    String key = index.getVersion() + ":" + feedKey;
+    String feed = current.getIfPresent(key);
+    if (feed == null) {
+      feed = feedSupplier.get();
+      if (feed != null && index.getVersion() == version.get()) {
+        current.put(key, feed);
+      }
+    }
+    return feed;
+  }
+
+  static void invalidate() {
+    synchronized (CalendarEventCache.class) {
+      version.incrementAndGet();
+      Cache<Long, CalendarEventIndex> current = cache;
+      if (current != null) {
+        current.invalidate(CalendarEventIndex.ALL_CALENDARS);
+      }
+    }
+    Cache<String, String> currentFeeds = feeds;
+    if (currentFeeds != null) {
+      currentFeeds.invalidateAll();
+    }
+  }
+}
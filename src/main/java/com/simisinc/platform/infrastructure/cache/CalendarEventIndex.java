@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simisinc.platform.domain.model.cms.Calendar;
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+
+/**
+ * An immutable snapshot of the calendars and their events, with an interval tree of each calendar's events
+ * for finding the events in a date range
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+public class CalendarEventIndex {
+
+  /** Finds the events of all calendars, and is the cache key of the index */
+  public static final long ALL_CALENDARS = -1L;
+
+  private final long version;
+  private final List<Calendar> calendarList;
+  private final Map<Long, Calendar> calendars;
+  private final Map<String, Calendar> calendarsByUniqueId;
+  private final Map<Long, CalendarEvent> events;
+  private final Map<Long, IntervalTree> trees;
+  private final IntervalTree allEvents;
+
+  private CalendarEventIndex(long version, List<Calendar> calendarList, Map<Long, Calendar> calendars,
+      Map<String, Calendar> calendarsByUniqueId, Map<Long, CalendarEvent> events, Map<Long, IntervalTree> trees,
+      IntervalTree allEvents) {
+    this.version = version;
+    this.calendarList = calendarList;
+    this.calendars = calendars;
+    this.calendarsByUniqueId = calendarsByUniqueId;
+    this.events = events;
+    this.trees = trees;
+    this.allEvents = allEvents;
+  }
+
+  /**
+   * The events of a calendar sorted by start date; each node of the implicit balanced tree is the middle of
+   * its range, and knows the latest end date in its subtree
+   */
+  static final class IntervalTree {
+
+    private final CalendarEvent[] sorted;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    IntervalTree(List<CalendarEvent> eventList) {
+      List<CalendarEvent> list = new ArrayList<>(eventList);
+      list.sort(Comparator.comparingLong(CalendarEventIndex::startMillis)
+          .thenComparingLong(event -> event.getId() != null ? event.getId() : -1L));
+      sorted = list.toArray(new CalendarEvent[0]);
+      starts = new long[sorted.length];
+      ends = new long[sorted.length];
+      maxEnds = new long[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+        starts[i] = startMillis(sorted[i]);
+        ends[i] = Math.max(starts[i], endMillis(sorted[i]));
+      }
+      computeMaxEnds(0, sorted.length);
+    }
+
+    private long computeMaxEnds(int lo, int hi) {
+      if (lo >= hi) {
+        return Long.MIN_VALUE;
+      }
+      int mid = (lo + hi) >>> 1;
+      long max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+      maxEnds[mid] = max;
+      return max;
+    }
+
+    int size() {
+      return sorted.length;
+    }
+
+    /** Adds the events which start before the range ends, and end on or after the range starts, in start order */
+    void findOverlapping(long rangeStart, long rangeEnd, List<CalendarEvent> found) {
+      findOverlapping(0, sorted.length, rangeStart, rangeEnd, found);
+    }
+
+    private void findOverlapping(int lo, int hi, long rangeStart, long rangeEnd, List<CalendarEvent> found) {
+      if (lo >= hi) {
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      if (maxEnds[mid] < rangeStart) {
+        // Everything in this subtree ended before the range
+        return;
+      }
+      findOverlapping(lo, mid, rangeStart, rangeEnd, found);
+      if (starts[mid] < rangeEnd) {
+        if (ends[mid] >= rangeStart) {
+          found.add(sorted[mid]);
+        }
+        findOverlapping(mid + 1, hi, rangeStart, rangeEnd, found);
+      }
+    }
+
+    /** The event which started last among the events which ended before the time */
+    CalendarEvent findLastEndingBefore(long millis) {
+      CalendarEvent last = null;
+      for (int i = 0; i < sorted.length && starts[i] < millis; i++) {
+        if (ends[i] < millis) {
+          last = sorted[i];
+        }
+      }
+      return last;
+    }
+
+    List<CalendarEvent> getEvents() {
+      List<CalendarEvent> list = new ArrayList<>(sorted.length);
+      Collections.addAll(list, sorted);
+      return list;
+    }
+  }
+
+  static long startMillis(CalendarEvent event) {
+    return event.getStartDate() != null ? event.getStartDate().getTime() : 0L;
+  }
+
+  static long endMillis(CalendarEvent event) {
+    return event.getEndDate() != null ? event.getEndDate().getTime() : startMillis(event);
+  }
+
+  public static CalendarEventIndex create(long version, List<Calendar> calendarList, List<CalendarEvent> eventList) {
+    Map<Long, Calendar> calendars = new HashMap<>();
+    Map<String, Calendar> calendarsByUniqueId = new HashMap<>();
+    for (Calendar calendar : calendarList) {
+      calendars.put(calendar.getId(), calendar);
+      if (calendar.getUniqueId() != null) {
+        calendarsByUniqueId.put(calendar.getUniqueId(), calendar);
+      }
+    }
+    Map<Long, CalendarEvent> events = new HashMap<>(eventList.size() * 2);
+    Map<Long, List<CalendarEvent>> eventsByCalendar = new HashMap<>();
+    for (CalendarEvent event : eventList) {
+      events.put(event.getId(), event);
+      eventsByCalendar.computeIfAbsent(event.getCalendarId(), k -> new ArrayList<>()).add(event);
+    }
+    Map<Long, IntervalTree> trees = new HashMap<>();
+    for (Map.Entry<Long, List<CalendarEvent>> entry : eventsByCalendar.entrySet()) {
+      trees.put(entry.getKey(), new IntervalTree(entry.getValue()));
+    }
+    return new CalendarEventIndex(version, Collections.unmodifiableList(new ArrayList<>(calendarList)),
+        calendars, calendarsByUniqueId, events, trees, new IntervalTree(eventList));
+  }
+
+  private IntervalTree getTree(long calendarId) {
+    if (calendarId == ALL_CALENDARS) {
+      return allEvents;
+    }
+    return trees.get(calendarId);
+  }
+
+  /** Changes each time the calendars or events change */
+  public long getVersion() {
+    return version;
+  }
+
+  public int size() {
+    return events.size();
+  }
+
+  public List<Calendar> getCalendars() {
+    return calendarList;
+  }
+
+  public Calendar getCalendar(long calendarId) {
+    return calendars.get(calendarId);
+  }
+
+  public Calendar getCalendarByUniqueId(String calendarUniqueId) {
+    return calendarUniqueId != null ? calendarsByUniqueId.get(calendarUniqueId) : null;
+  }
+
+  public CalendarEvent getEvent(long eventId) {
+    return events.get(eventId);
+  }
+
+  /**
+   * @param calendarId the calendar, or ALL_CALENDARS
+   * @return the events overlapping the range, ordered by start date
+   */
+  public List<CalendarEvent> findOverlapping(long calendarId, long rangeStart, long rangeEnd) {
+    List<CalendarEvent> found = new ArrayList<>();
+    IntervalTree tree = getTree(calendarId);
+    if (tree != null) {
+      tree.findOverlapping(rangeStart, rangeEnd, found);
+    }
+    return found;
+  }
+
+  /**
+   * @param calendarId the calendar, or ALL_CALENDARS
+   * @return the last event which ended before the time, or null
+   */
+  public CalendarEvent findLastEndingBefore(long calendarId, long millis) {
+    IntervalTree tree = getTree(calendarId);
+    return tree != null ? tree.findLastEndingBefore(millis) : null;
+  }
+
+  /**
+   * @param calendarId the calendar, or ALL_CALENDARS
+   * @return the events ordered by start date
+   */
+  public List<CalendarEvent> getEvents(long calendarId) {
+    IntervalTree tree = getTree(calendarId);
+    return tree != null ? tree.getEvents() : new ArrayList<>();
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.items.Collection;
+import com.simisinc.platform.domain.model.items.CollectionGroup;
+import com.simisinc.platform.domain.model.login.UserGroup;
+import com.simisinc.platform.infrastructure.persistence.items.CollectionGroupRepository;
+import com.simisinc.platform.infrastructure.persistence.items.CollectionRepository;
+import com.simisinc.platform.infrastructure.persistence.login.UserGroupRepository;
+
+/**
+ * The collection access matrix: the groups granted each collection permission, and the groups of each user,
+ * as bitsets so a permission check is an intersection. Rows are loaded on first use, and a change to a
+ * collection, user or group removes only the rows using it.
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 3:00 PM
+ */
+public class CollectionAccessCache {
+
+  private static Log LOG = LogFactory.getLog(CollectionAccessCache.class);
+
+  static final String COLLECTION_PREFIX = "collection:";
+  static final String USER_PREFIX = "user:";
+  static final String GROUP_PREFIX = "group:";
+  private static final BitSet NO_GROUPS = new BitSet();
+
+  private static Cache<Long, CollectionAccess> collectionCache = null;
+  private static Cache<Long, BitSet> userCache = null;
+
+  // Group id -> bit, bits are never reused so a row compiled earlier stays valid
+  private static final Map<Long, Integer> groupBits = new ConcurrentHashMap<>();
+  private static final AtomicInteger nextGroupBit = new AtomicInteger();
+
+  // Rows loaded while an invalidation happened are not cached
+  private static final AtomicLong version = new AtomicLong();
+
+  private CollectionAccessCache() {
+  }
+
+  static Cache<Long, CollectionAccess> startup() {
+    collectionCache = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .recordStats()
+        .build();
+    userCache = Caffeine.newBuilder()
+        .maximumSize(100_000)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+    version.incrementAndGet();
+    return collectionCache;
+  }
+
+  static void shutdown() {
+    collectionCache = null;
+    userCache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return collectionCache != null;
+  }
+
+  public static String collectionKey(long collectionId) {
+    return COLLECTION_PREFIX + collectionId;
+  }
+
+  public static String userKey(long userId) {
+    return USER_PREFIX + userId;
+  }
+
+  public static String groupKey(long groupId) {
+    return GROUP_PREFIX + groupId;
+  }
+
+  static int groupBit(long groupId) {
+    Integer bit = groupBits.get(groupId);
+    if (bit != null) {
+      return bit;
+    }
+    return groupBits.computeIfAbsent(groupId, id -> nextGroupBit.getAndIncrement());
+  }
+
+  public static long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * @return the collection's access, or null when the collection does not exist or the cache is not enabled
+   */
+  public static CollectionAccess getCollectionAccess(long collectionId) {
+    Cache<Long, CollectionAccess> cache = collectionCache;
+    if (cache == null || collectionId < 1) {
+      return null;
+    }
+    CollectionAccess access = cache.getIfPresent(collectionId);
+    if (access != null) {
+      return access;
+    }
+    long loadVersion = version.get();
+    Collection collection = CollectionRepository.findById(collectionId);
+    if (collection == null) {
+      return null;
+    }
+    List<CollectionGroup> collectionGroupList = CollectionGroupRepository.findAllByCollectionId(collectionId);
+    access = CollectionAccess.create(collectionId, collection.getUniqueId(), collection.getAllowsGuests(),
+        collection.doAllowedGroupsCheck(), collectionGroupList);
+    put(access, loadVersion);
+    return access;
+  }
+
+  /**
+   * @return the user's groups as bits, or null when the cache is not enabled
+   */
+  public static BitSet getUserGroups(long userId) {
+    Cache<Long, BitSet> cache = userCache;
+    if (cache == null) {
+      return null;
+    }
+    if (userId < 1) {
+      return NO_GROUPS;
+    }
+    BitSet groups = cache.getIfPresent(userId);
+    if (groups != null) {
+      return groups;
+    }
+    long loadVersion = version.get();
+    groups = new BitSet();
+    List<UserGroup> userGroupList = UserGroupRepository.findAllByUserId(userId);
+    if (userGroupList != null) {
+      for (UserGroup userGroup : userGroupList) {
+        groups.set(groupBit(userGroup.getGroupId()));
+      }
+    }
+    putUserGroups(userId, groups, loadVersion);
+    return groups;
+  }
+
+  /** Caches the row unless an invalidation happened since the load started */
+  static void put(CollectionAccess access, long loadVersion) {
+    Cache<Long, CollectionAccess> cache = collectionCache;
+    if (cache != null && version.get() == loadVersion) {
+      cache.put(access.getCollectionId(), access);
+    }
+  }
+
+  static void putUserGroups(long userId, BitSet groups, long loadVersion) {
+    Cache<Long, BitSet> cache = userCache;
+    if (cache != null && version.get() == loadVersion) {
+      cache.put(userId, groups);
+    }
+  }
+
+  /**
+   * Removes the rows for a collection, user or group key
+   */
+  public static void invalidate(String key) {
+    if (key == null) {
+      return;
+    }
+    version.incrementAndGet();
+    Cache<Long, CollectionAccess> collections = collectionCache;
+    Cache<Long, BitSet> users = userCache;
+    if (collections == null || users == null) {
+      return;
+    }
+    try {
+      if (key.startsWith(COLLECTION_PREFIX)) {
+        collections.invalidate(Long.parseLong(key.substring(COLLECTION_PREFIX.length())));
+      } else if (key.startsWith(USER_PREFIX)) {
+        users.invalidate(Long.parseLong(key.substring(USER_PREFIX.length())));
+      } else if (key.startsWith(GROUP_PREFIX)) {
+        Integer bit = groupBits.get(Long.parseLong(key.substring(GROUP_PREFIX.length())));
+        if (bit != null) {
+          collections.asMap().values().removeIf(access -> access.usesGroup(bit));
+          users.asMap().values().removeIf(groups -> groups.get(bit));
+        }
+      } else {
+        invalidateAll();
+      }
+    } catch (NumberFormatException e) {
+      LOG.warn("Invalid collection access key: " + key);
+      invalidateAll();
+    }
+  }
+
+  public static void invalidateAll() {
+    version.incrementAndGet();
+    Cache<Long, CollectionAccess> collections = collectionCache;
+    Cache<Long, BitSet> users = userCache;
+    if (collections != null) {
+      collections.invalidateAll();
+    }
+    if (users != null) {
+      users.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import com.simisinc.platform.domain.model.cms.Content;
+
+/**
+ * A published content block compiled into static segments and the dynamic holes which must be
+ * rendered per request; the content objects it was compiled from are kept as its version
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 AM
+ */
+public final class ContentFragment {
+
+  private final String uniqueId;
+  private final String[] segments;
+  private final boolean[] dynamic;
+  private final Map<String, Content> dependencies;
+  private final Object themeVersion;
+
+  public ContentFragment(String uniqueId, String[] segments, boolean[] dynamic, Map<String, Content> dependencies,
+      Object themeVersion) {
+    this.uniqueId = uniqueId;
+    this.segments = segments;
+    this.dynamic = dynamic;
+    this.dependencies = Collections.unmodifiableMap(dependencies);
+    this.themeVersion = themeVersion;
+  }
+
+  public String getUniqueId() {
+    return uniqueId;
+  }
+
+  public int getSegmentCount() {
+    return segments.length;
+  }
+
+  public String getSegment(int index) {
+    return segments[index];
+  }
+
+  public boolean isDynamic(int index) {
+    return dynamic[index];
+  }
+
+  public boolean hasDynamicSegments() {
+    for (boolean value : dynamic) {
+      if (value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The uniqueIds of this content and every content block embedded in it */
+  public Set<String> getDependencyIds() {
+    return dependencies.keySet();
+  }
+
+  /** The content object each dependency was compiled from, null when it did not exist */
+  public Map<String, Content> getDependencies() {
+    return dependencies;
+  }
+
+  public Object getThemeVersion() {
+    return themeVersion;
+  }
+}
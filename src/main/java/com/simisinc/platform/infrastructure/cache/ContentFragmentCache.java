@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Caches compiled content fragments and tracks which fragments embed which content, so that an
+ * update to an embedded content block invalidates exactly the fragments that include it
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 AM
+ */
+public class ContentFragmentCache {
+
+  private static Log LOG = LogFactory.getLog(ContentFragmentCache.class);
+
+  private static Cache<String, ContentFragment> fragmentCache = null;
+
+  // Content uniqueId -> uniqueIds of the compiled fragments which depend on it
+  private static final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+  private ContentFragmentCache() {
+  }
+
+  static Cache<String, ContentFragment> startup() {
+    fragmentCache = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .evictionListener((String uniqueId, ContentFragment fragment, RemovalCause cause) -> {
+          if (fragment != null) {
+            unlink(fragment);
+          }
+        })
+        .recordStats()
+        .build();
+    dependents.clear();
+    return fragmentCache;
+  }
+
+  static void shutdown() {
+    fragmentCache = null;
+    dependents.clear();
+  }
+
+  public static boolean isEnabled() {
+    return fragmentCache != null;
+  }
+
+  public static ContentFragment get(String uniqueId) {
+    if (fragmentCache == null || uniqueId == null) {
+      return null;
+    }
+    return fragmentCache.getIfPresent(uniqueId);
+  }
+
+  public static void put(ContentFragment fragment) {
+    if (fragmentCache == null || fragment == null) {
+      return;
+    }
+    ContentFragment previous = fragmentCache.asMap().put(fragment.getUniqueId(), fragment);
+    if (previous != null) {
+      unlink(previous);
+    }
+    for (String dependencyId : fragment.getDependencyIds()) {
+      dependents.computeIfAbsent(dependencyId, k -> ConcurrentHashMap.newKeySet()).add(fragment.getUniqueId());
+    }
+  }
+
+  /**
+   * Removes the fragment for the content and every fragment which embeds it, directly or through other content
+   */
+  public static void invalidate(String uniqueId) {
+    if (fragmentCache == null || uniqueId == null) {
+      return;
+    }
+    Set<String> visited = new HashSet<>();
+    Deque<String> queue = new ArrayDeque<>();
+    queue.add(uniqueId);
+    while (!queue.isEmpty()) {
+      String id = queue.poll();
+      if (!visited.add(id)) {
+        continue;
+      }
+      ContentFragment fragment = fragmentCache.asMap().remove(id);
+      if (fragment != null) {
+        unlink(fragment);
+      }
+      Set<String> parents = dependents.get(id);
+      if (parents != null) {
+        queue.addAll(parents);
+      }
+    }
+    if (LOG.isDebugEnabled() && visited.size() > 1) {
+      LOG.debug("Invalidated " + visited.size() + " content fragments for: " + uniqueId);
+    }
+  }
+
+  public static void invalidateAll() {
+    if (fragmentCache == null) {
+      return;
+    }
+    fragmentCache.invalidateAll();
+    dependents.clear();
+  }
+
+  /** The uniqueIds of the cached fragments which embed the given content */
+  public static Set<String> getDependents(String uniqueId) {
+    Set<String> parents = dependents.get(uniqueId);
+    return parents != null ? Set.copyOf(parents) : Set.of();
+  }
+
+  private static void unlink(ContentFragment fragment) {
+    for (String dependencyId : fragment.getDependencyIds()) {
+      Set<String> parents = dependents.get(dependencyId);
+      if (parents != null) {
+        parents.remove(fragment.getUniqueId());
+        if (parents.isEmpty()) {
+          dependents.remove(dependencyId, parents);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * The JSON of an item map tile, with the ETag browsers use to revalidate it
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+public final class ItemMapTile {
+
+  private final String json;
+  private final String etag;
+
+  public ItemMapTile(String json) {
+    this.json = json;
+    this.etag = "\"" + DigestUtils.md5Hex(json) + "\"";
+  }
+
+  public String getJson() {
+    return json;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  /**
+   * @param ifNoneMatch the request's If-None-Match header
+   * @return true when the browser already has this tile
+   */
+  public boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String value : ifNoneMatch.split(",")) {
+      String tag = value.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (etag.equals(tag) || "*".equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Holds the item map tiles of each collection version; a change to a collection's items starts a new
+ * version and removes that collection's tiles, and a change to a user's groups does the same for the user's tiles
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+public class ItemMapTileCache {
+
+  private static Cache<String, ItemMapTile> cache = null;
+
+  // Collection id -> version, versions start from the startup time so tiles are not reused across restarts
+  private static final Map<Long, Long> versions = new ConcurrentHashMap<>();
+  // User id -> version, for the tiles of signed in users which depend on their groups
+  private static final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+  private static final AtomicLong nextVersion = new AtomicLong(System.currentTimeMillis());
+  private static volatile long initialVersion = nextVersion.get();
+
+  private ItemMapTileCache() {
+  }
+
+  static Cache<String, ItemMapTile> startup() {
+    initialVersion = nextVersion.incrementAndGet();
+    versions.clear();
+    userVersions.clear();
+    cache = Caffeine.newBuilder()
+        .maximumWeight(32L * 1024 * 1024)
+        .weigher((String key, ItemMapTile tile) -> key.length() + tile.getJson().length())
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .recordStats()
+        .build();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  public static long getVersion(long collectionId) {
+    return versions.getOrDefault(collectionId, initialVersion);
+  }
+
+  public static long getUserVersion(long userId) {
+    return userVersions.getOrDefault(userId, initialVersion);
+  }
+
+  /**
+   * The part of the viewer key for the user; the user version changes when the user's group access changes
+   */
+  public static String createUserKey(long userId) {
+    return userId + "." + getUserVersion(userId);
+  }
+
+  /**
+   * @param viewerKey the permissions and filters the tile was created with, including the user key
+   */
+  public static String createKey(long collectionId, long version, String viewerKey, int z, int x, int y) {
+    return collectionId + ":" + version + ":" + viewerKey + ":" + z + "/" + x + "/" + y;
+  }
+
+  public static ItemMapTile get(String key) {
+    Cache<String, ItemMapTile> current = cache;
+    return current != null ? current.getIfPresent(key) : null;
+  }
+
+  /** Keeps the tile unless the collection changed while it was being created */
+  public static void put(long collectionId, long version, String key, ItemMapTile tile) {
+    Cache<String, ItemMapTile> current = cache;
+    if (current == null || tile == null) {
+      return;
+    }
+    if (version == getVersion(collectionId)) {
+      current.put(key, tile);
+    }
+  }
+
+  static void invalidate(long collectionId) {
+    if (collectionId < 1) {
+      invalidateAll();
+      return;
+    }
+    versions.put(collectionId, nextVersion.incrementAndGet());
+    Cache<String, ItemMapTile> current = cache;
+    if (current != null) {
+      String prefix = collectionId + ":";
+      current.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+  }
+
+  static void invalidateUser(long userId) {
+    userVersions.put(userId, nextVersion.incrementAndGet());
+    Cache<String, ItemMapTile> current = cache;
+    if (current != null) {
+      String userPart = ":" + userId + ".";
+      current.asMap().keySet().removeIf(key -> key.contains(userPart));
+    }
+  }
+
+  /**
+   * Removes the tiles which used the access of the changed collection, user or group
+   *
+   * @param accessKey a CollectionAccessCache key
+   */
+  static void invalidateAccess(String accessKey) {
+    if (accessKey.startsWith(CollectionAccessCache.COLLECTION_PREFIX)) {
+      invalidate(NumberUtils.toLong(accessKey.substring(CollectionAccessCache.COLLECTION_PREFIX.length()), -1));
+    } else if (accessKey.startsWith(CollectionAccessCache.USER_PREFIX)) {
+      long userId = NumberUtils.toLong(accessKey.substring(CollectionAccessCache.USER_PREFIX.length()), -1);
+      if (userId > 0) {
+        invalidateUser(userId);
+      }
+    } else {
+      // A group change can affect any collection and user
+      invalidateAll();
+    }
+  }
+
+  static void invalidateAll() {
+    initialVersion = nextVersion.incrementAndGet();
+    versions.clear();
+    userVersions.clear();
+    Cache<String, ItemMapTile> current = cache;
+    if (current != null) {
+      current.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of web_page_hierarchy joined with the page titles and links, with parent pointers,
+ * ordered children and the ancestor chain of each page
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 4:00 PM
+ */
+public class PageHierarchy {
+
+  /** The parent id of the top level pages */
+  public static final long ROOT = -1L;
+
+  private static final long[] NONE = new long[0];
+  private static final int MAX_DEPTH = 1_000;
+
+  // The same order as the page tree queries: sort_order, then title
+  private static final Comparator<Node> SIBLING_ORDER = Comparator.comparingInt(Node::getSortOrder)
+      .thenComparing(node -> node.getTitle() == null ? "" : node.getTitle().toLowerCase(Locale.ROOT))
+      .thenComparingLong(Node::getPageId);
+
+  private final Map<Long, Node> nodes;
+  private final Map<Long, long[]> children;
+
+  private PageHierarchy(Map<Long, Node> nodes, Map<Long, long[]> children) {
+    this.nodes = nodes;
+    this.children = children;
+  }
+
+  /** A page in the hierarchy */
+  public static final class Node {
+
+    private final long pageId;
+    private final long parentId;
+    private final int sortOrder;
+    private final int depth;
+    private final String title;
+    private final String description;
+    private final String link;
+    private final boolean enabled;
+    private final boolean draft;
+    private final long[] ancestors;
+
+    public Node(long pageId, long parentId, int sortOrder, int depth, String title, String description, String link,
+        boolean enabled, boolean draft) {
+      this(pageId, parentId, sortOrder, depth, title, description, link, enabled, draft, NONE);
+    }
+
+    private Node(long pageId, long parentId, int sortOrder, int depth, String title, String description, String link,
+        boolean enabled, boolean draft, long[] ancestors) {
+      this.pageId = pageId;
+      this.parentId = parentId > 0 ? parentId : ROOT;
+      this.sortOrder = sortOrder;
+      this.depth = depth;
+      this.title = title;
+      this.description = description;
+      this.link = link;
+      this.enabled = enabled;
+      this.draft = draft;
+      this.ancestors = ancestors;
+    }
+
+    private Node withAncestors(long[] ancestors) {
+      return new Node(pageId, parentId, sortOrder, depth, title, description, link, enabled, draft, ancestors);
+    }
+
+    public long getPageId() {
+      return pageId;
+    }
+
+    public long getParentId() {
+      return parentId;
+    }
+
+    public int getSortOrder() {
+      return sortOrder;
+    }
+
+    public int getDepth() {
+      return depth;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public String getLink() {
+      return link;
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public boolean isDraft() {
+      return draft;
+    }
+
+    public boolean isPublished() {
+      return enabled && !draft;
+    }
+  }
+
+  /** A node of a subtree, with its level relative to the subtree's parent */
+  public static final class TreeEntry {
+
+    private final Node node;
+    private final int level;
+    private final boolean hasChildren;
+
+    TreeEntry(Node node, int level, boolean hasChildren) {
+      this.node = node;
+      this.level = level;
+      this.hasChildren = hasChildren;
+    }
+
+    public Node getNode() {
+      return node;
+    }
+
+    public int getLevel() {
+      return level;
+    }
+
+    public boolean hasChildren() {
+      return hasChildren;
+    }
+  }
+
+  public static PageHierarchy create(Collection<Node> nodeList) {
+    Map<Long, Node> nodes = new HashMap<>(nodeList.size() * 2);
+    for (Node node : nodeList) {
+      nodes.put(node.getPageId(), node);
+    }
+    Set<Long> parents = new HashSet<>();
+    for (Node node : nodes.values()) {
+      parents.add(node.getParentId());
+    }
+    Map<Long, long[]> children = new HashMap<>();
+    updateChildren(nodes, children, parents);
+    updateAncestors(nodes, children, Collections.singleton(ROOT), true);
+    return new PageHierarchy(Collections.unmodifiableMap(nodes), Collections.unmodifiableMap(children));
+  }
+
+  /**
+   * Creates a new snapshot where the removed pages are replaced by the loaded ones; only the children of
+   * the affected parents and the ancestors of the affected subtrees are recomputed
+   *
+   * @param removedIds the pages which are reloaded or no longer in the hierarchy
+   * @param loaded the current values of the reloaded pages
+   */
+  public PageHierarchy withChanges(Collection<Long> removedIds, Collection<Node> loaded) {
+    Map<Long, Node> newNodes = new HashMap<>(nodes);
+    Set<Long> affectedParents = new HashSet<>();
+    for (Long pageId : removedIds) {
+      Node previous = newNodes.remove(pageId);
+      if (previous != null) {
+        affectedParents.add(previous.getParentId());
+        affectedParents.add(pageId);
+      }
+    }
+    Set<Long> subtreeRoots = new HashSet<>();
+    for (Node node : loaded) {
+      Node previous = nodes.get(node.getPageId());
+      if (previous != null && previous.getParentId() == node.getParentId()) {
+        // Unless an ancestor moved, the chain is the same
+        newNodes.put(node.getPageId(), node.withAncestors(previous.ancestors));
+      } else {
+        newNodes.put(node.getPageId(), node);
+        subtreeRoots.add(node.getPageId());
+      }
+      affectedParents.add(node.getParentId());
+      affectedParents.add(node.getPageId());
+    }
+    Map<Long, long[]> newChildren = new HashMap<>(children);
+    updateChildren(newNodes, newChildren, affectedParents);
+    updateAncestors(newNodes, newChildren, subtreeRoots, false);
+    return new PageHierarchy(Collections.unmodifiableMap(newNodes), Collections.unmodifiableMap(newChildren));
+  }
+
+  private static void updateChildren(Map<Long, Node> nodes, Map<Long, long[]> children, Set<Long> parents) {
+    Map<Long, List<Node>> lists = new HashMap<>();
+    for (Long parentId : parents) {
+      lists.put(parentId, new ArrayList<>());
+    }
+    for (Node node : nodes.values()) {
+      List<Node> list = lists.get(node.getParentId());
+      if (list != null) {
+        list.add(node);
+      }
+    }
+    for (Map.Entry<Long, List<Node>> entry : lists.entrySet()) {
+      List<Node> list = entry.getValue();
+      if (list.isEmpty()) {
+        children.remove(entry.getKey());
+        continue;
+      }
+      list.sort(SIBLING_ORDER);
+      long[] ids = new long[list.size()];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = list.get(i).getPageId();
+      }
+      children.put(entry.getKey(), ids);
+    }
+  }
+
+  /** Sets the ancestors from each start down through its descendants */
+  private static void updateAncestors(Map<Long, Node> nodes, Map<Long, long[]> children, Set<Long> starts,
+      boolean startsAreParents) {
+    Deque<Long> pending = new ArrayDeque<>();
+    Set<Long> visited = new HashSet<>();
+    for (Long start : starts) {
+      if (startsAreParents) {
+        for (long childId : children.getOrDefault(start, NONE)) {
+          pending.add(childId);
+        }
+      } else {
+        pending.add(start);
+      }
+    }
+    while (!pending.isEmpty()) {
+      long pageId = pending.poll();
+      Node node = nodes.get(pageId);
+      if (node == null || !visited.add(pageId)) {
+        continue;
+      }
+      Node parent = nodes.get(node.getParentId());
+      long[] ancestors;
+      if (parent == null) {
+        ancestors = NONE;
+      } else if (parent.ancestors.length >= MAX_DEPTH) {
+        continue;
+      } else {
+        ancestors = new long[parent.ancestors.length + 1];
+        System.arraycopy(parent.ancestors, 0, ancestors, 0, parent.ancestors.length);
+        ancestors[parent.ancestors.length] = parent.getPageId();
+      }
+      nodes.put(pageId, node.withAncestors(ancestors));
+      for (long childId : children.getOrDefault(pageId, NONE)) {
+        pending.add(childId);
+      }
+    }
+  }
+
+  public int size() {
+    return nodes.size();
+  }
+
+  public Node getNode(long pageId) {
+    return nodes.get(pageId);
+  }
+
+  public boolean hasChildren(long pageId) {
+    return children.containsKey(pageId > 0 ? pageId : ROOT);
+  }
+
+  /**
+   * @param parentId the parent page, or ROOT for the top level pages
+   * @return the ordered children
+   */
+  public List<Node> getChildren(long parentId) {
+    long[] ids = children.getOrDefault(parentId > 0 ? parentId : ROOT, NONE);
+    List<Node> list = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      Node node = nodes.get(id);
+      if (node != null) {
+        list.add(node);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * @return the ancestors of the page starting with the top level page, without the page itself
+   */
+  public List<Node> getAncestors(long pageId) {
+    Node node = nodes.get(pageId);
+    if (node == null) {
+      return new ArrayList<>();
+    }
+    List<Node> list = new ArrayList<>(node.ancestors.length);
+    for (long id : node.ancestors) {
+      Node ancestor = nodes.get(id);
+      if (ancestor != null) {
+        list.add(ancestor);
+      }
+    }
+    return list;
+  }
+
+  /** The page and its descendants */
+  public Set<Long> getSubtreeIds(long pageId) {
+    Set<Long> ids = new HashSet<>();
+    if (!nodes.containsKey(pageId)) {
+      return ids;
+    }
+    Deque<Long> pending = new ArrayDeque<>();
+    pending.add(pageId);
+    while (!pending.isEmpty()) {
+      long id = pending.poll();
+      if (ids.add(id)) {
+        for (long childId : children.getOrDefault(id, NONE)) {
+          pending.add(childId);
+        }
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Lists the descendants depth-first in display order, like the recursive page tree query: the depth limit
+   * applies to the tree and the published filter applies to each listed page
+   *
+   * @param parentId the parent page, or ROOT for the top level pages
+   * @param maxDepth the number of levels to include (1 = direct children)
+   * @param filterPublished true to only list enabled pages which are not drafts
+   */
+  public List<TreeEntry> getSubtree(long parentId, int maxDepth, boolean filterPublished) {
+    List<TreeEntry> entries = new ArrayList<>();
+    addSubtree(entries, parentId > 0 ? parentId : ROOT, 1, Math.max(1, Math.min(maxDepth, MAX_DEPTH)),
+        filterPublished);
+    return entries;
+  }
+
+  private void addSubtree(List<TreeEntry> entries, long parentId, int level, int maxDepth, boolean filterPublished) {
+    for (long id : children.getOrDefault(parentId, NONE)) {
+      Node node = nodes.get(id);
+      if (node == null) {
+        continue;
+      }
+      if (!filterPublished || node.isPublished()) {
+        entries.add(new TreeEntry(node, level, children.containsKey(id)));
+      }
+      if (level < maxDepth) {
+        addSubtree(entries, id, level + 1, maxDepth, filterPublished);
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.infrastructure.persistence.cms.WebPageHierarchyRepository;
+
+/**
+ * Holds the page hierarchy snapshot; the snapshot is replaced as a whole when a page in the hierarchy
+ * changes, after reloading just the pages affected by the change
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 4:00 PM
+ */
+public class PageHierarchyCache {
+
+  private static Log LOG = LogFactory.getLog(PageHierarchyCache.class);
+
+  /** Invalidating this key reloads the whole hierarchy, any other key is the id of a page which changed */
+  public static final Long ALL_PAGES = -1L;
+
+  private static Cache<Long, PageHierarchy> cache = null;
+
+  // Snapshots loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+
+  private PageHierarchyCache() {
+  }
+
+  static Cache<Long, PageHierarchy> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the hierarchy, or null when the cache is not enabled or the hierarchy could not be loaded
+   */
+  public static PageHierarchy getSnapshot() {
+    Cache<Long, PageHierarchy> current = cache;
+    if (current == null) {
+      return null;
+    }
+    PageHierarchy snapshot = current.getIfPresent(ALL_PAGES);
+    if (snapshot != null) {
+      return snapshot;
+    }
+    long loadVersion = version.get();
+    List<PageHierarchy.Node> nodes = WebPageHierarchyRepository.findAllTreeNodes();
+    if (nodes == null) {
+      return null;
+    }
+    snapshot = PageHierarchy.create(nodes);
+    LOG.debug("Loaded page hierarchy with " + snapshot.size() + " pages");
+    synchronized (PageHierarchyCache.class) {
+      if (loadVersion == version.get()) {
+        current.put(ALL_PAGES, snapshot);
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Reloads the pages affected by a change to the page, and swaps in the updated snapshot
+   *
+   * @param pageId the page which was added, moved, changed or removed
+   */
+  static void invalidate(long pageId) {
+    Cache<Long, PageHierarchy> current = cache;
+    if (current == null) {
+      return;
+    }
+    synchronized (PageHierarchyCache.class) {
+      version.incrementAndGet();
+      if (pageId < 1) {
+        current.invalidate(ALL_PAGES);
+        return;
+      }
+      PageHierarchy snapshot = current.getIfPresent(ALL_PAGES);
+      if (snapshot == null) {
+        return;
+      }
+      PageHierarchy.Node previous = snapshot.getNode(pageId);
+      long previousParentId = previous != null ? previous.getParentId() : -2L;
+      List<PageHierarchy.Node> loaded = WebPageHierarchyRepository.findTreeNodesForChange(pageId, previousParentId);
+      if (loaded == null) {
+        current.invalidate(ALL_PAGES);
+        return;
+      }
+      // Everything the query covers in the current snapshot is replaced
+      Set<Long> removedIds = snapshot.getSubtreeIds(pageId);
+      if (previous != null) {
+        for (PageHierarchy.Node sibling : snapshot.getChildren(previousParentId)) {
+          removedIds.add(sibling.getPageId());
+        }
+      }
+      Set<Long> loadedParents = new HashSet<>();
+      for (PageHierarchy.Node node : loaded) {
+        removedIds.add(node.getPageId());
+        loadedParents.add(node.getParentId());
+      }
+      for (Long parentId : loadedParents) {
+        for (PageHierarchy.Node sibling : snapshot.getChildren(parentId)) {
+          removedIds.add(sibling.getPageId());
+        }
+      }
+      current.put(ALL_PAGES, snapshot.withChanges(removedIds, loaded));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A rendered page stored as UTF-8 bytes and as precompressed deflate blocks. The session's form token
+ * is cut out of the html when the page is captured, so each response splices in the visitor's own
+ * token; the gzip variant stores the token as an uncompressed block between the precompressed segments.
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 AM
+ */
+public final class PageOutput {
+
+  private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+  // A final, fixed huffman block with only the end-of-block code
+  private static final byte[] FINAL_BLOCK = { 0x03, 0x00 };
+
+  private final byte[][] segments;
+  private final byte[][] deflatedSegments;
+  private final Map<String, String> headers;
+  private final Set<String> dependencies;
+  private final int weight;
+
+  private PageOutput(byte[][] segments, byte[][] deflatedSegments, Map<String, String> headers, Set<String> dependencies) {
+    this.segments = segments;
+    this.deflatedSegments = deflatedSegments;
+    this.headers = headers;
+    this.dependencies = dependencies;
+    int size = 0;
+    for (int i = 0; i < segments.length; i++) {
+      size += segments[i].length + deflatedSegments[i].length;
+    }
+    this.weight = size;
+  }
+
+  /**
+   * Compiles the html, replacing every occurrence of the form token with the token of the later visitor
+   */
+  public static PageOutput create(String html, String formToken, Map<String, String> headers, Set<String> dependencies) {
+    List<String> parts = new ArrayList<>();
+    if (formToken == null || formToken.isEmpty()) {
+      parts.add(html);
+    } else {
+      int lastIdx = 0;
+      int idx;
+      while ((idx = html.indexOf(formToken, lastIdx)) > -1) {
+        parts.add(html.substring(lastIdx, idx));
+        lastIdx = idx + formToken.length();
+      }
+      parts.add(html.substring(lastIdx));
+    }
+    byte[][] segments = new byte[parts.size()][];
+    byte[][] deflatedSegments = new byte[parts.size()][];
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    try {
+      for (int i = 0; i < parts.size(); i++) {
+        segments[i] = parts.get(i).getBytes(StandardCharsets.UTF_8);
+        deflatedSegments[i] = deflate(deflater, segments[i]);
+        deflater.reset();
+      }
+    } finally {
+      deflater.end();
+    }
+    return new PageOutput(segments, deflatedSegments,
+        headers != null ? new LinkedHashMap<>(headers) : Map.of(),
+        dependencies != null ? Set.copyOf(dependencies) : Set.of());
+  }
+
+  /** Compresses the bytes into non-final deflate blocks which end on a byte boundary */
+  private static byte[] deflate(Deflater deflater, byte[] input) {
+    if (input.length == 0) {
+      return new byte[0];
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+    byte[] buffer = new byte[8192];
+    deflater.setInput(input);
+    int count;
+    do {
+      count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+      out.write(buffer, 0, count);
+    } while (count == buffer.length);
+    return out.toByteArray();
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public Set<String> getDependencies() {
+    return dependencies;
+  }
+
+  /** The approximate memory used by this output */
+  public int getWeight() {
+    return weight;
+  }
+
+  public void writeTo(OutputStream out, String formToken) throws IOException {
+    byte[] token = tokenBytes(formToken);
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0) {
+        out.write(token);
+      }
+      out.write(segments[i]);
+    }
+  }
+
+  public void writeGzipTo(OutputStream out, String formToken) throws IOException {
+    byte[] token = tokenBytes(formToken);
+    CRC32 crc = new CRC32();
+    long length = 0;
+    out.write(GZIP_HEADER);
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0) {
+        writeStoredBlock(out, token);
+        crc.update(token);
+        length += token.length;
+      }
+      out.write(deflatedSegments[i]);
+      crc.update(segments[i]);
+      length += segments[i].length;
+    }
+    out.write(FINAL_BLOCK);
+    writeInt(out, (int) crc.getValue());
+    writeInt(out, (int) length);
+  }
+
+  private static byte[] tokenBytes(String formToken) {
+    return formToken != null ? formToken.getBytes(StandardCharsets.UTF_8) : new byte[0];
+  }
+
+  private static void writeStoredBlock(OutputStream out, byte[] data) throws IOException {
+    // BFINAL=0, BTYPE=00, then padding to the byte boundary
+    out.write(0);
+    out.write(data.length & 0xff);
+    out.write((data.length >>> 8) & 0xff);
+    out.write(~data.length & 0xff);
+    out.write((~data.length >>> 8) & 0xff);
+    out.write(data);
+  }
+
+  private static void writeInt(OutputStream out, int value) throws IOException {
+    out.write(value & 0xff);
+    out.write((value >>> 8) & 0xff);
+    out.write((value >>> 16) & 0xff);
+    out.write((value >>> 24) & 0xff);
+  }
+}
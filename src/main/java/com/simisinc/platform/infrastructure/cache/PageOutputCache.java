@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Caches the rendered pages shown to visitors who are not logged in, along with the entities each
+ * page was rendered from, so that a change to an entity removes only the pages which used it
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 AM
+ */
+public class PageOutputCache {
+
+  private static Log LOG = LogFactory.getLog(PageOutputCache.class);
+
+  private static Cache<String, PageOutput> outputCache = null;
+
+  // Dependency key -> request keys of the cached pages which use it
+  private static final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+  private PageOutputCache() {
+  }
+
+  static Cache<String, PageOutput> startup() {
+    outputCache = Caffeine.newBuilder()
+        .maximumWeight(64L * 1024 * 1024)
+        .weigher((String key, PageOutput output) -> output.getWeight())
+        // Catches any changes which are not tracked as dependencies
+        .expireAfterWrite(1, TimeUnit.HOURS)
+        .evictionListener((String key, PageOutput output, RemovalCause cause) -> {
+          if (output != null) {
+            unlink(key, output);
+          }
+        })
+        .recordStats()
+        .build();
+    dependents.clear();
+    return outputCache;
+  }
+
+  static void shutdown() {
+    outputCache = null;
+    dependents.clear();
+  }
+
+  public static boolean isEnabled() {
+    return outputCache != null;
+  }
+
+  public static String contentKey(String contentUniqueId) {
+    return "content:" + contentUniqueId;
+  }
+
+  public static String collectionKey(String collectionUniqueId) {
+    return "collection:" + collectionUniqueId;
+  }
+
+  public static String webPageKey(String link) {
+    return "webPage:" + (link != null ? link.toLowerCase() : "");
+  }
+
+  public static PageOutput get(String key) {
+    if (outputCache == null || key == null) {
+      return null;
+    }
+    return outputCache.getIfPresent(key);
+  }
+
+  public static void put(String key, PageOutput output) {
+    if (outputCache == null || key == null || output == null) {
+      return;
+    }
+    PageOutput previous = outputCache.asMap().put(key, output);
+    if (previous != null) {
+      unlink(key, previous);
+    }
+    for (String dependency : output.getDependencies()) {
+      dependents.computeIfAbsent(dependency, k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+  }
+
+  /**
+   * Removes every cached page which was rendered using the dependency
+   */
+  public static void invalidateDependency(String dependency) {
+    if (outputCache == null || dependency == null) {
+      return;
+    }
+    Set<String> keys = dependents.remove(dependency);
+    if (keys == null) {
+      return;
+    }
+    for (String key : keys) {
+      PageOutput output = outputCache.asMap().remove(key);
+      if (output != null) {
+        unlink(key, output);
+      }
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Invalidated " + keys.size() + " page(s) for: " + dependency);
+    }
+  }
+
+  public static void invalidateAll() {
+    if (outputCache == null) {
+      return;
+    }
+    outputCache.invalidateAll();
+    dependents.clear();
+  }
+
+  /** The request keys of the cached pages which use the dependency */
+  public static Set<String> getDependents(String dependency) {
+    Set<String> keys = dependents.get(dependency);
+    return keys != null ? Set.copyOf(keys) : Set.of();
+  }
+
+  private static void unlink(String key, PageOutput output) {
+    for (String dependency : output.getDependencies()) {
+      Set<String> keys = dependents.get(dependency);
+      if (keys != null) {
+        keys.remove(key);
+        if (keys.isEmpty()) {
+          dependents.remove(dependency, keys);
+        }
+      }
+    }
+  }
+}
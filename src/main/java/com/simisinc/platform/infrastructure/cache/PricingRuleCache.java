@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.ecommerce.PricingRule;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.PricingRuleRepository;
+
+/**
+ * Holds the pricing rule index; any change to a pricing rule replaces the index
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class PricingRuleCache {
+
+  private static Log LOG = LogFactory.getLog(PricingRuleCache.class);
+
+  /** The key of the index, invalidating it reloads every rule */
+  public static final Long ALL_RULES = -1L;
+
+  private static Cache<Long, PricingRuleIndex> cache = null;
+
+  // Indexes loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+  private static final Object loadLock = new Object();
+
+  private PricingRuleCache() {
+  }
+
+  static Cache<Long, PricingRuleIndex> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the index, or null when the cache is not enabled or the rules could not be loaded
+   */
+  public static PricingRuleIndex getIndex() {
+    Cache<Long, PricingRuleIndex> current = cache;
+    if (current == null) {
+      return null;
+    }
+    PricingRuleIndex index = current.getIfPresent(ALL_RULES);
+    if (index != null) {
+      return index;
+    }
+    synchronized (loadLock) {
+      index = current.getIfPresent(ALL_RULES);
+      if (index != null) {
+        return index;
+      }
+      long loadVersion = version.get();
+      List<PricingRule> pricingRuleList = PricingRuleRepository.findAllEnabled();
+      if (pricingRuleList == null) {
+        return null;
+      }
+      index = PricingRuleIndex.create(pricingRuleList);
+      LOG.debug("Loaded pricing rule index with " + index.size() + " rules");
+      synchronized (PricingRuleCache.class) {
+        if (loadVersion == version.get()) {
+          current.put(ALL_RULES, index);
+        }
+      }
+      return index;
+    }
+  }
+
+  static void invalidate() {
+    synchronized (PricingRuleCache.class) {
+      version.incrementAndGet();
+      Cache<Long, PricingRuleIndex> current = cache;
+      if (current != null) {
+        current.invalidate(ALL_RULES);
+      }
+    }
+  }
+}
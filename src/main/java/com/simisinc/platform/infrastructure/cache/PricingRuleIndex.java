@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.simisinc.platform.domain.model.ecommerce.PricingRule;
+
+/**
+ * An immutable index of the enabled pricing rules, by promo code and by the SKUs of the rules without a promo
+ * code; the validity window, country and SKU list of each rule are parsed once when the index is created
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class PricingRuleIndex {
+
+  private final Map<String, List<CompiledRule>> rulesByPromoCode;
+  private final Map<String, List<PricingRule>> rulesBySku;
+  private final Map<Long, Set<String>> validSkusByRuleId;
+  private final int size;
+
+  private PricingRuleIndex(Map<String, List<CompiledRule>> rulesByPromoCode, Map<String, List<PricingRule>> rulesBySku,
+      Map<Long, Set<String>> validSkusByRuleId, int size) {
+    this.rulesByPromoCode = rulesByPromoCode;
+    this.rulesBySku = rulesBySku;
+    this.validSkusByRuleId = validSkusByRuleId;
+    this.size = size;
+  }
+
+  /** A promo code rule with its validity window and country */
+  private static final class CompiledRule {
+
+    private final PricingRule pricingRule;
+    private final long fromMillis;
+    private final long toMillis;
+    private final String countryCode;
+
+    CompiledRule(PricingRule pricingRule) {
+      this.pricingRule = pricingRule;
+      this.fromMillis = millis(pricingRule.getFromDate(), Long.MIN_VALUE);
+      this.toMillis = millis(pricingRule.getToDate(), Long.MAX_VALUE);
+      this.countryCode = pricingRule.getCountryCode();
+    }
+
+    /** Like the query: from_date <= now < to_date, and the rule's country is not set or matches */
+    boolean isValid(long now, String country) {
+      return fromMillis <= now && now < toMillis &&
+          (StringUtils.isBlank(country) || countryCode == null || countryCode.equals(country));
+    }
+  }
+
+  private static long millis(Timestamp timestamp, long defaultValue) {
+    return timestamp != null ? timestamp.getTime() : defaultValue;
+  }
+
+  /**
+   * Parses a comma separated list of SKUs
+   *
+   * @return the upper case SKUs
+   */
+  public static Set<String> parseSkus(String skus) {
+    Set<String> skuSet = new LinkedHashSet<>();
+    if (StringUtils.isBlank(skus)) {
+      return skuSet;
+    }
+    for (String sku : skus.toUpperCase(Locale.ROOT).split(",")) {
+      skuSet.add(sku.trim());
+    }
+    return skuSet;
+  }
+
+  /**
+   * @param pricingRuleList the enabled pricing rules
+   */
+  public static PricingRuleIndex create(Collection<PricingRule> pricingRuleList) {
+    List<PricingRule> sorted = new ArrayList<>(pricingRuleList);
+    sorted.sort(Comparator.comparingLong(PricingRule::getId));
+    Map<String, List<CompiledRule>> byPromoCode = new HashMap<>();
+    Map<String, List<PricingRule>> bySku = new HashMap<>();
+    Map<Long, Set<String>> validSkus = new HashMap<>();
+    for (PricingRule pricingRule : sorted) {
+      if (!pricingRule.getEnabled()) {
+        continue;
+      }
+      Set<String> skuSet = Collections.unmodifiableSet(parseSkus(pricingRule.getValidSkus()));
+      validSkus.put(pricingRule.getId(), skuSet);
+      if (StringUtils.isEmpty(pricingRule.getPromoCode())) {
+        // Rules without a promo code apply to their SKUs
+        for (String sku : skuSet) {
+          bySku.computeIfAbsent(sku, k -> new ArrayList<>()).add(pricingRule);
+        }
+      } else {
+        byPromoCode.computeIfAbsent(pricingRule.getPromoCode().toUpperCase(Locale.ROOT), k -> new ArrayList<>())
+            .add(new CompiledRule(pricingRule));
+      }
+    }
+    bySku.replaceAll((sku, list) -> Collections.unmodifiableList(list));
+    return new PricingRuleIndex(byPromoCode, bySku, validSkus, validSkus.size());
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param promoCode the promo code, in any case
+   * @param countryCode the country to validate, or null
+   * @param now the time to validate the rule's dates with
+   * @return the rule when exactly one valid rule has the promo code
+   */
+  public PricingRule findValidPromoCode(String promoCode, String countryCode, long now) {
+    if (StringUtils.isBlank(promoCode)) {
+      return null;
+    }
+    List<CompiledRule> compiledRuleList = rulesByPromoCode.get(promoCode.toUpperCase(Locale.ROOT));
+    if (compiledRuleList == null) {
+      return null;
+    }
+    PricingRule found = null;
+    for (CompiledRule compiledRule : compiledRuleList) {
+      if (compiledRule.isValid(now, countryCode)) {
+        if (found != null) {
+          return null;
+        }
+        found = compiledRule.pricingRule;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * @return the rules without a promo code which list the SKU
+   */
+  public List<PricingRule> findRulesForSku(String sku) {
+    if (StringUtils.isBlank(sku)) {
+      return Collections.emptyList();
+    }
+    return rulesBySku.getOrDefault(sku.toUpperCase(Locale.ROOT), Collections.emptyList());
+  }
+
+  /**
+   * @return the rule's upper case SKUs, or null when the rule is not in the index
+   */
+  public Set<String> getValidSkus(long ruleId) {
+    return validSkusByRuleId.get(ruleId);
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.simisinc.platform.application.ecommerce.ProductPriceCommand;
+import com.simisinc.platform.domain.model.ecommerce.Product;
+import com.simisinc.platform.domain.model.ecommerce.ProductCategory;
+import com.simisinc.platform.domain.model.ecommerce.ProductSku;
+
+/**
+ * An immutable snapshot of the products, their SKUs and attributes, the categories and the base prices, indexed
+ * by id, unique id, SKU code and category; the products and SKUs are shared by every reader and must not be
+ * changed, load them from the repository to make changes
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class ProductCatalog {
+
+  // The same order as the product queries: product_order, name, then caption
+  private static final Comparator<Product> PRODUCT_ORDER = Comparator.comparingInt(Product::getOrder)
+      .thenComparing(Product::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+      .thenComparing(Product::getCaption, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+      .thenComparingLong(Product::getId);
+
+  private final List<Product> productList;
+  private final Map<Long, Product> productsById;
+  private final Map<String, Product> productsByUniqueId;
+  private final Map<Long, ProductSku> skusById;
+  private final Map<String, ProductSku> skusByCode;
+  private final Map<Long, List<ProductSku>> enabledSkusByProductId;
+  private final List<ProductCategory> categoryList;
+  private final Map<String, ProductCategory> categoriesByUniqueId;
+  private final Map<Long, List<Long>> productIdsByCategoryId;
+  private final long expires;
+
+  private ProductCatalog(List<Product> products, List<ProductCategory> categories,
+      Map<Long, List<Long>> productIdsByCategoryId, long now) {
+    List<Product> sorted = new ArrayList<>(products);
+    sorted.sort(PRODUCT_ORDER);
+    Map<Long, Product> byId = new HashMap<>(sorted.size() * 2);
+    Map<String, Product> byUniqueId = new HashMap<>(sorted.size() * 2);
+    Map<Long, ProductSku> skuById = new HashMap<>();
+    Map<String, ProductSku> skuByCode = new HashMap<>();
+    Map<Long, List<ProductSku>> enabledSkus = new HashMap<>(sorted.size() * 2);
+    long nextChange = Long.MAX_VALUE;
+    for (Product product : sorted) {
+      byId.put(product.getId(), product);
+      if (product.getUniqueId() != null) {
+        byUniqueId.put(product.getUniqueId(), product);
+      }
+      for (ProductSku productSku : skus(product)) {
+        skuById.put(productSku.getId(), productSku);
+        if (productSku.getSku() != null) {
+          skuByCode.put(productSku.getSku().trim().toUpperCase(Locale.ROOT), productSku);
+        }
+      }
+      enabledSkus.put(product.getId(), Collections.unmodifiableList(enabledSkus(product)));
+      // The SKU status depends on these dates, so the catalog is reloaded when one is reached
+      nextChange = nextChange(nextChange, product.getActiveDate(), now);
+      nextChange = nextChange(nextChange, product.getDeactivateOnDate(), now);
+    }
+    Map<Long, List<Long>> categoryProducts = new HashMap<>();
+    if (productIdsByCategoryId != null) {
+      for (Map.Entry<Long, List<Long>> entry : productIdsByCategoryId.entrySet()) {
+        categoryProducts.put(entry.getKey(), List.copyOf(entry.getValue()));
+      }
+    }
+    Map<String, ProductCategory> categoryByUniqueId = new HashMap<>();
+    for (ProductCategory category : categories) {
+      if (category.getUniqueId() != null) {
+        categoryByUniqueId.put(category.getUniqueId().toUpperCase(Locale.ROOT), category);
+      }
+    }
+    this.productList = Collections.unmodifiableList(sorted);
+    this.productsById = Collections.unmodifiableMap(byId);
+    this.productsByUniqueId = Collections.unmodifiableMap(byUniqueId);
+    this.skusById = Collections.unmodifiableMap(skuById);
+    this.skusByCode = Collections.unmodifiableMap(skuByCode);
+    this.enabledSkusByProductId = Collections.unmodifiableMap(enabledSkus);
+    this.categoryList = Collections.unmodifiableList(new ArrayList<>(categories));
+    this.categoriesByUniqueId = Collections.unmodifiableMap(categoryByUniqueId);
+    this.productIdsByCategoryId = Collections.unmodifiableMap(categoryProducts);
+    this.expires = nextChange;
+  }
+
+  /**
+   * Creates the catalog and sets the base price of each product
+   *
+   * @param products the products with all of their SKUs in display order
+   * @param categories the categories in display order
+   * @param productIdsByCategoryId the products in each category
+   * @param now the time the products were loaded
+   */
+  public static ProductCatalog create(Collection<Product> products, Collection<ProductCategory> categories,
+      Map<Long, List<Long>> productIdsByCategoryId, long now) {
+    for (Product product : products) {
+      ProductPriceCommand.configurePriceAndStartingPrice(product, enabledSkus(product));
+    }
+    return new ProductCatalog(new ArrayList<>(products),
+        categories != null ? new ArrayList<>(categories) : new ArrayList<>(), productIdsByCategoryId, now);
+  }
+
+  /**
+   * Creates a new catalog where the product is replaced by the loaded one, the other products are shared
+   *
+   * @param loaded the product which changed, with all of its SKUs
+   * @param now the time the product was loaded
+   */
+  public ProductCatalog withProduct(Product loaded, long now) {
+    List<Product> products = new ArrayList<>(productList.size() + 1);
+    for (Product product : productList) {
+      if (!product.getId().equals(loaded.getId())) {
+        products.add(product);
+      }
+    }
+    ProductPriceCommand.configurePriceAndStartingPrice(loaded, enabledSkus(loaded));
+    products.add(loaded);
+    return new ProductCatalog(products, categoryList, productIdsByCategoryId, now);
+  }
+
+  private static List<ProductSku> skus(Product product) {
+    return product.getProducts() != null ? product.getProducts() : Collections.emptyList();
+  }
+
+  private static List<ProductSku> enabledSkus(Product product) {
+    List<ProductSku> list = new ArrayList<>();
+    for (ProductSku productSku : skus(product)) {
+      if (productSku.getEnabled()) {
+        list.add(productSku);
+      }
+    }
+    return list;
+  }
+
+  private static long nextChange(long nextChange, Timestamp timestamp, long now) {
+    if (timestamp != null && timestamp.getTime() > now && timestamp.getTime() < nextChange) {
+      return timestamp.getTime();
+    }
+    return nextChange;
+  }
+
+  public int size() {
+    return productList.size();
+  }
+
+  /** The time a product's active or deactivate date is reached, and the catalog needs to be reloaded */
+  public long getExpires() {
+    return expires;
+  }
+
+  public Product getProduct(long productId) {
+    return productsById.get(productId);
+  }
+
+  public Product getProductByUniqueId(String uniqueId) {
+    return uniqueId != null ? productsByUniqueId.get(uniqueId) : null;
+  }
+
+  public ProductSku getProductSku(long skuId) {
+    return skusById.get(skuId);
+  }
+
+  public ProductSku getProductSku(String sku) {
+    return sku != null ? skusByCode.get(sku.trim().toUpperCase(Locale.ROOT)) : null;
+  }
+
+  /** The product which has the SKU code */
+  public Product getProductBySku(String sku) {
+    ProductSku productSku = getProductSku(sku);
+    return productSku != null ? productsById.get(productSku.getProductId()) : null;
+  }
+
+  /**
+   * @return the product's enabled SKUs in display order
+   */
+  public List<ProductSku> getEnabledProductSkus(long productId) {
+    return enabledSkusByProductId.getOrDefault(productId, Collections.emptyList());
+  }
+
+  /**
+   * Lists the enabled products which have an enabled SKU, in display order
+   *
+   * @param uniqueIds the products to include, or null for all products
+   * @param limit the maximum number of products, or -1 for no limit
+   */
+  public List<Product> getProductsForSale(Collection<String> uniqueIds, int limit) {
+    Set<String> include = uniqueIds != null && !uniqueIds.isEmpty() ? Set.copyOf(uniqueIds) : null;
+    List<Product> list = new ArrayList<>();
+    for (Product product : productList) {
+      if (limit > 0 && list.size() >= limit) {
+        break;
+      }
+      if (!product.getEnabled() || getEnabledProductSkus(product.getId()).isEmpty()) {
+        continue;
+      }
+      if (include == null || include.contains(product.getUniqueId())) {
+        list.add(product);
+      }
+    }
+    return list;
+  }
+
+  public List<ProductCategory> getCategories() {
+    return categoryList;
+  }
+
+  public ProductCategory getCategoryByUniqueId(String uniqueId) {
+    return uniqueId != null ? categoriesByUniqueId.get(uniqueId.toUpperCase(Locale.ROOT)) : null;
+  }
+
+  /**
+   * @return the category's products in display order
+   */
+  public List<Product> getProductsInCategory(long categoryId) {
+    List<Product> list = new ArrayList<>();
+    for (Long productId : productIdsByCategoryId.getOrDefault(categoryId, Collections.emptyList())) {
+      Product product = productsById.get(productId);
+      if (product != null) {
+        list.add(product);
+      }
+    }
+    return list;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.ecommerce.Product;
+import com.simisinc.platform.domain.model.ecommerce.ProductCategory;
+import com.simisinc.platform.domain.model.ecommerce.ProductSku;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductCategoryRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductRepository;
+
+/**
+ * Holds the product catalog snapshot; a change to a product, its SKUs or inventory publishes a new snapshot
+ * with just that product reloaded, a category change reloads the whole catalog
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class ProductCatalogCache {
+
+  private static Log LOG = LogFactory.getLog(ProductCatalogCache.class);
+
+  /** Invalidating this key reloads the whole catalog, any other key is the id of a product which changed */
+  public static final Long ALL_PRODUCTS = -1L;
+
+  private static Cache<Long, ProductCatalog> cache = null;
+
+  // Snapshots loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+  private static final Object loadLock = new Object();
+
+  private ProductCatalogCache() {
+  }
+
+  static Cache<Long, ProductCatalog> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the catalog, or null when the cache is not enabled or the catalog could not be loaded
+   */
+  public static ProductCatalog getSnapshot() {
+    Cache<Long, ProductCatalog> current = cache;
+    if (current == null) {
+      return null;
+    }
+    ProductCatalog snapshot = current.getIfPresent(ALL_PRODUCTS);
+    if (snapshot != null && snapshot.getExpires() > System.currentTimeMillis()) {
+      return snapshot;
+    }
+    // Readers wait for the one load instead of each querying the products
+    synchronized (loadLock) {
+      snapshot = current.getIfPresent(ALL_PRODUCTS);
+      long now = System.currentTimeMillis();
+      if (snapshot != null && snapshot.getExpires() > now) {
+        return snapshot;
+      }
+      long loadVersion = version.get();
+      List<Product> productList = ProductRepository.findAllWithRelatedData();
+      Map<Long, List<Long>> productIdsByCategoryId = ProductCategoryRepository.findProductIdsByCategoryId();
+      if (productList == null || productIdsByCategoryId == null) {
+        return null;
+      }
+      List<ProductCategory> categoryList = ProductCategoryRepository.findAll();
+      snapshot = ProductCatalog.create(productList, categoryList, productIdsByCategoryId, now);
+      LOG.debug("Loaded product catalog with " + snapshot.size() + " products");
+      synchronized (ProductCatalogCache.class) {
+        if (loadVersion == version.get()) {
+          current.put(ALL_PRODUCTS, snapshot);
+        }
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * @return the id of the product with the SKU, or ALL_PRODUCTS when it is not known
+   */
+  public static long findProductIdForSku(long skuId) {
+    Cache<Long, ProductCatalog> current = cache;
+    ProductCatalog snapshot = current != null ? current.getIfPresent(ALL_PRODUCTS) : null;
+    ProductSku productSku = snapshot != null ? snapshot.getProductSku(skuId) : null;
+    return productSku != null ? productSku.getProductId() : ALL_PRODUCTS;
+  }
+
+  /**
+   * Reloads the product and swaps in the updated snapshot
+   *
+   * @param productId the product which was added, changed or removed, or ALL_PRODUCTS
+   */
+  static void invalidate(long productId) {
+    Cache<Long, ProductCatalog> current = cache;
+    if (current == null) {
+      return;
+    }
+    synchronized (ProductCatalogCache.class) {
+      version.incrementAndGet();
+      ProductCatalog snapshot = current.getIfPresent(ALL_PRODUCTS);
+      if (productId < 1 || snapshot == null) {
+        current.invalidate(ALL_PRODUCTS);
+        return;
+      }
+      long now = System.currentTimeMillis();
+      Product loaded = ProductRepository.findById(productId);
+      if (loaded == null) {
+        // Removed, or could not be loaded; the category lists are reloaded too
+        current.invalidate(ALL_PRODUCTS);
+        return;
+      }
+      current.put(ALL_PRODUCTS, snapshot.withProduct(loaded, now));
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A remote response body with its validators and how long it can be used: fresh, stale while it is
+ * revalidated, and stale when the remote server has an error
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 9:00 PM
+ */
+public class RemoteContent {
+
+  private final String body;
+  private final String etag;
+  private final String lastModified;
+  private final long freshUntilMillis;
+  private final long staleUntilMillis;
+  private final long staleIfErrorUntilMillis;
+  // Values computed from the body, like cleaned html, kept while the body is unchanged
+  private final Map<String, String> derived;
+  private final AtomicBoolean revalidating = new AtomicBoolean();
+
+  public RemoteContent(String body, String etag, String lastModified, long freshUntilMillis, long staleUntilMillis,
+      long staleIfErrorUntilMillis) {
+    this(body, etag, lastModified, freshUntilMillis, staleUntilMillis, staleIfErrorUntilMillis,
+        new ConcurrentHashMap<>());
+  }
+
+  private RemoteContent(String body, String etag, String lastModified, long freshUntilMillis, long staleUntilMillis,
+      long staleIfErrorUntilMillis, Map<String, String> derived) {
+    this.body = body;
+    this.etag = etag;
+    this.lastModified = lastModified;
+    this.freshUntilMillis = freshUntilMillis;
+    this.staleUntilMillis = Math.max(freshUntilMillis, staleUntilMillis);
+    this.staleIfErrorUntilMillis = Math.max(this.staleUntilMillis, staleIfErrorUntilMillis);
+    this.derived = derived;
+  }
+
+  /**
+   * @return a copy for a not modified response, which keeps the body and the values computed from it
+   */
+  public RemoteContent revalidated(String etag, String lastModified, long freshUntilMillis, long staleUntilMillis,
+      long staleIfErrorUntilMillis) {
+    return new RemoteContent(body, etag != null ? etag : this.etag,
+        lastModified != null ? lastModified : this.lastModified, freshUntilMillis, staleUntilMillis,
+        staleIfErrorUntilMillis, derived);
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  public String getLastModified() {
+    return lastModified;
+  }
+
+  public boolean isFresh(long nowMillis) {
+    return nowMillis < freshUntilMillis;
+  }
+
+  /** True when the content can be used while a new copy is requested */
+  public boolean isUsableWhileRevalidating(long nowMillis) {
+    return nowMillis < staleUntilMillis;
+  }
+
+  /** True when the content can be used because a new copy could not be requested */
+  public boolean isUsableOnError(long nowMillis) {
+    return nowMillis < staleIfErrorUntilMillis;
+  }
+
+  /**
+   * @return true for the one caller which should revalidate the content
+   */
+  public boolean startRevalidation() {
+    return revalidating.compareAndSet(false, true);
+  }
+
+  public void endRevalidation() {
+    revalidating.set(false);
+  }
+
+  /**
+   * @return the value computed from the body for the key, computed once per body
+   */
+  public String getDerived(String key, Function<String, String> function) {
+    return derived.computeIfAbsent(key, k -> function.apply(body));
+  }
+
+  int getWeight() {
+    int weight = 128 + 2 * (body != null ? body.length() : 0);
+    for (String value : derived.values()) {
+      weight += 2 * value.length();
+    }
+    return weight;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.SalesTaxNexusAddressRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.USSalesTaxRatesRepository;
+
+/**
+ * Holds the sales tax table; a nexus address change replaces the table with the reloaded addresses and
+ * the same rates
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+public class SalesTaxCache {
+
+  private static Log LOG = LogFactory.getLog(SalesTaxCache.class);
+
+  /** The key of the table, invalidating it reloads the rates and the nexus addresses */
+  public static final Long ALL_RATES = -1L;
+
+  /** Invalidating this key reloads just the nexus addresses */
+  public static final Long NEXUS_ADDRESSES = -2L;
+
+  private static Cache<Long, SalesTaxTable> cache = null;
+
+  // Tables loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+  private static final Object loadLock = new Object();
+
+  private SalesTaxCache() {
+  }
+
+  static Cache<Long, SalesTaxTable> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the table, or null when the cache is not enabled or the rates could not be loaded
+   */
+  public static SalesTaxTable getTable() {
+    Cache<Long, SalesTaxTable> current = cache;
+    if (current == null) {
+      return null;
+    }
+    SalesTaxTable table = current.getIfPresent(ALL_RATES);
+    if (table != null) {
+      return table;
+    }
+    synchronized (loadLock) {
+      table = current.getIfPresent(ALL_RATES);
+      if (table != null) {
+        return table;
+      }
+      long loadVersion = version.get();
+      SalesTaxTable.Builder builder = USSalesTaxRatesRepository.findAllCombinedRates();
+      if (builder == null) {
+        return null;
+      }
+      table = builder.build(SalesTaxNexusAddressRepository.findAll());
+      LOG.debug("Loaded sales tax table with " + table.size() + " rates");
+      synchronized (SalesTaxCache.class) {
+        if (loadVersion == version.get()) {
+          current.put(ALL_RATES, table);
+        }
+      }
+      return table;
+    }
+  }
+
+  /**
+   * @param key NEXUS_ADDRESSES to reload the nexus addresses, otherwise the whole table is reloaded when next used
+   */
+  static void invalidate(long key) {
+    Cache<Long, SalesTaxTable> current = cache;
+    if (current == null) {
+      return;
+    }
+    synchronized (SalesTaxCache.class) {
+      version.incrementAndGet();
+      SalesTaxTable table = current.getIfPresent(ALL_RATES);
+      if (key != NEXUS_ADDRESSES || table == null) {
+        current.invalidate(ALL_RATES);
+        return;
+      }
+      current.put(ALL_RATES, table.withNexusAddresses(SalesTaxNexusAddressRepository.findAll()));
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.simisinc.platform.domain.model.ecommerce.SalesTaxNexusAddress;
+
+/**
+ * An immutable copy of us_sales_tax_rates and the sales tax nexus addresses; the combined rates are indexed
+ * by state and by the 5-digit zip code prefix, stored as sorted ints with an index into the distinct rates
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+public class SalesTaxTable {
+
+  private final Map<String, StateRates> rates;
+  private final List<SalesTaxNexusAddress> nexusAddresses;
+  private final int size;
+
+  private SalesTaxTable(Map<String, StateRates> rates, List<SalesTaxNexusAddress> nexusAddresses, int size) {
+    this.rates = rates;
+    this.nexusAddresses = nexusAddresses;
+    this.size = size;
+  }
+
+  /** The zip codes of a state, with the rate used when the zip code is not found */
+  private static final class StateRates {
+
+    private final int[] zipCodes;
+    private final BigDecimal[] combinedRates;
+    private final BigDecimal stateRate;
+
+    StateRates(int[] zipCodes, BigDecimal[] combinedRates, BigDecimal stateRate) {
+      this.zipCodes = zipCodes;
+      this.combinedRates = combinedRates;
+      this.stateRate = stateRate;
+    }
+  }
+
+  /** Collects the rates as they are read from the database */
+  public static final class Builder {
+
+    private final Map<String, List<long[]>> zipCodesByState = new HashMap<>();
+    private final Map<String, BigDecimal> stateRates = new HashMap<>();
+    private final Map<BigDecimal, Integer> rateIndexes = new HashMap<>();
+    private final List<BigDecimal> distinctRates = new ArrayList<>();
+    private int size = 0;
+
+    /**
+     * Adds a row; like a query without an order, the first row of a state is used when a zip code is not found
+     */
+    public Builder add(String state, String zipCode, BigDecimal combinedRate) {
+      String key = normalizeState(state);
+      if (key == null) {
+        return this;
+      }
+      if (!stateRates.containsKey(key)) {
+        stateRates.put(key, combinedRate);
+      }
+      int zip = parseZipCode(zipCode);
+      if (zip > -1) {
+        Integer rateIndex = rateIndexes.get(combinedRate);
+        if (rateIndex == null) {
+          rateIndex = distinctRates.size();
+          distinctRates.add(combinedRate);
+          rateIndexes.put(combinedRate, rateIndex);
+        }
+        zipCodesByState.computeIfAbsent(key, k -> new ArrayList<>()).add(new long[] { zip, rateIndex });
+      }
+      ++size;
+      return this;
+    }
+
+    public SalesTaxTable build(List<SalesTaxNexusAddress> nexusAddresses) {
+      BigDecimal[] combinedRates = distinctRates.toArray(new BigDecimal[0]);
+      Map<String, StateRates> rates = new HashMap<>();
+      for (Map.Entry<String, BigDecimal> entry : stateRates.entrySet()) {
+        List<long[]> rows = zipCodesByState.getOrDefault(entry.getKey(), Collections.emptyList());
+        rows.sort((a, b) -> Long.compare(a[0], b[0]));
+        // A zip code listed twice for a state keeps its first rate
+        int[] zipCodes = new int[rows.size()];
+        BigDecimal[] zipRates = new BigDecimal[rows.size()];
+        int count = 0;
+        for (long[] row : rows) {
+          if (count > 0 && zipCodes[count - 1] == row[0]) {
+            continue;
+          }
+          zipCodes[count] = (int) row[0];
+          zipRates[count] = combinedRates[(int) row[1]];
+          ++count;
+        }
+        rates.put(entry.getKey(), new StateRates(Arrays.copyOf(zipCodes, count), Arrays.copyOf(zipRates, count),
+            entry.getValue()));
+      }
+      return new SalesTaxTable(rates, immutable(nexusAddresses), size);
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private static List<SalesTaxNexusAddress> immutable(List<SalesTaxNexusAddress> nexusAddresses) {
+    if (nexusAddresses == null || nexusAddresses.isEmpty()) {
+      return null;
+    }
+    return Collections.unmodifiableList(new ArrayList<>(nexusAddresses));
+  }
+
+  private static String normalizeState(String state) {
+    if (state == null || state.isBlank()) {
+      return null;
+    }
+    return state.trim().toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * @return the 5-digit zip code prefix as a number, or -1 if the value does not start with 5 digits
+   */
+  static int parseZipCode(String zipCode) {
+    if (zipCode == null) {
+      return -1;
+    }
+    String value = zipCode.trim();
+    // Like the database lookup, which matches the first 5 characters exactly
+    if (value.length() < 5) {
+      return -1;
+    }
+    value = value.substring(0, 5);
+    int zip = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      zip = zip * 10 + (c - '0');
+    }
+    return zip;
+  }
+
+  /**
+   * Creates a table with the same rates and the given nexus addresses
+   */
+  public SalesTaxTable withNexusAddresses(List<SalesTaxNexusAddress> nexusAddresses) {
+    return new SalesTaxTable(rates, immutable(nexusAddresses), size);
+  }
+
+  /** The number of rate rows */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the nexus addresses, or null if none have been setup
+   */
+  public List<SalesTaxNexusAddress> getNexusAddresses() {
+    return nexusAddresses;
+  }
+
+  /**
+   * @return the combined rate for the state's zip code, or null if the zip code is not found
+   */
+  public BigDecimal findZipCodeRate(String state, String zipCode) {
+    String key = normalizeState(state);
+    int zip = parseZipCode(zipCode);
+    if (key == null || zip == -1) {
+      return null;
+    }
+    StateRates stateRates = rates.get(key);
+    if (stateRates == null) {
+      return null;
+    }
+    int i = Arrays.binarySearch(stateRates.zipCodes, zip);
+    return i > -1 ? stateRates.combinedRates[i] : null;
+  }
+
+  /**
+   * @return a combined rate used for the state when a zip code is not found, or null if the state is not found
+   */
+  public BigDecimal findStateRate(String state) {
+    String key = normalizeState(state);
+    if (key == null) {
+      return null;
+    }
+    StateRates stateRates = rates.get(key);
+    return stateRates != null ? stateRates.stateRate : null;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingCountryRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateRepository;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateSpecification;
+
+/**
+ * Holds the shipping rate matrix; any change to a shipping rate, method or country replaces the matrix
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+public class ShippingRateCache {
+
+  private static Log LOG = LogFactory.getLog(ShippingRateCache.class);
+
+  /** The key of the matrix, invalidating it reloads every rate */
+  public static final Long ALL_RATES = -1L;
+
+  private static Cache<Long, ShippingRateMatrix> cache = null;
+
+  // Matrices loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+  private static final Object loadLock = new Object();
+
+  private ShippingRateCache() {
+  }
+
+  static Cache<Long, ShippingRateMatrix> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the matrix, or null when the cache is not enabled or the rates could not be loaded
+   */
+  public static ShippingRateMatrix getMatrix() {
+    Cache<Long, ShippingRateMatrix> current = cache;
+    if (current == null) {
+      return null;
+    }
+    ShippingRateMatrix matrix = current.getIfPresent(ALL_RATES);
+    if (matrix != null) {
+      return matrix;
+    }
+    synchronized (loadLock) {
+      matrix = current.getIfPresent(ALL_RATES);
+      if (matrix != null) {
+        return matrix;
+      }
+      long loadVersion = version.get();
+      List<ShippingRate> shippingRateList = ShippingRateRepository.findAll(null, null);
+      if (shippingRateList == null) {
+        return null;
+      }
+      // The rates of enabled methods, without the address and minimum filters
+      ShippingRateSpecification specification = new ShippingRateSpecification();
+      specification.setEnabledOnly(true);
+      specification.setPackageTotalWeightOz(-1);
+      List<ShippingRate> enabledRateList = ShippingRateRepository.findAll(specification, null);
+      if (enabledRateList == null) {
+        return null;
+      }
+      Set<Long> enabledRateIds = new HashSet<>();
+      for (ShippingRate shippingRate : enabledRateList) {
+        enabledRateIds.add(shippingRate.getId());
+      }
+      matrix = ShippingRateMatrix.create(shippingRateList, enabledRateIds, ShippingCountryRepository.findAll());
+      LOG.debug("Loaded shipping rate matrix with " + matrix.size() + " rates");
+      synchronized (ShippingRateCache.class) {
+        if (loadVersion == version.get()) {
+          current.put(ALL_RATES, matrix);
+        }
+      }
+      return matrix;
+    }
+  }
+
+  static void invalidate() {
+    synchronized (ShippingRateCache.class) {
+      version.incrementAndGet();
+      Cache<Long, ShippingRateMatrix> current = cache;
+      if (current != null) {
+        current.invalidate(ALL_RATES);
+      }
+    }
+  }
+}
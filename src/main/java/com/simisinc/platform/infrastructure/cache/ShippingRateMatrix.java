@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.simisinc.platform.domain.model.ecommerce.ShippingCountry;
+import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateSpecification;
+
+/**
+ * An immutable copy of the shipping rates and the enabled shipping countries; the rates of enabled shipping
+ * methods are grouped by country code and matched in memory the same way as the shipping rate query
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+public class ShippingRateMatrix {
+
+  // The same order as the shipping rate query: postal_code, region, shipping_method, shipping_fee
+  private static final Comparator<ShippingRate> RATE_ORDER = Comparator
+      .comparing(ShippingRate::getPostalCode, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(ShippingRate::getRegion, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparingInt(ShippingRate::getShippingMethodId)
+      .thenComparing(ShippingRate::getShippingFee, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(ShippingRate::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+  private final Map<Long, ShippingRate> ratesById;
+  private final Map<String, List<ShippingRate>> enabledRatesByCountry;
+  private final Map<String, ShippingCountry> enabledCountriesByTitle;
+
+  private ShippingRateMatrix(Map<Long, ShippingRate> ratesById, Map<String, List<ShippingRate>> enabledRatesByCountry,
+      Map<String, ShippingCountry> enabledCountriesByTitle) {
+    this.ratesById = ratesById;
+    this.enabledRatesByCountry = enabledRatesByCountry;
+    this.enabledCountriesByTitle = enabledCountriesByTitle;
+  }
+
+  /**
+   * @param shippingRates every shipping rate
+   * @param enabledRateIds the rates which use an enabled shipping method
+   * @param shippingCountries the shipping countries, in level order
+   */
+  public static ShippingRateMatrix create(Collection<ShippingRate> shippingRates, Set<Long> enabledRateIds,
+      Collection<ShippingCountry> shippingCountries) {
+    Map<Long, ShippingRate> ratesById = new HashMap<>();
+    Map<String, List<ShippingRate>> enabledRatesByCountry = new HashMap<>();
+    for (ShippingRate shippingRate : shippingRates) {
+      ratesById.put(shippingRate.getId(), shippingRate);
+      if (enabledRateIds.contains(shippingRate.getId()) && shippingRate.getCountryCode() != null) {
+        enabledRatesByCountry.computeIfAbsent(shippingRate.getCountryCode(), k -> new ArrayList<>()).add(shippingRate);
+      }
+    }
+    for (Map.Entry<String, List<ShippingRate>> entry : enabledRatesByCountry.entrySet()) {
+      entry.getValue().sort(RATE_ORDER);
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    Map<String, ShippingCountry> enabledCountriesByTitle = new HashMap<>();
+    if (shippingCountries != null) {
+      for (ShippingCountry shippingCountry : shippingCountries) {
+        if (shippingCountry.getEnabled() && shippingCountry.getTitle() != null) {
+          enabledCountriesByTitle.putIfAbsent(shippingCountry.getTitle().toLowerCase(), shippingCountry);
+        }
+      }
+    }
+    return new ShippingRateMatrix(Collections.unmodifiableMap(ratesById),
+        Collections.unmodifiableMap(enabledRatesByCountry), Collections.unmodifiableMap(enabledCountriesByTitle));
+  }
+
+  public int size() {
+    return ratesById.size();
+  }
+
+  /**
+   * @return the shipping rate, whether or not its method is enabled
+   */
+  public ShippingRate getRate(long shippingRateId) {
+    return ratesById.get(shippingRateId);
+  }
+
+  /**
+   * @param name the country's title, compared without case
+   */
+  public ShippingCountry findEnabledCountry(String name) {
+    if (name == null) {
+      return null;
+    }
+    return enabledCountriesByTitle.get(name.toLowerCase());
+  }
+
+  /**
+   * Finds the rates of enabled shipping methods which match the specification, in the query's order
+   *
+   * @return the matching rates, or null when the specification is not limited to enabled methods
+   */
+  public List<ShippingRate> findRates(ShippingRateSpecification specification) {
+    if (!specification.getEnabledOnly()) {
+      return null;
+    }
+    List<ShippingRate> candidates;
+    if (StringUtils.isNotBlank(specification.getCountryCode())) {
+      candidates = enabledRatesByCountry.getOrDefault(specification.getCountryCode(), Collections.emptyList());
+    } else {
+      candidates = new ArrayList<>();
+      for (List<ShippingRate> countryRates : enabledRatesByCountry.values()) {
+        candidates.addAll(countryRates);
+      }
+      candidates.sort(RATE_ORDER);
+    }
+    List<ShippingRate> shippingRateList = new ArrayList<>();
+    for (ShippingRate shippingRate : candidates) {
+      if (matchesAddress(specification, shippingRate) && matchesMinimums(specification, shippingRate)) {
+        shippingRateList.add(shippingRate);
+      }
+    }
+    return shippingRateList;
+  }
+
+  private static boolean matchesAddress(ShippingRateSpecification specification, ShippingRate shippingRate) {
+    String region = specification.getRegion();
+    String postalCode = specification.getPostalCode();
+    if (StringUtils.isBlank(region) || StringUtils.isBlank(postalCode)) {
+      return true;
+    }
+    boolean anyPostalCode = "*".equals(shippingRate.getPostalCode());
+    boolean anyRegion = "*".equals(shippingRate.getRegion());
+    if ("*".equals(region) && "*".equals(postalCode)) {
+      // Non-specific, fall-back
+      return anyPostalCode && anyRegion;
+    }
+    if ("US".equals(specification.getCountryCode()) && postalCode.length() > 5) {
+      postalCode = postalCode.substring(0, 5);
+    }
+    if (postalCode.equals(shippingRate.getPostalCode())) {
+      return true;
+    }
+    if (anyPostalCode && region.equals(shippingRate.getRegion())) {
+      return true;
+    }
+    return !specification.getSpecificRegionOnly() && anyPostalCode && anyRegion;
+  }
+
+  private static boolean matchesMinimums(ShippingRateSpecification specification, ShippingRate shippingRate) {
+    BigDecimal orderSubtotal = specification.getOrderSubtotal();
+    if (orderSubtotal != null
+        && (shippingRate.getMinSubTotal() == null || shippingRate.getMinSubTotal().compareTo(orderSubtotal) > 0)) {
+      return false;
+    }
+    return specification.getPackageTotalWeightOz() < 0
+        || shippingRate.getMinWeightOz() <= specification.getPackageTotalWeightOz();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.domain.model.SiteProperty;
+import com.simisinc.platform.infrastructure.persistence.SitePropertyRepository;
+
+/**
+ * Holds the site property snapshot; the snapshot is replaced as a whole when a property changes, here or on
+ * another node
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 6:00 PM
+ */
+public class SitePropertyCache {
+
+  private static Log LOG = LogFactory.getLog(SitePropertyCache.class);
+
+  /** The key of the snapshot, a prefix key replaces the snapshot and keeps the unchanged prefix versions */
+  public static final String ALL_PROPERTIES = "*";
+
+  private static Cache<String, SitePropertySnapshot> cache = null;
+
+  // Snapshots loaded while a change happened are not kept
+  private static final AtomicLong version = new AtomicLong();
+
+  private SitePropertyCache() {
+  }
+
+  static Cache<String, SitePropertySnapshot> startup() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(1)
+        .recordStats()
+        .build();
+    version.incrementAndGet();
+    return cache;
+  }
+
+  static void shutdown() {
+    cache = null;
+    version.incrementAndGet();
+  }
+
+  public static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * @return the current snapshot, loaded on first use; when caching is not enabled the properties are loaded
+   *         for each call
+   */
+  public static SitePropertySnapshot getSnapshot() {
+    Cache<String, SitePropertySnapshot> current = cache;
+    SitePropertySnapshot snapshot = current != null ? current.getIfPresent(ALL_PROPERTIES) : null;
+    if (snapshot != null) {
+      return snapshot;
+    }
+    long loadVersion = version.get();
+    List<SiteProperty> sitePropertyList = SitePropertyRepository.findAll();
+    synchronized (SitePropertyCache.class) {
+      snapshot = SitePropertySnapshot.create(sitePropertyList, null);
+      if (current != null && sitePropertyList != null && loadVersion == version.get()) {
+        current.put(ALL_PROPERTIES, snapshot);
+        LOG.debug("Loaded site properties: " + snapshot.size());
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Replaces the snapshot after a property changes; prefixes with the same values keep their version
+   *
+   * @param prefix the prefix which changed
+   */
+  static void invalidate(String prefix) {
+    Cache<String, SitePropertySnapshot> current = cache;
+    if (current == null) {
+      return;
+    }
+    LOG.debug("Reloading site properties for: " + prefix);
+    synchronized (SitePropertyCache.class) {
+      version.incrementAndGet();
+      SitePropertySnapshot previous = current.getIfPresent(ALL_PROPERTIES);
+      List<SiteProperty> sitePropertyList = SitePropertyRepository.findAll();
+      if (sitePropertyList == null) {
+        // Load again when next used
+        current.invalidate(ALL_PROPERTIES);
+        return;
+      }
+      current.put(ALL_PROPERTIES, SitePropertySnapshot.create(sitePropertyList, previous));
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+import com.simisinc.platform.domain.model.SiteProperty;
+
+/**
+ * An immutable snapshot of the site properties, indexed by name and by prefix; typed values are parsed
+ * once per snapshot
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 6:00 PM
+ */
+public final class SitePropertySnapshot {
+
+  private static final Object INVALID = new Object();
+
+  private final Map<String, String> values;
+  private final Map<String, PrefixValues> prefixes;
+  private final Map<String, Object> intValues = new ConcurrentHashMap<>();
+  private final Map<String, Object> urlValues = new ConcurrentHashMap<>();
+
+  /** The properties sharing a prefix, like "site" for "site.name" */
+  static final class PrefixValues {
+
+    private final Map<String, String> allValues;
+    private final Map<String, String> nonEmptyValues;
+
+    PrefixValues(Map<String, String> allValues) {
+      this.allValues = Collections.unmodifiableMap(allValues);
+      Map<String, String> nonEmpty = new LinkedHashMap<>();
+      for (Map.Entry<String, String> entry : allValues.entrySet()) {
+        if (StringUtils.isNotBlank(entry.getValue())) {
+          nonEmpty.put(entry.getKey(), entry.getValue());
+        }
+      }
+      this.nonEmptyValues = Collections.unmodifiableMap(nonEmpty);
+    }
+  }
+
+  private SitePropertySnapshot(Map<String, String> values, Map<String, PrefixValues> prefixes) {
+    this.values = values;
+    this.prefixes = prefixes;
+  }
+
+  /**
+   * Creates a snapshot; a prefix whose values are unchanged from the previous snapshot is shared with it, so
+   * its version stays the same
+   *
+   * @param sitePropertyList all the site properties
+   * @param previous the snapshot being replaced, or null
+   */
+  public static SitePropertySnapshot create(List<SiteProperty> sitePropertyList, SitePropertySnapshot previous) {
+    Map<String, String> values = new HashMap<>();
+    Map<String, Map<String, String>> prefixValues = new HashMap<>();
+    if (sitePropertyList != null) {
+      for (SiteProperty siteProperty : sitePropertyList) {
+        String name = siteProperty.getName();
+        if (name == null) {
+          continue;
+        }
+        values.put(name, siteProperty.getValue());
+        prefixValues.computeIfAbsent(prefixOf(name), prefix -> new LinkedHashMap<>()).put(name, siteProperty.getValue());
+      }
+    }
+    Map<String, PrefixValues> prefixes = new HashMap<>();
+    for (Map.Entry<String, Map<String, String>> entry : prefixValues.entrySet()) {
+      PrefixValues previousValues = previous != null ? previous.prefixes.get(entry.getKey()) : null;
+      if (previousValues != null && previousValues.allValues.equals(entry.getValue())) {
+        prefixes.put(entry.getKey(), previousValues);
+      } else {
+        prefixes.put(entry.getKey(), new PrefixValues(entry.getValue()));
+      }
+    }
+    return new SitePropertySnapshot(values, prefixes);
+  }
+
+  static String prefixOf(String name) {
+    int idx = name.indexOf('.');
+    return idx > -1 ? name.substring(0, idx) : name;
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  public String getValue(String name) {
+    return values.get(name);
+  }
+
+  /** The values for a prefix, as a read-only map */
+  public Map<String, String> getMap(String prefix) {
+    PrefixValues prefixValues = prefixes.get(prefix);
+    return prefixValues != null ? prefixValues.allValues : Collections.emptyMap();
+  }
+
+  /** The values for a prefix which are not blank, as a read-only map */
+  public Map<String, String> getNonEmptyMap(String prefix) {
+    PrefixValues prefixValues = prefixes.get(prefix);
+    return prefixValues != null ? prefixValues.nonEmptyValues : Collections.emptyMap();
+  }
+
+  /**
+   * @return an object which stays the same until the prefix's values change
+   */
+  public Object getPrefixVersion(String prefix) {
+    return prefixes.get(prefix);
+  }
+
+  /** True when the value is "true" */
+  public boolean getBoolean(String name) {
+    return "true".equals(values.get(name));
+  }
+
+  public int getInt(String name, int defaultValue) {
+    Object value = intValues.computeIfAbsent(name, key -> {
+      String stringValue = StringUtils.trimToNull(values.get(key));
+      if (stringValue == null) {
+        return INVALID;
+      }
+      try {
+        return Integer.valueOf(stringValue);
+      } catch (NumberFormatException e) {
+        return INVALID;
+      }
+    });
+    return value == INVALID ? defaultValue : (Integer) value;
+  }
+
+  /**
+   * @return an absolute http(s) url without a trailing slash, or null when the value is not one
+   */
+  public String getUrl(String name) {
+    Object value = urlValues.computeIfAbsent(name, key -> {
+      String stringValue = StringUtils.trimToNull(values.get(key));
+      if (stringValue == null) {
+        return INVALID;
+      }
+      try {
+        URI uri = new URI(stringValue);
+        String scheme = uri.getScheme();
+        if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+          return INVALID;
+        }
+      } catch (Exception e) {
+        return INVALID;
+      }
+      return Strings.CS.removeEnd(stringValue, "/");
+    });
+    return value == INVALID ? null : Objects.toString(value);
+  }
+}
@@ -19,6 +19,8 @@ package com.simisinc.platform.infrastructure.database;
 import java.sql.Connection;
 import java.util.Properties;
 
+import javax.sql.DataSource;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -39,6 +41,11 @@ public class ConnectionPool {
   private static HikariDataSource backgroundJobsDS;
   private static HikariDataSource distributedMessagingDS;
 
+  // The pools are used through profiled data sources which measure each statement
+  private static DataSource applicationProfiledDS;
+  private static DataSource backgroundJobsProfiledDS;
+  private static DataSource distributedMessagingProfiledDS;
+
   private ConnectionPool() {
   }
 
@@ -49,6 +56,9 @@ public class ConnectionPool {
     LOG.info("Max pool size (backgroundJobsDS): " + backgroundJobsDS.getMaximumPoolSize());
     distributedMessagingDS = initDistributedMessagingCP(properties);
     LOG.info("Max pool size (messageQueueDS): " + distributedMessagingDS.getMaximumPoolSize());
+    applicationProfiledDS = new ProfiledDataSource(applicationDS, applicationDS.getPoolName());
+    backgroundJobsProfiledDS = new ProfiledDataSource(backgroundJobsDS, backgroundJobsDS.getPoolName());
+    distributedMessagingProfiledDS = new ProfiledDataSource(distributedMessagingDS, distributedMessagingDS.getPoolName());
   }
 
   /** Configure the application's connection pool */
@@ -97,16 +107,16 @@ public class ConnectionPool {
     return filteredProperties;
   }
 
-  public static javax.sql.DataSource getApplicationDataSource() {
-    return applicationDS;
+  public static DataSource getApplicationDataSource() {
+    return applicationProfiledDS;
   }
 
-  public static javax.sql.DataSource getBackgroundJobsDataSource() {
-    return backgroundJobsDS;
+  public static DataSource getBackgroundJobsDataSource() {
+    return backgroundJobsProfiledDS;
   }
 
-  public static javax.sql.DataSource getDistributedMessagingDataSource() {
-    return distributedMessagingDS;
+  public static DataSource getDistributedMessagingDataSource() {
+    return distributedMessagingProfiledDS;
   }
 
   public static boolean isLive() {
@@ -17,24 +17,38 @@
 
 package com.simisinc.platform.infrastructure.database;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.postgresql.util.PGInterval;
 
 import com.simisinc.platform.domain.model.Entity;
-import com.univocity.parsers.csv.CsvRoutines;
+import com.univocity.parsers.common.TextWritingException;
+import com.univocity.parsers.csv.CsvWriter;
 import com.univocity.parsers.csv.CsvWriterSettings;
 
 /**
@@ -47,6 +61,11 @@ public class DB {
 
   private static Log LOG = LogFactory.getLog(DB.class);
   private static long LONG_QUERY_MS = 20;
+  private static final String WINDOW_COUNT_COLUMN = "window_record_count_";
+  // The rows held in memory at a time while exporting
+  static final int EXPORT_FETCH_SIZE = 1000;
+  // Separates the file length from the keyset cursor, which is Base64 URL encoded
+  private static final String FILE_CURSOR_SEPARATOR = ".";
 
   public static Connection getConnection() throws SQLException {
     return ConnectionPool.getApplicationDataSource().getConnection();
@@ -429,7 +448,8 @@ public class DB {
   }
 
   /**
-   * Select records from the database with the specified parameters.
+   * Select records from the database with the specified parameters. The total is returned with the page
+   * using a window count, unless the constraints limit the count or use a cursor.
    *
    * @param tableName the name of the table
    * @param columns the columns values
@@ -449,37 +469,49 @@ public class DB {
     StringBuilder joinsSb = createJoins(joins);
     StringBuilder whereSb = createWhereClause(where);
 
-    // Count the max records
-    if (constraints == null || constraints.useCount()) {
-      long recordCount = 0;
-      String sqlCount = "SELECT COUNT(*) FROM " + tableName + joinsSb.toString() + whereSb.toString();
-      long startQueryTime = System.currentTimeMillis();
-      try (Connection connection = getConnection();
-          PreparedStatement pst = createPreparedStatement(connection, sqlCount, where);
-          ResultSet rs = pst.executeQuery()) {
-        if (rs.next()) {
-          recordCount = rs.getLong(1);
-        }
-      } catch (SQLException se) {
-        LOG.error(sqlCount);
-        LOG.error("Count SQLException: " + se.getMessage());
-      }
-      if (LOG.isDebugEnabled()) {
-        long endQueryTime = System.currentTimeMillis();
-        long totalTime = endQueryTime - startQueryTime;
-        if (totalTime > LONG_QUERY_MS) {
-          LOG.debug(sqlCount);
-          LOG.debug("Query took " + totalTime + "ms");
+    // Cursor paging seeks past the previous page's sort values instead of skipping rows with OFFSET
+    Keyset keyset = null;
+    SqlWhere pageWhere = where;
+    if (constraints != null) {
+      constraints.setNextCursor(null);
+      constraints.setCountEstimated(false);
+      if (constraints.usesCursor() && constraints.getPageSize() > 0 && constraints.hasSortOrder()
+          && (orderBy == null || orderBy.getValues().isEmpty())) {
+        keyset = Keyset.create(constraints);
+        Object[] cursorValues = (keyset != null ? keyset.decode(constraints.getCursor()) : null);
+        if (cursorValues != null) {
+          pageWhere = new SqlWhere();
+          if (where != null && where.getValues() != null) {
+            for (SqlValue sqlValue : where.getValues()) {
+              pageWhere.AND(sqlValue);
+            }
+          }
+          pageWhere.AND(keyset.createCondition(cursorValues));
         }
       }
-      dataResult.setTotalRecordCount(recordCount);
-      if (constraints != null) {
-        constraints.setTotalRecordCount(recordCount);
-      }
-      if (recordCount == 0) {
-        List<Entity> records = new ArrayList<>();
-        dataResult.setRecords(records);
-        return dataResult;
+    }
+
+    // Count the max records; the window count returns the total along with the page in a single query
+    boolean useWindowCount = false;
+    if (constraints != null && constraints.useCount()) {
+      if (constraints.getCountLimit() > 0) {
+        long recordCount = selectCappedCount(tableName, joinsSb, whereSb, where, constraints.getCountLimit());
+        constraints.setCountEstimated(recordCount > constraints.getCountLimit());
+        setTotalRecordCount(dataResult, constraints, recordCount);
+        if (recordCount == 0) {
+          dataResult.setRecords(new ArrayList<>());
+          return dataResult;
+        }
+      } else if (keyset != null || containsGroupBy(joinsSb) || containsGroupBy(whereSb)) {
+        String sqlCount = "SELECT COUNT(*) FROM " + tableName + joinsSb.toString() + whereSb.toString();
+        long recordCount = selectCount(sqlCount, where);
+        setTotalRecordCount(dataResult, constraints, recordCount);
+        if (recordCount == 0) {
+          dataResult.setRecords(new ArrayList<>());
+          return dataResult;
+        }
+      } else {
+        useWindowCount = true;
       }
     }
 
@@ -487,12 +519,22 @@ public class DB {
     StringBuilder sb = new StringBuilder();
     sb.append("SELECT ");
     sb.append(createSelectFields(columns));
+    if (useWindowCount) {
+      sb.append(", COUNT(*) OVER() AS ").append(WINDOW_COUNT_COLUMN);
+    }
+    if (keyset != null) {
+      sb.append(keyset.createSelectFields());
+    }
     sb.append(" FROM ").append(tableName);
     sb.append(joinsSb);
-    sb.append(whereSb);
+    sb.append(keyset != null ? createWhereClause(pageWhere) : whereSb);
 
     // Apply sorting, paging
-    if (constraints != null) {
+    if (keyset != null) {
+      // Read one more record to know if there is a next page
+      sb.append(keyset.createOrderByClause());
+      sb.append(" LIMIT ").append(constraints.getPageSize() + 1);
+    } else if (constraints != null) {
       if (constraints.hasSortOrder()) {
         sb.append(appendSortClause(orderBy, constraints));
       }
@@ -508,13 +550,26 @@ public class DB {
 
     // Get a connection, execute the query, return the data
     List<Entity> records = null;
+    long recordCount = -1;
+    Object[] lastValues = null;
+    boolean hasMore = false;
     long startQueryTime = System.currentTimeMillis();
     try (Connection connection = getConnection();
-        PreparedStatement pst = createPreparedStatement(connection, sb.toString(), columns, where, orderBy);
+        PreparedStatement pst = createPreparedStatement(connection, sb.toString(), columns, pageWhere, orderBy);
         ResultSet rs = pst.executeQuery()) {
       records = new ArrayList<>();
       while (rs.next()) {
+        if (keyset != null && records.size() == constraints.getPageSize()) {
+          hasMore = true;
+          break;
+        }
+        if (useWindowCount && recordCount == -1) {
+          recordCount = rs.getLong(WINDOW_COUNT_COLUMN);
+        }
         records.add(buildRecord.apply(rs));
+        if (keyset != null) {
+          lastValues = keyset.readValues(rs);
+        }
       }
     } catch (SQLException se) {
       LOG.debug(sb.toString());
@@ -528,10 +583,109 @@ public class DB {
         LOG.debug("Query took " + totalTime + "ms");
       }
     }
+    if (hasMore && lastValues != null) {
+      constraints.setNextCursor(keyset.encode(lastValues));
+    }
+    if (useWindowCount && records != null) {
+      if (recordCount == -1 && constraints.getPageNumber() > 1) {
+        // The page is past the end of the records, so the window did not return a count
+        String sqlCount = "SELECT COUNT(*) FROM " + tableName + joinsSb.toString() + whereSb.toString();
+        recordCount = selectCount(sqlCount, where);
+      }
+      setTotalRecordCount(dataResult, constraints, Math.max(recordCount, 0));
+    } else if (constraints == null && records != null) {
+      dataResult.setTotalRecordCount(records.size());
+    }
     dataResult.setRecords(records);
     return dataResult;
   }
 
+  /**
+   * Select aggregate rows from the database, grouped by the specified columns
+   *
+   * @param tableName the name of the table
+   * @param columns the aggregate and grouped columns
+   * @param joins the join clauses
+   * @param where the where clause
+   * @param groupBy the group by expressions, or null to aggregate all the rows
+   * @param buildRecord the function to build an entity from the result set
+   * @return the records, or null if the query failed
+   */
+  public static List<Entity> selectGroupedFrom(String tableName, SqlUtils columns, SqlJoins joins, SqlWhere where,
+      String groupBy, Function<ResultSet, Entity> buildRecord) {
+    String sql = "SELECT " + createSelectFields(columns) + " FROM " + tableName + createJoins(joins)
+        + createWhereClause(where) + (groupBy != null ? " GROUP BY " + groupBy : "");
+    List<Entity> records = null;
+    long startQueryTime = System.currentTimeMillis();
+    try (Connection connection = getConnection();
+        PreparedStatement pst = createPreparedStatement(connection, sql, columns, where, null);
+        ResultSet rs = pst.executeQuery()) {
+      records = new ArrayList<>();
+      while (rs.next()) {
+        records.add(buildRecord.apply(rs));
+      }
+    } catch (SQLException se) {
+      LOG.debug(sql);
+      LOG.error("Grouped SQLException: " + se.getMessage());
+    }
+    if (LOG.isDebugEnabled()) {
+      long endQueryTime = System.currentTimeMillis();
+      long totalTime = endQueryTime - startQueryTime;
+      if (totalTime > LONG_QUERY_MS) {
+        LOG.debug(sql);
+        LOG.debug("Query took " + totalTime + "ms");
+      }
+    }
+    return records;
+  }
+
+  private static void setTotalRecordCount(DataResult dataResult, DataConstraints constraints, long recordCount) {
+    dataResult.setTotalRecordCount(recordCount);
+    if (constraints != null) {
+      constraints.setTotalRecordCount(recordCount);
+    }
+  }
+
+  private static boolean containsGroupBy(StringBuilder sql) {
+    return sql.indexOf("GROUP BY") > -1 || sql.indexOf("group by") > -1;
+  }
+
+  private static long selectCount(String sqlCount, SqlWhere where) {
+    long recordCount = 0;
+    long startQueryTime = System.currentTimeMillis();
+    try (Connection connection = getConnection();
+        PreparedStatement pst = createPreparedStatement(connection, sqlCount, where);
+        ResultSet rs = pst.executeQuery()) {
+      if (rs.next()) {
+        recordCount = rs.getLong(1);
+      }
+    } catch (SQLException se) {
+      LOG.error(sqlCount);
+      LOG.error("Count SQLException: " + se.getMessage());
+    }
+    if (LOG.isDebugEnabled()) {
+      long endQueryTime = System.currentTimeMillis();
+      long totalTime = endQueryTime - startQueryTime;
+      if (totalTime > LONG_QUERY_MS) {
+        LOG.debug(sqlCount);
+        LOG.debug("Query took " + totalTime + "ms");
+      }
+    }
+    return recordCount;
+  }
+
+  /**
+   * Counts the records up to one more than the limit, so the scan stops early on large tables
+   *
+   * @return the count, which is more than the limit when there are additional records
+   */
+  private static long selectCappedCount(String tableName, StringBuilder joinsSb, StringBuilder whereSb,
+      SqlWhere where, int countLimit) {
+    String sqlCount = "SELECT COUNT(*) FROM (SELECT 1 FROM " + tableName + joinsSb.toString() + whereSb.toString()
+        + " LIMIT " + (countLimit + 1) + ") AS capped_count";
+    return selectCount(sqlCount, where);
+  }
+
   private static StringBuilder createAdditionalSelectFields(SqlUtils select) {
     StringBuilder sb = new StringBuilder();
     if (select != null && !select.getValues().isEmpty()) {
@@ -925,11 +1079,187 @@ public class DB {
     return sb.toString();
   }
 
-  public static void exportToCsvAllFrom(String tableName, SqlUtils selectFields, SqlJoins joins, SqlWhere where,
+  /**
+   * Exports the query to a CSV file, compressed when the file name ends with .gz; when the constraints have a
+   * cursor from an interrupted export, the file is cut back to the last flushed row and the remaining rows are
+   * appended
+   *
+   * @return the number of rows written, or -1 when the export did not finish
+   */
+  public static long exportToCsvAllFrom(String tableName, SqlUtils selectFields, SqlJoins joins, SqlWhere where,
       SqlUtils orderBy, DataConstraints constraints, File file) {
+    return exportToFile(file, constraints,
+        outputStream -> exportToCsvAllFrom(tableName, selectFields, joins, where, orderBy, constraints, outputStream,
+            false));
+  }
+
+  /**
+   * Writes the export to the file; the file's next cursor is the length of the file at the last flushed row,
+   * followed by that row's keyset cursor
+   */
+  static long exportToFile(File file, DataConstraints constraints, ToLongFunction<OutputStream> export) {
+    String cursor = null;
+    if (constraints != null) {
+      constraints.setNextCursor(null);
+      if (constraints.usesCursor()) {
+        cursor = constraints.getCursor();
+      }
+    }
+    long resumeAt = 0;
+    if (StringUtils.isNotBlank(cursor)) {
+      resumeAt = NumberUtils.toLong(StringUtils.substringBefore(cursor, FILE_CURSOR_SEPARATOR), -1);
+      if (resumeAt <= 0 || resumeAt > file.length()) {
+        LOG.error("Export file cannot be resumed: " + file.getName());
+        return -1;
+      }
+    }
+    try (FileOutputStream fileOutputStream = new FileOutputStream(file, resumeAt > 0)) {
+      if (resumeAt > 0) {
+        // Drop the rows and partial row written after the last flush
+        fileOutputStream.getChannel().truncate(resumeAt);
+        constraints.setCursor(StringUtils.substringAfter(cursor, FILE_CURSOR_SEPARATOR));
+      }
+      FlushedLengthOutputStream flushedLength = new FlushedLengthOutputStream(fileOutputStream);
+      // Each flush ends a gzip member, so the file can be cut back to any flush and still be decompressed
+      try (OutputStream outputStream = file.getName().endsWith(".gz") ? new GzipMemberOutputStream(flushedLength)
+          : flushedLength) {
+        long rowCount = export.applyAsLong(outputStream);
+        if (constraints != null && constraints.hasNextCursor()) {
+          constraints.setNextCursor(
+              (resumeAt + flushedLength.getLength()) + FILE_CURSOR_SEPARATOR + constraints.getNextCursor());
+        } else if (rowCount == -1 && resumeAt > 0) {
+          // Nothing more was flushed, the same rows are tried again
+          constraints.setNextCursor(cursor);
+        }
+        return rowCount;
+      }
+    } catch (IOException e) {
+      LOG.error("Export file error: " + e.getMessage());
+    } finally {
+      if (resumeAt > 0) {
+        constraints.setCursor(cursor);
+      }
+    }
+    return -1;
+  }
+
+  /** Counts the bytes which were written up to the last flush, until a write fails */
+  private static class FlushedLengthOutputStream extends FilterOutputStream {
+
+    private long written = 0;
+    private long length = 0;
+    private boolean failed = false;
+
+    FlushedLengthOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    long getLength() {
+      return length;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      try {
+        out.write(b, off, len);
+        written += len;
+      } catch (IOException | RuntimeException e) {
+        // The writer flushes when it is closed after the failure, which must not count the partial row
+        failed = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+      if (!failed) {
+        length = written;
+      }
+    }
+  }
+
+  /** Compresses the output as a new gzip member after every flush; the members decompress as one stream */
+  private static class GzipMemberOutputStream extends FilterOutputStream {
+
+    private GZIPOutputStream member = null;
+
+    GzipMemberOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    private GZIPOutputStream member() throws IOException {
+      if (member == null) {
+        member = new GZIPOutputStream(out, 8192);
+      }
+      return member;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      member().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      member().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (member != null) {
+        member.finish();
+        member = null;
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * Streams the query as CSV; the rows are read through a server-side cursor in a read-only transaction, so
+   * only one fetch of rows is held in memory no matter how large the export is.
+   * <p>
+   * When the constraints have a key column the rows are written in keyset order and the export can be resumed:
+   * if the output fails, the constraints' next cursor marks the last row which was flushed, and passing it back
+   * with setCursor() continues after that row without repeating the header.
+   *
+   * @param outputStream the destination, which is not closed
+   * @param gzip true to compress the output
+   * @return the number of rows written, or -1 when the export did not finish
+   */
+  @SuppressWarnings("try")
+  public static long exportToCsvAllFrom(String tableName, SqlUtils selectFields, SqlJoins joins, SqlWhere where,
+      SqlUtils orderBy, DataConstraints constraints, OutputStream outputStream, boolean gzip) {
 
     StringBuilder joinsSb = createJoins(joins);
-    StringBuilder whereSb = createWhereClause(where);
+
+    // Resuming seeks past the last row of the previous export
+    Keyset keyset = null;
+    Object[] cursorValues = null;
+    SqlWhere exportWhere = where;
+    if (constraints != null) {
+      constraints.setNextCursor(null);
+      if (constraints.hasSortOrder() && (orderBy == null || orderBy.getValues().isEmpty())) {
+        keyset = Keyset.create(constraints);
+      }
+      if (keyset != null && constraints.usesCursor()) {
+        cursorValues = keyset.decode(constraints.getCursor());
+        if (cursorValues != null) {
+          exportWhere = new SqlWhere();
+          if (where != null && where.getValues() != null) {
+            for (SqlValue sqlValue : where.getValues()) {
+              exportWhere.AND(sqlValue);
+            }
+          }
+          exportWhere.AND(keyset.createCondition(cursorValues));
+        }
+      }
+    }
 
     // Prepare the query
     StringBuilder sb = new StringBuilder();
@@ -938,12 +1268,20 @@ public class DB {
     } else {
       sb.append("SELECT ").append(createSelectFields(selectFields));
     }
+    if (keyset != null) {
+      sb.append(keyset.createSelectFields());
+    }
     sb.append(" FROM ").append(tableName);
     sb.append(joinsSb);
-    sb.append(whereSb);
+    sb.append(createWhereClause(exportWhere));
 
     // Apply sorting, paging
-    if (constraints != null) {
+    if (keyset != null) {
+      sb.append(keyset.createOrderByClause());
+      if (constraints.getPageSize() > 0) {
+        sb.append(" LIMIT ").append(constraints.getPageSize());
+      }
+    } else if (constraints != null) {
       if (constraints.hasSortOrder()) {
         sb.append(appendSortClause(orderBy, constraints));
       }
@@ -957,34 +1295,116 @@ public class DB {
       }
     }
 
-    // Prepare the writer
-    CsvWriterSettings writerSettings = new CsvWriterSettings();
-    writerSettings.getFormat().setLineSeparator("\r\n");
-    writerSettings.getFormat().setDelimiter(',');
-    writerSettings.setQuoteAllFields(true);
-    writerSettings.setHeaderWritingEnabled(true);
-    //    writerSettings.setHeaders("email", "created", "master_unsub", "unsubscribed", "is_valid");
-    CsvRoutines routines = new CsvRoutines(writerSettings);
-
-    // Get a connection, execute the query, return the data
+    // Get a connection, execute the query, stream the data
+    long rowCount = -1;
     long startQueryTime = System.currentTimeMillis();
     try (Connection connection = getConnection();
-        PreparedStatement pst = createPreparedStatement(connection, sb.toString(), selectFields, where, orderBy);
-        ResultSet rs = pst.executeQuery()) {
-      // Stream the result set to the file
-      routines.write(rs, file);
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      // The driver only uses a cursor (instead of reading every row) outside of auto-commit
+      boolean readOnly = connection.isReadOnly();
+      connection.setReadOnly(true);
+      try (PreparedStatement pst = createPreparedStatement(connection, sb.toString(), selectFields, exportWhere,
+          orderBy)) {
+        pst.setFetchDirection(ResultSet.FETCH_FORWARD);
+        pst.setFetchSize(EXPORT_FETCH_SIZE);
+        try (ResultSet rs = pst.executeQuery()) {
+          Writer writer = createExportWriter(outputStream, gzip);
+          rowCount = writeCsv(rs, keyset, cursorValues == null, writer, constraints);
+        }
+      } finally {
+        transaction.commit();
+        connection.setReadOnly(readOnly);
+      }
     } catch (SQLException se) {
       LOG.debug(sb.toString());
-      LOG.error("Export SQLException", se);
+      LOG.error("Export SQLException: " + se.getMessage());
+    } catch (IOException e) {
+      LOG.error("Export output error: " + e.getMessage());
     }
     if (LOG.isDebugEnabled()) {
       long endQueryTime = System.currentTimeMillis();
       long totalTime = endQueryTime - startQueryTime;
       if (totalTime > LONG_QUERY_MS) {
         LOG.debug(sb.toString());
-        LOG.debug("Query took " + totalTime + "ms");
+        LOG.debug("Export took " + totalTime + "ms");
       }
     }
+    return rowCount;
+  }
+
+  private static Writer createExportWriter(OutputStream outputStream, boolean gzip) throws IOException {
+    OutputStream target = new FilterOutputStream(outputStream) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        // The caller closes the destination
+        flush();
+      }
+    };
+    if (gzip) {
+      target = new GZIPOutputStream(target, 8192, true);
+    }
+    return new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 8192);
+  }
+
+  /**
+   * Writes the rows as they are read, flushing every fetch; when the keyset is used, its columns are not written
+   * and the constraints' next cursor is set to the last flushed row if the output fails
+   *
+   * @return the number of rows written, or -1 when the output failed
+   */
+  static long writeCsv(ResultSet rs, Keyset keyset, boolean writeHeaders, Writer writer,
+      DataConstraints constraints) throws SQLException {
+    ResultSetMetaData metaData = rs.getMetaData();
+    int columnCount = metaData.getColumnCount() - (keyset != null ? keyset.size() : 0);
+    String[] headers = new String[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      headers[i] = metaData.getColumnLabel(i + 1);
+    }
+
+    CsvWriterSettings writerSettings = new CsvWriterSettings();
+    writerSettings.getFormat().setLineSeparator("\r\n");
+    writerSettings.getFormat().setDelimiter(',');
+    writerSettings.setQuoteAllFields(true);
+    writerSettings.setHeaders(headers);
+    CsvWriter csvWriter = new CsvWriter(writer, writerSettings);
+
+    long rowCount = 0;
+    Object[] lastValues = null;
+    Object[] flushedValues = null;
+    try {
+      if (writeHeaders) {
+        csvWriter.writeHeaders();
+      }
+      Object[] row = new Object[columnCount];
+      while (rs.next()) {
+        for (int i = 0; i < columnCount; i++) {
+          row[i] = rs.getObject(i + 1);
+        }
+        csvWriter.writeRow(row);
+        ++rowCount;
+        if (keyset != null) {
+          lastValues = keyset.readValues(rs);
+        }
+        if (rowCount % EXPORT_FETCH_SIZE == 0) {
+          csvWriter.flush();
+          flushedValues = lastValues;
+        }
+      }
+      csvWriter.close();
+      return rowCount;
+    } catch (TextWritingException e) {
+      LOG.warn("Export stopped after " + rowCount + " rows: " + e.getMessage());
+      if (keyset != null && flushedValues != null && constraints != null) {
+        constraints.setNextCursor(keyset.encode(flushedValues));
+      }
+    }
+    return -1;
   }
 
   public static boolean hasColumn(ResultSet rs, String column) {
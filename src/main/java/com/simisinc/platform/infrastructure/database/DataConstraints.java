@@ -41,6 +41,15 @@ public class DataConstraints implements Serializable {
   private String[] sortOrder = null;
 
   private boolean useCount = true;
+  // A count limit only counts records up to the limit, then the total is an estimate
+  private int countLimit = -1;
+  private boolean countEstimated = false;
+
+  // Keyset paging continues after the sort values of the previous page's last record
+  private String keyColumn = null;
+  private boolean useCursor = false;
+  private String cursor = null;
+  private String nextCursor = null;
 
   public DataConstraints() {
   }
@@ -210,4 +219,85 @@ public class DataConstraints implements Serializable {
     this.useCount = useCount;
     return this;
   }
+
+  public int getCountLimit() {
+    return countLimit;
+  }
+
+  /**
+   * Used by the repository objects when an exact total is not needed, the count stops after the limit
+   *
+   * @param countLimit
+   * @return
+   */
+  public DataConstraints setCountLimit(int countLimit) {
+    this.countLimit = countLimit;
+    return this;
+  }
+
+  public boolean isCountEstimated() {
+    return countEstimated;
+  }
+
+  public void setCountEstimated(boolean countEstimated) {
+    this.countEstimated = countEstimated;
+  }
+
+  public String getKeyColumn() {
+    return keyColumn;
+  }
+
+  /**
+   * Used by the repository objects to define the unique column which completes the sort for cursor paging
+   *
+   * @param keyColumn
+   * @return
+   */
+  public DataConstraints setKeyColumn(String keyColumn) {
+    this.keyColumn = keyColumn;
+    return this;
+  }
+
+  public boolean usesCursor() {
+    return useCursor;
+  }
+
+  /**
+   * Used by the application to page with cursors instead of page numbers
+   *
+   * @param useCursor
+   * @return
+   */
+  public DataConstraints setUseCursor(boolean useCursor) {
+    this.useCursor = useCursor;
+    return this;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  /**
+   * Used by the application to continue after the previous page, a blank cursor starts at the first page
+   *
+   * @param cursor the opaque value from getNextCursor()
+   * @return
+   */
+  public DataConstraints setCursor(String cursor) {
+    this.cursor = cursor;
+    this.useCursor = true;
+    return this;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean hasNextCursor() {
+    return nextCursor != null;
+  }
 }
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The sort keys of a paged query; the next page continues after the sort values of the previous page's
+ * last row (the cursor) instead of skipping rows with OFFSET
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 1:00 PM
+ */
+final class Keyset {
+
+  private static Log LOG = LogFactory.getLog(Keyset.class);
+
+  static final String KEY_COLUMN_ALIAS = "keyset_value_";
+
+  private final String[] expressions;
+  private final boolean[] descending;
+  // The unique key column, which is never NULL
+  private final int keyIndex;
+  private final int fingerprint;
+
+  private Keyset(String[] expressions, boolean[] descending, int keyIndex) {
+    this.expressions = expressions;
+    this.descending = descending;
+    this.keyIndex = keyIndex;
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < expressions.length; i++) {
+      sb.append(expressions[i]).append(descending[i] ? " desc," : " asc,");
+    }
+    this.fingerprint = sb.toString().hashCode();
+  }
+
+  /**
+   * Uses the sort of the constraints, with the unique key column as the final tie-breaker
+   *
+   * @return the keyset, or null when the sort cannot be used for seeking
+   */
+  static Keyset create(DataConstraints constraints) {
+    if (StringUtils.isBlank(constraints.getKeyColumn())) {
+      return null;
+    }
+    List<String> terms = new ArrayList<>();
+    if (constraints.getColumnsToSortBy() != null) {
+      String[] columns = constraints.getColumnsToSortBy();
+      String[] sortOrder = constraints.getSortOrder();
+      for (int i = 0; i < columns.length; i++) {
+        terms.add(columns[i] + (sortOrder != null && i < sortOrder.length ? " " + sortOrder[i] : ""));
+      }
+    } else if (constraints.getDefaultColumnToSortBy() != null) {
+      terms.addAll(splitTerms(constraints.getDefaultColumnToSortBy()));
+    }
+
+    List<String> expressions = new ArrayList<>();
+    List<Boolean> descending = new ArrayList<>();
+    int keyIndex = -1;
+    for (String term : terms) {
+      String expression = term.trim();
+      boolean isDescending = false;
+      String lower = expression.toLowerCase(Locale.ROOT);
+      if (lower.contains(" nulls ") || lower.endsWith(" nulls")) {
+        return null;
+      }
+      if (lower.endsWith(" desc")) {
+        isDescending = true;
+        expression = expression.substring(0, expression.length() - 5).trim();
+      } else if (lower.endsWith(" asc")) {
+        expression = expression.substring(0, expression.length() - 4).trim();
+      }
+      if (expression.isEmpty()) {
+        return null;
+      }
+      if (keyIndex == -1 && expression.equalsIgnoreCase(constraints.getKeyColumn())) {
+        keyIndex = expressions.size();
+      }
+      expressions.add(expression);
+      descending.add(isDescending);
+    }
+    if (keyIndex == -1) {
+      // Follow the direction of the last sort so the row comparison stays simple
+      keyIndex = expressions.size();
+      expressions.add(constraints.getKeyColumn());
+      descending.add(!descending.isEmpty() && descending.get(descending.size() - 1));
+    }
+    boolean[] descendingValues = new boolean[descending.size()];
+    for (int i = 0; i < descendingValues.length; i++) {
+      descendingValues[i] = descending.get(i);
+    }
+    return new Keyset(expressions.toArray(new String[0]), descendingValues, keyIndex);
+  }
+
+  /** Splits an ORDER BY clause on the commas which are not within parentheses */
+  static List<String> splitTerms(String orderBy) {
+    List<String> terms = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    for (int i = 0; i < orderBy.length(); i++) {
+      char c = orderBy.charAt(i);
+      if (c == '(') {
+        ++depth;
+      } else if (c == ')') {
+        --depth;
+      } else if (c == ',' && depth == 0) {
+        terms.add(orderBy.substring(start, i));
+        start = i + 1;
+      }
+    }
+    terms.add(orderBy.substring(start));
+    return terms;
+  }
+
+  int size() {
+    return expressions.length;
+  }
+
+  /** The sort values are selected so they can be read from the last row */
+  String createSelectFields() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < expressions.length; i++) {
+      sb.append(", ").append(expressions[i]).append(" AS ").append(KEY_COLUMN_ALIAS).append(i);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * NULLs are placed where PostgreSQL puts them by default (last ascending, first descending), so the pages
+   * match the OFFSET query; the placement is written out since the cursor conditions depend on it
+   */
+  String createOrderByClause() {
+    StringBuilder sb = new StringBuilder(" ORDER BY ");
+    for (int i = 0; i < expressions.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(expressions[i]).append(descending[i] ? " DESC" : " ASC");
+      if (i != keyIndex) {
+        sb.append(descending[i] ? " NULLS FIRST" : " NULLS LAST");
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Creates the condition for the rows after the cursor values; a row comparison is used when the
+   * sort directions match and the cursor has no NULLs, since it can use a multi-column index
+   */
+  SqlValue createCondition(Object[] values) {
+    boolean rowComparison = true;
+    for (int i = 0; i < expressions.length; i++) {
+      rowComparison &= (descending[i] == descending[0] && values[i] != null);
+    }
+    StringBuilder sb = new StringBuilder("(");
+    List<Object> parameters = new ArrayList<>();
+    if (rowComparison) {
+      sb.append("(").append(String.join(", ", expressions)).append(")");
+      sb.append(descending[0] ? " < " : " > ");
+      sb.append("(").append(StringUtils.repeat("?", ", ", expressions.length)).append(")");
+      for (Object value : values) {
+        parameters.add(value);
+      }
+      if (!descending[0]) {
+        // The row comparison does not match NULLs, which sort after the values
+        for (int i = 0; i < expressions.length; i++) {
+          if (i == keyIndex) {
+            continue;
+          }
+          sb.append(" OR (");
+          appendEquals(sb, parameters, values, i);
+          sb.append(expressions[i]).append(" IS NULL)");
+        }
+      }
+    } else {
+      // a > ? OR (a = ? AND b < ?) OR ...
+      int terms = 0;
+      for (int i = 0; i < expressions.length; i++) {
+        boolean nullable = (i != keyIndex);
+        if (values[i] == null && !descending[i]) {
+          // Nothing sorts after NULLs
+          continue;
+        }
+        if (terms++ > 0) {
+          sb.append(" OR ");
+        }
+        sb.append("(");
+        appendEquals(sb, parameters, values, i);
+        if (values[i] == null) {
+          sb.append(expressions[i]).append(" IS NOT NULL");
+        } else if (descending[i]) {
+          sb.append(expressions[i]).append(" < ?");
+          parameters.add(values[i]);
+        } else if (nullable) {
+          sb.append("(").append(expressions[i]).append(" > ? OR ").append(expressions[i]).append(" IS NULL)");
+          parameters.add(values[i]);
+        } else {
+          sb.append(expressions[i]).append(" > ?");
+          parameters.add(values[i]);
+        }
+        sb.append(")");
+      }
+      if (terms == 0) {
+        sb.append("1 = 0");
+      }
+    }
+    sb.append(")");
+    return new SqlValue(sb.toString(), parameters.toArray());
+  }
+
+  /** The sort values before the column equal the cursor's */
+  private void appendEquals(StringBuilder sb, List<Object> parameters, Object[] values, int column) {
+    for (int j = 0; j < column; j++) {
+      if (values[j] == null) {
+        sb.append(expressions[j]).append(" IS NULL AND ");
+      } else {
+        sb.append(expressions[j]).append(" = ? AND ");
+        parameters.add(values[j]);
+      }
+    }
+  }
+
+  /**
+   * @return the sort values of the current row, or null when a value cannot be used in a cursor
+   */
+  Object[] readValues(ResultSet rs) throws SQLException {
+    Object[] values = new Object[expressions.length];
+    for (int i = 0; i < expressions.length; i++) {
+      Object value = rs.getObject(KEY_COLUMN_ALIAS + i);
+      if (value == null && i != keyIndex) {
+        continue;
+      }
+      if (!(value instanceof String || value instanceof Long || value instanceof Integer || value instanceof Double
+          || value instanceof BigDecimal || value instanceof Timestamp || value instanceof Boolean)) {
+        return null;
+      }
+      values[i] = value;
+    }
+    return values;
+  }
+
+  String encode(Object[] values) {
+    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(fingerprint);
+      out.writeByte(values.length);
+      for (Object value : values) {
+        if (value == null) {
+          out.writeByte('z');
+        } else if (value instanceof String) {
+          out.writeByte('s');
+          out.writeUTF((String) value);
+        } else if (value instanceof Long) {
+          out.writeByte('l');
+          out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+          out.writeByte('i');
+          out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+          out.writeByte('d');
+          out.writeDouble((Double) value);
+        } else if (value instanceof BigDecimal) {
+          out.writeByte('n');
+          out.writeUTF(((BigDecimal) value).toString());
+        } else if (value instanceof Timestamp) {
+          out.writeByte('t');
+          out.writeLong(((Timestamp) value).getTime());
+          out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Boolean) {
+          out.writeByte('b');
+          out.writeBoolean((Boolean) value);
+        } else {
+          return null;
+        }
+      }
+      out.flush();
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    } catch (IOException e) {
+      LOG.warn("Could not encode cursor: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * @return the cursor values, or null when the cursor is invalid or was created for a different sort
+   */
+  Object[] decode(String cursor) {
+    if (StringUtils.isBlank(cursor)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+      if (in.readInt() != fingerprint) {
+        LOG.debug("Cursor does not match the sort, starting from the first page");
+        return null;
+      }
+      int count = in.readByte();
+      if (count != expressions.length) {
+        return null;
+      }
+      Object[] values = new Object[count];
+      for (int i = 0; i < count; i++) {
+        int type = in.readByte();
+        switch (type) {
+          case 'z':
+            values[i] = null;
+            break;
+          case 's':
+            values[i] = in.readUTF();
+            break;
+          case 'l':
+            values[i] = in.readLong();
+            break;
+          case 'i':
+            values[i] = in.readInt();
+            break;
+          case 'd':
+            values[i] = in.readDouble();
+            break;
+          case 'n':
+            values[i] = new BigDecimal(in.readUTF());
+            break;
+          case 't':
+            Timestamp timestamp = new Timestamp(in.readLong());
+            timestamp.setNanos(in.readInt());
+            values[i] = timestamp;
+            break;
+          case 'b':
+            values[i] = in.readBoolean();
+            break;
+          default:
+            return null;
+        }
+      }
+      return values;
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.debug("Invalid cursor: " + cursor);
+      return null;
+    }
+  }
+}
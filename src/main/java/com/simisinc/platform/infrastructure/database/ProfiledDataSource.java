@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the connections of a pool so each statement is measured by the QueryProfiler
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+class ProfiledDataSource implements DataSource {
+
+  private final DataSource dataSource;
+  private final String poolName;
+
+  ProfiledDataSource(DataSource dataSource, String poolName) {
+    this.dataSource = dataSource;
+    this.poolName = poolName;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(dataSource.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(dataSource.getConnection(username, password));
+  }
+
+  private Connection wrap(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(ProfiledDataSource.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, new ConnectionHandler(connection, poolName));
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return dataSource.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    dataSource.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    dataSource.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return dataSource.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return dataSource.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(dataSource)) {
+      return iface.cast(dataSource);
+    }
+    return dataSource.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(dataSource) || dataSource.isWrapperFor(iface);
+  }
+
+  @Override
+  public String toString() {
+    return dataSource.toString();
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Wraps the statements created by the connection */
+  private static class ConnectionHandler implements InvocationHandler {
+
+    private final Connection connection;
+    private final String poolName;
+
+    ConnectionHandler(Connection connection, String poolName) {
+      this.connection = connection;
+      this.poolName = poolName;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result = ProfiledDataSource.invoke(connection, method, args);
+      String name = method.getName();
+      if (result instanceof CallableStatement && "prepareCall".equals(name)) {
+        return wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+      } else if (result instanceof PreparedStatement && "prepareStatement".equals(name)) {
+        return wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+      } else if (result instanceof Statement && "createStatement".equals(name)) {
+        return wrapStatement(Statement.class, (Statement) result, null);
+      }
+      return result;
+    }
+
+    private Object wrapStatement(Class<?> statementClass, Statement statement, String sql) {
+      return Proxy.newProxyInstance(ProfiledDataSource.class.getClassLoader(), new Class<?>[] { statementClass },
+          new StatementHandler(statement, poolName, sql));
+    }
+  }
+
+  /** Measures the executions of the statement */
+  private static class StatementHandler implements InvocationHandler {
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private final Statement statement;
+    private final String poolName;
+    private final String preparedSql;
+    private Object[] parameters = NO_PARAMETERS;
+
+    StatementHandler(Statement statement, String poolName, String preparedSql) {
+      this.statement = statement;
+      this.poolName = poolName;
+      this.preparedSql = preparedSql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (!name.startsWith("execute")) {
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+          setParameter((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+        } else if ("clearParameters".equals(name)) {
+          parameters = NO_PARAMETERS;
+        }
+        return ProfiledDataSource.invoke(statement, method, args);
+      }
+
+      String sql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : preparedSql;
+      long start = System.nanoTime();
+      Object result;
+      try {
+        result = ProfiledDataSource.invoke(statement, method, args);
+      } catch (Throwable t) {
+        QueryProfiler.record(QueryProfiler.getPool(poolName), sql, System.nanoTime() - start, -1, true, parameters);
+        throw t;
+      }
+      long rows = -1;
+      if (result instanceof Integer) {
+        rows = (Integer) result;
+      } else if (result instanceof Long) {
+        rows = (Long) result;
+      } else if (result instanceof int[]) {
+        rows = Arrays.stream((int[]) result).filter(count -> count > 0).sum();
+      }
+      QueryStatistics query = QueryProfiler.record(QueryProfiler.getPool(poolName), sql, System.nanoTime() - start,
+          rows, false, parameters);
+      if (result instanceof ResultSet) {
+        return Proxy.newProxyInstance(ProfiledDataSource.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+            new ResultSetHandler((ResultSet) result, query, QueryProfiler.getPool(poolName)));
+      }
+      return result;
+    }
+
+    private void setParameter(int index, Object value) {
+      if (index < 1 || index > 10_000) {
+        return;
+      }
+      if (index > parameters.length) {
+        parameters = Arrays.copyOf(parameters, index);
+      }
+      parameters[index - 1] = value;
+    }
+  }
+
+  /** Counts the rows read from the result set */
+  private static class ResultSetHandler implements InvocationHandler {
+
+    private final ResultSet resultSet;
+    private final QueryStatistics query;
+    private final QueryStatistics pool;
+    private long rows = 0;
+    private boolean recorded = false;
+
+    ResultSetHandler(ResultSet resultSet, QueryStatistics query, QueryStatistics pool) {
+      this.resultSet = resultSet;
+      this.query = query;
+      this.pool = pool;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if ("next".equals(name)) {
+        Object result = ProfiledDataSource.invoke(resultSet, method, args);
+        if (Boolean.TRUE.equals(result)) {
+          ++rows;
+        } else {
+          recordRows();
+        }
+        return result;
+      }
+      if ("close".equals(name)) {
+        recordRows();
+      }
+      return ProfiledDataSource.invoke(resultSet, method, args);
+    }
+
+    private void recordRows() {
+      if (!recorded) {
+        recorded = true;
+        query.addRows(rows);
+        pool.addRows(rows);
+      }
+    }
+  }
+}
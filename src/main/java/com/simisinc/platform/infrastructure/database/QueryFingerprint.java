@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.util.regex.Pattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Normalizes SQL so that statements which differ only by literal values, IN list lengths and
+ * whitespace are measured together
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+public class QueryFingerprint {
+
+  private static final int MAX_LENGTH = 2000;
+  private static final Pattern VALUE_LIST_PATTERN = Pattern.compile("\\(\\?(?:, \\?)+\\)");
+  private static final Pattern VALUES_ROWS_PATTERN = Pattern.compile("(values \\(\\?\\+?\\))(?:, \\(\\?\\+?\\))+");
+
+  // The same statements are executed repeatedly, so skip normalizing them again
+  private static final Cache<String, String> fingerprints = Caffeine.newBuilder().maximumSize(2_000).build();
+
+  private QueryFingerprint() {
+  }
+
+  public static String of(String sql) {
+    if (sql == null) {
+      return "";
+    }
+    return fingerprints.get(sql, QueryFingerprint::normalize);
+  }
+
+  static String normalize(String sql) {
+    StringBuilder sb = new StringBuilder(Math.min(sql.length(), MAX_LENGTH));
+    int length = sql.length();
+    int i = 0;
+    while (i < length && sb.length() < MAX_LENGTH) {
+      char c = sql.charAt(i);
+      if (c == '\'') {
+        // String literal, with '' as an escaped quote
+        ++i;
+        while (i < length) {
+          if (sql.charAt(i) == '\'') {
+            if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+              i += 2;
+              continue;
+            }
+            break;
+          }
+          ++i;
+        }
+        ++i;
+        sb.append('?');
+      } else if (c == '"') {
+        // Quoted identifiers are kept as is
+        int end = sql.indexOf('"', i + 1);
+        end = (end == -1 ? length : end + 1);
+        sb.append(sql, i, end);
+        i = end;
+      } else if (Character.isWhitespace(c)) {
+        while (i < length && Character.isWhitespace(sql.charAt(i))) {
+          ++i;
+        }
+        if (sb.length() > 0 && i < length) {
+          sb.append(' ');
+        }
+      } else if (Character.isDigit(c) && (sb.length() == 0 || !isIdentifierPart(sb.charAt(sb.length() - 1)))) {
+        while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+          ++i;
+        }
+        sb.append('?');
+      } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+        // Line comment
+        while (i < length && sql.charAt(i) != '\n') {
+          ++i;
+        }
+      } else {
+        sb.append(Character.toLowerCase(c));
+        ++i;
+      }
+    }
+    String fingerprint = sb.toString()
+        .replace("( ", "(")
+        .replace(" )", ")")
+        .replace(" ,", ",")
+        .replace(",?", ", ?");
+    fingerprint = VALUE_LIST_PATTERN.matcher(fingerprint).replaceAll("(?+)");
+    fingerprint = VALUES_ROWS_PATTERN.matcher(fingerprint).replaceAll("$1, ...");
+    return fingerprint.trim();
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+  }
+}
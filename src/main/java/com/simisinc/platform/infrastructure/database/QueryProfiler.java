@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Collects the statement metrics of the connection pools by query fingerprint, with a sampled log of
+ * slow queries, so hot queries can be found without debug logging
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+public class QueryProfiler {
+
+  private static Log LOG = LogFactory.getLog(QueryProfiler.class);
+
+  public static final String OTHER_QUERIES = "(other)";
+
+  private static final int MAX_FINGERPRINTS = 1_000;
+  private static final int MAX_SLOW_QUERIES = 100;
+  // At most one slow query is logged per fingerprint during the interval
+  private static final long SLOW_QUERY_SAMPLE_INTERVAL_MS = 60_000L;
+
+  private static volatile long slowQueryThresholdMicros = 250_000L;
+
+  private static final Map<String, QueryStatistics> queryStatistics = new ConcurrentHashMap<>();
+  private static final Map<String, QueryStatistics> poolStatistics = new ConcurrentHashMap<>();
+  private static final ConcurrentLinkedDeque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
+  private static final AtomicInteger slowQueryCount = new AtomicInteger();
+
+  private QueryProfiler() {
+  }
+
+  public static long getSlowQueryThresholdMillis() {
+    return slowQueryThresholdMicros / 1000L;
+  }
+
+  public static void setSlowQueryThresholdMillis(long millis) {
+    slowQueryThresholdMicros = millis * 1000L;
+  }
+
+  static QueryStatistics getPool(String poolName) {
+    return poolStatistics.computeIfAbsent(poolName, QueryStatistics::new);
+  }
+
+  static QueryStatistics getQuery(String fingerprint) {
+    QueryStatistics statistics = queryStatistics.get(fingerprint);
+    if (statistics != null) {
+      return statistics;
+    }
+    if (queryStatistics.size() >= MAX_FINGERPRINTS) {
+      // Keep the memory bounded when statements are built with inline values
+      return queryStatistics.computeIfAbsent(OTHER_QUERIES, QueryStatistics::new);
+    }
+    return queryStatistics.computeIfAbsent(fingerprint, QueryStatistics::new);
+  }
+
+  /**
+   * Records a statement execution
+   *
+   * @param pool the statistics of the connection pool
+   * @param sql the statement
+   * @param nanos the execution time
+   * @param rows the rows updated, or -1 when the rows are counted later
+   * @param failed true when the statement threw an exception
+   * @param parameters the bound parameters, used only for their shape
+   * @return the statistics of the query, for adding the rows read
+   */
+  static QueryStatistics record(QueryStatistics pool, String sql, long nanos, long rows, boolean failed,
+      Object[] parameters) {
+    String fingerprint = QueryFingerprint.of(sql);
+    QueryStatistics query = getQuery(fingerprint);
+    query.getLatency().recordNanos(nanos);
+    pool.getLatency().recordNanos(nanos);
+    if (rows > 0) {
+      query.addRows(rows);
+      pool.addRows(rows);
+    }
+    if (failed) {
+      query.addError();
+      pool.addError();
+    }
+    long micros = nanos / 1000L;
+    if (micros >= slowQueryThresholdMicros) {
+      long now = System.currentTimeMillis();
+      if (query.trySample(now, SLOW_QUERY_SAMPLE_INTERVAL_MS)) {
+        String shape = describeParameters(parameters);
+        LOG.info("Slow query (" + (micros / 1000L) + "ms) " + pool.getName() + ": " + fingerprint + " " + shape);
+        slowQueries.addFirst(new SlowQuery(now, pool.getName(), fingerprint, micros, shape));
+        if (slowQueryCount.incrementAndGet() > MAX_SLOW_QUERIES && slowQueries.pollLast() != null) {
+          slowQueryCount.decrementAndGet();
+        }
+      }
+    }
+    return query;
+  }
+
+  /** Describes the parameters by type and length, without the values */
+  static String describeParameters(Object[] parameters) {
+    if (parameters == null) {
+      return "[]";
+    }
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < parameters.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      Object value = parameters[i];
+      if (value == null) {
+        sb.append("null");
+      } else if (value instanceof CharSequence) {
+        sb.append("String(").append(((CharSequence) value).length()).append(")");
+      } else if (value instanceof byte[]) {
+        sb.append("byte[").append(((byte[]) value).length).append("]");
+      } else if (value instanceof java.sql.Array) {
+        sb.append("Array");
+      } else {
+        sb.append(value.getClass().getSimpleName());
+      }
+    }
+    return sb.append("]").toString();
+  }
+
+  public static List<QueryStatistics> getPoolStatistics() {
+    List<QueryStatistics> list = new ArrayList<>(poolStatistics.values());
+    list.sort(Comparator.comparing(QueryStatistics::getName));
+    return list;
+  }
+
+  /**
+   * @return the fingerprints which used the most database time
+   */
+  public static List<QueryStatistics> getTopQueries(int limit) {
+    List<QueryStatistics> list = new ArrayList<>(queryStatistics.values());
+    list.sort(Comparator.comparingLong((QueryStatistics s) -> s.getLatency().getTotalMicros()).reversed());
+    return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+  }
+
+  /**
+   * @return the sampled slow queries, most recent first
+   */
+  public static List<SlowQuery> getSlowQueries() {
+    return new ArrayList<>(slowQueries);
+  }
+
+  public static void reset() {
+    queryStatistics.clear();
+    poolStatistics.clear();
+    slowQueries.clear();
+    slowQueryCount.set(0);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The executions, latencies, rows and errors measured for a query fingerprint or a connection pool
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+public class QueryStatistics {
+
+  private final String name;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  // Used to sample the slow query log
+  private final AtomicLong lastSlowQueryMillis = new AtomicLong();
+
+  QueryStatistics(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public long getExecutions() {
+    return latency.getCount();
+  }
+
+  public long getRows() {
+    return rows.sum();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  void addRows(long count) {
+    rows.add(count);
+  }
+
+  void addError() {
+    errors.increment();
+  }
+
+  /**
+   * @return true for at most one caller within the interval
+   */
+  boolean trySample(long nowMillis, long intervalMillis) {
+    long last = lastSlowQueryMillis.get();
+    return nowMillis - last >= intervalMillis && lastSlowQueryMillis.compareAndSet(last, nowMillis);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+/**
+ * A sampled slow query; the parameters are recorded by type and size only, never by value
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+public class SlowQuery {
+
+  private final long timestamp;
+  private final String poolName;
+  private final String fingerprint;
+  private final long durationMicros;
+  private final String parameterShape;
+
+  SlowQuery(long timestamp, String poolName, String fingerprint, long durationMicros, String parameterShape) {
+    this.timestamp = timestamp;
+    this.poolName = poolName;
+    this.fingerprint = fingerprint;
+    this.durationMicros = durationMicros;
+    this.parameterShape = parameterShape;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public String getPoolName() {
+    return poolName;
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public long getDurationMicros() {
+    return durationMicros;
+  }
+
+  public String getParameterShape() {
+    return parameterShape;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.infrastructure.database.AutoRollback;
+import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
+import com.simisinc.platform.infrastructure.database.DB;
+
+/**
+ * Keeps the leases in the distributed_lock table; a transaction-scoped advisory lock lets one node at a time
+ * try for a lease, so the other nodes return right away instead of queuing on the row
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+class DatabaseLeaseStore implements LeaseStore {
+
+  private static Log LOG = LogFactory.getLog(DatabaseLeaseStore.class);
+
+  // The first key of the two-key advisory locks, so the lock names do not collide with other advisory locks
+  private static final int ADVISORY_LOCK_CLASS = 0x4c4f434b;
+
+  private static final String SQL_TRY_ADVISORY_LOCK = "SELECT pg_try_advisory_xact_lock(?, hashtext(?))";
+
+  private static final String SQL_FIND_LEASE = "SELECT " +
+      "CAST(EXTRACT(EPOCH FROM (lock_until - CURRENT_TIMESTAMP)) * 1000 AS BIGINT) AS held_for, " +
+      "renewed IS NOT NULL AS renewing " +
+      "FROM distributed_lock WHERE name = ?";
+
+  private static final String SQL_ACQUIRE = "INSERT INTO distributed_lock " +
+      "(name, locked_at, lock_until, uuid, fencing_token, renewed) " +
+      "VALUES (?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + ? * INTERVAL '1 MILLISECOND', ?, 1, " +
+      "CASE WHEN ? THEN CURRENT_TIMESTAMP END) " +
+      "ON CONFLICT (name) DO UPDATE SET " +
+      "locked_at = EXCLUDED.locked_at, " +
+      "lock_until = EXCLUDED.lock_until, " +
+      "uuid = EXCLUDED.uuid, " +
+      "fencing_token = distributed_lock.fencing_token + 1, " +
+      "renewed = EXCLUDED.renewed " +
+      "WHERE CURRENT_TIMESTAMP >= distributed_lock.lock_until " +
+      "RETURNING fencing_token";
+
+  // The renewer does not wait for a writer's transaction, so a lease in use does not hold up the other renewals
+  private static final String SQL_LOCK_LEASE = "SELECT fencing_token FROM distributed_lock " +
+      "WHERE name = ? AND uuid = ? AND fencing_token = ? FOR NO KEY UPDATE NOWAIT";
+
+  // The row is locked by another transaction
+  private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+  private static final String SQL_RENEW = "UPDATE distributed_lock SET " +
+      "lock_until = CURRENT_TIMESTAMP + ? * INTERVAL '1 MILLISECOND', renewed = CURRENT_TIMESTAMP " +
+      "WHERE name = ? AND uuid = ? AND fencing_token = ? AND lock_until > CURRENT_TIMESTAMP";
+
+  // Expire right away
+  private static final String SQL_RELEASE = "UPDATE distributed_lock SET " +
+      "lock_until = CURRENT_TIMESTAMP, renewed = NULL " +
+      "WHERE name = ? AND uuid = ?";
+
+  // The shared row lock keeps another node from taking over until the writer's transaction ends; FOR KEY SHARE
+  // would not, since the takeover does not change the key, so the renewer skips a lease which is being checked
+  private static final String SQL_IS_CURRENT = "SELECT fencing_token FROM distributed_lock " +
+      "WHERE name = ? AND uuid = ? AND fencing_token = ? AND lock_until > CURRENT_TIMESTAMP FOR SHARE";
+
+  @Override
+  @SuppressWarnings("try")
+  public Acquisition acquire(String name, String uuid, Duration duration, boolean renewing) {
+    try (Connection connection = DB.getConnection();
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      try (PreparedStatement pst = connection.prepareStatement(SQL_TRY_ADVISORY_LOCK)) {
+        pst.setInt(1, ADVISORY_LOCK_CLASS);
+        pst.setString(2, name);
+        try (ResultSet rs = pst.executeQuery()) {
+          if (!rs.next() || !rs.getBoolean(1)) {
+            return Acquisition.contended();
+          }
+        }
+      }
+      boolean stolen = false;
+      try (PreparedStatement pst = connection.prepareStatement(SQL_FIND_LEASE)) {
+        pst.setString(1, name);
+        try (ResultSet rs = pst.executeQuery()) {
+          if (rs.next()) {
+            long heldFor = rs.getLong("held_for");
+            if (heldFor > 0) {
+              return Acquisition.heldFor(heldFor);
+            }
+            // The holder was renewing the lease but did not release it
+            stolen = rs.getBoolean("renewing");
+          }
+        }
+      }
+      long fencingToken = -1L;
+      try (PreparedStatement pst = connection.prepareStatement(SQL_ACQUIRE)) {
+        pst.setString(1, name);
+        pst.setLong(2, LeaseManager.leaseMillis(duration));
+        pst.setString(3, uuid);
+        pst.setBoolean(4, renewing);
+        try (ResultSet rs = pst.executeQuery()) {
+          if (rs.next()) {
+            fencingToken = rs.getLong("fencing_token");
+          }
+        }
+      }
+      if (fencingToken == -1L) {
+        return Acquisition.contended();
+      }
+      transaction.commit();
+      LOG.debug("Lock succeeded: " + name);
+      return Acquisition.acquired(fencingToken, stolen);
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return Acquisition.contended();
+  }
+
+  @Override
+  @SuppressWarnings("try")
+  public int renew(String name, String uuid, long fencingToken, Duration duration) {
+    try (Connection connection = DB.getConnection();
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      try (PreparedStatement pst = connection.prepareStatement(SQL_LOCK_LEASE)) {
+        pst.setString(1, name);
+        pst.setString(2, uuid);
+        pst.setLong(3, fencingToken);
+        try (ResultSet rs = pst.executeQuery()) {
+          if (!rs.next()) {
+            return LOST;
+          }
+        }
+      } catch (SQLException se) {
+        if (LOCK_NOT_AVAILABLE.equals(se.getSQLState())) {
+          return BUSY;
+        }
+        throw se;
+      }
+      try (PreparedStatement pst = connection.prepareStatement(SQL_RENEW)) {
+        pst.setLong(1, LeaseManager.leaseMillis(duration));
+        pst.setString(2, name);
+        pst.setString(3, uuid);
+        pst.setLong(4, fencingToken);
+        int result = pst.executeUpdate() == 1 ? RENEWED : LOST;
+        transaction.commit();
+        return result;
+      }
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return ERROR;
+  }
+
+  @Override
+  public boolean release(String name, String uuid) {
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(SQL_RELEASE)) {
+      pst.setString(1, name);
+      pst.setString(2, uuid);
+      return pst.executeUpdate() == 1;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isCurrent(Connection connection, String name, String uuid, long fencingToken) throws SQLException {
+    if (connection == null) {
+      try (Connection own = DB.getConnection()) {
+        return isCurrent(own, name, uuid, fencingToken);
+      }
+    }
+    try (PreparedStatement pst = connection.prepareStatement(SQL_IS_CURRENT)) {
+      pst.setString(1, name);
+      pst.setString(2, uuid);
+      pst.setLong(3, fencingToken);
+      try (ResultSet rs = pst.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A time-bounded hold on a distributed lock; the fencing token increases with every acquisition of the lock,
+ * so writes made with an older token can be rejected after another node took over
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class Lease {
+
+  private final String name;
+  private final String uuid;
+  private final long fencingToken;
+  private final Duration duration;
+  private final LongSupplier clock;
+  private final long acquiredAt;
+  private volatile long expiresAt;
+  private volatile boolean released = false;
+  private volatile boolean lost = false;
+
+  Lease(String name, String uuid, long fencingToken, Duration duration, LongSupplier clock, long acquiredAt) {
+    this.name = name;
+    this.uuid = uuid;
+    this.fencingToken = fencingToken;
+    this.duration = duration;
+    this.clock = clock;
+    this.acquiredAt = acquiredAt;
+    this.expiresAt = acquiredAt + LeaseManager.leaseMillis(duration);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getUuid() {
+    return uuid;
+  }
+
+  public long getFencingToken() {
+    return fencingToken;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public long getAcquiredAt() {
+    return acquiredAt;
+  }
+
+  /** The local time the lease ends unless it is renewed */
+  public long getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * @return true while the lease has not been released, lost or expired; work which must not be duplicated
+   * should stop when this is false
+   */
+  public boolean isHeld() {
+    return !released && !lost && clock.getAsLong() < expiresAt;
+  }
+
+  public boolean isLost() {
+    return lost;
+  }
+
+  void extend(long now) {
+    expiresAt = now + LeaseManager.leaseMillis(duration);
+  }
+
+  void markReleased() {
+    released = true;
+  }
+
+  void markLost() {
+    lost = true;
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A node's leases: acquires them from the shared store, renews the ones which are kept while work is being
+ * done, and remembers which locks other nodes hold so those are not asked for again until they could expire
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+final class LeaseManager {
+
+  private static Log LOG = LogFactory.getLog(LeaseManager.class);
+
+  // Leases end this much before the requested duration, so a job scheduled at the same interval can lock again
+  static final long SLACK_MILLIS = 10_000L;
+  // A lock released early by its holder is tried again after at most this long
+  static final long MAX_SKIP_MILLIS = 60_000L;
+
+  private final LeaseStore store;
+  private final LongSupplier clock;
+  private final LockStatistics statistics = new LockStatistics();
+  private final Map<String, Lease> held = new ConcurrentHashMap<>();
+  private final Map<String, Lease> renewing = new ConcurrentHashMap<>();
+  private final Map<String, Long> heldElsewhereUntil = new ConcurrentHashMap<>();
+
+  LeaseManager(LeaseStore store, LongSupplier clock) {
+    this.store = store;
+    this.clock = clock;
+  }
+
+  static long leaseMillis(Duration duration) {
+    long millis = duration.toMillis();
+    return Math.max(millis - SLACK_MILLIS, millis / 2);
+  }
+
+  LockStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @param renew true to keep the lease until it is released, false for it to expire after the duration
+   * @return the lease, or null when another node holds it
+   */
+  Lease acquire(String name, Duration duration, boolean renew) {
+    long now = clock.getAsLong();
+    Long until = heldElsewhereUntil.get(name);
+    if (until != null) {
+      if (now < until) {
+        statistics.addSkipped();
+        return null;
+      }
+      heldElsewhereUntil.remove(name, until);
+    }
+    String uuid = UUID.randomUUID().toString();
+    long start = System.nanoTime();
+    LeaseStore.Acquisition acquisition = store.acquire(name, uuid, duration, renew);
+    statistics.addWait(System.nanoTime() - start);
+    if (!acquisition.isAcquired()) {
+      statistics.addContended();
+      if (acquisition.getHeldForMillis() > 0) {
+        heldElsewhereUntil.put(name, now + Math.min(acquisition.getHeldForMillis(), MAX_SKIP_MILLIS));
+      }
+      return null;
+    }
+    statistics.addAcquired();
+    if (acquisition.isStolen()) {
+      statistics.addSteal();
+      LOG.warn("Took over a lock which was not released: " + name);
+    }
+    Lease lease = new Lease(name, uuid, acquisition.getFencingToken(), duration, clock, now);
+    held.put(name, lease);
+    if (renew) {
+      renewing.put(name, lease);
+    }
+    return lease;
+  }
+
+  /**
+   * Renews the leases once a third of their time has passed; a lease which could not be renewed before it
+   * expires is lost
+   *
+   * @return the number of leases renewed
+   */
+  int renewAll() {
+    int count = 0;
+    for (Lease lease : renewing.values()) {
+      long now = clock.getAsLong();
+      if (now >= lease.getExpiresAt()) {
+        lose(lease);
+        continue;
+      }
+      if (lease.getExpiresAt() - now > leaseMillis(lease.getDuration()) * 2 / 3) {
+        continue;
+      }
+      int result = store.renew(lease.getName(), lease.getUuid(), lease.getFencingToken(), lease.getDuration());
+      if (result == LeaseStore.RENEWED) {
+        lease.extend(now);
+        statistics.addRenewal();
+        ++count;
+      } else if (result == LeaseStore.LOST) {
+        lose(lease);
+      } else if (result == LeaseStore.BUSY) {
+        // The writer's transaction keeps other nodes from taking over, renewed on the next pass
+        statistics.addRenewalDeferred();
+      } else {
+        // Tried again until the lease expires
+        statistics.addRenewalError();
+      }
+    }
+    return count;
+  }
+
+  private void lose(Lease lease) {
+    lease.markLost();
+    renewing.remove(lease.getName(), lease);
+    held.remove(lease.getName(), lease);
+    statistics.addLost();
+    LOG.warn("Lost the lock: " + lease.getName());
+  }
+
+  boolean release(Lease lease) {
+    renewing.remove(lease.getName(), lease);
+    held.remove(lease.getName(), lease);
+    lease.markReleased();
+    return store.release(lease.getName(), lease.getUuid());
+  }
+
+  boolean release(String name, String uuid) {
+    Lease lease = held.get(name);
+    if (lease != null && lease.getUuid().equals(uuid)) {
+      return release(lease);
+    }
+    return store.release(name, uuid);
+  }
+
+  /** Releases the leases which are being renewed, the others expire as scheduled */
+  void releaseAll() {
+    for (Lease lease : renewing.values()) {
+      release(lease);
+    }
+  }
+
+  /**
+   * @param connection the writer's connection, or null to check on its own
+   * @return true when the lease is still the current one for its lock
+   */
+  boolean isCurrent(Connection connection, Lease lease) throws SQLException {
+    if (!lease.isHeld()) {
+      return false;
+    }
+    return store.isCurrent(connection, lease.getName(), lease.getUuid(), lease.getFencingToken());
+  }
+
+  /** The leases this node holds */
+  List<Lease> getHolders() {
+    List<Lease> list = new ArrayList<>();
+    for (Lease lease : held.values()) {
+      if (lease.isHeld()) {
+        list.add(lease);
+      } else {
+        held.remove(lease.getName(), lease);
+      }
+    }
+    return list;
+  }
+}
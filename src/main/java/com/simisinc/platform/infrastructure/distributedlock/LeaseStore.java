@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Where the cluster's leases are kept, shared by all the nodes
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+interface LeaseStore {
+
+  int RENEWED = 1;
+  int LOST = 0;
+  int ERROR = -1;
+  int BUSY = 2;
+
+  /**
+   * Takes the lease when it is not held, or when the holder let it expire
+   *
+   * @param renewing true when the holder will renew the lease, so a takeover after it expires is a steal
+   */
+  Acquisition acquire(String name, String uuid, Duration duration, boolean renewing);
+
+  /**
+   * Renews without waiting on a writer's transaction which is checking the lease
+   *
+   * @return RENEWED, LOST when another node has the lease or it expired, BUSY when a writer is checking the lease,
+   *         or ERROR when the store could not be reached
+   */
+  int renew(String name, String uuid, long fencingToken, Duration duration);
+
+  boolean release(String name, String uuid);
+
+  /**
+   * Checks the token within the caller's transaction; a takeover waits for the transaction to finish
+   *
+   * @param connection the writer's connection, or null to check on its own
+   */
+  boolean isCurrent(Connection connection, String name, String uuid, long fencingToken) throws SQLException;
+
+  /** The result of trying to take a lease */
+  final class Acquisition {
+
+    private static final Acquisition CONTENDED = new Acquisition(false, 0L, false, -1L);
+
+    private final boolean acquired;
+    private final long fencingToken;
+    private final boolean stolen;
+    private final long heldForMillis;
+
+    private Acquisition(boolean acquired, long fencingToken, boolean stolen, long heldForMillis) {
+      this.acquired = acquired;
+      this.fencingToken = fencingToken;
+      this.stolen = stolen;
+      this.heldForMillis = heldForMillis;
+    }
+
+    static Acquisition acquired(long fencingToken, boolean stolen) {
+      return new Acquisition(true, fencingToken, stolen, -1L);
+    }
+
+    /** Another node holds the lease for at least this long */
+    static Acquisition heldFor(long millis) {
+      return new Acquisition(false, 0L, false, millis);
+    }
+
+    /** Another node is acquiring the lease right now, or the store could not be reached */
+    static Acquisition contended() {
+      return CONTENDED;
+    }
+
+    boolean isAcquired() {
+      return acquired;
+    }
+
+    long getFencingToken() {
+      return fencingToken;
+    }
+
+    boolean isStolen() {
+      return stolen;
+    }
+
+    long getHeldForMillis() {
+      return heldForMillis;
+    }
+  }
+}
@@ -15,16 +15,17 @@
  */
 package com.simisinc.platform.infrastructure.distributedlock;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.time.Duration;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import com.simisinc.platform.infrastructure.database.DB;
-import com.simisinc.platform.infrastructure.database.SqlUtils;
-import com.simisinc.platform.infrastructure.database.SqlValue;
-
 /**
  * A distributed lock implementation
  *
@@ -35,43 +36,90 @@ public class LockManager {
 
   private static Log LOG = LogFactory.getLog(LockManager.class);
 
-  private static String TABLE_NAME = "distributed_lock";
+  private static final long RENEW_INTERVAL_SECONDS = 5;
+
+  private static final LeaseManager leaseManager =
+      new LeaseManager(new DatabaseLeaseStore(), System::currentTimeMillis);
+  private static ScheduledExecutorService renewer = null;
 
+  /**
+   * Locks for the duration, or until unlocked; the lock is not renewed
+   *
+   * @return the uuid to unlock with, or null when another node holds the lock
+   */
   public static String lock(String name, Duration duration) {
+    Lease lease = leaseManager.acquire(name, duration, false);
+    return lease != null ? lease.getUuid() : null;
+  }
+
+  public static boolean unlock(String name, String uuid) {
+    return leaseManager.release(name, uuid);
+  }
+
+  /**
+   * Acquires a lease which is renewed in the background until it is released; if the node stops renewing it,
+   * another node can take over once the lease expires
+   *
+   * @return the lease, or null when another node holds the lock
+   */
+  public static Lease acquire(String name, Duration duration) {
+    Lease lease = leaseManager.acquire(name, duration, true);
+    if (lease != null) {
+      startRenewer();
+    }
+    return lease;
+  }
+
+  public static boolean release(Lease lease) {
+    if (lease == null) {
+      return false;
+    }
+    return leaseManager.release(lease);
+  }
 
-    String uuid = UUID.randomUUID().toString();
+  /**
+   * Checks the fencing token within the writer's transaction, before the protected changes are made; another node
+   * cannot take over the lock until the transaction ends
+   *
+   * @return true when the lease is still the current one for its lock
+   */
+  public static boolean isCurrent(Connection connection, Lease lease) throws SQLException {
+    return leaseManager.isCurrent(connection, lease);
+  }
 
-    // INSERT or UPDATE
-    SqlUtils insertValues = new SqlUtils()
-        .add("name", name)
-        .add(new SqlValue("locked_at", SqlValue.AS_IS, "CURRENT_TIMESTAMP"))
-        .add(new SqlValue("lock_until", SqlValue.AS_IS,
-            "CURRENT_TIMESTAMP - INTERVAL '10 SECONDS' + INTERVAL '" + duration.toString() + "'"))
-        .add("uuid", uuid);
+  public static LockStatistics getStatistics() {
+    return leaseManager.getStatistics();
+  }
 
-    String onConflict = "ON CONFLICT (name) " +
-        "DO UPDATE SET " +
-        "locked_at = EXCLUDED.locked_at, " +
-        "lock_until = EXCLUDED.lock_until, " +
-        "uuid = EXCLUDED.uuid " +
-        "WHERE distributed_lock.name = EXCLUDED.name AND CURRENT_TIMESTAMP >= distributed_lock.lock_until";
+  /** The locks this node holds */
+  public static List<Lease> getHolders() {
+    return leaseManager.getHolders();
+  }
 
-    if (DB.insertIntoWithConflict(TABLE_NAME, insertValues, onConflict)) {
-      LOG.debug("Lock succeeded: " + name);
-      return uuid;
+  private static synchronized void startRenewer() {
+    if (renewer != null) {
+      return;
     }
-    return null;
+    renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "lock-renewer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    renewer.scheduleWithFixedDelay(() -> {
+      try {
+        leaseManager.renewAll();
+      } catch (Exception e) {
+        LOG.error("Could not renew the locks: " + e.getMessage());
+      }
+    }, RENEW_INTERVAL_SECONDS, RENEW_INTERVAL_SECONDS, TimeUnit.SECONDS);
   }
 
-  public static boolean unlock(String name, String uuid) {
-    // Expire right away
-    SqlUtils updateValues = new SqlUtils()
-        .add(new SqlValue("lock_until", SqlValue.AS_IS, "CURRENT_TIMESTAMP"));
-    if (DB.update(TABLE_NAME, updateValues,
-        DB.WHERE("name = ?", name)
-            .AND("uuid = ?", uuid))) {
-      return true;
+  /** Stops renewing and releases the leases so other nodes can take over right away */
+  public static synchronized void shutdown() {
+    if (renewer != null) {
+      renewer.shutdownNow();
+      renewer = null;
     }
-    return false;
+    leaseManager.releaseAll();
   }
 }
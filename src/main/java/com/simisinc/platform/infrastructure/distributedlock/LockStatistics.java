@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.simisinc.platform.infrastructure.database.LatencyHistogram;
+
+/**
+ * This node's lock acquisitions, contention, renewals and takeovers
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class LockStatistics {
+
+  private final LatencyHistogram wait = new LatencyHistogram();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder contended = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder steals = new LongAdder();
+  private final LongAdder renewals = new LongAdder();
+  private final LongAdder renewalErrors = new LongAdder();
+  private final LongAdder renewalsDeferred = new LongAdder();
+  private final LongAdder lost = new LongAdder();
+
+  /** The time spent trying to acquire locks, including the tries which failed */
+  public LatencyHistogram getWait() {
+    return wait;
+  }
+
+  public long getAcquired() {
+    return acquired.sum();
+  }
+
+  /** Tries which found the lock held by another node */
+  public long getContended() {
+    return contended.sum();
+  }
+
+  /** Tries answered without the database because another node was known to hold the lock */
+  public long getSkipped() {
+    return skipped.sum();
+  }
+
+  /** Leases taken over after the renewing holder stopped without releasing them */
+  public long getSteals() {
+    return steals.sum();
+  }
+
+  public long getRenewals() {
+    return renewals.sum();
+  }
+
+  public long getRenewalErrors() {
+    return renewalErrors.sum();
+  }
+
+  /** Renewals put off because a writer's transaction was checking the lease */
+  public long getRenewalsDeferred() {
+    return renewalsDeferred.sum();
+  }
+
+  /** Leases which expired or were taken over while this node still held them */
+  public long getLost() {
+    return lost.sum();
+  }
+
+  void addWait(long nanos) {
+    wait.recordNanos(nanos);
+  }
+
+  void addAcquired() {
+    acquired.increment();
+  }
+
+  void addContended() {
+    contended.increment();
+  }
+
+  void addSkipped() {
+    skipped.increment();
+  }
+
+  void addSteal() {
+    steals.increment();
+  }
+
+  void addRenewal() {
+    renewals.increment();
+  }
+
+  void addRenewalError() {
+    renewalErrors.increment();
+  }
+
+  void addRenewalDeferred() {
+    renewalsDeferred.increment();
+  }
+
+  void addLost() {
+    lost.increment();
+  }
+}
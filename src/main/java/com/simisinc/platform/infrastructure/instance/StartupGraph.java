@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.instance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Runs the startup phases in parallel once the phases they depend on are finished; the critical phases
+ * are needed before requests are accepted, the others continue in the background
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 8:00 PM
+ */
+public class StartupGraph {
+
+  private static Log LOG = LogFactory.getLog(StartupGraph.class);
+
+  private final Map<String, Phase> phases = new LinkedHashMap<>();
+  private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+  private static class Phase {
+    private final String name;
+    private final boolean critical;
+    private final Runnable task;
+    private final String[] dependencies;
+    private CompletableFuture<Void> future = null;
+
+    Phase(String name, boolean critical, Runnable task, String[] dependencies) {
+      this.name = name;
+      this.critical = critical;
+      this.task = task;
+      this.dependencies = dependencies;
+    }
+  }
+
+  /**
+   * Adds a phase; the phases it depends on must already be added
+   *
+   * @param name a name for logging the phase
+   * @param critical true when requests cannot be accepted until the phase is finished
+   * @param task the work to do
+   * @param dependencies the names of the phases which must finish first
+   */
+  public StartupGraph add(String name, boolean critical, Runnable task, String... dependencies) {
+    if (phases.containsKey(name)) {
+      throw new IllegalArgumentException("The startup phase was already added: " + name);
+    }
+    for (String dependency : dependencies) {
+      if (!phases.containsKey(dependency)) {
+        throw new IllegalArgumentException("The startup phase " + name + " depends on an unknown phase: " + dependency);
+      }
+    }
+    phases.put(name, new Phase(name, critical, task, dependencies));
+    return this;
+  }
+
+  /**
+   * Starts the phases
+   *
+   * @param threads the number of phases which can run at the same time
+   * @return a future which completes when the critical phases, and the phases they depend on, are finished
+   */
+  public CompletableFuture<Void> start(int threads) {
+    ExecutorService executor = createExecutor(threads);
+    List<CompletableFuture<Void>> critical = new ArrayList<>();
+    List<CompletableFuture<Void>> all = new ArrayList<>();
+    for (Phase phase : phases.values()) {
+      CompletableFuture<?>[] dependencies = new CompletableFuture<?>[phase.dependencies.length];
+      for (int i = 0; i < dependencies.length; i++) {
+        dependencies[i] = phases.get(phase.dependencies[i]).future;
+      }
+      phase.future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> run(phase), executor);
+      if (phase.critical) {
+        // Which also waits for the phases it depends on
+        critical.add(phase.future);
+      }
+      all.add(phase.future);
+    }
+    CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).whenComplete((result, throwable) -> {
+      executor.shutdown();
+      LOG.info("Startup phases finished: " + timings);
+    });
+    return CompletableFuture.allOf(critical.toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * @return the milliseconds used by each finished phase
+   */
+  public Map<String, Long> getTimings() {
+    return new LinkedHashMap<>(timings);
+  }
+
+  private void run(Phase phase) {
+    long startTime = System.nanoTime();
+    try {
+      phase.task.run();
+    } catch (RuntimeException e) {
+      LOG.error("Startup phase failed: " + phase.name, e);
+      throw e;
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    timings.put(phase.name, millis);
+    LOG.info("Startup phase " + phase.name + " finished in " + millis + "ms");
+  }
+
+  private static ExecutorService createExecutor(int threads) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
@@ -154,7 +154,7 @@ public class BlockedIPRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("block_list_id");
+    constraints.setDefaultColumnToSortBy("block_list_id").setKeyColumn("block_list_id");
     DB.exportToCsvAllFrom(TABLE_NAME,
         DB.SELECT(
             "ip_address AS \"IP Address\"",
@@ -28,6 +28,8 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.Group;
 import com.simisinc.platform.domain.model.User;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -157,6 +159,7 @@ public class GroupRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("group_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.groupKey(record.getId()));
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
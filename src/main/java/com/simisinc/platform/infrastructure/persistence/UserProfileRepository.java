@@ -179,7 +179,7 @@ public class UserProfileRepository {
       record.setDescription(rs.getString("description"));
       record.setImageUrl(rs.getString("image_url"));
       record.setVideoUrl(rs.getString("video_url"));
-      record.setCustomFieldList(CustomFieldListJSONCommand.populateFromJSONString(rs.getString("field_values")));
+      record.setCustomFieldList(CustomFieldListJSONCommand.lazyFromJSONString(rs.getString("field_values"), -1));
       return record;
     } catch (SQLException se) {
       LOG.error("buildRecord", se);
@@ -32,6 +32,8 @@ import org.apache.commons.logging.LogFactory;
 import com.simisinc.platform.domain.model.Role;
 import com.simisinc.platform.domain.model.User;
 import com.simisinc.platform.domain.model.dashboard.StatisticsData;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -161,7 +163,7 @@ public class UserRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("user_id desc");
+    constraints.setDefaultColumnToSortBy("user_id desc").setKeyColumn("user_id");
     DataResult result = query(specification, constraints);
     return (List<User>) result.getRecords();
   }
@@ -359,6 +361,7 @@ public class UserRepository {
       UserRoleRepository.insertUserRoleList(connection, record);
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.userKey(record.getId()));
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -446,6 +449,7 @@ public class UserRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("user_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.userKey(record.getId()));
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -28,6 +28,8 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.Calendar;
 import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -182,6 +184,7 @@ public class CalendarEventRepository {
       LOG.error("An id was not set!");
       return null;
     }
+    CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
     return record;
   }
 
@@ -204,7 +207,7 @@ public class CalendarEventRepository {
         .add("published", record.getPublished())
         .add("archived", record.getArchived());
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("event_id = ?", record.getId()))) {
-      //      CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
       return record;
     }
     LOG.error("The update failed!");
@@ -223,6 +226,7 @@ public class CalendarEventRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("event_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
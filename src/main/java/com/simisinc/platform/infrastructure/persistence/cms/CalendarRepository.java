@@ -27,6 +27,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.Calendar;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -112,6 +114,7 @@ public class CalendarRepository {
       LOG.error("An id was not set!");
       return null;
     }
+    CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
     return record;
   }
 
@@ -125,7 +128,7 @@ public class CalendarRepository {
         .add("modified_by", record.getModifiedBy())
         .add("modified", new Timestamp(System.currentTimeMillis()));
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("calendar_id = ?", record.getId()))) {
-      //      CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
       return record;
     }
     LOG.error("The update failed!");
@@ -142,6 +145,7 @@ public class CalendarRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("calendar_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.CALENDAR_EVENT_CACHE, CalendarEventIndex.ALL_CALENDARS);
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
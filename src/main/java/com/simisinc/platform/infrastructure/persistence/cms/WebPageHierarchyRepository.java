@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.WebPage;
 import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
+import com.simisinc.platform.infrastructure.cache.PageHierarchy;
 import com.simisinc.platform.infrastructure.database.DB;
 import com.simisinc.platform.infrastructure.database.SqlUtils;
 
@@ -54,6 +55,10 @@ public class WebPageHierarchyRepository {
   private static String COL_CREATED = "created";
   private static String COL_MODIFIED = "modified";
   private static String WHERE_WEB_PAGE_ID = "web_page_id = ?";
+  private static String SQL_TREE_NODES = "SELECT h.web_page_id, h.parent_page_id, h.sort_order, h.depth, " +
+      "p.page_title, p.page_description, p.link, p.enabled, p.draft " +
+      "FROM " + TABLE_NAME + " h " +
+      "INNER JOIN web_pages p ON p.web_page_id = h.web_page_id ";
 
   /**
    * Finds a hierarchy record by web page ID
@@ -121,6 +126,66 @@ public class WebPageHierarchyRepository {
     return records;
   }
 
+  /**
+   * Loads every page in the hierarchy, for the in-memory tree
+   *
+   * @return the nodes, or null if the query failed
+   */
+  public static List<PageHierarchy.Node> findAllTreeNodes() {
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(SQL_TREE_NODES)) {
+      return buildTreeNodes(pst);
+    } catch (SQLException se) {
+      LOG.error(SQL_EXCEPTION + se.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Loads the pages affected by a change to a page: the page's current subtree, its current siblings and the
+   * siblings it had before the change
+   *
+   * @param pageId the page which changed
+   * @param previousParentId the page's parent before the change, -1 for the top level, or -2 if unknown
+   * @return the nodes, or null if the query failed
+   */
+  public static List<PageHierarchy.Node> findTreeNodesForChange(long pageId, long previousParentId) {
+    String sql = SQL_TREE_NODES +
+        "WHERE h.path LIKE (SELECT path FROM " + TABLE_NAME + " WHERE web_page_id = ?) || '%' " +
+        "OR COALESCE(h.parent_page_id, -1) = (SELECT COALESCE(parent_page_id, -1) FROM " + TABLE_NAME +
+        " WHERE web_page_id = ?) " +
+        "OR COALESCE(h.parent_page_id, -1) = ?";
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(sql)) {
+      pst.setLong(1, pageId);
+      pst.setLong(2, pageId);
+      pst.setLong(3, previousParentId);
+      return buildTreeNodes(pst);
+    } catch (SQLException se) {
+      LOG.error(SQL_EXCEPTION + se.getMessage());
+    }
+    return null;
+  }
+
+  private static List<PageHierarchy.Node> buildTreeNodes(PreparedStatement pst) throws SQLException {
+    List<PageHierarchy.Node> nodes = new ArrayList<>();
+    try (ResultSet rs = pst.executeQuery()) {
+      while (rs.next()) {
+        nodes.add(new PageHierarchy.Node(
+            rs.getLong(COL_WEB_PAGE_ID),
+            DB.getLong(rs, COL_PARENT_PAGE_ID, -1),
+            rs.getInt(COL_SORT_ORDER),
+            rs.getInt(COL_DEPTH),
+            rs.getString("page_title"),
+            rs.getString("page_description"),
+            rs.getString("link"),
+            rs.getBoolean("enabled"),
+            rs.getBoolean("draft")));
+      }
+    }
+    return nodes;
+  }
+
   /**
    * Saves a hierarchy record (insert or update)
    *
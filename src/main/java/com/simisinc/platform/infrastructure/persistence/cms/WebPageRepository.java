@@ -38,6 +38,8 @@ import com.simisinc.platform.application.cms.TextCommand;
 import com.simisinc.platform.application.cms.WebPageXmlLayoutCommand;
 import com.simisinc.platform.application.json.JsonCommand;
 import com.simisinc.platform.domain.model.cms.WebPage;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.PageOutputCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -246,6 +248,8 @@ public class WebPageRepository {
       LOG.error("An id was not set!");
       return null;
     }
+    // A visitor may have been shown a system page at this link
+    invalidatePageOutput(record.getLink());
     return record;
   }
 
@@ -286,8 +290,11 @@ public class WebPageRepository {
       // Force the page(s) to re-cache
       if (previousRecord != null) {
         WebPageXmlLayoutCommand.removeCustomPage(previousRecord.getLink());
+        invalidatePageOutput(previousRecord.getLink());
       }
       WebPageXmlLayoutCommand.removeCustomPage(record.getLink());
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
       return record;
     }
     LOG.error("The update failed!");
@@ -305,6 +312,8 @@ public class WebPageRepository {
         DB.WHERE("draft_page_xml IS NOT NULL AND web_page_id = ?", record.getId()))) {
       // Force the page to re-cache
       WebPageXmlLayoutCommand.removeCustomPage(record.getLink());
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
     }
   }
 
@@ -348,6 +357,8 @@ public class WebPageRepository {
     if (updated) {
       record.setEnabled(false);
       record.setModifiedBy(userId);
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
       // Note: We do NOT remove the page from cache when archiving
       // The page layout/content hasn't changed, only the enabled status
       // This allows admins/content-managers to still view the archived page
@@ -368,6 +379,8 @@ public class WebPageRepository {
     if (updated) {
       record.setEnabled(true);
       record.setModifiedBy(userId);
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
       // Note: We do NOT remove the page from cache when unarchiving
       // The page layout/content hasn't changed, only the enabled status
     }
@@ -382,6 +395,8 @@ public class WebPageRepository {
     if (DB.update(TABLE_NAME, setValues, DB.WHERE("web_page_id = ?", record.getId()))) {
       // Force the page to re-cache
       WebPageXmlLayoutCommand.removeCustomPage(record.getLink());
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
     }
   }
 
@@ -402,6 +417,8 @@ public class WebPageRepository {
       transaction.commit();
       // Force the page to re-cache
       WebPageXmlLayoutCommand.removeCustomPage(record.getLink());
+      invalidatePageOutput(record.getLink());
+      invalidatePageHierarchy(record.getId());
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -409,6 +426,18 @@ public class WebPageRepository {
     return false;
   }
 
+  /** Removes the rendered visitor pages for the link, on every node */
+  private static void invalidatePageOutput(String link) {
+    if (link != null) {
+      CacheManager.invalidateKey(CacheManager.PAGE_OUTPUT_CACHE, PageOutputCache.webPageKey(link));
+    }
+  }
+
+  /** The page's title, link and status are shown in page trees, on every node */
+  private static void invalidatePageHierarchy(long webPageId) {
+    CacheManager.invalidateKey(CacheManager.PAGE_HIERARCHY_CACHE, webPageId);
+  }
+
   public static void updatePageText(long id, String generatedText) {
     if (id == -1) {
       return;
@@ -467,7 +467,7 @@ public class DatasetRepository {
       record.setSyncMessage(rs.getString("sync_message"));
       record.setSyncMergeType(rs.getString("sync_merge_type"));
       record.setUniqueColumnName(rs.getString("unique_column_name"));
-      record.setCustomFieldList(CustomFieldListJSONCommand.populateFromJSONString(rs.getString("field_values")));
+      record.setCustomFieldList(CustomFieldListJSONCommand.lazyFromJSONString(rs.getString("field_values"), -1));
       record.setQueueStatus(DB.getInt(rs, "queue_status", 0));
       record.setQueueDate(rs.getTimestamp("queue_date"));
       record.setQueueAttempts(DB.getInt(rs, "queue_attempts", 0));
@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.simisinc.platform.application.ecommerce.ShippingRatesCommand;
 import com.simisinc.platform.domain.model.ecommerce.Cart;
 import com.simisinc.platform.domain.model.ecommerce.CartItem;
 import com.simisinc.platform.domain.model.ecommerce.Product;
@@ -192,7 +193,7 @@ public class CartRepository {
       return false;
     }
     long shippingMethod = -1;
-    ShippingRate shippingRate = ShippingRateRepository.findById(cart.getShippingRateId());
+    ShippingRate shippingRate = ShippingRatesCommand.findShippingRateById(cart.getShippingRateId());
     if (shippingRate != null) {
       shippingMethod = shippingRate.getShippingMethodId();
     }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.persistence.ecommerce;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.domain.model.ecommerce.InventoryHold;
+import com.simisinc.platform.infrastructure.database.AutoRollback;
+import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
+import com.simisinc.platform.infrastructure.database.DB;
+import com.simisinc.platform.infrastructure.distributedlock.Lease;
+import com.simisinc.platform.infrastructure.distributedlock.LockManager;
+
+/**
+ * Persists the inventory claimed by each node for checkout reservations; product_skus.inventory_allocated is the
+ * sum of the node allocations, so the units a node can claim are inventory_qty - inventory_allocated. The sku row
+ * is always locked before the allocation rows.
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class InventoryAllocationRepository {
+
+  private static Log LOG = LogFactory.getLog(InventoryAllocationRepository.class);
+
+  /**
+   * Claims up to the quantity of unallocated units of the sku for the node
+   *
+   * @return the number of units granted
+   */
+  @SuppressWarnings("try")
+  public static int claim(long skuId, String nodeId, int quantity) {
+    String SQL_QUERY = "WITH s AS (" +
+        "SELECT sku_id, LEAST(?, COALESCE(inventory_qty, 0) - inventory_allocated) AS granted " +
+        "FROM product_skus WHERE sku_id = ? FOR UPDATE) " +
+        "UPDATE product_skus p SET inventory_allocated = p.inventory_allocated + s.granted " +
+        "FROM s WHERE p.sku_id = s.sku_id AND s.granted > 0 " +
+        "RETURNING s.granted";
+    try (Connection connection = DB.getConnection();
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      int granted = 0;
+      try (PreparedStatement pst = connection.prepareStatement(SQL_QUERY)) {
+        pst.setInt(1, quantity);
+        pst.setLong(2, skuId);
+        try (ResultSet rs = pst.executeQuery()) {
+          if (rs.next()) {
+            granted = rs.getInt("granted");
+          }
+        }
+      }
+      if (granted <= 0) {
+        return 0;
+      }
+      try (PreparedStatement pst = connection.prepareStatement(
+          "INSERT INTO inventory_allocations (sku_id, node_id, quantity) VALUES (?, ?, ?) " +
+              "ON CONFLICT (sku_id, node_id) DO UPDATE SET quantity = inventory_allocations.quantity + EXCLUDED.quantity, " +
+              "renewed = CURRENT_TIMESTAMP")) {
+        pst.setLong(1, skuId);
+        pst.setString(2, nodeId);
+        pst.setInt(3, granted);
+        pst.execute();
+      }
+      transaction.commit();
+      return granted;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return 0;
+  }
+
+  /** Gives unused units of the node's allocation back to the sku */
+  @SuppressWarnings("try")
+  public static boolean release(long skuId, String nodeId, int quantity) {
+    try (Connection connection = DB.getConnection();
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      try (PreparedStatement pst = connection.prepareStatement(
+          "UPDATE product_skus SET inventory_allocated = GREATEST(inventory_allocated - ?, 0) WHERE sku_id = ?")) {
+        pst.setInt(1, quantity);
+        pst.setLong(2, skuId);
+        pst.executeUpdate();
+      }
+      try (PreparedStatement pst = connection.prepareStatement(
+          "UPDATE inventory_allocations SET quantity = quantity - ? " +
+              "WHERE sku_id = ? AND node_id = ? AND quantity >= ?")) {
+        pst.setInt(1, quantity);
+        pst.setLong(2, skuId);
+        pst.setString(3, nodeId);
+        pst.setInt(4, quantity);
+        if (pst.executeUpdate() != 1) {
+          // The allocation was reclaimed, the units were already returned
+          return false;
+        }
+      }
+      transaction.commit();
+      return true;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return false;
+  }
+
+  /**
+   * Marks the node's allocations as in use
+   *
+   * @return the sku ids the node still has an allocation for, or null on error
+   */
+  public static Set<Long> renew(String nodeId) {
+    Set<Long> skuIds = new HashSet<>();
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(
+            "UPDATE inventory_allocations SET renewed = CURRENT_TIMESTAMP WHERE node_id = ? RETURNING sku_id")) {
+      pst.setString(1, nodeId);
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          skuIds.add(rs.getLong("sku_id"));
+        }
+      }
+      return skuIds;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Records the held units as sold, in the order's transaction; only rows are inserted so concurrent orders for
+   * the same sku do not wait on each other
+   */
+  public static void insertCommits(Connection connection, InventoryHold hold) throws SQLException {
+    try (PreparedStatement pst = connection.prepareStatement(
+        "INSERT INTO inventory_commits (sku_id, node_id, quantity) VALUES (?, ?, ?)")) {
+      for (Map.Entry<Long, Integer> entry : hold.getSkuQuantities().entrySet()) {
+        pst.setLong(1, entry.getKey());
+        pst.setString(2, hold.getNodeId());
+        pst.setInt(3, entry.getValue());
+        pst.addBatch();
+      }
+      pst.executeBatch();
+    }
+  }
+
+  /**
+   * Applies the sold units to the skus in one batch, then returns the allocations of nodes which stopped renewing
+   *
+   * @param staleBefore allocations last renewed before this time are returned to their skus
+   * @param lease the lock which fences the changes, a node which lost it makes no changes
+   * @return the sku ids with a changed inventory_qty
+   */
+  @SuppressWarnings("try")
+  public static Set<Long> applyCommits(Timestamp staleBefore, Lease lease) {
+    Set<Long> changedSkuIds = new TreeSet<>();
+    try (Connection connection = DB.getConnection();
+        AutoStartTransaction a = new AutoStartTransaction(connection);
+        AutoRollback transaction = new AutoRollback(connection)) {
+      if (!LockManager.isCurrent(connection, lease)) {
+        LOG.warn("The lock was lost, inventory commits are left for the current holder");
+        return changedSkuIds;
+      }
+      // The sold units by sku and node
+      Map<Long, Map<String, Integer>> commits = new TreeMap<>();
+      try (PreparedStatement pst = connection.prepareStatement(
+          "DELETE FROM inventory_commits RETURNING sku_id, node_id, quantity");
+          ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          commits.computeIfAbsent(rs.getLong("sku_id"), id -> new HashMap<>())
+              .merge(rs.getString("node_id"), rs.getInt("quantity"), Integer::sum);
+        }
+      }
+      Map<Long, List<String>> staleAllocations = new TreeMap<>();
+      try (PreparedStatement pst = connection.prepareStatement(
+          "SELECT sku_id, node_id FROM inventory_allocations WHERE renewed < ?")) {
+        pst.setTimestamp(1, staleBefore);
+        try (ResultSet rs = pst.executeQuery()) {
+          while (rs.next()) {
+            staleAllocations.computeIfAbsent(rs.getLong("sku_id"), id -> new ArrayList<>()).add(rs.getString("node_id"));
+          }
+        }
+      }
+      Set<Long> skuIds = new TreeSet<>(commits.keySet());
+      skuIds.addAll(staleAllocations.keySet());
+      for (Long skuId : skuIds) {
+        lockSku(connection, skuId);
+        int sold = 0;
+        int deallocated = 0;
+        for (Map.Entry<String, Integer> entry : commits.getOrDefault(skuId, new HashMap<>()).entrySet()) {
+          sold += entry.getValue();
+          // When the allocation was already reclaimed, the units are no longer counted as allocated
+          if (decrementAllocation(connection, skuId, entry.getKey(), entry.getValue())) {
+            deallocated += entry.getValue();
+          }
+        }
+        for (String nodeId : staleAllocations.getOrDefault(skuId, new ArrayList<>())) {
+          deallocated += removeAllocation(connection, skuId, nodeId, staleBefore);
+        }
+        try (PreparedStatement pst = connection.prepareStatement(
+            "UPDATE product_skus SET inventory_qty = inventory_qty - ?, " +
+                "inventory_allocated = GREATEST(inventory_allocated - ?, 0) WHERE sku_id = ?")) {
+          pst.setInt(1, sold);
+          pst.setInt(2, deallocated);
+          pst.setLong(3, skuId);
+          pst.executeUpdate();
+        }
+        if (sold > 0) {
+          changedSkuIds.add(skuId);
+        }
+      }
+      transaction.commit();
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+      changedSkuIds.clear();
+    }
+    return changedSkuIds;
+  }
+
+  private static void lockSku(Connection connection, long skuId) throws SQLException {
+    try (PreparedStatement pst = connection.prepareStatement(
+        "SELECT sku_id FROM product_skus WHERE sku_id = ? FOR UPDATE")) {
+      pst.setLong(1, skuId);
+      pst.executeQuery().close();
+    }
+  }
+
+  private static boolean decrementAllocation(Connection connection, long skuId, String nodeId, int quantity)
+      throws SQLException {
+    try (PreparedStatement pst = connection.prepareStatement(
+        "UPDATE inventory_allocations SET quantity = GREATEST(quantity - ?, 0) WHERE sku_id = ? AND node_id = ?")) {
+      pst.setInt(1, quantity);
+      pst.setLong(2, skuId);
+      pst.setString(3, nodeId);
+      return pst.executeUpdate() == 1;
+    }
+  }
+
+  private static int removeAllocation(Connection connection, long skuId, String nodeId, Timestamp staleBefore)
+      throws SQLException {
+    try (PreparedStatement pst = connection.prepareStatement(
+        "DELETE FROM inventory_allocations WHERE sku_id = ? AND node_id = ? AND renewed < ? RETURNING quantity")) {
+      pst.setLong(1, skuId);
+      pst.setString(2, nodeId);
+      pst.setTimestamp(3, staleBefore);
+      try (ResultSet rs = pst.executeQuery()) {
+        if (rs.next()) {
+          LOG.warn("Returning the inventory allocation of an inactive node: " + nodeId + " sku: " + skuId);
+          return rs.getInt("quantity");
+        }
+      }
+    }
+    return 0;
+  }
+}
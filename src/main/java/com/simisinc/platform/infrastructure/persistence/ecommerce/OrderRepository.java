@@ -24,7 +24,7 @@ import static com.simisinc.platform.application.ecommerce.OrderStatusCommand.PRE
 import static com.simisinc.platform.application.ecommerce.OrderStatusCommand.REFUNDED;
 import static com.simisinc.platform.application.ecommerce.OrderStatusCommand.SHIPPED;
 
-import java.io.File;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -32,12 +32,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.simisinc.platform.application.ecommerce.InventoryReservationCommand;
 import com.simisinc.platform.application.ecommerce.OrderItemCommand;
 import com.simisinc.platform.application.ecommerce.OrderStatusCommand;
 import com.simisinc.platform.domain.model.Session;
@@ -45,8 +48,10 @@ import com.simisinc.platform.domain.model.User;
 import com.simisinc.platform.domain.model.dashboard.StatisticsData;
 import com.simisinc.platform.domain.model.ecommerce.Address;
 import com.simisinc.platform.domain.model.ecommerce.CartItem;
+import com.simisinc.platform.domain.model.ecommerce.InventoryHold;
 import com.simisinc.platform.domain.model.ecommerce.Order;
 import com.simisinc.platform.domain.model.ecommerce.OrderItem;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -134,7 +139,7 @@ public class OrderRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("order_id desc");
+    constraints.setDefaultColumnToSortBy("order_id desc").setKeyColumn("order_id");
     DataResult result = query(specification, constraints);
     return (List<Order>) result.getRecords();
   }
@@ -482,6 +487,9 @@ public class OrderRepository {
   }
 
   public static Order update(Order record) {
+    // A paid order uses the inventory held for its cart at checkout
+    InventoryHold inventoryHold = record.getPaid() ? InventoryReservationCommand.takeHold(record.getCartId()) : null;
+    boolean saved = false;
     // Use a transaction
     try (Connection connection = DB.getConnection();
         AutoStartTransaction a = new AutoStartTransaction(connection);
@@ -590,6 +598,8 @@ public class OrderRepository {
             .add("shipping_longitude", 0d, 0d);
       }
       if (DB.update(connection, TABLE_NAME, updateValues, DB.WHERE("order_id = ?", record.getId()))) {
+        // The products with inventory changes
+        Set<Long> changedProductIds = new LinkedHashSet<>();
         // The order was successfully charged, disable the cart
         if (record.getPaid()) {
           // Update the cart reference so it cannot be reused
@@ -605,22 +615,41 @@ public class OrderRepository {
           if (orderItemList != null && !orderItemList.isEmpty()) {
             for (OrderItem orderItem : orderItemList) {
               // Update the inventory
-              if (record.getLive()) {
+              if (record.getLive() && (inventoryHold == null || !inventoryHold.holdsSku(orderItem.getSkuId()))) {
                 // @todo consider service type products
                 // Decrease the inventory if this is a good or has a limit
                 ProductSkuRepository.updateInventoryCount(connection, orderItem.getSkuId(), -orderItem.getQuantity().intValue());
+                changedProductIds.add(orderItem.getProductId());
               }
               // Update the status
               OrderItemRepository.markStatusAsPaid(connection, orderItem, record.getPaymentDate());
             }
           }
+          // The held inventory is applied to the skus in a batch
+          if (inventoryHold != null && record.getLive()) {
+            InventoryAllocationRepository.insertCommits(connection, inventoryHold);
+          }
         }
         // Finish the transaction
         transaction.commit();
+        saved = true;
+        for (Long productId : changedProductIds) {
+          CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, productId);
+        }
         return record;
       }
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
+    } finally {
+      if (inventoryHold != null) {
+        if (!saved) {
+          InventoryReservationCommand.restoreHold(inventoryHold);
+        } else if (record.getLive()) {
+          InventoryReservationCommand.completeHold(inventoryHold);
+        } else {
+          InventoryReservationCommand.releaseHold(inventoryHold);
+        }
+      }
     }
     return null;
   }
@@ -888,14 +917,14 @@ public class OrderRepository {
     // @todo Append to the order_history (USER ASSOCIATED)
   }
 
-  public static void export(DataConstraints constraints, File file) {
+  public static long export(DataConstraints constraints, OutputStream outputStream, boolean gzip) {
     // show paid orders, and only refunded ones that have shipped
     // Use the specification to filter results
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("order_id");
-    DB.exportToCsvAllFrom(TABLE_NAME,
+    constraints.setDefaultColumnToSortBy("orders.order_id").setKeyColumn("orders.order_id");
+    return DB.exportToCsvAllFrom(TABLE_NAME,
         DB.SELECT(
             "order_unique_id AS \"Order Number\"",
             "live_mode AS \"Live Mode\"",
@@ -924,17 +953,18 @@ public class OrderRepository {
             .AND("paid = ?", true)
             .AND("canceled = ?", false)
             .AND("(refunded = false OR (refunded = true and shipped = true))"),
-        null, constraints, file);
+        null, constraints, outputStream, gzip);
   }
 
-  public static void exportForTaxJar(DataConstraints constraints, File file) {
+  public static long exportForTaxJar(DataConstraints constraints, OutputStream outputStream, boolean gzip) {
     // show paid orders, and only refunded ones that have shipped
     // Use the specification to filter results
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("order_id");
-    DB.exportToCsvAllFrom(TABLE_NAME,
+    // The table column, since order_id is also an alias in this export
+    constraints.setDefaultColumnToSortBy("orders.order_id").setKeyColumn("orders.order_id");
+    return DB.exportToCsvAllFrom(TABLE_NAME,
         DB.SELECT(
             "'web' AS provider", // web/Square/etc.
             "charge_token AS \"order_id\"",
@@ -966,6 +996,6 @@ public class OrderRepository {
             .AND("paid = ?", true)
             .AND("canceled = ?", false)
             .AND("(refunded = false OR (refunded = true and shipped = true))"),
-        null, constraints, file);
+        null, constraints, outputStream, gzip);
   }
 }
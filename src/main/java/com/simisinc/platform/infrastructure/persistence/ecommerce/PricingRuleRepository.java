@@ -32,6 +32,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.PricingRule;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.PricingRuleCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -91,6 +93,17 @@ public class PricingRuleRepository {
     return (List<PricingRule>) result.getRecords();
   }
 
+  /**
+   * @return the enabled rules, or null if the query failed
+   */
+  @SuppressWarnings("unchecked")
+  public static List<PricingRule> findAllEnabled() {
+    PricingRuleSpecification specification = new PricingRuleSpecification();
+    specification.setEnabled(true);
+    DataResult result = query(specification, new DataConstraints().setUseCount(false));
+    return (List<PricingRule>) result.getRecords();
+  }
+
   public static List<PricingRule> findAllRulesByValidSku(String sku) {
     PricingRuleSpecification specification = new PricingRuleSpecification();
     specification.setEnabled(true);
@@ -161,6 +174,7 @@ public class PricingRuleRepository {
       record.setId(DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY));
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.PRICING_RULE_CACHE, PricingRuleCache.ALL_RULES);
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -197,7 +211,7 @@ public class PricingRuleRepository {
         .add("modified_by", record.getModifiedBy(), -1)
         .add("modified", new Timestamp(System.currentTimeMillis()));
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("rule_id = ?", record.getId()))) {
-      //      CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.PRICING_RULE_CACHE, PricingRuleCache.ALL_RULES);
       return record;
     }
     LOG.error("The update failed!");
@@ -17,16 +17,22 @@
 package com.simisinc.platform.infrastructure.persistence.ecommerce;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.ProductCategory;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.ProductCatalogCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -79,6 +85,30 @@ public class ProductCategoryRepository {
         ProductCategoryRepository::buildRecord);
   }
 
+  /**
+   * Lists the products in each category
+   *
+   * @return the product ids in display order by category id, or null if the query failed
+   */
+  public static Map<Long, List<Long>> findProductIdsByCategoryId() {
+    String sql = "SELECT product_category_id, product_id FROM product_categories " +
+        "ORDER BY product_category_id, display_order, product_id";
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(sql)) {
+      Map<Long, List<Long>> productIds = new LinkedHashMap<>();
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          productIds.computeIfAbsent(rs.getLong("product_category_id"), k -> new ArrayList<>())
+              .add(rs.getLong("product_id"));
+        }
+      }
+      return productIds;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return null;
+  }
+
   public static ProductCategory save(ProductCategory record) {
     if (record.getId() > -1) {
       return update(record);
@@ -105,6 +135,7 @@ public class ProductCategoryRepository {
       record.setId(DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY));
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, ProductCatalogCache.ALL_PRODUCTS);
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -124,7 +155,7 @@ public class ProductCategoryRepository {
       updateValues.add("display_order", record.getDisplayOrder());
     }
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("category_id = ?", record.getId()))) {
-      //      CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, ProductCatalogCache.ALL_PRODUCTS);
       return record;
     }
     LOG.error("The update failed!");
@@ -132,7 +163,11 @@ public class ProductCategoryRepository {
   }
 
   public static boolean remove(ProductCategory record) {
-    return DB.deleteFrom(TABLE_NAME, DB.WHERE("category_id = ?", record.getId())) > 0;
+    if (DB.deleteFrom(TABLE_NAME, DB.WHERE("category_id = ?", record.getId())) > 0) {
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, ProductCatalogCache.ALL_PRODUCTS);
+      return true;
+    }
+    return false;
   }
 
   private static ProductCategory buildRecord(ResultSet rs) {
@@ -20,7 +20,10 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -29,6 +32,7 @@ import org.apache.commons.logging.LogFactory;
 import com.simisinc.platform.application.ecommerce.ProductJSONCommand;
 import com.simisinc.platform.domain.model.ecommerce.Product;
 import com.simisinc.platform.domain.model.ecommerce.ProductSku;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -103,6 +107,30 @@ public class ProductRepository {
     return productList;
   }
 
+  /**
+   * Loads every product and every SKU with one query each
+   *
+   * @return the products with their SKUs, or null if a query failed
+   */
+  @SuppressWarnings("unchecked")
+  public static List<Product> findAllWithRelatedData() {
+    DataResult result = query(null,
+        new DataConstraints().setDefaultColumnToSortBy("product_order, name, caption").setUseCount(false));
+    List<ProductSku> productSkuList = ProductSkuRepository.findAll(null, new DataConstraints().setUseCount(false));
+    List<Product> productList = (List<Product>) result.getRecords();
+    if (productList == null || productSkuList == null) {
+      return null;
+    }
+    Map<Long, List<ProductSku>> productSkusByProductId = new HashMap<>();
+    for (ProductSku productSku : productSkuList) {
+      productSkusByProductId.computeIfAbsent(productSku.getProductId(), k -> new ArrayList<>()).add(productSku);
+    }
+    for (Product product : productList) {
+      product.setProducts(productSkusByProductId.getOrDefault(product.getId(), new ArrayList<>()));
+    }
+    return productList;
+  }
+
   public static Product findById(long id) {
     return findById(id, true);
   }
@@ -177,6 +205,7 @@ public class ProductRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("product_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, record.getId());
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -233,6 +262,7 @@ public class ProductRepository {
       ProductSkuRepository.saveProductSKUList(connection, record);
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, record.getId());
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -280,6 +310,7 @@ public class ProductRepository {
       ProductSkuRepository.saveProductSKUList(connection, record);
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, record.getId());
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -292,6 +323,7 @@ public class ProductRepository {
         .add("square_catalog_id", squareCatalogId)
         .add("modified", new Timestamp(System.currentTimeMillis()));
     DB.update(TABLE_NAME, updateValues, DB.WHERE("product_id = ?", productId));
+    CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, productId);
     return true;
   }
 
@@ -37,6 +37,8 @@ import com.simisinc.platform.application.json.JsonCommand;
 import com.simisinc.platform.domain.model.ecommerce.Product;
 import com.simisinc.platform.domain.model.ecommerce.ProductSku;
 import com.simisinc.platform.domain.model.ecommerce.ProductSkuAttribute;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.ProductCatalogCache;
 import com.simisinc.platform.infrastructure.database.DB;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.database.DataResult;
@@ -170,6 +172,7 @@ public class ProductSkuRepository {
 
   public static void remove(ProductSku record) {
     DB.deleteFrom(TABLE_NAME, DB.WHERE("sku_id = ?", record.getId()));
+    CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, record.getProductId());
   }
 
   public static void removeAll(Connection connection, Product product) throws SQLException {
@@ -287,6 +290,7 @@ public class ProductSkuRepository {
         .add("square_variation_id", squareVariationId)
         .add("modified", new Timestamp(System.currentTimeMillis()));
     DB.update(TABLE_NAME, updateValues, DB.WHERE("sku_id = ?", productSkuId));
+    CacheManager.invalidateKey(CacheManager.PRODUCT_CATALOG_CACHE, ProductCatalogCache.findProductIdForSku(productSkuId));
     return true;
   }
 
@@ -360,7 +364,7 @@ public class ProductSkuRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("sku");
+    constraints.setDefaultColumnToSortBy("sku").setKeyColumn("product_skus.sku_id");
     DB.exportToCsvAllFrom(
         TABLE_NAME,
         DB.SELECT(
@@ -26,6 +26,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.SalesTaxNexusAddress;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.SalesTaxCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -80,6 +82,7 @@ public class SalesTaxNexusAddressRepository {
       DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("address_id = ?", record.getId()));
       // Finish transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.SALES_TAX_CACHE, SalesTaxCache.NEXUS_ADDRESSES);
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -108,6 +111,7 @@ public class SalesTaxNexusAddressRepository {
       record.setId(DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY));
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.SALES_TAX_CACHE, SalesTaxCache.NEXUS_ADDRESSES);
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -128,7 +132,7 @@ public class SalesTaxNexusAddressRepository {
         .add("modified_by", record.getModifiedBy())
         .add("modified", new Timestamp(System.currentTimeMillis()));
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("address_id = ?", record.getId()))) {
-      // CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.SALES_TAX_CACHE, SalesTaxCache.NEXUS_ADDRESSES);
       return record;
     }
     LOG.error("The update failed!");
@@ -25,6 +25,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.ShippingCountry;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.ShippingRateCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -95,6 +97,7 @@ public class ShippingCountryRepository {
       record.setId(DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY));
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.SHIPPING_RATE_CACHE, ShippingRateCache.ALL_RATES);
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -111,7 +114,7 @@ public class ShippingCountryRepository {
     // .add("modified_by", record.getModifiedBy(), -1)
     // .add("modified", new Timestamp(System.currentTimeMillis()));
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("country_id = ?", record.getId()))) {
-      // CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.SHIPPING_RATE_CACHE, ShippingRateCache.ALL_RATES);
       return record;
     }
     LOG.error("The update failed!");
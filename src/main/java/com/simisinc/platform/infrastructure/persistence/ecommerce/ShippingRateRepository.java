@@ -26,6 +26,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.ShippingRateCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -149,6 +151,7 @@ public class ShippingRateRepository {
       record.setId(DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY));
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.SHIPPING_RATE_CACHE, ShippingRateCache.ALL_RATES);
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -172,7 +175,7 @@ public class ShippingRateRepository {
     // .add("modified_by", record.getModifiedBy(), -1)
     // .add("modified", new Timestamp(System.currentTimeMillis()));
     if (DB.update(TABLE_NAME, updateValues, DB.WHERE("rate_id = ?", record.getId()))) {
-      // CacheManager.invalidateKey(CacheManager.CONTENT_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.SHIPPING_RATE_CACHE, ShippingRateCache.ALL_RATES);
       return record;
     }
     LOG.error("The update failed!");
@@ -180,7 +183,11 @@ public class ShippingRateRepository {
   }
 
   public static boolean remove(ShippingRate record) {
-    return DB.deleteFrom(TABLE_NAME, DB.WHERE("rate_id = ?", record.getId())) > 0;
+    if (DB.deleteFrom(TABLE_NAME, DB.WHERE("rate_id = ?", record.getId())) > 0) {
+      CacheManager.invalidateKey(CacheManager.SHIPPING_RATE_CACHE, ShippingRateCache.ALL_RATES);
+      return true;
+    }
+    return false;
   }
 
   private static ShippingRate buildRecord(ResultSet rs) {
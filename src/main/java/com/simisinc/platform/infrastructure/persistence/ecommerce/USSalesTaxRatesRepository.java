@@ -16,6 +16,8 @@
 
 package com.simisinc.platform.infrastructure.persistence.ecommerce;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
@@ -25,6 +27,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.ecommerce.USSalesTaxRate;
+import com.simisinc.platform.infrastructure.cache.SalesTaxTable;
 import com.simisinc.platform.infrastructure.database.DB;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.database.DataResult;
@@ -99,6 +102,28 @@ public class USSalesTaxRatesRepository {
         USSalesTaxRatesRepository::buildRecord);
   }
 
+  /**
+   * Reads the combined rate of every state and zip code, in the table's order, without creating a record per row
+   *
+   * @return the rates for building a sales tax table, or null if the query failed
+   */
+  public static SalesTaxTable.Builder findAllCombinedRates() {
+    String sql = "SELECT state, zip_code, combined_rate FROM " + TABLE_NAME;
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(sql)) {
+      SalesTaxTable.Builder builder = SalesTaxTable.builder();
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          builder.add(rs.getString("state"), rs.getString("zip_code"), rs.getBigDecimal("combined_rate"));
+        }
+      }
+      return builder;
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    return null;
+  }
+
   private static USSalesTaxRate buildRecord(ResultSet rs) {
     try {
       USSalesTaxRate record = new USSalesTaxRate();
@@ -28,6 +28,8 @@ import com.simisinc.platform.domain.model.Group;
 import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.domain.model.items.CollectionGroup;
 import com.simisinc.platform.domain.model.items.PrivacyType;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.DB;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.database.DataResult;
@@ -87,6 +89,8 @@ public class CollectionGroupRepository {
       LOG.error("An id was not set!");
       return null;
     }
+    CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE,
+        CollectionAccessCache.collectionKey(record.getCollectionId()));
     return record;
   }
 
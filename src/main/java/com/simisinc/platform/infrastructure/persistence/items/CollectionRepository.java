@@ -34,6 +34,7 @@ import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.domain.model.items.CollectionGroup;
 import com.simisinc.platform.domain.model.items.PrivacyType;
 import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -93,6 +94,7 @@ public class CollectionRepository {
       }
       // Finish the transaction
       transaction.commit();
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.collectionKey(record.getId()));
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -129,6 +131,7 @@ public class CollectionRepository {
       transaction.commit();
       // Expire the cache
       CacheManager.invalidateKey(CacheManager.COLLECTION_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.collectionKey(record.getId()));
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -216,6 +219,7 @@ public class CollectionRepository {
       transaction.commit();
       // Invalidate the cache
       CacheManager.invalidateKey(CacheManager.COLLECTION_UNIQUE_ID_CACHE, record.getUniqueId());
+      CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.collectionKey(record.getId()));
       return true;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -391,7 +395,7 @@ public class CollectionRepository {
       record.setMenuHoverTextColor(rs.getString("menu_hover_text_color"));
       record.setMenuHoverBgColor(rs.getString("menu_hover_bg_color"));
       record.setMenuHoverBorderColor(rs.getString("menu_hover_border_color"));
-      record.setCustomFieldList(CustomFieldListJSONCommand.populateFromJSONString(rs.getString("field_values")));
+      record.setCustomFieldList(CustomFieldListJSONCommand.lazyFromJSONString(rs.getString("field_values"), -1));
       record.setItemUrlText(rs.getString("item_url_text"));
       record.setTableColumnsList(CollectionTableColumnsJSONCommand.populateFromJSONString(rs.getString("table_columns")));
       return record;
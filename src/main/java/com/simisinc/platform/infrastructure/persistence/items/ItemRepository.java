@@ -25,6 +25,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,12 +38,16 @@ import com.simisinc.platform.application.CustomFieldListJSONCommand;
 import com.simisinc.platform.application.cms.HtmlCommand;
 import com.simisinc.platform.application.filesystem.FileSystemCommand;
 import com.simisinc.platform.application.json.JsonCommand;
+import com.simisinc.platform.application.maps.MapTileCommand;
 import com.simisinc.platform.application.maps.ValidateGeoRegion;
+import com.simisinc.platform.domain.model.Entity;
 import com.simisinc.platform.domain.model.User;
 import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.domain.model.items.Item;
 import com.simisinc.platform.domain.model.items.ItemCategory;
 import com.simisinc.platform.domain.model.items.ItemFileVersion;
+import com.simisinc.platform.domain.model.items.ItemMapCluster;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -147,6 +152,7 @@ public class ItemRepository {
       CategoryRepository.updateItemCount(connection, record.getCategoryId(), 1);
       // Finish the transaction
       transaction.commit();
+      invalidateMapTiles(record.getCollectionId());
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
@@ -271,6 +277,10 @@ public class ItemRepository {
       transaction.commit();
       // Expire the cache
       //        CacheManager.invalidateKey(CacheManager.ITEM_UNIQUE_ID_CACHE, record.getUniqueId());
+      invalidateMapTiles(record.getCollectionId());
+      if (previousRecord.getCollectionId() != record.getCollectionId()) {
+        invalidateMapTiles(previousRecord.getCollectionId());
+      }
       return record;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage(), se);
@@ -324,6 +334,7 @@ public class ItemRepository {
         // Finish transaction
         transaction.commit();
       }
+      invalidateMapTiles(record.getCollectionId());
       // Cleanup the files
       for (ItemFileVersion fileVersion : fileVersionList) {
         String fileServerPath = fileVersion.getFileServerPath();
@@ -347,6 +358,7 @@ public class ItemRepository {
         .add("approved", new Timestamp(System.currentTimeMillis()))
         .add("approved_by", user.getId());
     DB.update(TABLE_NAME, updateValues, DB.WHERE("item_id = ?", record.getId()));
+    invalidateMapTiles(record.getCollectionId());
   }
 
   public static void removeItemApproval(Item record, User user) {
@@ -354,10 +366,17 @@ public class ItemRepository {
         .add("approved", (Timestamp) null)
         .add("approved_by", -1, -1);
     DB.update(TABLE_NAME, updateValues, DB.WHERE("item_id = ?", record.getId()));
+    invalidateMapTiles(record.getCollectionId());
   }
 
   public static void removeAll(Connection connection, Collection record) throws SQLException {
     DB.deleteFrom(connection, TABLE_NAME, DB.WHERE("collection_id = ?", record.getId()));
+    invalidateMapTiles(record.getId());
+  }
+
+  /** The collection's map tiles are created again with the changed items */
+  private static void invalidateMapTiles(long collectionId) {
+    CacheManager.invalidateKey(CacheManager.ITEM_MAP_TILE_CACHE, collectionId);
   }
 
   private static DataResult query(ItemSpecification specification, DataConstraints constraints) {
@@ -365,6 +384,22 @@ public class ItemRepository {
     SqlJoins joins = new SqlJoins();
     SqlWhere where = DB.WHERE();
     SqlUtils orderBy = new SqlUtils();
+    SqlUtils highlight = applySpecification(specification, constraints, select, joins, where, orderBy);
+    if (highlight != null) {
+      return queryRankedPage(select, joins, where, orderBy, highlight, constraints);
+    }
+    return DB.selectAllFrom(
+        TABLE_NAME, select, joins, where, orderBy, constraints, ItemRepository::buildRecord);
+  }
+
+  /**
+   * Adds the specification's conditions to the query
+   *
+   * @return the headline columns when searching by text, otherwise null
+   */
+  private static SqlUtils applySpecification(ItemSpecification specification, DataConstraints constraints,
+      SqlUtils select, SqlJoins joins, SqlWhere where, SqlUtils orderBy) {
+    SqlUtils highlight = null;
     if (specification != null) {
 
       joins.add("LEFT JOIN collections ON (items.collection_id = collections.collection_id)");
@@ -501,8 +536,9 @@ public class ItemRepository {
         titleSearchPatterns[0] = whereToUse;
         System.arraycopy(titleSearchWords, 0, titleSearchPatterns, 1, titleSearchWords.length);
 
-        // Highlight the term
-        select.add(
+        // Highlight the term, only for the page of items being returned
+        highlight = new SqlUtils();
+        highlight.add(
             "ts_headline('english', items.name || ' ' || coalesce(items.keywords,'') || ' ' || coalesce(items.summary,'') || ' ' || coalesce(items.description_text,''), "
                 +
                 "websearch_to_tsquery('title_stem', ?), " +
@@ -548,6 +584,13 @@ public class ItemRepository {
             + specification.getLongitude() + "), 4326)");
       }
 
+      if (specification.getWithinBounds() != null && specification.getWithinBounds().length == 4) {
+        // The geom points are stored as (latitude, longitude), so the envelope uses the same axis order
+        double[] bounds = specification.getWithinBounds();
+        where.AND("geom && ST_MakeEnvelope(" + bounds[0] + ", " + bounds[1] + ", " + bounds[2] + ", " + bounds[3]
+            + ", 4326)");
+      }
+
       if (specification.getHasCoordinates() != DataConstants.UNDEFINED) {
         if (specification.getHasCoordinates() == DataConstants.TRUE) {
           where.AND("latitude <> 0 AND longitude <> 0");
@@ -620,8 +663,61 @@ public class ItemRepository {
         where.AND(userCondition.toString(), (Object[]) userIdsBoxed);
       }
     }
-    return DB.selectAllFrom(
-        TABLE_NAME, select, joins, where, orderBy, constraints, ItemRepository::buildRecord);
+    return highlight;
+  }
+
+  /**
+   * Searches in two phases: the matching item ids are ranked and paged first, then the rows and their
+   * headlines are read for just the page of items
+   */
+  private static DataResult queryRankedPage(SqlUtils select, SqlJoins joins, SqlWhere where, SqlUtils orderBy,
+      SqlUtils highlight, DataConstraints constraints) {
+    SqlUtils rankSelect = DB.SELECT("items.item_id");
+    rankSelect.getValues().addAll(select.getValues());
+    DataResult result = DB.selectFrom(
+        TABLE_NAME, rankSelect, joins, where, orderBy, constraints, ItemRepository::buildRankedId);
+    List<? extends Entity> rankedList = result.getRecords();
+    if (rankedList == null || rankedList.isEmpty()) {
+      return result;
+    }
+
+    Long[] itemIds = new Long[rankedList.size()];
+    for (int i = 0; i < itemIds.length; i++) {
+      itemIds[i] = ((Item) rankedList.get(i)).getId();
+    }
+    DataResult rows = DB.selectAllFrom(
+        TABLE_NAME, highlight,
+        DB.WHERE("items.item_id IN (" + StringUtils.repeat("?", ", ", itemIds.length) + ")", itemIds),
+        null, null, ItemRepository::buildRecord);
+    Map<Long, Item> itemMap = new HashMap<>();
+    if (rows.getRecords() != null) {
+      for (Entity record : rows.getRecords()) {
+        Item item = (Item) record;
+        itemMap.put(item.getId(), item);
+      }
+    }
+
+    // Keep the ranked order, skipping any item removed in between
+    List<Item> records = new ArrayList<>(itemIds.length);
+    for (Long itemId : itemIds) {
+      Item item = itemMap.get(itemId);
+      if (item != null) {
+        records.add(item);
+      }
+    }
+    result.setRecords(records);
+    return result;
+  }
+
+  private static Item buildRankedId(ResultSet rs) {
+    try {
+      Item record = new Item();
+      record.setId(rs.getLong("item_id"));
+      return record;
+    } catch (SQLException se) {
+      LOG.error("buildRankedId", se);
+      return null;
+    }
   }
 
   public static Item findById(long id) {
@@ -711,11 +807,95 @@ public class ItemRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("LOWER(items.name)");
+    constraints.setDefaultColumnToSortBy("LOWER(items.name)").setKeyColumn("items.item_id");
     DataResult result = query(specification, constraints);
     return (List<Item>) result.getRecords();
   }
 
+  /**
+   * Groups the matching items within a map tile into clusters, using a grid of cells in web mercator space
+   *
+   * @param specification the items to include
+   * @param z the tile zoom level
+   * @param x the tile column
+   * @param y the tile row
+   * @return the clusters, or null if the query failed
+   */
+  public static List<ItemMapCluster> findMapClusters(ItemSpecification specification, int z, int x, int y) {
+    if (specification == null) {
+      specification = new ItemSpecification();
+    }
+    specification.setWithinBounds(MapTileCommand.tileBounds(z, x, y));
+    SqlJoins joins = new SqlJoins();
+    SqlWhere where = DB.WHERE();
+    applySpecification(specification, new DataConstraints(), new SqlUtils(), joins, where, new SqlUtils());
+    where.AND("items.latitude <> 0 AND items.longitude <> 0");
+
+    // The cells divide each tile evenly, so a cluster never spans tiles
+    long cells = MapTileCommand.clusterCellsPerWorld(z);
+    SqlUtils select = DB.SELECT(
+        "COUNT(*) AS item_count",
+        "AVG(items.latitude) AS latitude",
+        "AVG(items.longitude) AS longitude",
+        "MIN(items.item_id) AS item_id",
+        "CASE WHEN COUNT(*) = 1 THEN MIN(items.name) END AS name",
+        "CASE WHEN COUNT(*) = 1 THEN MIN(items.street) END AS street",
+        "FLOOR((items.longitude + 180.0) / 360.0 * " + cells + ") AS cell_x",
+        "FLOOR((1.0 - LN(TAN(RADIANS(items.latitude)) + 1.0 / COS(RADIANS(items.latitude))) / PI()) / 2.0 * "
+            + cells + ") AS cell_y");
+    List<Entity> records = DB.selectGroupedFrom(
+        TABLE_NAME, select, joins, where, "cell_x, cell_y", ItemRepository::buildMapCluster);
+    if (records == null) {
+      return null;
+    }
+    List<ItemMapCluster> clusterList = new ArrayList<>(records.size());
+    for (Entity record : records) {
+      clusterList.add((ItemMapCluster) record);
+    }
+    return clusterList;
+  }
+
+  /**
+   * @return the count and the geographic center of the matching items, or null if the query failed
+   */
+  public static ItemMapCluster findMapCenter(ItemSpecification specification) {
+    SqlJoins joins = new SqlJoins();
+    SqlWhere where = DB.WHERE();
+    applySpecification(specification, new DataConstraints(), new SqlUtils(), joins, where, new SqlUtils());
+    where.AND("items.latitude <> 0 AND items.longitude <> 0");
+
+    // The mean of the points as vectors, like GISCommand.centerFromItems()
+    String x = "AVG(COS(RADIANS(items.latitude)) * COS(RADIANS(items.longitude)))";
+    String y = "AVG(COS(RADIANS(items.latitude)) * SIN(RADIANS(items.longitude)))";
+    String z = "AVG(SIN(RADIANS(items.latitude)))";
+    SqlUtils select = DB.SELECT(
+        "COUNT(*) AS item_count",
+        "COALESCE(DEGREES(ATAN2(" + z + ", SQRT(POWER(" + x + ", 2) + POWER(" + y + ", 2)))), 0) AS latitude",
+        "COALESCE(DEGREES(ATAN2(" + y + ", " + x + ")), 0) AS longitude",
+        "-1 AS item_id",
+        "NULL AS name",
+        "NULL AS street");
+    List<Entity> records = DB.selectGroupedFrom(
+        TABLE_NAME, select, joins, where, null, ItemRepository::buildMapCluster);
+    return records == null || records.isEmpty() ? null : (ItemMapCluster) records.get(0);
+  }
+
+  private static ItemMapCluster buildMapCluster(ResultSet rs) {
+    try {
+      ItemMapCluster record = new ItemMapCluster();
+      record.setItemCount(rs.getLong("item_count"));
+      record.setLatitude(rs.getDouble("latitude"));
+      record.setLongitude(rs.getDouble("longitude"));
+      record.setItemId(rs.getLong("item_id"));
+      record.setName(rs.getString("name"));
+      record.setStreet(rs.getString("street"));
+      return record;
+    } catch (SQLException se) {
+      LOG.error("buildMapCluster", se);
+      return null;
+    }
+  }
+
   private static Item buildRecord(ResultSet rs) {
     try {
       Item record = new Item();
@@ -754,7 +934,7 @@ public class ItemRepository {
       record.setAssigned(rs.getTimestamp("assigned"));
       record.setImageUrl(rs.getString("image_url"));
       record.setCategoryId(DB.getLong(rs, "category_id", -1));
-      record.setCustomFieldList(CustomFieldListJSONCommand.populateFromJSONString(rs.getString("field_values")));
+      record.setCustomFieldList(CustomFieldListJSONCommand.lazyFromJSONString(rs.getString("field_values"), record.getCollectionId()));
       record.setArchivedBy(DB.getLong(rs, "archived_by", -1));
       record.setApprovedBy(DB.getLong(rs, "approved_by", -1));
       record.setApproved(rs.getTimestamp("approved"));
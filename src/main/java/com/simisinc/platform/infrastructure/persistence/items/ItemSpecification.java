@@ -44,6 +44,7 @@ public class ItemSpecification {
   private double latitude = 0;
   private double longitude = 0;
   private int withinMeters = -1;
+  private double[] withinBounds = null;
   private String matchesName = null;
   private String searchName = null;
   private String searchLocation = null;
@@ -163,6 +164,19 @@ public class ItemSpecification {
     this.withinMeters = withinMeters;
   }
 
+  public double[] getWithinBounds() {
+    return withinBounds;
+  }
+
+  /**
+   * Limits the items to a map area
+   *
+   * @param withinBounds the south, west, north and east edges in degrees
+   */
+  public void setWithinBounds(double[] withinBounds) {
+    this.withinBounds = withinBounds;
+  }
+
   public String getMatchesName() {
     return matchesName;
   }
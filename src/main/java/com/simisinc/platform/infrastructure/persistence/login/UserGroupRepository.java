@@ -27,6 +27,8 @@ import org.apache.commons.logging.LogFactory;
 import com.simisinc.platform.domain.model.Group;
 import com.simisinc.platform.domain.model.User;
 import com.simisinc.platform.domain.model.login.UserGroup;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.infrastructure.cache.CollectionAccessCache;
 import com.simisinc.platform.infrastructure.database.DB;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.database.DataResult;
@@ -84,6 +86,7 @@ public class UserGroupRepository {
     }
     // Update the group count
     GroupRepository.updateUserCount(record.getGroupId(), 1);
+    CacheManager.invalidateKey(CacheManager.COLLECTION_ACCESS_CACHE, CollectionAccessCache.userKey(record.getUserId()));
     return record;
   }
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.persistence.mailinglists;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.domain.model.mailinglists.MailQueueMessage;
+import com.simisinc.platform.infrastructure.database.DB;
+import com.simisinc.platform.infrastructure.database.SqlUtils;
+import com.simisinc.platform.infrastructure.database.SqlValue;
+
+/**
+ * Persists and retrieves outbound mail queue objects
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class MailQueueRepository {
+
+  private static Log LOG = LogFactory.getLog(MailQueueRepository.class);
+
+  private static String TABLE_NAME = "mail_queue";
+  private static String[] PRIMARY_KEY = new String[] { "queue_id" };
+
+  public static MailQueueMessage add(MailQueueMessage record) {
+    SqlUtils insertValues = new SqlUtils()
+        .addIfExists("from_address", StringUtils.trimToNull(record.getFromAddress()))
+        .addIfExists("from_name", StringUtils.trimToNull(record.getFromName()))
+        .add("to_address", StringUtils.trimToNull(record.getToAddress()))
+        .addIfExists("to_name", StringUtils.trimToNull(record.getToName()))
+        .add("to_domain", StringUtils.trimToNull(record.getToDomain()))
+        .addIfExists("subject", record.getSubject(), 512)
+        .addIfExists("html_body", record.getHtmlBody())
+        .addIfExists("text_body", record.getTextBody())
+        .addIfExists("site_url", StringUtils.trimToNull(record.getSiteUrl()))
+        .addIfExists("next_attempt", record.getNextAttempt());
+    record.setId(DB.insertInto(TABLE_NAME, insertValues, PRIMARY_KEY));
+    if (record.getId() == -1) {
+      LOG.error("An id was not set!");
+      return null;
+    }
+    return record;
+  }
+
+  /**
+   * Claims the messages which are due, skipping the rows claimed by other workers; messages claimed by a
+   * worker which stopped are claimed again after the claim expires
+   *
+   * @param limit the number of messages to claim
+   * @param claimExpirationMinutes when a claim is considered abandoned
+   * @return the claimed messages in queue order
+   */
+  public static List<MailQueueMessage> claimBatch(int limit, int claimExpirationMinutes) {
+    String SQL_QUERY = "UPDATE mail_queue SET status = ?, claimed = CURRENT_TIMESTAMP " +
+        "WHERE queue_id IN (" +
+        "SELECT queue_id FROM mail_queue " +
+        "WHERE (status = ? AND next_attempt <= CURRENT_TIMESTAMP) " +
+        "OR (status = ? AND claimed < CURRENT_TIMESTAMP - (? * INTERVAL '1 MINUTE')) " +
+        "ORDER BY next_attempt, queue_id " +
+        "LIMIT ? " +
+        "FOR UPDATE SKIP LOCKED) " +
+        "RETURNING *";
+    List<MailQueueMessage> records = new ArrayList<>();
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(SQL_QUERY)) {
+      int i = 0;
+      pst.setInt(++i, MailQueueMessage.SENDING);
+      pst.setInt(++i, MailQueueMessage.QUEUED);
+      pst.setInt(++i, MailQueueMessage.SENDING);
+      pst.setInt(++i, claimExpirationMinutes);
+      pst.setInt(++i, limit);
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          MailQueueMessage record = buildRecord(rs);
+          if (record != null) {
+            records.add(record);
+          }
+        }
+      }
+    } catch (SQLException se) {
+      LOG.error("SQLException: " + se.getMessage());
+    }
+    records.sort(Comparator.comparing(MailQueueMessage::getId));
+    return records;
+  }
+
+  public static boolean markSent(MailQueueMessage record) {
+    SqlUtils updateValues = new SqlUtils()
+        .add("status", MailQueueMessage.SENT)
+        .add("attempts", record.getAttempts())
+        .add(new SqlValue("sent_date", SqlValue.AS_IS, "CURRENT_TIMESTAMP"))
+        .add(new SqlValue("claimed", SqlValue.AS_IS, "NULL"))
+        .addIfExists("message_id", StringUtils.abbreviate(record.getMessageId(), 255));
+    return DB.update(TABLE_NAME, updateValues, DB.WHERE("queue_id = ?", record.getId()));
+  }
+
+  /** Returns the message to the queue for another attempt at the next attempt time */
+  public static boolean reschedule(MailQueueMessage record) {
+    SqlUtils updateValues = new SqlUtils()
+        .add("status", MailQueueMessage.QUEUED)
+        .add("attempts", record.getAttempts())
+        .add("next_attempt", record.getNextAttempt())
+        .add(new SqlValue("claimed", SqlValue.AS_IS, "NULL"))
+        .addIfExists("last_error", record.getLastError());
+    return DB.update(TABLE_NAME, updateValues, DB.WHERE("queue_id = ?", record.getId()));
+  }
+
+  public static boolean markFailed(MailQueueMessage record) {
+    SqlUtils updateValues = new SqlUtils()
+        .add("status", MailQueueMessage.FAILED)
+        .add("attempts", record.getAttempts())
+        .add(new SqlValue("claimed", SqlValue.AS_IS, "NULL"))
+        .addIfExists("last_error", record.getLastError());
+    return DB.update(TABLE_NAME, updateValues, DB.WHERE("queue_id = ?", record.getId()));
+  }
+
+  /** Removes the sent messages older than the date */
+  public static int removeSentBefore(Timestamp date) {
+    return DB.deleteFrom(TABLE_NAME, DB.WHERE("status = ?", MailQueueMessage.SENT).AND("sent_date < ?", date));
+  }
+
+  private static MailQueueMessage buildRecord(ResultSet rs) {
+    try {
+      MailQueueMessage record = new MailQueueMessage();
+      record.setId(rs.getLong("queue_id"));
+      record.setCreated(rs.getTimestamp("created"));
+      record.setFromAddress(rs.getString("from_address"));
+      record.setFromName(rs.getString("from_name"));
+      record.setToAddress(rs.getString("to_address"));
+      record.setToName(rs.getString("to_name"));
+      record.setToDomain(rs.getString("to_domain"));
+      record.setSubject(rs.getString("subject"));
+      record.setHtmlBody(rs.getString("html_body"));
+      record.setTextBody(rs.getString("text_body"));
+      record.setSiteUrl(rs.getString("site_url"));
+      record.setStatus(rs.getInt("status"));
+      record.setAttempts(rs.getInt("attempts"));
+      record.setNextAttempt(rs.getTimestamp("next_attempt"));
+      record.setClaimed(rs.getTimestamp("claimed"));
+      record.setSentDate(rs.getTimestamp("sent_date"));
+      record.setMessageId(rs.getString("message_id"));
+      record.setLastError(rs.getString("last_error"));
+      return record;
+    } catch (SQLException se) {
+      LOG.error("buildRecord", se);
+      return null;
+    }
+  }
+}
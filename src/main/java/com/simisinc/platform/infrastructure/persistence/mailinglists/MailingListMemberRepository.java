@@ -111,7 +111,7 @@ public class MailingListMemberRepository {
     if (constraints == null) {
       constraints = new DataConstraints();
     }
-    constraints.setDefaultColumnToSortBy("mailing_list_members.created");
+    constraints.setDefaultColumnToSortBy("mailing_list_members.created").setKeyColumn("mailing_list_members.member_id");
     DB.exportToCsvAllFrom(TABLE_NAME,
         DB.SELECT(
             "mailing_lists.name AS list",
@@ -21,10 +21,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
-import java.time.DayOfWeek;
-import java.util.ArrayList;
-import java.util.Calendar;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.apache.commons.lang3.ObjectUtils;
@@ -33,7 +30,6 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.medicine.Medicine;
 import com.simisinc.platform.domain.model.medicine.MedicineReminder;
-import com.simisinc.platform.domain.model.medicine.MedicineReminderRawData;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -57,6 +53,45 @@ public class MedicineReminderRepository {
   private static String TABLE_NAME = "medicine_reminders";
   private static String[] PRIMARY_KEY = new String[] { "reminder_id" };
 
+  static String SQL_CREATE_REMINDERS = "WITH scheduled AS (" +
+      "SELECT m.individual_id, m.medicine_id, sched.schedule_id, mt.time_id, " +
+      "d.day + MAKE_INTERVAL(hours => mt.hour, mins => mt.minute) AS reminder_date " +
+      "FROM GENERATE_SERIES(?::timestamp, ?::timestamp, INTERVAL '1 day') AS d(day) " +
+      "CROSS JOIN medicines m " +
+      "JOIN medicine_schedule sched ON (m.medicine_id = sched.medicine_id) " +
+      "JOIN medicine_times mt ON (sched.schedule_id = mt.schedule_id) " +
+      "WHERE m.archived IS NULL " +
+      "AND m.medicine_id BETWEEN ? AND ? " +
+      "AND sched.start_date <= GREATEST(d.day, ?) " +
+      "AND (sched.end_date IS NULL OR sched.end_date >= d.day) " +
+      "AND (" +
+      "every_day = TRUE " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 1 AND on_monday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 2 AND on_tuesday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 3 AND on_wednesday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 4 AND on_thursday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 5 AND on_friday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 6 AND on_saturday = TRUE) " +
+      "OR (EXTRACT(ISODOW FROM d.day) = 7 AND on_sunday = TRUE) " +
+      "OR (every_x_days IS NOT NULL AND every_x_days > 0 " +
+      "AND MOD(DATE_PART('day', d.day - sched.start_date)::NUMERIC, every_x_days) = 0)" +
+      ")" +
+      "), " +
+      "removed AS (" +
+      "DELETE FROM medicine_reminders r " +
+      "WHERE r.medicine_id BETWEEN ? AND ? " +
+      "AND r.reminder_date >= ? AND r.reminder_date < ? " +
+      "AND r.was_taken = FALSE AND r.was_skipped = FALSE AND r.logged IS NULL " +
+      "AND EXISTS (SELECT 1 FROM medicines m WHERE m.medicine_id = r.medicine_id AND m.archived IS NULL) " +
+      "AND NOT EXISTS (SELECT 1 FROM scheduled s " +
+      "WHERE s.medicine_id = r.medicine_id AND s.time_id = r.time_id AND s.reminder_date = r.reminder_date) " +
+      "AND NOT EXISTS (SELECT 1 FROM medicine_log l WHERE l.reminder_id = r.reminder_id)" +
+      ") " +
+      "INSERT INTO medicine_reminders (individual_id, medicine_id, schedule_id, time_id, reminder_date) " +
+      "SELECT s.individual_id, s.medicine_id, s.schedule_id, s.time_id, s.reminder_date " +
+      "FROM scheduled s " +
+      "ON CONFLICT (medicine_id, time_id, reminder_date) DO NOTHING";
+
   private static DataResult query(MedicineReminderSpecification specification, DataConstraints constraints) {
     SqlJoins joins = new SqlJoins();
     SqlWhere where = null;
@@ -138,127 +173,57 @@ public class MedicineReminderRepository {
         MedicineReminderRepository::buildRecord);
   }
 
-  private static PreparedStatement createPreparedStatementForDailyReminders(Connection connection, Timestamp startDate,
-      Timestamp endDate, DayOfWeek dayOfWeek, long medicineId) throws SQLException {
-    StringBuilder currentDay = new StringBuilder();
-    switch (dayOfWeek) {
-      case MONDAY:
-        currentDay.append("on_monday");
-        break;
-      case TUESDAY:
-        currentDay.append("on_tuesday");
-        break;
-      case WEDNESDAY:
-        currentDay.append("on_wednesday");
-        break;
-      case THURSDAY:
-        currentDay.append("on_thursday");
-        break;
-      case FRIDAY:
-        currentDay.append("on_friday");
-        break;
-      case SATURDAY:
-        currentDay.append("on_saturday");
-        break;
-      case SUNDAY:
-        currentDay.append("on_sunday");
-        break;
-      default:
-        currentDay.append("on_invalid");
-        break;
-    }
-
-    String startDateValue = new SimpleDateFormat("yyyy-MM-dd").format(startDate);
-    //    String endDateValue = new SimpleDateFormat("yyyy-MM-dd").format(endDate);
-
-    String SQL_QUERY = "SELECT ind.item_id AS individual_id, m.medicine_id, sched.schedule_id, mt.time_id, mt.hour, mt.minute " +
-        "FROM medicines m " +
-        "LEFT JOIN items ind ON (individual_id = ind.item_id) " +
-        "LEFT JOIN items drug ON (drug_id = drug.item_id) " +
-        "LEFT JOIN medicine_schedule sched ON (m.medicine_id = sched.medicine_id) " +
-        "LEFT JOIN medicine_times mt ON (sched.schedule_id = mt.schedule_id) " +
-        "WHERE " +
-        "m.archived IS NULL " +
-        (medicineId > -1 ? "AND m.medicine_id = ? " : "") +
-        "AND sched.start_date <= ? " +
-        "AND (sched.end_date IS NULL OR sched.end_date < ?) " +
-        "AND (" +
-        "every_day = TRUE " +
-        "OR " + currentDay.toString() + " = TRUE " +
-        "OR (every_x_days IS NOT NULL AND every_x_days > 0 AND MOD(DATE_PART('day', '" + startDateValue
-        + " 00:00:00'::date - sched.start_date)::NUMERIC, every_x_days) = 0) " +
-        ") " +
-        "ORDER BY mt.hour, mt.minute";
-
-    int i = 0;
-    PreparedStatement pst = connection.prepareStatement(SQL_QUERY);
-    if (medicineId > -1) {
-      pst.setLong(++i, medicineId);
-    }
-    pst.setTimestamp(++i, startDate);
-    pst.setTimestamp(++i, endDate);
-    return pst;
-  }
-
-  public static void createMedicineReminders(long medicineId, Timestamp startDate, Timestamp endDate, DayOfWeek dayOfWeek) {
+  /**
+   * Adds the reminders of the schedules for a range of days with one statement: the days are generated with
+   * generate_series and joined to the schedules and their times. Existing reminders are kept by the unique index,
+   * even when another save or job run adds them at the same time, and reminders which no longer match a schedule
+   * are removed unless they were used, so the same days can be generated again.
+   *
+   * @param minMedicineId the first medicine id of the batch
+   * @param maxMedicineId the last medicine id of the batch
+   * @param from the time on the first day to start replacing reminders from
+   * @param firstDay the first day to create reminders for
+   * @param days the number of days
+   * @return the number of reminders added, or -1 if the statement failed
+   */
+  public static int createMedicineReminders(long minMedicineId, long maxMedicineId, Timestamp from, LocalDate firstDay,
+      int days) {
     // Verify arguments
-    if (ObjectUtils.anyNull(startDate, endDate, dayOfWeek)) {
-      return;
-    }
-
-    // Load the rules to determine the daily reminders
-    List<MedicineReminderRawData> records = null;
-    try (Connection connection = DB.getConnection();
-        PreparedStatement pst = createPreparedStatementForDailyReminders(connection, startDate, endDate, dayOfWeek, medicineId);
-        ResultSet rs = pst.executeQuery()) {
-      records = new ArrayList<>();
-      while (rs.next()) {
-        records.add(buildRawDataRecord(rs));
-      }
-    } catch (SQLException se) {
-      LOG.error("SQLException: " + se.getMessage());
-      LOG.error(se);
-    }
-    if (records == null || records.isEmpty()) {
-      return;
+    if (ObjectUtils.anyNull(from, firstDay) || days < 1) {
+      return 0;
     }
-    // Use a transaction
     try (Connection connection = DB.getConnection();
         AutoStartTransaction a = new AutoStartTransaction(connection);
-        AutoRollback transaction = new AutoRollback(connection)) {
-      // Remove all reminders for the day
-      removeMedicineReminders(connection, medicineId, startDate, endDate);
-      // Add the specified reminders
-      for (MedicineReminderRawData rawData : records) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(startDate.getTime());
-        calendar.set(Calendar.HOUR_OF_DAY, rawData.getHour());
-        calendar.set(Calendar.MINUTE, rawData.getMinute());
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        Timestamp reminder = new Timestamp(calendar.getTimeInMillis());
-        SqlUtils insertValues = new SqlUtils()
-            .add("individual_id", rawData.getIndividualId())
-            .add("medicine_id", rawData.getMedicineId())
-            .add("schedule_id", rawData.getScheduleId())
-            .add("time_id", rawData.getTimeId())
-            .add("reminder_date", reminder);
-        DB.insertInto(connection, TABLE_NAME, insertValues, PRIMARY_KEY);
-      }
+        AutoRollback transaction = new AutoRollback(connection);
+        PreparedStatement pst = connection.prepareStatement(SQL_CREATE_REMINDERS)) {
+      setCreateParameters(pst, minMedicineId, maxMedicineId, from, firstDay, days);
+      int count = pst.executeUpdate();
       // Finish the transaction
       transaction.commit();
+      return count;
     } catch (SQLException se) {
       LOG.error("SQLException: " + se.getMessage());
     }
+    return -1;
   }
 
-  private static void removeMedicineReminders(Connection connection, long medicineId, Timestamp startDate, Timestamp endDate)
-      throws SQLException {
-    DB.deleteFrom(connection,
-        TABLE_NAME,
-        DB.WHERE("medicine_id = ?", medicineId)
-            .AND("reminder_date >= ?", startDate)
-            .AND("reminder_date < ?", endDate));
+  static void setCreateParameters(PreparedStatement pst, long minMedicineId, long maxMedicineId, Timestamp from,
+      LocalDate firstDay, int days) throws SQLException {
+    Timestamp firstDayStart = Timestamp.valueOf(firstDay.atStartOfDay());
+    Timestamp lastDayStart = Timestamp.valueOf(firstDay.plusDays(days - 1L).atStartOfDay());
+    Timestamp end = Timestamp.valueOf(firstDay.plusDays(days).atStartOfDay());
+    int i = 0;
+    // The reminders for each day
+    pst.setTimestamp(++i, firstDayStart);
+    pst.setTimestamp(++i, lastDayStart);
+    pst.setLong(++i, minMedicineId);
+    pst.setLong(++i, maxMedicineId);
+    pst.setTimestamp(++i, from);
+    // The reminders which are no longer scheduled
+    pst.setLong(++i, minMedicineId);
+    pst.setLong(++i, maxMedicineId);
+    pst.setTimestamp(++i, from);
+    pst.setTimestamp(++i, end);
   }
 
   public static void removeAll(Connection connection, Medicine record) throws SQLException {
@@ -299,20 +264,4 @@ public class MedicineReminderRepository {
       return null;
     }
   }
-
-  private static MedicineReminderRawData buildRawDataRecord(ResultSet rs) {
-    try {
-      MedicineReminderRawData record = new MedicineReminderRawData();
-      record.setIndividualId(rs.getLong("individual_id"));
-      record.setMedicineId(rs.getLong("medicine_id"));
-      record.setScheduleId(rs.getLong("schedule_id"));
-      record.setTimeId(rs.getLong("time_id"));
-      record.setHour(rs.getInt("hour"));
-      record.setMinute(rs.getInt("minute"));
-      return record;
-    } catch (SQLException se) {
-      LOG.error("buildRecord", se);
-      return null;
-    }
-  }
 }
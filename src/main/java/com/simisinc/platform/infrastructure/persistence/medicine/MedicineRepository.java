@@ -289,6 +289,13 @@ public class MedicineRepository {
         MedicineRepository::buildRecord);
   }
 
+  /**
+   * @return the highest medicine id which is not archived, or 0 if there are none
+   */
+  public static long findMaxActiveMedicineId() {
+    return DB.selectFunction("MAX(medicine_id)", TABLE_NAME, DB.WHERE("archived IS NULL"));
+  }
+
   public static List<Medicine> findAll(MedicineSpecification specification, DataConstraints constraints) {
     if (constraints == null) {
       constraints = new DataConstraints();
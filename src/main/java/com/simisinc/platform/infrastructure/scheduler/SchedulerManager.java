@@ -44,10 +44,12 @@ import com.simisinc.platform.infrastructure.scheduler.cms.LoadSystemFilesJob;
 import com.simisinc.platform.infrastructure.scheduler.cms.RecordWebPageHitJob;
 import com.simisinc.platform.infrastructure.scheduler.cms.WebPageHitSnapshotJob;
 import com.simisinc.platform.infrastructure.scheduler.cms.WebPageHitsCleanupJob;
+import com.simisinc.platform.infrastructure.scheduler.ecommerce.InventoryReservationsJob;
 import com.simisinc.platform.infrastructure.scheduler.ecommerce.OrderManagementProcessNewOrders;
 import com.simisinc.platform.infrastructure.scheduler.ecommerce.OrderManagementProcessShippingUpdates;
 import com.simisinc.platform.infrastructure.scheduler.login.OAuthStateCleanupJob;
 import com.simisinc.platform.infrastructure.scheduler.login.UserTokensCleanupJob;
+import com.simisinc.platform.infrastructure.scheduler.mailinglists.ProcessMailQueueJob;
 import com.simisinc.platform.infrastructure.scheduler.medicine.ProcessMedicineSchedulesJob;
 import com.simisinc.platform.infrastructure.scheduler.socialmedia.InstagramMediaSnapshotJob;
 import com.zeroio.platform.infrastructure.scheduler.cms.RefreshAllDocumentTextIndexesJob;
@@ -80,6 +82,9 @@ public class SchedulerManager {
   public static final String ORDER_MANAGEMENT_PROCESS_NEW_ORDERS_JOB = "OrderManagementProcessNewOrders";
   public static final String ORDER_MANAGEMENT_PROCESS_SHIPPING_UPDATES_JOB = "OrderManagementProcessShippingUpdates";
   public static final String PROCESS_MEDICINE_SCHEDULES_JOB = "ProcessMedicineSchedules";
+  public static final String PROCESS_MAIL_QUEUE_JOB = "ProcessMailQueue";
+  public static final String MAIL_QUEUE_CLEANUP_JOB = "MailQueueCleanup";
+  public static final String INVENTORY_COMMITS_JOB = "InventoryCommits";
   public static final String REFRESH_ALL_WEB_PAGE_TEXT_INDEXES_JOB = "RefreshAllWebPageTextIndexes";
   public static final String REFRESH_ALL_DOCUMENT_TEXT_INDEXES_JOB = "RefreshAllDocumentTextIndexes";
 
@@ -175,6 +180,9 @@ public class SchedulerManager {
         BackgroundJob.scheduleRecurrently(ORDER_MANAGEMENT_PROCESS_SHIPPING_UPDATES_JOB, Cron.hourly(),
             OrderManagementProcessShippingUpdates::execute);
         BackgroundJob.scheduleRecurrently(PROCESS_MEDICINE_SCHEDULES_JOB, Cron.daily(23, 43), ProcessMedicineSchedulesJob::execute);
+        BackgroundJob.scheduleRecurrently(PROCESS_MAIL_QUEUE_JOB, Cron.every15seconds(), ProcessMailQueueJob::execute);
+        BackgroundJob.scheduleRecurrently(MAIL_QUEUE_CLEANUP_JOB, Cron.daily(3), ProcessMailQueueJob::cleanup);
+        BackgroundJob.scheduleRecurrently(INVENTORY_COMMITS_JOB, Cron.every15seconds(), InventoryReservationsJob::applyCommits);
       }
     } catch (Exception se) {
       LOG.error("Error starting jobrunr: ", se);
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.scheduler.ecommerce;
+
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jobrunr.jobs.annotations.Job;
+
+import com.simisinc.platform.application.ecommerce.InventoryReservationCommand;
+import com.simisinc.platform.infrastructure.distributedlock.Lease;
+import com.simisinc.platform.infrastructure.distributedlock.LockManager;
+import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
+
+/**
+ * Applies the sold inventory to the products
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+public class InventoryReservationsJob {
+
+  private static Log LOG = LogFactory.getLog(InventoryReservationsJob.class);
+
+  @Job(name = "Apply sold inventory to the products")
+  public static void applyCommits() {
+    // Distributed lock, renewed while the commits are applied
+    Lease lease = LockManager.acquire(SchedulerManager.INVENTORY_COMMITS_JOB, Duration.ofMinutes(2));
+    if (lease == null) {
+      return;
+    }
+    try {
+      int count = InventoryReservationCommand.applyCommits(lease);
+      if (count > 0) {
+        LOG.debug("Inventory updated for skus: " + count);
+      }
+    } finally {
+      LockManager.release(lease);
+    }
+  }
+}
@@ -19,13 +19,15 @@ package com.simisinc.platform.infrastructure.scheduler.ecommerce;
 import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
 import com.simisinc.platform.application.cms.HtmlCommand;
 import com.simisinc.platform.application.ecommerce.TrackingServiceCommand;
-import com.simisinc.platform.application.email.EmailCommand;
 import com.simisinc.platform.application.email.EmailTemplateCommand;
+import com.simisinc.platform.application.email.EmailTemplateEngine;
+import com.simisinc.platform.application.email.MailQueueCommand;
 import com.simisinc.platform.domain.events.ecommerce.OrderSubmittedEvent;
 import com.simisinc.platform.domain.model.ecommerce.Order;
 import com.simisinc.platform.domain.model.ecommerce.OrderItem;
 import com.simisinc.platform.domain.model.ecommerce.ShippingMethod;
 import com.simisinc.platform.domain.model.ecommerce.TrackingNumber;
+import com.simisinc.platform.domain.model.mailinglists.MailQueueMessage;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderItemRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingMethodRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.TrackingNumberRepository;
@@ -37,15 +39,10 @@ import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.commons.mail.ImageHtmlEmail;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.lambdas.JobRequest;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.templatemode.TemplateMode;
-import org.thymeleaf.web.servlet.JavaxServletWebApplication;
-import org.thymeleaf.templateresolver.WebApplicationTemplateResolver;
 
 import javax.servlet.ServletContext;
 import java.util.ArrayList;
@@ -132,16 +129,6 @@ public class OrderManagementEmailJob implements JobRequest {
 
       // Prepare the email template
       ServletContext servletContext = SchedulerManager.getServletContext();
-      JavaxServletWebApplication application = JavaxServletWebApplication.buildApplication(servletContext);
-      WebApplicationTemplateResolver templateResolver = new WebApplicationTemplateResolver(application);
-      templateResolver.setTemplateMode(TemplateMode.HTML);
-      templateResolver.setPrefix("/WEB-INF/email-templates/");
-      templateResolver.setSuffix(".html");
-      templateResolver.setCacheTTLMs(Long.valueOf(3600000L));
-      templateResolver.setCacheable(true);
-
-      TemplateEngine templateEngine = new TemplateEngine();
-      templateEngine.setTemplateResolver(templateResolver);
 
       // Use the standard site context
       Context ctx = EmailTemplateCommand.createSiteContext();
@@ -235,18 +222,18 @@ public class OrderManagementEmailJob implements JobRequest {
       String siteName = LoadSitePropertyCommand.loadByName("site.name");
       if (EMAIL_TYPE_ORDER_CONFIRMATION.equals(emailType)) {
         subject = "Thanks for your order at " + siteName + "!";
-        html = templateEngine.process("ecommerce/order-confirmation.html", ctx);
+        html = EmailTemplateEngine.process(servletContext, "ecommerce/order-confirmation.html", ctx);
       } else if (EMAIL_TYPE_SHIPPING_CONFIRMATION.equals(emailType)) {
         subject = "Your " + siteName + " order is on its way!";
-        html = templateEngine.process("ecommerce/order-shipped-confirmation.html", ctx);
+        html = EmailTemplateEngine.process(servletContext, "ecommerce/order-shipped-confirmation.html", ctx);
       }
       if (EMAIL_TYPE_CANCELLATION_CONFIRMATION.equals(emailType)) {
         subject = "Your " + siteName + " order has been canceled";
-        html = templateEngine.process("ecommerce/order-cancellation-confirmation.html", ctx);
+        html = EmailTemplateEngine.process(servletContext, "ecommerce/order-cancellation-confirmation.html", ctx);
       }
       if (EMAIL_TYPE_REFUND_CONFIRMATION.equals(emailType)) {
         subject = "Your " + siteName + " order has been refunded";
-        html = templateEngine.process("ecommerce/order-refund-confirmation.html", ctx);
+        html = EmailTemplateEngine.process(servletContext, "ecommerce/order-refund-confirmation.html", ctx);
       }
 
       if (subject == null || html == null) {
@@ -257,24 +244,22 @@ public class OrderManagementEmailJob implements JobRequest {
         LOG.debug(html);
       }
 
-      // Send the email
+      // Queue the email
       String siteUrl = LoadSitePropertyCommand.loadByName("site.url");
       String ecommerceFromName = LoadSitePropertyCommand.loadByName("ecommerce.from.name");
       String ecommerceFromEmail = LoadSitePropertyCommand.loadByName("ecommerce.from.email");
 
-      ImageHtmlEmail email = EmailCommand.prepareNewEmail(siteUrl);
+      MailQueueMessage message = new MailQueueMessage();
       if (StringUtils.isNotBlank(ecommerceFromEmail)) {
-        if (StringUtils.isNotBlank(ecommerceFromName)) {
-          email.setFrom(ecommerceFromEmail, ecommerceFromName);
-        } else {
-          email.setFrom(ecommerceFromEmail);
-        }
+        message.setFromAddress(ecommerceFromEmail);
+        message.setFromName(ecommerceFromName);
       }
-      email.addTo(order.getEmail());
-      email.setSubject(subject);
-      email.setHtmlMsg(html);
-      email.setTextMsg(HtmlCommand.text(html));
-      email.send();
+      message.setToAddress(order.getEmail());
+      message.setSubject(subject);
+      message.setHtmlBody(html);
+      message.setTextBody(HtmlCommand.text(html));
+      message.setSiteUrl(siteUrl);
+      MailQueueCommand.queueMessage(message);
     }
 
     private static void addValue(Map<String, Object> map, String name, Object value) {
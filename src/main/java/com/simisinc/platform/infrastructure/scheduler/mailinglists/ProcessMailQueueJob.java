@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.scheduler.mailinglists;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jobrunr.jobs.annotations.Job;
+
+import com.simisinc.platform.application.email.MailQueueCommand;
+import com.simisinc.platform.infrastructure.distributedlock.Lease;
+import com.simisinc.platform.infrastructure.distributedlock.LockManager;
+import com.simisinc.platform.infrastructure.persistence.mailinglists.MailQueueRepository;
+import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
+
+/**
+ * Sends the emails waiting in the outbound mail queue
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+public class ProcessMailQueueJob {
+
+  private static Log LOG = LogFactory.getLog(ProcessMailQueueJob.class);
+
+  @Job(name = "Send queued emails")
+  public static void execute() {
+    // Distributed lock, one node sends so the domain rate limits apply to the whole cluster
+    Lease lease = LockManager.acquire(SchedulerManager.PROCESS_MAIL_QUEUE_JOB, Duration.ofMinutes(2));
+    if (lease == null) {
+      return;
+    }
+    try {
+      // No more batches are claimed once another node could have taken over
+      MailQueueCommand.processQueue(lease::isHeld);
+    } finally {
+      LockManager.release(lease);
+    }
+  }
+
+  @Job(name = "Remove sent emails from the mail queue")
+  public static void cleanup() {
+    // Distributed lock
+    String lock = LockManager.lock(SchedulerManager.MAIL_QUEUE_CLEANUP_JOB, Duration.ofMinutes(5));
+    if (lock == null) {
+      return;
+    }
+    Timestamp sentBefore = new Timestamp(System.currentTimeMillis() - Duration.ofDays(7).toMillis());
+    int count = MailQueueRepository.removeSentBefore(sentBefore);
+    if (count > 0) {
+      LOG.info("Removed sent emails: " + count);
+    }
+  }
+}
@@ -19,16 +19,16 @@ package com.simisinc.platform.infrastructure.scheduler.medicine;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.jobrunr.jobs.annotations.Job;
 
-import com.simisinc.platform.domain.model.medicine.Medicine;
-import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.distributedlock.LockManager;
 import com.simisinc.platform.infrastructure.persistence.medicine.MedicineReminderRepository;
 import com.simisinc.platform.infrastructure.persistence.medicine.MedicineRepository;
-import com.simisinc.platform.infrastructure.persistence.medicine.MedicineSpecification;
 import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
 
 /**
@@ -39,6 +39,11 @@ import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
  */
 public class ProcessMedicineSchedulesJob {
 
+  private static Log LOG = LogFactory.getLog(ProcessMedicineSchedulesJob.class);
+
+  // Each statement generates the reminders for this many medicine ids
+  private static final int BATCH_SIZE = 10_000;
+
   @Job(name = "Update medicine reminders based on schedules, approx 20 days out")
   public static void execute() {
 
@@ -48,37 +53,31 @@ public class ProcessMedicineSchedulesJob {
       return;
     }
 
-    // Check all available medicines to see if any need to be extended
-    MedicineSpecification medicineSpecification = new MedicineSpecification();
-    medicineSpecification.setMinMedicineId(1);
-    medicineSpecification.setArchivedOnly(false);
-
-    // Batch a few at a time
-    DataConstraints constraints = new DataConstraints();
-    constraints.setPageSize(10);
-    constraints.setColumnToSortBy("medicine_id");
-
-    // Check the available medicine list...
-    List<Medicine> medicineList = null;
-    while (!(medicineList = MedicineRepository.findAll(medicineSpecification, constraints)).isEmpty()) {
-      long maxMedicineId = medicineSpecification.getMinMedicineId();
-      for (Medicine medicine : medicineList) {
-        maxMedicineId = medicine.getId();
-        // Update the reminders 20 days out
-        LocalDate now = LocalDate.now();
-        for (int i = 20; i < 31; i++) {
-          LocalDate startDate = now.plusDays(i);
-          LocalDate endDate = startDate.plusDays(1);
-          // Extend the medicine schedule...
-          MedicineReminderRepository.createMedicineReminders(
-              medicine.getId(),
-              Timestamp.valueOf(startDate.atStartOfDay()),
-              Timestamp.valueOf(endDate.atStartOfDay()),
-              startDate.getDayOfWeek());
-        }
+    // Update the reminders 20 to 30 days out, for batches of medicines
+    LocalDate firstDay = LocalDate.now().plusDays(20);
+    Timestamp from = Timestamp.valueOf(firstDay.atStartOfDay());
+    long count = 0;
+    for (long[] batch : createBatches(MedicineRepository.findMaxActiveMedicineId(), BATCH_SIZE)) {
+      int added = MedicineReminderRepository.createMedicineReminders(batch[0], batch[1], from, firstDay, 11);
+      if (added == -1) {
+        LOG.error("Medicine reminders could not be created starting with medicine id: " + batch[0]);
+        return;
       }
-      // Start at the next number
-      medicineSpecification.setMinMedicineId(maxMedicineId + 1);
+      count += added;
+    }
+    if (count > 0) {
+      LOG.debug("Medicine reminders added: " + count);
+    }
+  }
+
+  /**
+   * @return the first and last medicine id of each batch, covering the ids up to the max
+   */
+  static List<long[]> createBatches(long maxMedicineId, int batchSize) {
+    List<long[]> batches = new ArrayList<>();
+    for (long minMedicineId = 1; minMedicineId <= maxMedicineId; minMedicineId += batchSize) {
+      batches.add(new long[] { minMedicineId, minMedicineId + batchSize - 1 });
     }
+    return batches;
   }
 }
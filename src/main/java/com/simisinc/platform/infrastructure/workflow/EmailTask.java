@@ -21,21 +21,18 @@ import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
 import com.simisinc.platform.application.admin.SendCommunityManagerEmailCommand;
 import com.simisinc.platform.application.cms.HtmlCommand;
 import com.simisinc.platform.application.cms.UrlCommand;
-import com.simisinc.platform.application.email.EmailCommand;
 import com.simisinc.platform.application.email.EmailTemplateCommand;
+import com.simisinc.platform.application.email.EmailTemplateEngine;
+import com.simisinc.platform.application.email.MailQueueCommand;
 import com.simisinc.platform.application.workflow.WorkflowCommand;
 import com.simisinc.platform.domain.model.User;
+import com.simisinc.platform.domain.model.mailinglists.MailQueueMessage;
 import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.commons.mail.ImageHtmlEmail;
 import org.jeasy.flows.work.*;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.templatemode.TemplateMode;
-import org.thymeleaf.templateresolver.WebApplicationTemplateResolver;
-import org.thymeleaf.web.servlet.JavaxServletWebApplication;
 
 import javax.servlet.ServletContext;
 import java.util.ArrayList;
@@ -87,17 +84,6 @@ public class EmailTask implements Work {
         return new DefaultWorkReport(WorkStatus.FAILED, workContext);
       }
 
-      JavaxServletWebApplication application = JavaxServletWebApplication.buildApplication(servletContext);
-      WebApplicationTemplateResolver templateResolver = new WebApplicationTemplateResolver(application);
-      templateResolver.setTemplateMode(TemplateMode.HTML);
-      templateResolver.setPrefix("/WEB-INF/email-templates/");
-      templateResolver.setSuffix(".html");
-      templateResolver.setCacheTTLMs(Long.valueOf(3600000L));
-      templateResolver.setCacheable(true);
-
-      TemplateEngine templateEngine = new TemplateEngine();
-      templateEngine.setTemplateResolver(templateResolver);
-
       // Values for the email
       String siteUrl = LoadSitePropertyCommand.loadByName("site.url");
       String ecommerceFromName = LoadSitePropertyCommand.loadByName("ecommerce.from.name");
@@ -125,7 +111,7 @@ public class EmailTask implements Work {
       }
 
       // Process and validate the HTML message
-      String html = templateEngine.process(template, ctx);
+      String html = EmailTemplateEngine.process(servletContext, template, ctx);
       if (StringUtils.isBlank(html)) {
         LOG.error("Aborting email - Email Template not processed: " + template);
         return new DefaultWorkReport(WorkStatus.FAILED, workContext);
@@ -157,48 +143,45 @@ public class EmailTask implements Work {
         return new DefaultWorkReport(WorkStatus.FAILED, workContext);
       }
 
-      // Prepare the email
-      try {
-
-        // Site info/from
-        ImageHtmlEmail email = EmailCommand.prepareNewEmail(siteUrl);
-        if (StringUtils.isNotBlank(ecommerceFromEmail)) {
-          if (StringUtils.isNotBlank(ecommerceFromName)) {
-            email.setFrom(ecommerceFromEmail, ecommerceFromName);
-          } else {
-            email.setFrom(ecommerceFromEmail);
-          }
+      // Each recipient gets their own message from the mail queue
+      String text = HtmlCommand.text(html);
+      int count = 0;
+      for (User user : toUserList) {
+        if (MailQueueCommand.queueMessage(createMessage(user.getEmail(), user.getFullName(), subject, html, text,
+            siteUrl, ecommerceFromEmail, ecommerceFromName))) {
+          count++;
         }
-
-        // Determine who will receive the email
-        for (User user : toUserList) {
-          email.addTo(user.getEmail(), user.getFullName());
-        }
-        if (StringUtils.isNotBlank(toEmail)) {
-          String[] listOfEmails = toEmail.split(",");
-          for (String thisEmail : listOfEmails) {
-            email.addTo(thisEmail.trim());
+      }
+      if (StringUtils.isNotBlank(toEmail)) {
+        String[] listOfEmails = toEmail.split(",");
+        for (String thisEmail : listOfEmails) {
+          if (MailQueueCommand.queueMessage(createMessage(thisEmail.trim(), null, subject, html, text, siteUrl,
+              ecommerceFromEmail, ecommerceFromName))) {
+            count++;
           }
         }
-
-        // Set the content
-        email.setSubject(subject);
-        email.setHtmlMsg(html);
-        email.setTextMsg(HtmlCommand.text(html));
-
-        // Send the email
-        String messageId = email.send();
-
-        // @todo Store in an email log
-        LOG.info("The message " + template + " was sent/queued: " + messageId);
-
-      } catch (Exception e) {
-        LOG.error("sendConfirmationToUser could not send mail", e);
       }
+      LOG.info("The message " + template + " was queued for recipients: " + count);
       return new DefaultWorkReport(WorkStatus.COMPLETED, workContext);
     } catch (Exception e) {
       LOG.error("Email", e);
     }
     return new DefaultWorkReport(WorkStatus.FAILED, workContext);
   }
+
+  private static MailQueueMessage createMessage(String toAddress, String toName, String subject, String html,
+      String text, String siteUrl, String fromAddress, String fromName) {
+    MailQueueMessage message = new MailQueueMessage();
+    message.setToAddress(toAddress);
+    message.setToName(toName);
+    message.setSubject(subject);
+    message.setHtmlBody(html);
+    message.setTextBody(text);
+    message.setSiteUrl(siteUrl);
+    if (StringUtils.isNotBlank(fromAddress)) {
+      message.setFromAddress(fromAddress);
+      message.setFromName(fromName);
+    }
+    return message;
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.presentation.controller;
+
+import java.util.List;
+
+/**
+ * The roles and groups of a web component compiled into bitmasks, so that access checks do not
+ * compare strings for each render
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 8:30 AM
+ */
+public final class AccessMask {
+
+  public static final AccessMask ALLOW_ALL = new AccessMask(false, false, false, AccessRegistry.EMPTY, false, AccessRegistry.EMPTY);
+
+  // Any of these roles
+  private final boolean roleRestricted;
+  private final boolean allowsGuest;
+  private final boolean allowsUsers;
+  private final long[] roleBits;
+
+  // And any of these groups
+  private final boolean groupRestricted;
+  private final long[] groupBits;
+
+  private AccessMask(boolean roleRestricted, boolean allowsGuest, boolean allowsUsers, long[] roleBits,
+      boolean groupRestricted, long[] groupBits) {
+    this.roleRestricted = roleRestricted;
+    this.allowsGuest = allowsGuest;
+    this.allowsUsers = allowsUsers;
+    this.roleBits = roleBits;
+    this.groupRestricted = groupRestricted;
+    this.groupBits = groupBits;
+  }
+
+  public static AccessMask compile(List<String> roles, List<String> groups) {
+    boolean roleRestricted = roles != null && !roles.isEmpty();
+    boolean groupRestricted = groups != null && !groups.isEmpty();
+    if (!roleRestricted && !groupRestricted) {
+      return ALLOW_ALL;
+    }
+    boolean allowsGuest = roleRestricted && roles.contains("guest");
+    boolean allowsUsers = roleRestricted && roles.contains("users");
+    return new AccessMask(roleRestricted, allowsGuest, allowsUsers, AccessRegistry.roleBits(roles),
+        groupRestricted, AccessRegistry.groupBits(groups));
+  }
+
+  public boolean isRestricted() {
+    return roleRestricted || groupRestricted;
+  }
+
+  public boolean allows(UserSession userSession) {
+    boolean loggedIn = userSession.isLoggedIn();
+    boolean roleAllowed = !roleRestricted
+        | (allowsGuest & !loggedIn)
+        | (allowsUsers & loggedIn)
+        | AccessRegistry.intersects(roleBits, userSession.getRoleBits());
+    boolean groupAllowed = !groupRestricted
+        | AccessRegistry.intersects(groupBits, userSession.getGroupBits());
+    return roleAllowed & groupAllowed;
+  }
+}
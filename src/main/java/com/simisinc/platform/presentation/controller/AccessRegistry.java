@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.presentation.controller;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Interns role codes and group ids into dense integer ids so access checks can use bitsets;
+ * the ids are only meaningful within this JVM and must never be serialized
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 8:30 AM
+ */
+public class AccessRegistry {
+
+  public static final long[] EMPTY = new long[0];
+
+  private static final Map<String, Integer> ROLE_IDS = new ConcurrentHashMap<>();
+  private static final Map<String, Integer> GROUP_IDS = new ConcurrentHashMap<>();
+  private static final AtomicInteger NEXT_ROLE_ID = new AtomicInteger();
+  private static final AtomicInteger NEXT_GROUP_ID = new AtomicInteger();
+
+  private AccessRegistry() {
+  }
+
+  /** Returns the id for the role code, registering it if needed */
+  public static int roleId(String code) {
+    return ROLE_IDS.computeIfAbsent(code, k -> NEXT_ROLE_ID.getAndIncrement());
+  }
+
+  /** Returns the id for the group value, registering it if needed */
+  public static int groupId(String value) {
+    return GROUP_IDS.computeIfAbsent(value, k -> NEXT_GROUP_ID.getAndIncrement());
+  }
+
+  /** Returns the id for the role code, or -1 when it was never registered */
+  public static int findRoleId(String code) {
+    if (StringUtils.isBlank(code)) {
+      return -1;
+    }
+    Integer id = ROLE_IDS.get(code);
+    return id != null ? id : -1;
+  }
+
+  /** Returns the id for the group value, or -1 when it was never registered */
+  public static int findGroupId(String value) {
+    if (StringUtils.isBlank(value)) {
+      return -1;
+    }
+    Integer id = GROUP_IDS.get(value);
+    return id != null ? id : -1;
+  }
+
+  /** Builds an immutable bitset from the role codes, blank values never match and are skipped */
+  public static long[] roleBits(Collection<String> codes) {
+    long[] bits = EMPTY;
+    if (codes != null) {
+      for (String code : codes) {
+        if (StringUtils.isNotBlank(code)) {
+          bits = set(bits, roleId(code));
+        }
+      }
+    }
+    return bits;
+  }
+
+  /** Builds an immutable bitset from the group values, blank values never match and are skipped */
+  public static long[] groupBits(Collection<String> values) {
+    long[] bits = EMPTY;
+    if (values != null) {
+      for (String value : values) {
+        if (StringUtils.isNotBlank(value)) {
+          bits = set(bits, groupId(value));
+        }
+      }
+    }
+    return bits;
+  }
+
+  /** Returns a copy of the bitset with the id set, growing it when needed */
+  static long[] set(long[] bits, int id) {
+    int word = id >>> 6;
+    long[] result = new long[Math.max(bits.length, word + 1)];
+    System.arraycopy(bits, 0, result, 0, bits.length);
+    result[word] |= 1L << id;
+    return result;
+  }
+
+  public static boolean contains(long[] bits, int id) {
+    if (id < 0) {
+      return false;
+    }
+    int word = id >>> 6;
+    return word < bits.length && (bits[word] & (1L << id)) != 0;
+  }
+
+  public static boolean intersects(long[] a, long[] b) {
+    int length = Math.min(a.length, b.length);
+    long result = 0;
+    for (int i = 0; i < length; i++) {
+      result |= a[i] & b[i];
+    }
+    return result != 0;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.presentation.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
+import com.simisinc.platform.application.calendar.CalendarIcsCommand;
+import com.simisinc.platform.domain.model.cms.Calendar;
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.cache.CalendarEventCache;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
+import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventRepository;
+import com.simisinc.platform.infrastructure.persistence.cms.CalendarRepository;
+
+/**
+ * Serves the published events of the enabled calendars as an iCalendar subscription, /calendar.ics or
+ * /calendar.ics?calendar=uniqueId; unchanged calendars return 304 using the ETag
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+public class CalendarIcsServlet extends HttpServlet {
+
+  private static final long serialVersionUID = -4218835601276541032L;
+  private static Log LOG = LogFactory.getLog(CalendarIcsServlet.class);
+
+  // Past events which are still included
+  private static final int DAYS_OF_PAST_EVENTS = 365;
+
+  public void init(ServletConfig config) throws ServletException {
+    LOG.info("CalendarIcsServlet starting up...");
+  }
+
+  public void destroy() {
+
+  }
+
+  public void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+
+    // Determine if the site is public
+    boolean siteIsOnline = LoadSitePropertyCommand.loadByNameAsBoolean("site.online");
+    if (!siteIsOnline) {
+      LOG.debug("Denying request for calendar.ics, site.online is false");
+      response.setStatus(404);
+      return;
+    }
+
+    // Use the cached index, or load it for this request
+    CalendarEventIndex index = CalendarEventCache.getIndex();
+    if (index == null) {
+      index = CalendarEventIndex.create(-1L, CalendarRepository.findAll(), CalendarEventRepository.findAll());
+    }
+
+    // Determine the calendar(s)
+    String calendarUniqueId = StringUtils.trimToNull(request.getParameter("calendar"));
+    Calendar calendar = null;
+    if (calendarUniqueId != null) {
+      calendar = index.getCalendarByUniqueId(calendarUniqueId);
+      if (calendar == null || !calendar.getEnabled()) {
+        response.setStatus(404);
+        return;
+      }
+    }
+
+    // The feed changes daily as past events drop off
+    ZoneId zoneId = ZoneId.systemDefault();
+    LocalDate firstDay = LocalDate.now(zoneId).minusDays(DAYS_OF_PAST_EVENTS);
+    long rangeStart = firstDay.atStartOfDay(zoneId).toInstant().toEpochMilli();
+    final CalendarEventIndex feedIndex = index;
+    final Calendar feedCalendar = calendar;
+    String siteUrl = LoadSitePropertyCommand.loadByName("site.url");
+    String feedKey = "ics:" + (calendar != null ? calendar.getId() : CalendarEventIndex.ALL_CALENDARS) + ":" + firstDay;
+    String ics = CalendarEventCache.getFeed(index, feedKey, () -> {
+      long calendarId = feedCalendar != null ? feedCalendar.getId() : CalendarEventIndex.ALL_CALENDARS;
+      List<CalendarEvent> calendarEventList = new ArrayList<>();
+      for (CalendarEvent calendarEvent : feedIndex.findOverlapping(calendarId, rangeStart, Long.MAX_VALUE)) {
+        Calendar eventCalendar = feedIndex.getCalendar(calendarEvent.getCalendarId());
+        if (eventCalendar != null && eventCalendar.getEnabled()) {
+          calendarEventList.add(calendarEvent);
+        }
+      }
+      String calendarName = feedCalendar != null ? feedCalendar.getName()
+          : LoadSitePropertyCommand.loadByName("site.name");
+      return CalendarIcsCommand.createIcs(calendarName, calendarEventList, siteUrl, zoneId);
+    });
+
+    // Check for an etag header and return 304 if possible
+    String etag = "\"" + DigestUtils.md5Hex(ics) + "\"";
+    response.setHeader("ETag", etag);
+    response.setHeader("Cache-Control", "public, max-age=900");
+    String ifNoneMatch = request.getHeader("If-None-Match");
+    if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+      LOG.debug("Calendar not modified, use cache");
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    // Send the content
+    byte[] bytes = ics.getBytes(StandardCharsets.UTF_8);
+    response.setHeader("Content-Type", "text/calendar; charset=utf-8");
+    response.setContentLength(bytes.length);
+    try (OutputStream os = response.getOutputStream()) {
+      os.write(bytes);
+      os.flush();
+    }
+  }
+}
@@ -37,6 +37,7 @@ public class Column implements Serializable {
   private List<Widget> widgets = new ArrayList<Widget>();
   private List<String> roles = new ArrayList<String>();
   private List<String> groups = new ArrayList<String>();
+  private transient AccessMask accessMask = null;
 
   // Output properties
   private String htmlId = null;
@@ -110,6 +111,7 @@ public class Column implements Serializable {
 
   public void setRoles(List<String> roles) {
     this.roles = roles;
+    this.accessMask = null;
   }
 
   public List<String> getGroups() {
@@ -118,5 +120,15 @@ public class Column implements Serializable {
 
   public void setGroups(List<String> groups) {
     this.groups = groups;
+    this.accessMask = null;
+  }
+
+  public AccessMask getAccessMask() {
+    AccessMask mask = accessMask;
+    if (mask == null) {
+      mask = AccessMask.compile(roles, groups);
+      accessMask = mask;
+    }
+    return mask;
   }
 }
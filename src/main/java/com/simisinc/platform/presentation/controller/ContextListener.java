@@ -25,10 +25,12 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
+import javax.servlet.ServletContext;
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 import javax.servlet.jsp.jstl.core.Config;
@@ -40,6 +42,8 @@ import org.apache.commons.logging.LogFactory;
 import com.simisinc.platform.application.admin.DatabaseCommand;
 import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
 import com.simisinc.platform.application.cms.LoadStylesheetCommand;
+import com.simisinc.platform.application.ecommerce.InventoryReservationCommand;
+import com.simisinc.platform.application.email.MailQueueCommand;
 import com.simisinc.platform.application.filesystem.FileSystemCommand;
 import com.simisinc.platform.application.maps.GeoIPCommand;
 import com.simisinc.platform.domain.model.admin.PermissionGroup;
@@ -47,8 +51,10 @@ import com.simisinc.platform.domain.model.cms.Content;
 import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.ConnectionPool;
 import com.simisinc.platform.infrastructure.database.DatabaseProperties;
+import com.simisinc.platform.infrastructure.distributedlock.LockManager;
 import com.simisinc.platform.infrastructure.distributedmessaging.MessagingManager;
 import com.simisinc.platform.infrastructure.instance.InstanceManager;
+import com.simisinc.platform.infrastructure.instance.StartupGraph;
 import com.simisinc.platform.infrastructure.persistence.admin.PermissionGroupRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.ContentRepository;
 import com.simisinc.platform.infrastructure.scheduler.SchedulerManager;
@@ -69,9 +75,12 @@ public class ContextListener implements ServletContextListener {
 
   private static Log LOG = LogFactory.getLog(ContextListener.class);
 
+  private static final int STARTUP_THREADS = 4;
+
   @Override
   public void contextInitialized(ServletContextEvent servletContextEvent) {
 
+    long startTime = System.currentTimeMillis();
     LOG.info(ApplicationInfo.PRODUCT_NAME + " (" + ApplicationInfo.VERSION + ")");
     LOG.info("Learn more here: " + ApplicationInfo.PRODUCT_URL);
 
@@ -160,44 +169,56 @@ public class ContextListener implements ServletContextListener {
     ZonedDateTime displayDateTime = timeStamp.atZone(ZoneId.of(timezone));
     LOG.info("Display Time: " + displayDateTime);
 
-    // Start up the GeoIP
-    GeoIPCommand.setConfig(servletContextEvent.getServletContext());
-
-    // Load the filesystem lists (these are also scheduled in SchedulerManager)
-    LoadSystemFilesJob.execute();
-
-    // Determine if the global stylesheet file exists
-    LoadStylesheetCommand.init();
-
-    // Preload all the content
-    List<Content> contentList = ContentRepository.findAll();
-    if (contentList != null) {
-      ArrayList<String> contentUniqueIdList = new ArrayList<>();
-      for (Content content : contentList) {
-        contentUniqueIdList.add(content.getUniqueId());
-      }
-      LOG.info("Load the content cache: " + contentUniqueIdList.size() + " entries");
-      CacheManager.getLoadingCache(CONTENT_UNIQUE_ID_CACHE).getAll(contentUniqueIdList);
+    // Start the independent phases in parallel, requests are accepted once the critical phases are finished
+    ServletContext servletContext = servletContextEvent.getServletContext();
+    StartupGraph startupGraph = new StartupGraph()
+        .add("geoip", true, () -> GeoIPCommand.setConfig(servletContext))
+        // Load the filesystem lists (these are also scheduled in SchedulerManager)
+        .add("system-files", true, LoadSystemFilesJob::execute)
+        // Determine if the global stylesheet file exists
+        .add("stylesheet", true, LoadStylesheetCommand::init)
+        .add("workflows", true, () -> WorkflowManager.startup(servletContext, "/WEB-INF/workflows"))
+        .add("permissions", true, () -> loadPermissions(servletContext))
+        .add("scheduler", true, () -> SchedulerManager.startup(servletContext), "system-files", "workflows",
+            "permissions")
+        // Content loads when first used, so this can finish after startup
+        .add("content-cache", false, ContextListener::preloadContent);
+    try {
+      startupGraph.start(STARTUP_THREADS).join();
+    } catch (Exception e) {
+      LOG.error("Exiting, a startup phase failed so web requests will not be allowed!");
+      servletContext.setAttribute(ContextConstants.STARTUP_FAILED, "startup");
+      return;
     }
+    LOG.info("Ready for requests after " + (System.currentTimeMillis() - startTime) + "ms: "
+        + startupGraph.getTimings());
 
-    // Initialize the workflow engine
-    LOG.info("Add the workflows...");
-    WorkflowManager.startup(servletContextEvent.getServletContext(), "/WEB-INF/workflows");
+    // Give the go ahead
+    servletContext.setAttribute(ContextConstants.STARTUP_SUCCESSFUL, "true");
+  }
 
-    // Initialize the permission engine (XML config + DB overrides merged)
-    LOG.info("Initialize the permission engine...");
-    List<PermissionGroup> permissionGroups = PermissionLoader.load(servletContextEvent.getServletContext());
+  /** Initialize the permission engine (XML config + DB overrides merged) */
+  private static void loadPermissions(ServletContext servletContext) {
+    List<PermissionGroup> permissionGroups = PermissionLoader.load(servletContext);
     PermissionLoader.mergeDbOverrides(permissionGroups,
         PermissionGroupRepository.findAllPolicies(),
         PermissionGroupRepository.findAllMembers());
     Permission.load(permissionGroups);
+  }
 
-    // Startup the distributed job scheduler
-    LOG.info("Startup the distributed job scheduler...");
-    SchedulerManager.startup(servletContextEvent.getServletContext());
-
-    // Give the go ahead
-    servletContextEvent.getServletContext().setAttribute(ContextConstants.STARTUP_SUCCESSFUL, "true");
+  /** Adds all the content to the cache using a single query */
+  private static void preloadContent() {
+    int count = CacheManager.preload(CONTENT_UNIQUE_ID_CACHE, () -> {
+      List<Content> contentList = ContentRepository.findAll();
+      Map<String, Content> contentMap = new HashMap<>();
+      if (contentList != null) {
+        for (Content content : contentList) {
+          contentMap.put(content.getUniqueId(), content);
+        }
+      }
+      return contentMap;
+    });
+    LOG.info("Loaded the content cache: " + count + " entries");
   }
 
   @Override
@@ -207,9 +228,21 @@ public class ContextListener implements ServletContextListener {
     LOG.info("Shutting down the distributed job scheduler...");
     SchedulerManager.shutdown();
 
+    LOG.info("Closing the mail server connections...");
+    MailQueueCommand.shutdown();
+
+    LOG.info("Returning unused inventory reservations...");
+    InventoryReservationCommand.shutdown();
+
+    LOG.info("Releasing the distributed locks...");
+    LockManager.shutdown();
+
     LOG.info("Shutting down the distributed message manager...");
     MessagingManager.shutdown();
 
+    LOG.info("Shutting down the cache manager...");
+    CacheManager.shutdown();
+
     LOG.info("Shutting down the database connection pool...");
     ConnectionPool.shutdown();
 
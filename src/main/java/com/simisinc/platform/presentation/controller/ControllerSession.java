@@ -69,6 +69,10 @@ public class ControllerSession implements Serializable {
     this.widgetData.remove(widgetUniqueId + parameter);
   }
 
+  public boolean isEmpty() {
+    return this.widgetData.isEmpty();
+  }
+
   public void clearAllWidgetData() {
     this.widgetData.clear();
   }
@@ -41,6 +41,7 @@ public class Page implements Serializable {
   private List<Section> sections = new ArrayList<Section>();
   private List<String> roles = new ArrayList<String>();
   private List<String> groups = new ArrayList<String>();
+  private transient AccessMask accessMask = null;
 
   public Page() {
   }
@@ -97,6 +98,7 @@ public class Page implements Serializable {
 
   public void setRoles(List<String> roles) {
     this.roles = roles;
+    this.accessMask = null;
   }
 
   public List<String> getGroups() {
@@ -105,6 +107,16 @@ public class Page implements Serializable {
 
   public void setGroups(List<String> groups) {
     this.groups = groups;
+    this.accessMask = null;
+  }
+
+  public AccessMask getAccessMask() {
+    AccessMask mask = accessMask;
+    if (mask == null) {
+      mask = AccessMask.compile(roles, groups);
+      accessMask = mask;
+    }
+    return mask;
   }
 
   public String getCollectionUniqueId() {
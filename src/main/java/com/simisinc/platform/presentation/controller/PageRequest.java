@@ -27,6 +27,7 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.time.DateUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -179,6 +180,19 @@ public class PageRequest implements Serializable {
     return Collections.enumeration(headers.get(name));
   }
 
+  /**
+   * @param acceptEncodingValues the Accept-Encoding header values, can be null
+   * @return true when the client accepts a gzip response
+   */
+  public static boolean acceptsGzip(Enumeration<String> acceptEncodingValues) {
+    while (acceptEncodingValues != null && acceptEncodingValues.hasMoreElements()) {
+      if (Strings.CI.contains(acceptEncodingValues.nextElement(), "gzip")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public Enumeration<String> getHeaderNames() {
     return Collections.enumeration(headers.keySet());
   }
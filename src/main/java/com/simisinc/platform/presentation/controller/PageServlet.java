@@ -32,15 +32,18 @@ import static com.simisinc.platform.presentation.controller.RequestConstants.REN
 import static com.simisinc.platform.presentation.controller.RequestConstants.SHOW_MAIN_MENU;
 import static javax.servlet.http.HttpServletResponse.SC_MOVED_PERMANENTLY;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Timestamp;
 import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletConfig;
@@ -75,6 +78,8 @@ import com.simisinc.platform.domain.model.cms.WebPage;
 import com.simisinc.platform.domain.model.items.Category;
 import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.domain.model.items.Item;
+import com.simisinc.platform.infrastructure.cache.PageOutput;
+import com.simisinc.platform.infrastructure.cache.PageOutputCache;
 import com.simisinc.platform.presentation.widgets.cms.WebContainerContext;
 import com.zeroio.platform.application.cms.RenderMainMenuCommand;
 import com.zeroio.platform.domain.model.Region;
@@ -325,7 +330,7 @@ public class PageServlet extends HttpServlet {
     response.setHeader("X-Content-Type-Options", "nosniff");
     response.setHeader("X-XSS-Protection", "1; mode=block");
     response.setHeader("Content-Security-Policy", "base-uri 'self'; object-src 'none'; frame-ancestors 'self'");
-    if ("true".equals(LoadSitePropertyCommand.loadByName("system.ssl"))) {
+    if (LoadSitePropertyCommand.loadByNameAsBoolean("system.ssl")) {
       response.setHeader("Strict-Transport-Security", "max-age=31536000");
     }
     try {
@@ -473,6 +478,20 @@ public class PageServlet extends HttpServlet {
         return;
       }
 
+      // Visitors can be shown a previously rendered page (the hit is already recorded)
+      String pageOutputKey = null;
+      if (allowsPageOutputCache(request, pageRequest, pageRef, userSession, controllerSession)) {
+        pageOutputKey = buildPageOutputKey(request, pageRequest, userSession);
+        PageOutput pageOutput = PageOutputCache.get(pageOutputKey);
+        if (pageOutput != null) {
+          LOG.debug("Using cached page output: " + pageOutputKey);
+          writePageOutput(request, response, pageOutput, userSession);
+          SavePerformanceMetricCommand.queueMetric("page", response.getStatus(),
+              System.currentTimeMillis() - startRequestTime);
+          return;
+        }
+      }
+
       // Determine the system and user data to be used by local and remote widgets...
       Map<String, String> coreData = new HashMap<>();
       coreData.put("userId", String.valueOf(userSession.getUserId()));
@@ -802,7 +821,16 @@ public class PageServlet extends HttpServlet {
           }
           request.setAttribute(PAGE_BODY, "/WEB-INF/jsp/layout.jsp");
         }
-        request.getServletContext().getRequestDispatcher("/WEB-INF/jsp/main.jsp").forward(request, response);
+        if (pageOutputKey != null && prepareHeaderFooter && webContainerContext.isCacheable()) {
+          // Capture the page for the next visitor
+          webContainerContext.addCacheDependency(PageOutputCache.webPageKey(pageRequest.getPagePath()));
+          if (thisCollection != null) {
+            webContainerContext.addCacheDependency(PageOutputCache.collectionKey(thisCollection.getUniqueId()));
+          }
+          renderPageOutput(request, response, pageOutputKey, webContainerContext, userSession);
+        } else {
+          request.getServletContext().getRequestDispatcher("/WEB-INF/jsp/main.jsp").forward(request, response);
+        }
       }
       LOG.debug("-----------------------------------------------------------------------");
 
@@ -810,4 +838,88 @@ public class PageServlet extends HttpServlet {
       LOG.error("Page error caught: " + e.getMessage(), e);
     }
   }
+
+  /**
+   * Determines if the page request is the same for any visitor, so the output can be shared
+   */
+  private static boolean allowsPageOutputCache(HttpServletRequest request, PageRequest pageRequest, Page pageRef,
+      UserSession userSession, ControllerSession controllerSession) {
+    if (!PageOutputCache.isEnabled() || userSession.isLoggedIn()) {
+      return false;
+    }
+    if (!"GET".equals(request.getMethod()) ||
+        request.getParameter("widget") != null ||
+        request.getParameter("action") != null ||
+        request.getParameter("command") != null) {
+      return false;
+    }
+    // Messages and values left for the widgets by a previous request
+    if (controllerSession == null || !controllerSession.isEmpty()) {
+      return false;
+    }
+    if (request.getSession().getAttribute(SessionConstants.X_VIEW_MODE) != null ||
+        "iframe".equals(request.getHeader("Sec-Fetch-Dest")) ||
+        "XMLHttpRequest".equals(request.getHeader("X-Requested-With"))) {
+      return false;
+    }
+    if (pageRef.checkForItemUniqueId() || pageRequest.getPagePath().startsWith("/admin")) {
+      return false;
+    }
+    return LoadSitePropertyCommand.loadByNameAsBoolean("system.cache.pages");
+  }
+
+  /** The page path, query parameters, theme and visitor region determine the output */
+  private static String buildPageOutputKey(HttpServletRequest request, PageRequest pageRequest, UserSession userSession) {
+    StringBuilder sb = new StringBuilder(pageRequest.getPagePath());
+    Map<String, String[]> parameterMap = new TreeMap<>(request.getParameterMap());
+    char separator = '?';
+    for (Map.Entry<String, String[]> parameter : parameterMap.entrySet()) {
+      for (String value : parameter.getValue()) {
+        sb.append(separator).append(parameter.getKey()).append('=').append(value);
+        separator = '&';
+      }
+    }
+    sb.append("|theme=").append(LoadSitePropertyCommand.loadAsMap("theme").hashCode());
+    sb.append("|region=").append(StringUtils.defaultString(userSession.getSelectedRegionCode()))
+        .append(userSession.getShowRegionSelection() ? "" : "!");
+    return sb.toString();
+  }
+
+  /** Renders the page layout into a buffer, caches it, then sends it */
+  private static void renderPageOutput(HttpServletRequest request, HttpServletResponse response, String pageOutputKey,
+      WebContainerContext webContainerContext, UserSession userSession) throws ServletException, IOException {
+    WidgetResponseWrapper responseWrapper = new WidgetResponseWrapper(response);
+    request.getServletContext().getRequestDispatcher("/WEB-INF/jsp/main.jsp").include(request, responseWrapper);
+    String html = responseWrapper.getOutputAndClose();
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (String name : response.getHeaderNames()) {
+      if (!"Set-Cookie".equalsIgnoreCase(name) && !"Content-Length".equalsIgnoreCase(name) &&
+          !"Content-Encoding".equalsIgnoreCase(name) && !"Date".equalsIgnoreCase(name)) {
+        headers.put(name, response.getHeader(name));
+      }
+    }
+    PageOutput pageOutput = PageOutput.create(html, userSession.getFormToken(), headers,
+        webContainerContext.getCacheDependencies());
+    if (response.getStatus() == HttpServletResponse.SC_OK) {
+      PageOutputCache.put(pageOutputKey, pageOutput);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Cached page output: " + pageOutputKey + " " + webContainerContext.getCacheDependencies());
+      }
+    }
+    writePageOutput(request, response, pageOutput, userSession);
+  }
+
+  private static void writePageOutput(HttpServletRequest request, HttpServletResponse response, PageOutput pageOutput,
+      UserSession userSession) throws IOException {
+    for (Map.Entry<String, String> header : pageOutput.getHeaders().entrySet()) {
+      response.setHeader(header.getKey(), header.getValue());
+    }
+    response.setHeader("Vary", "Accept-Encoding");
+    if (PageRequest.acceptsGzip(request.getHeaders("Accept-Encoding"))) {
+      response.setHeader("Content-Encoding", "gzip");
+      pageOutput.writeGzipTo(response.getOutputStream(), userSession.getFormToken());
+    } else {
+      pageOutput.writeTo(response.getOutputStream(), userSession.getFormToken());
+    }
+  }
 }
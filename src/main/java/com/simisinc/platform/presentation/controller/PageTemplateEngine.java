@@ -56,6 +56,7 @@ import com.simisinc.platform.application.cms.LoadTableOfContentsCommand;
 import com.simisinc.platform.application.cms.WebContainerLayoutCommand;
 import com.simisinc.platform.application.cms.WebPackageCommand;
 import com.simisinc.platform.application.cms.WebPageXmlLayoutCommand;
+import com.simisinc.platform.application.filesystem.FileChangeWatcher;
 import com.simisinc.platform.application.items.LoadCategoryCommand;
 import com.simisinc.platform.application.items.LoadCollectionCommand;
 import com.simisinc.platform.application.items.LoadItemCommand;
@@ -85,15 +86,31 @@ public class PageTemplateEngine {
   // Template renderer
   private static TemplateEngine templateEngine = new TemplateEngine();
 
+  // Evicts the cached templates when the template files change
+  private static FileChangeWatcher fileChangeWatcher = null;
+  private static final long CHECK_INTERVAL_MILLIS = 5_000L;
+  // CMS_TEMPLATE_CACHE=false re-reads the templates on each use, for development
+  private static final boolean CACHEABLE = !"false".equals(System.getenv("CMS_TEMPLATE_CACHE"));
+
   // Widget Cache
   private static Map<String, Object> widgetInstances = new HashMap<>();
 
   // Web Packages
   private static Map<String, WebPackage> webPackageList = null;
 
-  /** Initialize the Thymeleaf renderer engine and widgets */
+  /** Initialize the Thymeleaf renderer engine and widgets, without watching the templates for changes */
   public static boolean startup(AbstractConfigurableTemplateResolver templateResolver, String htmlTemplateLocation,
       Map<String, String> widgetLibrary, URL webPackageFile) {
+    return startup(templateResolver, htmlTemplateLocation, widgetLibrary, webPackageFile, null);
+  }
+
+  /**
+   * Initialize the Thymeleaf renderer engine and widgets
+   *
+   * @param templateDirectory the directory with the template files, watched for changes, can be null
+   */
+  public static boolean startup(AbstractConfigurableTemplateResolver templateResolver, String htmlTemplateLocation,
+      Map<String, String> widgetLibrary, URL webPackageFile, File templateDirectory) {
 
     if (templateEngine.isInitialized()) {
       LOG.info("PageTemplateEngine is already initialized");
@@ -106,8 +123,11 @@ public class PageTemplateEngine {
     templateResolver.setTemplateMode(TemplateMode.HTML);
     templateResolver.setPrefix(htmlTemplateLocation);
     templateResolver.setSuffix(".html");
-    templateResolver.setCacheable(false);
+    templateResolver.setCacheable(CACHEABLE);
     templateEngine.setTemplateResolver(templateResolver);
+    if (templateDirectory != null && templateDirectory.isDirectory()) {
+      fileChangeWatcher = new FileChangeWatcher(templateDirectory, CHECK_INTERVAL_MILLIS);
+    }
 
     // Load the frontend web resource catalog for handling web package tags
     WebPackageResolver webPackageResolver = new WebPackageResolver();
@@ -171,6 +191,14 @@ public class PageTemplateEngine {
     if (!isInitialized()) {
       return null;
     }
+    return currentTemplateEngine();
+  }
+
+  private static TemplateEngine currentTemplateEngine() {
+    FileChangeWatcher watcher = fileChangeWatcher;
+    if (watcher != null && watcher.hasChanged()) {
+      templateEngine.clearTemplateCache();
+    }
     return templateEngine;
   }
 
@@ -331,7 +359,7 @@ public class PageTemplateEngine {
 
       // Load the properties
       Map<String, String> systemPropertyMap = LoadSitePropertyCommand.loadAsMap("system");
-      Map<String, String> sitePropertyMap = LoadSitePropertyCommand.loadAsMap("site");
+      Map<String, String> sitePropertyMap = new HashMap<>(LoadSitePropertyCommand.loadAsMap("site"));
       sitePropertyMap.put("site.login", "false");
       sitePropertyMap.put("site.cart", "false");
       sitePropertyMap.put("site.registrations", "false");
@@ -528,7 +556,7 @@ public class PageTemplateEngine {
 
       // Call the Thymeleaf engine and render the complete page
       LOG.info("Processing the template...");
-      String html = templateEngine.process(template, ctx);
+      String html = currentTemplateEngine().process(template, ctx);
       html = html.replaceAll(Pattern.quote("${ctx}"), "");
       LOG.debug("-----------------------------------------------------------------------");
       return html;
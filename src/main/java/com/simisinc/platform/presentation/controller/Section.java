@@ -38,6 +38,7 @@ public class Section implements Serializable {
   private List<Section> sections = new ArrayList<>();
   private List<String> roles = new ArrayList<>();
   private List<String> groups = new ArrayList<>();
+  private transient AccessMask accessMask = null;
 
   // Output properties
   private String htmlId = null;
@@ -128,6 +129,7 @@ public class Section implements Serializable {
 
   public void setRoles(List<String> roles) {
     this.roles = roles;
+    this.accessMask = null;
   }
 
   public List<String> getGroups() {
@@ -136,5 +138,15 @@ public class Section implements Serializable {
 
   public void setGroups(List<String> groups) {
     this.groups = groups;
+    this.accessMask = null;
+  }
+
+  public AccessMask getAccessMask() {
+    AccessMask mask = accessMask;
+    if (mask == null) {
+      mask = AccessMask.compile(roles, groups);
+      accessMask = mask;
+    }
+    return mask;
   }
 }
@@ -18,10 +18,10 @@
 package com.simisinc.platform.presentation.controller;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -60,6 +60,9 @@ public class UserSession implements Serializable {
   private long userId = GUEST_ID;
   private List<Role> roleList = null;
   private List<Group> groupList = null;
+  // Interned bitsets are local to this JVM, so they are rebuilt after deserialization
+  private transient volatile long[] roleBits = null;
+  private transient volatile long[] groupBits = null;
   private long loginTime = -1;
   private String formToken = UUID.randomUUID().toString();
   private boolean cookieChecked = false;
@@ -83,16 +86,20 @@ public class UserSession implements Serializable {
     userId = user.getId();
     roleList = user.getRoleList();
     groupList = user.getGroupList();
+    roleBits = null;
+    groupBits = null;
     loginTime = System.currentTimeMillis();
     // formToken = ... this token must be a distributed value
   }
 
   public void setRoleList(List<Role> roleList) {
     this.roleList = roleList;
+    this.roleBits = null;
   }
 
   public void setGroupList(List<Group> groupList) {
     this.groupList = groupList;
+    this.groupBits = null;
   }
 
   public String getSessionId() {
@@ -171,37 +178,43 @@ public class UserSession implements Serializable {
   }
 
   public boolean hasRole(String code) {
-    if (roleList == null) {
-      return false;
-    }
-    if (StringUtils.isBlank(code)) {
-      return false;
-    }
-    for (Role role : roleList) {
-      if (role.getCode().equals(code)) {
-        return true;
-      }
-    }
-    return false;
+    return AccessRegistry.contains(getRoleBits(), AccessRegistry.findRoleId(code));
   }
 
   public boolean hasGroup(String groupUniqueId) {
-    if (groupList == null) {
-      return false;
-    }
-    if (StringUtils.isBlank(groupUniqueId)) {
-      return false;
-    }
-    for (Group group : groupList) {
-      if (group.getUniqueId().equals(groupUniqueId)) {
-        return true;
+    // If SSO is enabled, the group's "OAUTH" value is part of the bitset too
+    return AccessRegistry.contains(getGroupBits(), AccessRegistry.findGroupId(groupUniqueId));
+  }
+
+  public long[] getRoleBits() {
+    long[] bits = roleBits;
+    if (bits == null) {
+      List<String> codes = new ArrayList<>();
+      if (roleList != null) {
+        for (Role role : roleList) {
+          codes.add(role.getCode());
+        }
       }
-      // If SSO is enabled, then also check against the "OAUTH" value in the group...
-      if (StringUtils.isNotBlank(group.getOAuthPath()) && group.getOAuthPath().equals(groupUniqueId)) {
-        return true;
+      bits = AccessRegistry.roleBits(codes);
+      roleBits = bits;
+    }
+    return bits;
+  }
+
+  public long[] getGroupBits() {
+    long[] bits = groupBits;
+    if (bits == null) {
+      List<String> values = new ArrayList<>();
+      if (groupList != null) {
+        for (Group group : groupList) {
+          values.add(group.getUniqueId());
+          values.add(group.getOAuthPath());
+        }
       }
+      bits = AccessRegistry.groupBits(values);
+      groupBits = bits;
     }
-    return false;
+    return bits;
   }
 
   public long getLoginTime() {
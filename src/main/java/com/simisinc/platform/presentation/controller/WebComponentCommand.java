@@ -16,9 +16,16 @@
 
 package com.simisinc.platform.presentation.controller;
 
+import static java.util.stream.Collectors.toList;
+
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,48 +40,74 @@ public class WebComponentCommand implements Serializable {
   private static final long serialVersionUID = 536435325324169646L;
   private static Log LOG = LogFactory.getLog(WebComponentCommand.class);
 
+  // Menu and link rules are attribute strings, compile each distinct combination once
+  private static final Map<String, AccessMask> RULE_MASKS = new ConcurrentHashMap<>();
+
   public static boolean allowsUser(Page page, UserSession userSession) {
-    return allowsUser(page.getRoles(), page.getGroups(), userSession);
+    return page.getAccessMask().allows(userSession);
   }
 
   public static boolean allowsUser(Section section, UserSession userSession) {
-    return allowsUser(section.getRoles(), section.getGroups(), userSession);
+    return section.getAccessMask().allows(userSession);
   }
 
   public static boolean allowsUser(Column column, UserSession userSession) {
-    return allowsUser(column.getRoles(), column.getGroups(), userSession);
+    return column.getAccessMask().allows(userSession);
   }
 
   public static boolean allowsUser(Widget widget, UserSession userSession) {
-    return allowsUser(widget.getRoles(), widget.getGroups(), userSession);
+    return widget.getAccessMask().allows(userSession);
   }
 
   public static boolean allowsUser(List<String> roles, List<String> groups, UserSession userSession) {
-    if (roles.isEmpty() && groups.isEmpty()) {
+    return AccessMask.compile(roles, groups).allows(userSession);
+  }
+
+  /**
+   * Checks comma-separated role and group attribute values, like those used by menus and links
+   */
+  public static boolean allowsUser(String roleValue, String groupValue, UserSession userSession) {
+    if (StringUtils.isBlank(roleValue) && StringUtils.isBlank(groupValue)) {
       return true;
     }
+    String key = StringUtils.defaultString(roleValue) + "|" + StringUtils.defaultString(groupValue);
+    AccessMask mask = RULE_MASKS.computeIfAbsent(key, k -> AccessMask.compile(split(roleValue), split(groupValue)));
+    return mask.allows(userSession);
+  }
 
-    // Roles can be for a user that is either logged in/out
-    boolean roleAllowed = roles.isEmpty();
-    for (String role : roles) {
-      if ("guest".equals(role) && !userSession.isLoggedIn()) {
-        roleAllowed = true;
-      }
-      if ("users".equals(role) && userSession.isLoggedIn()) {
-        roleAllowed = true;
-      }
-      if (userSession.hasRole(role)) {
-        roleAllowed = true;
-      }
+  /**
+   * Compiles the access masks for the page and each of its components when the page is built
+   */
+  public static void compileAccessMasks(Page page) {
+    if (page == null) {
+      return;
     }
+    page.getAccessMask();
+    compileAccessMasks(page.getSections());
+  }
 
-    // Groups are for logged-in users
-    boolean groupAllowed = groups.isEmpty();
-    for (String group : groups) {
-      if (userSession.hasGroup(group)) {
-        groupAllowed = true;
+  private static void compileAccessMasks(List<Section> sections) {
+    if (sections == null) {
+      return;
+    }
+    for (Section section : sections) {
+      section.getAccessMask();
+      for (Column column : section.getColumns()) {
+        column.getAccessMask();
+        for (Widget widget : column.getWidgets()) {
+          widget.getAccessMask();
+        }
       }
+      compileAccessMasks(section.getSections());
+    }
+  }
+
+  private static List<String> split(String value) {
+    if (StringUtils.isBlank(value)) {
+      return new ArrayList<>();
     }
-    return roleAllowed && groupAllowed;
+    return Stream.of(value.split(","))
+        .map(String::trim)
+        .collect(toList());
   }
 }
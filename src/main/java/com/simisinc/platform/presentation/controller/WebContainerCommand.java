@@ -321,18 +321,23 @@ public class WebContainerCommand implements Serializable {
               }
               LOG.debug("Executing widget: " + result.getWidgetName() + "." + methodName + " [" + thisWidgetUniqueId + "]");
               method = classRef.getClass().getMethod(methodName, widgetContext.getClass());
+              widgetContext.setCacheable(false);
               result = (WidgetContext) method.invoke(classRef, new Object[] { widgetContext });
             }
           } catch (NoSuchMethodException nm) {
             LOG.error("No Such Method Exception for method execute. MESSAGE = " + nm.getMessage(), nm);
+            widgetContext.setCacheable(false);
           } catch (IllegalAccessException ia) {
             LOG.error("Illegal Access Exception. MESSAGE = " + ia.getMessage(), ia);
+            widgetContext.setCacheable(false);
           } catch (Exception e) {
             LOG.error("Exception. MESSAGE = " + e.getMessage(), e);
+            widgetContext.setCacheable(false);
             if (webContainerContext.isPost()) {
               widgetContext.setErrorMessage("The form could not be validated, please try again");
             }
           }
+          webContainerContext.addWidgetCacheInfo(widgetContext);
 
           // The container may have updated the page's render info
           if (containerRenderInfo instanceof PageRenderInfo) {
@@ -158,6 +158,12 @@ public class WebRequestFilter implements Filter {
       return;
     }
 
+    // Allow this request to forward to the calendar subscription processor
+    if (resource.equals("/calendar.ics")) {
+      chain.doFilter(request, servletResponse);
+      return;
+    }
+
     // Check redirects
     if (redirectMap != null) {
       String redirect = redirectMap.get(resource);
@@ -401,7 +407,7 @@ public class WebRequestFilter implements Filter {
       }
 
       // Check the visitor's cart
-      if ("true".equals(LoadSitePropertyCommand.loadByName("site.cart"))) {
+      if (LoadSitePropertyCommand.loadByNameAsBoolean("site.cart")) {
         // Instantiate the visitor's cart for reference
         if (userSession.getCart() != null) {
           // Create or extend the cart cookie
@@ -510,7 +516,7 @@ public class WebRequestFilter implements Filter {
       }
       // If on the home page, and not an instant promo code, check if the site has a promo overlay
       if (resource.equals("/") && !hasPricingRule) {
-        if ("true".equals(LoadSitePropertyCommand.loadByName("site.newsletter.overlay"))) {
+        if (LoadSitePropertyCommand.loadByNameAsBoolean("site.newsletter.overlay")) {
           String headline = LoadSitePropertyCommand.loadByName("site.newsletter.headline");
           String message = LoadSitePropertyCommand.loadByName("site.newsletter.message");
           if (StringUtils.isNotBlank(headline) && StringUtils.isNotBlank(message)) {
@@ -39,6 +39,7 @@ public class Widget implements Serializable {
   protected String widgetName = "";
   private List<String> roles = new ArrayList<String>();
   private List<String> groups = new ArrayList<String>();
+  private transient AccessMask accessMask = null;
   protected Map<String, String> preferences = new HashMap<String, String>();
 
   // Output properties
@@ -117,6 +118,7 @@ public class Widget implements Serializable {
 
   public void setRoles(List<String> roles) {
     this.roles = roles;
+    this.accessMask = null;
   }
 
   public List<String> getGroups() {
@@ -125,6 +127,16 @@ public class Widget implements Serializable {
 
   public void setGroups(List<String> groups) {
     this.groups = groups;
+    this.accessMask = null;
+  }
+
+  public AccessMask getAccessMask() {
+    AccessMask mask = accessMask;
+    if (mask == null) {
+      mask = AccessMask.compile(roles, groups);
+      accessMask = mask;
+    }
+    return mask;
   }
 
   public Map<String, String> getPreferences() {
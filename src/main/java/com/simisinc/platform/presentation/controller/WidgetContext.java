@@ -23,7 +23,9 @@ import java.net.URI;
 import java.net.URL;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -82,6 +84,10 @@ public class WidgetContext implements Serializable {
   private Object requestObject = null;
   private Map<String, String> sharedRequestValueMap = null;
 
+  // Widgets declare when their output can be cached for visitors, and what it was rendered from
+  private boolean cacheable = false;
+  private Set<String> cacheDependencies = null;
+
   public WidgetContext() {
   }
 
@@ -433,6 +439,30 @@ public class WidgetContext implements Serializable {
     return sharedRequestValueMap.get(name);
   }
 
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+  /** The output only depends on the preferences, the page request, and the declared dependencies */
+  public void setCacheable(boolean cacheable) {
+    this.cacheable = cacheable;
+  }
+
+  /** Records an entity used for the output, see PageOutputCache for the keys */
+  public void addCacheDependency(String key) {
+    if (key == null) {
+      return;
+    }
+    if (cacheDependencies == null) {
+      cacheDependencies = new HashSet<>();
+    }
+    cacheDependencies.add(key);
+  }
+
+  public Set<String> getCacheDependencies() {
+    return cacheDependencies;
+  }
+
   public String getResourcePath() {
     return resourcePath;
   }
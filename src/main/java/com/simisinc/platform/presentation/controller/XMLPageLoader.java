@@ -75,6 +75,10 @@ public class XMLPageLoader implements Serializable {
     pages.remove(name);
   }
 
+  public void clear() {
+    pages.clear();
+  }
+
   public Map<String, String> getWidgetLibrary() {
     return widgetLibrary;
   }
@@ -159,6 +163,7 @@ public class XMLPageLoader implements Serializable {
       throws FactoryConfigurationError, ParserConfigurationException, SAXException, IOException {
     Page page = XMLPageFactory.createPage(pageName, webPage, widgetLibrary);
     if (page != null) {
+      WebComponentCommand.compileAccessMasks(page);
       pages.put(pageName, page);
     }
     return page;
@@ -177,6 +182,7 @@ public class XMLPageLoader implements Serializable {
     for (int i = 0; i < pageTags.getLength(); i++) {
       Element pageTag = (Element) pageTags.item(i);
       Page p = XMLPageFactory.parsePageDocument(document, pageTag, widgetLibrary);
+      WebComponentCommand.compileAccessMasks(p);
       pages.put(p.getName(), p);
       LOG.debug("Found page: " + p.getName());
     }
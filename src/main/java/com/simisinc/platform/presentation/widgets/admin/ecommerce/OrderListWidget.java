@@ -17,18 +17,18 @@
 package com.simisinc.platform.presentation.widgets.admin.ecommerce;
 
 import com.simisinc.platform.application.ecommerce.EcommerceCommand;
-import com.simisinc.platform.application.filesystem.FileSystemCommand;
 import com.simisinc.platform.domain.model.ecommerce.Order;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderSpecification;
-import com.simisinc.platform.presentation.controller.MultipartFileSender;
+import com.simisinc.platform.presentation.controller.PageRequest;
 import com.simisinc.platform.presentation.controller.RequestConstants;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.File;
+import javax.servlet.http.HttpServletResponse;
+
 import java.lang.reflect.InvocationTargetException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -113,33 +113,28 @@ public class OrderListWidget extends GenericWidget {
   }
 
   private WidgetContext downloadCSVFile(WidgetContext context, String exportType, String prefix) {
-    // Prepare to save the temporary file
-    String extension = "csv";
-    String displayFilename = prefix + "-" + new SimpleDateFormat("yyyyMMdd-HHmm").format(new Date()) + "." + extension;
-    File tempFile = FileSystemCommand.generateTempFile("exports", context.getUserId(), extension);
+    // The rows are streamed to the browser as they are read, compressed when the browser accepts it
+    String displayFilename = prefix + "-" + new SimpleDateFormat("yyyyMMdd-HHmm").format(new Date()) + ".csv";
+    boolean gzip = PageRequest.acceptsGzip(context.getRequest().getHeaders("Accept-Encoding"));
+    HttpServletResponse response = context.getResponse();
+    response.setContentType("text/csv");
+    response.setHeader("Content-Disposition", "attachment; filename=\"" + displayFilename + "\"");
+    if (gzip) {
+      response.setHeader("Content-Encoding", "gzip");
+      response.setHeader("Vary", "Accept-Encoding");
+    }
     try {
+      long rowCount;
       if ("taxjar".equals(exportType)) {
-        // Export the data to the file
-        OrderRepository.exportForTaxJar(null, tempFile);
+        rowCount = OrderRepository.exportForTaxJar(null, response.getOutputStream(), gzip);
       } else {
-        // Export the data to the file
-        OrderRepository.export(null, tempFile);
+        rowCount = OrderRepository.export(null, response.getOutputStream(), gzip);
+      }
+      if (rowCount == -1) {
+        LOG.warn("The " + prefix + " export did not finish");
       }
-      // Send it
-      String mimeType = "text/csv";
-      MultipartFileSender.fromFile(tempFile)
-          .with(context.getRequest())
-          .with(context.getResponse())
-          .withMimeType(mimeType)
-          .withFilename(displayFilename)
-          .serveResource();
     } catch (Exception e) {
       LOG.error("Download CSV Error", e);
-    } finally {
-      if (tempFile.exists()) {
-        LOG.warn("Deleting a temporary file: " + tempFile.getAbsolutePath());
-        tempFile.delete();
-      }
     }
     context.setHandledResponse(true);
     return context;
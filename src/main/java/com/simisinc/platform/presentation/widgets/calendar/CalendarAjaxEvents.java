@@ -32,6 +32,8 @@ import org.apache.commons.logging.LogFactory;
 import com.simisinc.platform.application.json.JsonCommand;
 import com.simisinc.platform.domain.model.cms.Calendar;
 import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.cache.CalendarEventCache;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventSpecification;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarRepository;
@@ -48,6 +50,42 @@ public class CalendarAjaxEvents {
 
   protected static void addCalendarEvents(long userId, String calendarUniqueId, Date startDate, Date endDate, StringBuilder sb) {
 
+    String offset = "";
+    ZoneId serverZoneId = ZoneId.systemDefault();
+    if ("UTC".equals(serverZoneId.getId())) {
+      offset = "+00:00";
+    }
+
+    // Use the event index and the cached feed for this calendar and range
+    CalendarEventIndex index = CalendarEventCache.getIndex();
+    if (index != null) {
+      Calendar calendar = index.getCalendarByUniqueId(StringUtils.trimToNull(calendarUniqueId));
+      long calendarId = calendar != null ? calendar.getId() : CalendarEventIndex.ALL_CALENDARS;
+      String feedOffset = offset;
+      String feedKey = "json:" + calendarId + ":" + startDate.getTime() + ":" + endDate.getTime() + ":" + offset;
+      String feed = CalendarEventCache.getFeed(index, feedKey, () -> {
+        List<CalendarEvent> calendarEventList = index.findOverlapping(calendarId, startDate.getTime(), endDate.getTime());
+        LOG.debug("Calendar events: " + startDate + " - " + endDate + " (" + calendarEventList.size() + ")");
+        StringBuilder feedSb = new StringBuilder();
+        for (CalendarEvent calendarEvent : calendarEventList) {
+          if (feedSb.length() > 0) {
+            feedSb.append(",");
+          }
+          Calendar eventCalendar = index.getCalendar(calendarEvent.getCalendarId());
+          String color = eventCalendar != null ? eventCalendar.getColor() : null;
+          feedSb.append(calendarEventToJson(calendarEvent, feedOffset, color));
+        }
+        return feedSb.toString();
+      });
+      if (!feed.isEmpty()) {
+        if (!sb.isEmpty()) {
+          sb.append(",");
+        }
+        sb.append(feed);
+      }
+      return;
+    }
+
     // Determine which calendar(s) to show
     List<Calendar> calendarList = CalendarRepository.findAll();
     long calendarId = -1L;
@@ -70,12 +108,6 @@ public class CalendarAjaxEvents {
     List<CalendarEvent> calendarEventList = CalendarEventRepository.findAll(specification, null);
     LOG.debug("Calendar events: " + startDate + " - " + endDate + " (" + calendarEventList.size() + ")");
 
-    String offset = "";
-    ZoneId serverZoneId = ZoneId.systemDefault();
-    if ("UTC".equals(serverZoneId.getId())) {
-      offset = "+00:00";
-    }
-
     // Determine the results to be shown
     if (!calendarEventList.isEmpty()) {
       for (CalendarEvent calendarEvent : calendarEventList) {
@@ -25,7 +25,10 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
 import com.simisinc.platform.application.json.JsonCommand;
+import com.simisinc.platform.domain.model.cms.Calendar;
 import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.cache.CalendarEventCache;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventSpecification;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarRepository;
@@ -50,11 +53,17 @@ public class CalendarEventAjax extends GenericWidget {
       return context;
     }
 
-    // Access the event
+    // Access the event, from the index when available
     List<CalendarEvent> calendarEventList = null;
-    CalendarEventSpecification specification = new CalendarEventSpecification();
-    specification.setId(id);
-    calendarEventList = CalendarEventRepository.findAll(specification, null);
+    CalendarEventIndex index = CalendarEventCache.getIndex();
+    if (index != null) {
+      CalendarEvent calendarEvent = index.getEvent(id);
+      calendarEventList = calendarEvent != null ? List.of(calendarEvent) : null;
+    } else {
+      CalendarEventSpecification specification = new CalendarEventSpecification();
+      specification.setId(id);
+      calendarEventList = CalendarEventRepository.findAll(specification, null);
+    }
     if (calendarEventList == null || calendarEventList.isEmpty()) {
       context.setJson("[]");
       return context;
@@ -100,7 +109,9 @@ public class CalendarEventAjax extends GenericWidget {
       if (StringUtils.isNotEmpty(calendarEvent.getLocation())) {
         props.put("location", calendarEvent.getLocation());
       }
-      String color = CalendarRepository.findById(calendarEvent.getCalendarId()).getColor();
+      Calendar calendar = index != null ? index.getCalendar(calendarEvent.getCalendarId())
+          : CalendarRepository.findById(calendarEvent.getCalendarId());
+      String color = calendar != null ? calendar.getColor() : null;
       if (color != null) {
         props.put("color", color);
       }
@@ -19,6 +19,8 @@ package com.simisinc.platform.presentation.widgets.calendar;
 import com.simisinc.platform.application.admin.LoadSitePropertyCommand;
 import com.simisinc.platform.domain.model.cms.Calendar;
 import com.simisinc.platform.domain.model.cms.CalendarEvent;
+import com.simisinc.platform.infrastructure.cache.CalendarEventCache;
+import com.simisinc.platform.infrastructure.cache.CalendarEventIndex;
 import com.simisinc.platform.infrastructure.database.DataConstraints;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.CalendarEventSpecification;
@@ -32,6 +34,7 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -72,6 +75,23 @@ public class UpcomingCalendarEventsWidget extends GenericWidget {
     }
   }
 
+  /** Finds the events in the range using the index, with the same paging as the database query */
+  private static List<CalendarEvent> findUpcomingEvents(CalendarEventIndex index,
+      CalendarEventSpecification eventSpecification, DataConstraints constraints) {
+    long calendarId = eventSpecification.getCalendarId();
+    long rangeStart = eventSpecification.getStartingDateRange().getTime();
+    long rangeEnd = eventSpecification.getEndingDateRange() != null ? eventSpecification.getEndingDateRange().getTime()
+        : Long.MAX_VALUE;
+    List<CalendarEvent> found = index.findOverlapping(calendarId, rangeStart, rangeEnd);
+    constraints.setTotalRecordCount(found.size());
+    if (constraints.getPageSize() > 0) {
+      int from = Math.min(found.size(), Math.max(0, constraints.getPageNumber() - 1) * constraints.getPageSize());
+      int to = Math.min(found.size(), from + constraints.getPageSize());
+      return new ArrayList<>(found.subList(from, to));
+    }
+    return found;
+  }
+
   public WidgetContext execute(WidgetContext context) {
 
     // Standard request items
@@ -97,7 +117,13 @@ public class UpcomingCalendarEventsWidget extends GenericWidget {
     // Look for a specific calendar
     long calendarId = -1L;
     String calendarUniqueId = context.getParameter("calendarUniqueId");
-    if (StringUtils.isNotBlank(calendarUniqueId)) {
+    CalendarEventIndex index = CalendarEventCache.getIndex();
+    if (index != null && StringUtils.isNotBlank(calendarUniqueId)) {
+      Calendar calendar = index.getCalendarByUniqueId(calendarUniqueId);
+      if (calendar != null) {
+        calendarId = calendar.getId();
+      }
+    } else if (StringUtils.isNotBlank(calendarUniqueId)) {
       // Determine which calendar(s) to show
       List<Calendar> calendarList = CalendarRepository.findAll();
       for (Calendar calendar : calendarList) {
@@ -127,11 +153,26 @@ public class UpcomingCalendarEventsWidget extends GenericWidget {
       ZonedDateTime endDate = zdtStart.plusMonths(monthsToShow);
       eventSpecification.setEndingDateRange(Timestamp.valueOf(endDate.toLocalDateTime()));
     }
-    List<CalendarEvent> calendarEventList = CalendarEventRepository.findAll(eventSpecification, constraints);
+    List<CalendarEvent> calendarEventList;
+    if (index != null) {
+      calendarEventList = findUpcomingEvents(index, eventSpecification, constraints);
+    } else {
+      calendarEventList = CalendarEventRepository.findAll(eventSpecification, constraints);
+    }
 
     // Determine if the last event should be included
     if (includeLastEvent) {
-      insertPastEvent(calendarEventList, eventSpecification);
+      if (index != null) {
+        CalendarEvent lastEvent = index.findLastEndingBefore(calendarId,
+            eventSpecification.getStartingDateRange().getTime());
+        if (lastEvent != null) {
+          calendarEventList.add(0, lastEvent);
+        } else {
+          insertPastEvent(calendarEventList, eventSpecification);
+        }
+      } else {
+        insertPastEvent(calendarEventList, eventSpecification);
+      }
     }
 
     // Determine if the widget can be shown
@@ -34,6 +34,8 @@ public class ButtonWidget extends GenericWidget {
   static String TEMPLATE = "/cms/button.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     String link = context.getPreferences().get("link");
     if (StringUtils.isBlank(link)) {
       return context;
@@ -19,6 +19,7 @@ package com.simisinc.platform.presentation.widgets.cms;
 import org.apache.commons.lang3.StringUtils;
 
 import com.simisinc.platform.application.cms.ContentHtmlCommand;
+import com.simisinc.platform.infrastructure.cache.PageOutputCache;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 
@@ -74,6 +75,13 @@ public class ContentWidget extends GenericWidget {
     // Set the html editor if the user has permission
     String html = ContentHtmlCommand.getHtmlFromPreferences(context);
 
+    // Content updates invalidate the visitor pages which show it (and embed it)
+    context.setCacheable(true);
+    String uniqueId = context.getPreferences().getOrDefault("uniqueId", context.getPreferences().get("contentUniqueId"));
+    if (StringUtils.isNotBlank(uniqueId)) {
+      context.addCacheDependency(PageOutputCache.contentKey(uniqueId));
+    }
+
     // A message is being shown to the content manager
     if (context.hasJsp()) {
       LOG.debug("Returning content for the Content manager");
@@ -31,6 +31,8 @@ public class CopyrightWidget extends GenericWidget {
   static final long serialVersionUID = -8484048371911908893L;
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     String name = context.getPreferences().getOrDefault("name", LoadSitePropertyCommand.loadByName("site.name"));
     String tag = context.getPreferences().getOrDefault("tag", "All Rights Reserved.");
     context.setHtml(
@@ -34,6 +34,8 @@ public class LinkWidget extends GenericWidget {
   static String JSP = "/cms/link.jsp";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     // Determine if the link can be shown
     String propertyRule = context.getPreferences().get("property");
     if (StringUtils.isNotBlank(propertyRule)) {
@@ -38,6 +38,7 @@ public class LogoWidget extends GenericWidget {
   static String TEMPLATE = "/cms/logo.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
 
     Map<String, String> systemPropertyMap = LoadSitePropertyCommand.loadAsMap("system");
     Map<String, String> sitePropertyMap = LoadSitePropertyCommand.loadAsMap("site");
@@ -46,6 +46,7 @@ public class MainMenuWidget extends GenericWidget {
   static String NESTED_TEMPLATE = "/cms/main-menu-nested.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
 
     // Determine if the site menu can be shown
     boolean siteIsOnline = LoadSitePropertyCommand.loadByNameAsBoolean("site.online");
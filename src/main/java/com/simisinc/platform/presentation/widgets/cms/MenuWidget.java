@@ -58,6 +58,7 @@ public class MenuWidget extends GenericWidget {
   static String TEMPLATE = "/cms/menu.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
 
     context.getRequest().setAttribute("menuId", context.getPreferences().get("id"));
     context.getRequest().setAttribute("menuClass", context.getPreferences().get("class"));
@@ -270,22 +271,7 @@ public class MenuWidget extends GenericWidget {
   }
 
   private static boolean checkUserAccess(WidgetContext context, String roleValue, String groupValue) {
-
-    List<String> roles = new ArrayList<>();
-    if (StringUtils.isNotBlank(roleValue)) {
-      roles = Stream.of(roleValue.split(","))
-          .map(String::trim)
-          .collect(toList());
-    }
-
-    List<String> groups = new ArrayList<>();
-    if (StringUtils.isNotBlank(groupValue)) {
-      groups = Stream.of(groupValue.split(","))
-          .map(String::trim)
-          .collect(toList());
-    }
-
-    return WebComponentCommand.allowsUser(roles, groups, context.getUserSession());
+    return WebComponentCommand.allowsUser(roleValue, groupValue, context.getUserSession());
   }
 
   private static boolean checkRules(String ruleValue) {
@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.WebPage;
 import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -108,6 +109,7 @@ public class PageAddToHierarchyJsonService extends GenericJsonService {
         WebPageHierarchyRepository.save(connection, record);
         transaction.commit();
       }
+      CacheManager.invalidateKey(CacheManager.PAGE_HIERARCHY_CACHE, pageId);
 
       return context.writeOk("{\"message\":\"Page added to hierarchy\"}", null);
 
@@ -20,15 +20,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.application.json.JsonCommand;
 import com.simisinc.platform.domain.model.cms.PageTreeNode;
 import com.simisinc.platform.domain.model.cms.WebPage;
-import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
-import com.simisinc.platform.infrastructure.persistence.cms.WebPageHierarchyRepository;
 import com.simisinc.platform.infrastructure.persistence.cms.WebPageRepository;
 import com.simisinc.platform.presentation.controller.JsonServiceContext;
 import com.simisinc.platform.presentation.services.GenericJsonService;
@@ -108,29 +105,13 @@ public class PageChildrenJsonService extends GenericJsonService {
 
   private List<WebPage> getAncestorsFromHierarchyPath(long pageId) {
     List<WebPage> ancestors = new ArrayList<>();
-    WebPageHierarchy hierarchy = WebPageHierarchyRepository.findByPageId(pageId);
-    if (hierarchy == null || StringUtils.isBlank(hierarchy.getPath())) {
-      return ancestors;
+    for (PageTreeNode node : LoadPageTreeCommand.loadAncestors(pageId)) {
+      WebPage ancestor = new WebPage();
+      ancestor.setId(node.getId());
+      ancestor.setTitle(node.getTitle());
+      ancestor.setLink(node.getLink());
+      ancestors.add(ancestor);
     }
-
-    String[] pathSegments = StringUtils.split(hierarchy.getPath(), '/');
-    if (pathSegments == null || pathSegments.length < 2) {
-      return ancestors;
-    }
-
-    // Path includes current page as the last segment; parents are all preceding segments.
-    int ancestorCount = pathSegments.length - 1;
-    for (int i = 0; i < ancestorCount; i++) {
-      long ancestorId = NumberUtils.toLong(pathSegments[i], -1);
-      if (ancestorId < 1) {
-        continue;
-      }
-      WebPage ancestor = WebPageRepository.findById(ancestorId);
-      if (ancestor != null) {
-        ancestors.add(ancestor);
-      }
-    }
-
     return ancestors;
   }
 
@@ -23,6 +23,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -75,6 +76,7 @@ public class PageRemoveFromHierarchyJsonService extends GenericJsonService {
         WebPageHierarchyRepository.removeByPath(connection, record.getPath());
         transaction.commit();
       }
+      CacheManager.invalidateKey(CacheManager.PAGE_HIERARCHY_CACHE, pageId);
 
       return context.writeOk("{\"message\":\"Page removed from hierarchy\"}", null);
 
@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.WebPage;
 import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
+import com.simisinc.platform.infrastructure.cache.CacheManager;
 import com.simisinc.platform.infrastructure.database.AutoRollback;
 import com.simisinc.platform.infrastructure.database.AutoStartTransaction;
 import com.simisinc.platform.infrastructure.database.DB;
@@ -169,6 +170,7 @@ public class PageReorderJsonService extends GenericJsonService {
 
         transaction.commit();
       }
+      CacheManager.invalidateKey(CacheManager.PAGE_HIERARCHY_CACHE, pageId);
 
       StringBuilder json = new StringBuilder();
       json.append("{");
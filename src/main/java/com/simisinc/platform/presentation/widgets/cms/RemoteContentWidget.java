@@ -28,9 +28,8 @@ import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Safelist;
 import org.jsoup.select.Elements;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.simisinc.platform.application.http.HttpGetCommand;
-import com.simisinc.platform.infrastructure.cache.CacheManager;
+import com.simisinc.platform.application.http.CachedHttpGetCommand;
+import com.simisinc.platform.infrastructure.cache.RemoteContent;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 
@@ -57,98 +56,104 @@ public class RemoteContentWidget extends GenericWidget {
     }
     boolean includeTags = Boolean.parseBoolean(context.getPreferences().getOrDefault("includeTags", "true"));
 
-    // Check the cache
-    Cache cache = CacheManager.getCache(CacheManager.CONTENT_REMOTE_URL_CACHE);
-    String content = (String) cache.getIfPresent(url);
-    if (content != null) {
-      return useReturnType(context, content);
-    }
-
     // Create a wrapper for images
     if (url.endsWith(".gif") || url.endsWith(".png") || url.endsWith(".jpg")) {
-      content = "<img src=\"" + url + "\" />";
-      cache.put(url, content);
-      return useReturnType(context, content);
+      return useReturnType(context, "<img src=\"" + url + "\" />");
     }
 
-    // Get the remote data, and cache it
-    // @todo if this fails we don't want many more requests...
-    try {
-      long startRequestTime = System.currentTimeMillis();
-      String remoteContent = HttpGetCommand.execute(url);
-      if (StringUtils.isBlank(remoteContent)) {
-        return null;
-      }
-      long endRequestTime = System.currentTimeMillis();
-      long totalTime = endRequestTime - startRequestTime;
+    // Get the remote data, the cached copy is used while it is refreshed, and when the remote site has errors
+    long startRequestTime = System.currentTimeMillis();
+    RemoteContent remoteContent = CachedHttpGetCommand.execute(url);
+    if (remoteContent == null || StringUtils.isBlank(remoteContent.getBody())) {
+      return null;
+    }
+    long totalTime = System.currentTimeMillis() - startRequestTime;
+    if (totalTime > 100) {
       LOG.info("Remote request: " + url + " " + totalTime + "ms");
+    }
+
+    // Determine if the content can be returned as-is
+    boolean doClean = Boolean.parseBoolean(context.getPreferences().getOrDefault("clean", "true"));
+    if (!doClean) {
+      // Trusted content, like a micro-service
+      return useReturnType(context, remoteContent.getBody());
+    }
 
-      // Determine if the content can be returned as-is
-      boolean doClean = Boolean.parseBoolean(context.getPreferences().getOrDefault("clean", "true"));
-      if (!doClean) {
-        // Trusted content, like a micro-service
-        cache.put(url, remoteContent);
-        return useReturnType(context, remoteContent);
+    // The processed content is kept with the remote content, for each combination of preferences
+    String start = context.getPreferences().get("startTag");
+    String end = context.getPreferences().get("endTag");
+    boolean adjustTable = "true".equals(context.getPreferences().get("adjustTable"));
+    String optionsKey = start + "|" + end + "|" + includeTags + "|" + adjustTable;
+    try {
+      String content = remoteContent.getDerived(optionsKey,
+          body -> processContent(url, body, start, end, includeTags, adjustTable));
+      if (content == null) {
+        return null;
       }
+      return useReturnType(context, content);
+    } catch (Exception e) {
+      LOG.warn("Could not get content from: " + url, e);
+    }
+    return null;
+  }
 
-      // Get a portion of the content
-      String start = context.getPreferences().get("startTag");
-      String end = context.getPreferences().get("endTag");
-      if (start != null && end != null) {
-        boolean trimSuccess = false;
-        int startIdx = remoteContent.indexOf(start);
-        if (startIdx > -1) {
-          int endIdx = remoteContent.indexOf(end, startIdx);
-          if (endIdx > -1) {
-            if (!includeTags) {
-              startIdx = startIdx + start.length();
-              endIdx = endIdx - end.length();
-            }
-            remoteContent = remoteContent.substring(startIdx, endIdx + end.length());
-            trimSuccess = true;
+  /**
+   * Trims and cleans the remote html
+   *
+   * @return the html, or null if the content could not be trimmed
+   */
+  private static String processContent(String url, String remoteContent, String start, String end,
+      boolean includeTags, boolean adjustTable) {
+    // Get a portion of the content
+    if (start != null && end != null) {
+      boolean trimSuccess = false;
+      int startIdx = remoteContent.indexOf(start);
+      if (startIdx > -1) {
+        int endIdx = remoteContent.indexOf(end, startIdx);
+        if (endIdx > -1) {
+          if (!includeTags) {
+            startIdx = startIdx + start.length();
+            endIdx = endIdx - end.length();
           }
-        }
-        if (!trimSuccess) {
-          LOG.warn("The content could not be trimmed for url: " + url);
-          return null;
+          remoteContent = remoteContent.substring(startIdx, endIdx + end.length());
+          trimSuccess = true;
         }
       }
-
-      // Clean the content
-      Safelist safelist = Safelist.relaxed();
-      safelist.addAttributes("span", "style");
-      Document dirty = Jsoup.parseBodyFragment(remoteContent, "");
-      Cleaner cleaner = new Cleaner(safelist);
-      Document clean = cleaner.clean(dirty);
-
-      // Make sure all elements target blank, add no follow
-      Elements select = clean.select("a");
-      for (Element e : select) {
-        // baseUri will be used by absUrl
-        //              String absUrl = e.absUrl("href");
-        //              e.attr("href", absUrl);
-        e.attr("target", "_blank");
-        e.attr("rel", "nofollow");
+      if (!trimSuccess) {
+        LOG.warn("The content could not be trimmed for url: " + url);
+        return null;
       }
+    }
 
-      // Allow HTML entities
-      Document.OutputSettings settings = clean.outputSettings();
-      settings.prettyPrint(false);
-      settings.escapeMode(Entities.EscapeMode.extended);
-      settings.charset("ASCII");
-      content = clean.body().html();
+    // Clean the content
+    Safelist safelist = Safelist.relaxed();
+    safelist.addAttributes("span", "style");
+    Document dirty = Jsoup.parseBodyFragment(remoteContent, "");
+    Cleaner cleaner = new Cleaner(safelist);
+    Document clean = cleaner.clean(dirty);
+
+    // Make sure all elements target blank, add no follow
+    Elements select = clean.select("a");
+    for (Element e : select) {
+      // baseUri will be used by absUrl
+      //              String absUrl = e.absUrl("href");
+      //              e.attr("href", absUrl);
+      e.attr("target", "_blank");
+      e.attr("rel", "nofollow");
+    }
 
-      // Check for additional processing
-      if ("true".equals(context.getPreferences().get("adjustTable"))) {
-        content = Strings.CI.replace(content, "<table>", "<table class=\"scroll\">");
-      }
+    // Allow HTML entities
+    Document.OutputSettings settings = clean.outputSettings();
+    settings.prettyPrint(false);
+    settings.escapeMode(Entities.EscapeMode.extended);
+    settings.charset("ASCII");
+    String content = clean.body().html();
 
-      cache.put(url, content);
-      return useReturnType(context, content);
-    } catch (Exception e) {
-      LOG.warn("Could not get content from: " + url, e);
+    // Check for additional processing
+    if (adjustTable) {
+      content = Strings.CI.replace(content, "<table>", "<table class=\"scroll\">");
     }
-    return null;
+    return content;
   }
 
   private WidgetContext useReturnType(WidgetContext context, String content) {
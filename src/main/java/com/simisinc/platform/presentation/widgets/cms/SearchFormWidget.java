@@ -33,6 +33,8 @@ public class SearchFormWidget extends GenericWidget {
   static String JSP = "/cms/search-form.jsp";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     // Common attributes
     context.getRequest().setAttribute("icon", context.getPreferences().get("icon"));
     context.getRequest().setAttribute("title", context.getPreferences().get("title"));
@@ -38,6 +38,8 @@ public class SocialMediaLinksWidget extends GenericWidget {
   static String TEMPLATE = "/cms/social-media-links.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     // Use the property map
     Map<String, String> socialPropertyMap = LoadSitePropertyCommand.loadNonEmptyAsMap("social");
     LOG.debug("socialPropertyMap size: " + socialPropertyMap.size());
@@ -37,6 +37,8 @@ public class SystemAlertWidget extends GenericWidget {
   static String TEMPLATE = "/cms/system-alert.html";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
+
     // Check if the widget has content and can be displayed
     Map<String, String> sitePropertyMap = LoadSitePropertyCommand.loadAsMap("site");
     if (StringUtils.isBlank(sitePropertyMap.get("site.header.line1")) && !context.getUserSession().hasRole("admin")) {
@@ -35,6 +35,7 @@ public class ToggleMenuWidget extends GenericWidget {
   static String JSP = "/cms/toggle-menu.jsp";
 
   public WidgetContext execute(WidgetContext context) {
+    context.setCacheable(true);
 
     // Check preferences
     String view = context.getPreferences().get("view");
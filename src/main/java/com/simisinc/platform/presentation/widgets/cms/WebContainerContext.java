@@ -19,7 +19,9 @@ package com.simisinc.platform.presentation.widgets.cms;
 
 import java.io.Serializable;
 import java.net.URL;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -29,6 +31,7 @@ import com.simisinc.platform.presentation.controller.ControllerSession;
 import com.simisinc.platform.presentation.controller.Page;
 import com.simisinc.platform.presentation.controller.PageRequest;
 import com.simisinc.platform.presentation.controller.WebPackage;
+import com.simisinc.platform.presentation.controller.WidgetContext;
 
 /**
  * A context for processing the widgets
@@ -58,6 +61,10 @@ public class WebContainerContext implements Serializable {
 
   private boolean embedded = false;
 
+  // The combined cache declarations of the executed widgets
+  private boolean cacheable = true;
+  private Set<String> cacheDependencies = new HashSet<>();
+
   public WebContainerContext(URL applicationUrl, PageRequest pageRequest, HttpServletRequest request,
       ControllerSession controllerSession, Map<String, Object> widgetInstances, Map<String, WebPackage> webPackageList,
       WebPage webPage, Page page) {
@@ -165,4 +172,28 @@ public class WebContainerContext implements Serializable {
   public URL getApplicationURL() {
     return applicationUrl;
   }
+
+  /** Any executed widget which did not declare its output as cacheable makes the page uncacheable */
+  public void addWidgetCacheInfo(WidgetContext widgetContext) {
+    if (!widgetContext.isCacheable()) {
+      cacheable = false;
+    }
+    if (widgetContext.getCacheDependencies() != null) {
+      cacheDependencies.addAll(widgetContext.getCacheDependencies());
+    }
+  }
+
+  public void addCacheDependency(String key) {
+    if (key != null) {
+      cacheDependencies.add(key);
+    }
+  }
+
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+  public Set<String> getCacheDependencies() {
+    return cacheDependencies;
+  }
 }
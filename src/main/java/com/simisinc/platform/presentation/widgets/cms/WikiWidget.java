@@ -18,27 +18,14 @@ package com.simisinc.platform.presentation.widgets.cms;
 
 import com.simisinc.platform.application.cms.LoadWikiCommand;
 import com.simisinc.platform.application.cms.LoadWikiPageCommand;
+import com.simisinc.platform.application.cms.MarkdownCommand;
 import com.simisinc.platform.domain.model.cms.Wiki;
 import com.simisinc.platform.domain.model.cms.WikiPage;
-import com.simisinc.platform.domain.model.cms.WikiParserExtension;
 import com.simisinc.platform.infrastructure.persistence.cms.WikiPageRepository;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
-import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
-import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
-import com.vladsch.flexmark.ext.gitlab.GitLabExtension;
-import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.ext.typographic.TypographicExtension;
-import com.vladsch.flexmark.ext.wikilink.WikiLinkExtension;
-import com.vladsch.flexmark.ext.youtube.embedded.YouTubeLinkExtension;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.Node;
-import com.vladsch.flexmark.util.data.MutableDataSet;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
-
 /**
  * Displays a wiki which can be navigated
  *
@@ -110,29 +97,8 @@ public class WikiWidget extends GenericWidget {
     }
     context.getRequest().setAttribute("wikiPage", wikiPage);
 
-    // Set the markup conversion settings
-    MutableDataSet options = new MutableDataSet();
-    options.set(Parser.EXTENSIONS, Arrays.asList(
-//        AnchorLinkExtension.create(),
-            StrikethroughExtension.create(),
-            TablesExtension.create(),
-            TaskListExtension.create(),
-            TypographicExtension.create(),
-            WikiLinkExtension.create(),
-            YouTubeLinkExtension.create(),
-            WikiParserExtension.create(),
-            GitLabExtension.create()
-        )
-    );
-    options.set(HtmlRenderer.SOFT_BREAK, "<br />\n");
-    options.set(HtmlRenderer.GENERATE_HEADER_ID, true);
-    options.set(WikiLinkExtension.LINK_PREFIX, wikiLinkPrefix + "/");
-    Parser parser = Parser.builder(options).build();
-    HtmlRenderer renderer = HtmlRenderer.builder(options).build();
-
     // Convert the markup to html
-    Node document = parser.parse(wikiPage.getBody());
-    String contentHtml = renderer.render(document);
+    String contentHtml = MarkdownCommand.wikiHtml(wikiPage.getBody(), wikiLinkPrefix);
     context.getRequest().setAttribute("contentHtml", contentHtml);
 
     if (wikiPage.getBody().contains("```mermaid")) {
@@ -177,6 +143,7 @@ public class WikiWidget extends GenericWidget {
     // Attempt to delete the wiki page
     try {
       WikiPageRepository.remove(wikiPage);
+      MarkdownCommand.invalidate(wikiPage.getBody());
       context.setSuccessMessage("Page was deleted");
     } catch (Exception e) {
       context.setErrorMessage("The page could not be deleted: " + e.getMessage());
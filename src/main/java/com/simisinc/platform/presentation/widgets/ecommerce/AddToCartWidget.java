@@ -92,13 +92,7 @@ public class AddToCartWidget extends GenericWidget {
     }
 
     // Load the enabled SKUs
-    ProductSkuSpecification productSkuSpecification = new ProductSkuSpecification();
-    productSkuSpecification.setShowOnline(true);
-    productSkuSpecification.setProductUniqueId(uniqueId);
-    if (StringUtils.isNotBlank(sku)) {
-      productSkuSpecification.setSku(sku);
-    }
-    List<ProductSku> productSkuList = ProductSkuRepository.findAll(productSkuSpecification, null);
+    List<ProductSku> productSkuList = LoadProductCommand.loadProductSkusForSale(uniqueId, sku);
 
     // No products
     if (productSkuList == null || productSkuList.isEmpty()) {
@@ -23,7 +23,6 @@ import com.simisinc.platform.domain.model.cms.Content;
 import com.simisinc.platform.domain.model.ecommerce.*;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CartItemRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CartRepository;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSkuRepository;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import org.apache.commons.lang3.StringUtils;
@@ -115,7 +114,7 @@ public class CartWidget extends GenericWidget {
     for (CartItem cartItem : cartItemList) {
 
       // Check if the product is still available
-      ProductSku productSku = ProductSkuRepository.findById(cartItem.getSkuId());
+      ProductSku productSku = LoadProductCommand.loadProductSkuById(cartItem.getSkuId());
       if (productSku == null || !productSku.getEnabled() || productSku.getPrice() == null) {
         // The SKU is unavailable
         noLongerAvailableList.add(cartItem);
@@ -232,7 +231,7 @@ public class CartWidget extends GenericWidget {
     List<CartItem> cartItemList = CartItemRepository.findValidItemsByCartId(cart.getId());
     for (CartItem cartItem : cartItemList) {
       // Prepare changes to the cart item
-      ProductSku productSku = ProductSkuRepository.findById(cartItem.getSkuId());
+      ProductSku productSku = LoadProductCommand.loadProductSkuById(cartItem.getSkuId());
       if (productSku == null || !productSku.getEnabled() || productSku.getPrice() == null) {
         // Product is no longer available
         cartItem.setRemoved(true);
@@ -31,7 +31,6 @@ import com.simisinc.platform.domain.model.ecommerce.ShippingMethod;
 import com.simisinc.platform.domain.model.ecommerce.TrackingNumber;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderItemRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.OrderRepository;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.ProductSkuRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingMethodRepository;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.TrackingNumberRepository;
 import com.simisinc.platform.presentation.controller.WidgetContext;
@@ -94,7 +93,7 @@ public class OrderConfirmationWidget extends GenericWidget {
     List<OrderEntry> orderEntryList = new ArrayList<>();
     List<OrderItem> orderItemList = OrderItemRepository.findItemsByOrderId(order.getId());
     for (OrderItem orderItem : orderItemList) {
-      ProductSku productSku = ProductSkuRepository.findById(orderItem.getSkuId());
+      ProductSku productSku = LoadProductCommand.loadProductSkuById(orderItem.getSkuId());
       OrderEntry orderEntry = new OrderEntry();
       orderEntry.setOrderItem(orderItem);
       orderEntry.setProduct(LoadProductCommand.loadProductMetaDataById(productSku.getProductId()));
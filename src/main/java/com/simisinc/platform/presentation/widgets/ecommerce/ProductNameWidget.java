@@ -65,8 +65,8 @@ public class ProductNameWidget extends GenericWidget {
     }
     context.getRequest().setAttribute("product", product);
 
-    if (showPrice) {
-      // Determine the price to show, or range of prices to show...
+    if (showPrice && product.getSkuCount() == 0) {
+      // Determine the price to show, or range of prices to show... (products from the catalog are already priced)
       ProductPriceCommand.configurePriceAndStartingPrice(product);
     }
     context.setJsp(JSP);
@@ -16,9 +16,9 @@
 
 package com.simisinc.platform.presentation.widgets.ecommerce;
 
+import com.simisinc.platform.application.ecommerce.ShippingRatesCommand;
 import com.simisinc.platform.domain.model.ecommerce.Cart;
 import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateRepository;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 
@@ -58,7 +58,7 @@ public class ShippingMethodDetailsWidget extends GenericWidget {
 
     // Retrieve the shipping information
     long shippingRateId = cart.getShippingRateId();
-    ShippingRate shippingRate = ShippingRateRepository.findById(shippingRateId);
+    ShippingRate shippingRate = ShippingRatesCommand.findShippingRateById(shippingRateId);
     context.getRequest().setAttribute("shippingRate", shippingRate);
 
     // Show the form
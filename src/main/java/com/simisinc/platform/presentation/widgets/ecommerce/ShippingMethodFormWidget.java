@@ -26,7 +26,6 @@ import com.simisinc.platform.domain.model.ecommerce.Cart;
 import com.simisinc.platform.domain.model.ecommerce.Customer;
 import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
 import com.simisinc.platform.infrastructure.persistence.ecommerce.CustomerRepository;
-import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateRepository;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import org.apache.commons.lang3.StringUtils;
@@ -141,7 +140,7 @@ public class ShippingMethodFormWidget extends GenericWidget {
 
     // Determine the selection
     int shippingRateId = context.getParameterAsInt("shippingRateId", -1);
-    ShippingRate shippingRate = ShippingRateRepository.findById(shippingRateId);
+    ShippingRate shippingRate = ShippingRatesCommand.findShippingRateById(shippingRateId);
     if (shippingRate == null) {
       context.addSharedRequestValue("orderError", "Please choose a shipping rate");
       context.setRedirect("/checkout/delivery-options");
@@ -53,6 +53,11 @@ public class CRMOrdersJsonService extends GenericWidget {
     int itemsPerPage = context.getParameterAsInt("limit", 25);
     long customerId = context.getParameterAsLong("customerId");
     DataConstraints constraints = new DataConstraints(page, itemsPerPage);
+    // A cursor continues after the previous page instead of skipping the earlier records
+    String cursor = context.getParameter("cursor");
+    if (cursor != null) {
+      constraints.setCursor(cursor);
+    }
 
     OrderSpecification specification = new OrderSpecification();
     if (customerId != -1) {
@@ -89,6 +94,9 @@ public class CRMOrdersJsonService extends GenericWidget {
     sb.append("\"page\":").append(page).append(",");
     sb.append("\"limit\":").append(itemsPerPage).append(",");
     sb.append("\"total\":").append(constraints.getTotalRecordCount());
+    if (constraints.hasNextCursor()) {
+      sb.append(",\"nextCursor\":\"").append(JsonCommand.toJson(constraints.getNextCursor())).append("\"");
+    }
     sb.append("}");
 
     context.setJson(sb.toString());
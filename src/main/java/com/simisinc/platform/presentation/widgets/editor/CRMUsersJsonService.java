@@ -53,6 +53,11 @@ public class CRMUsersJsonService extends GenericJsonService {
     int itemsPerPage = context.getParameterAsInt("limit", 25);
     String searchTerm = context.getParameter("search");
     DataConstraints constraints = new DataConstraints(page, itemsPerPage);
+    // A cursor continues after the previous page instead of skipping the earlier records
+    String cursor = context.getParameter("cursor");
+    if (cursor != null) {
+      constraints.setCursor(cursor);
+    }
 
     UserSpecification specification = new UserSpecification();
     if (StringUtils.isNotBlank(searchTerm)) {
@@ -91,6 +96,9 @@ public class CRMUsersJsonService extends GenericJsonService {
     sb.append("\"page\":").append(page).append(",");
     sb.append("\"limit\":").append(itemsPerPage).append(",");
     sb.append("\"total\":").append(constraints.getTotalRecordCount());
+    if (constraints.hasNextCursor()) {
+      sb.append(",\"nextCursor\":\"").append(JsonCommand.toJson(constraints.getNextCursor())).append("\"");
+    }
     sb.append("}");
 
     context.setJson(sb.toString());
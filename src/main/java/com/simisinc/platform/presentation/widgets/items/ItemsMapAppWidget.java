@@ -22,6 +22,7 @@ import com.simisinc.platform.application.maps.FindMapTilesCredentialsCommand;
 import com.simisinc.platform.domain.model.Session;
 import com.simisinc.platform.domain.model.items.Collection;
 import com.simisinc.platform.domain.model.items.Item;
+import com.simisinc.platform.domain.model.items.ItemMapCluster;
 import com.simisinc.platform.domain.model.maps.MapCredentials;
 import com.simisinc.platform.infrastructure.persistence.items.ItemRepository;
 import com.simisinc.platform.infrastructure.persistence.items.ItemSpecification;
@@ -29,6 +30,7 @@ import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -85,21 +87,42 @@ public class ItemsMapAppWidget extends GenericWidget {
 //      }
 //    }
 
+    // Large collections are loaded by the map as clustered tiles for the visible area
+    long tileThreshold = Long.parseLong(context.getPreferences().getOrDefault("tileThreshold", "1000"));
+    boolean useTiles = tileThreshold > -1 && collection.getItemCount() > tileThreshold;
+    context.getRequest().setAttribute("useTiles", String.valueOf(useTiles));
+
     // Query the data
-    List<Item> itemList = ItemRepository.findAll(specification, null);
-    if (itemList == null || itemList.isEmpty()) {
+    List<Item> itemList = null;
+    ItemMapCluster itemMapCenter = null;
+    long itemCount;
+    if (useTiles) {
+      itemMapCenter = ItemRepository.findMapCenter(specification);
+      itemCount = itemMapCenter != null ? itemMapCenter.getItemCount() : 0;
+    } else {
+      itemList = ItemRepository.findAll(specification, null);
+      itemCount = itemList != null ? itemList.size() : 0;
+    }
+    if (itemCount == 0) {
       if (!"true".equals(context.getPreferences().getOrDefault("showWhenEmpty", "false"))) {
         LOG.debug("Skipping, no items found for collection: " + collection.getUniqueId());
         return context;
       }
     }
-    context.getRequest().setAttribute("itemList", itemList);
+    context.getRequest().setAttribute("itemList", itemList != null ? itemList : new ArrayList<Item>());
 
     // Determine the center geo point from data, or use a preset
     String latitude = context.getPreferences().get("latitude");
     String longitude = context.getPreferences().get("longitude");
     if (StringUtils.isBlank(latitude) || StringUtils.isBlank(longitude)) {
-      Session center = GISCommand.centerFromItems(itemList);
+      Session center = null;
+      if (useTiles) {
+        if (itemMapCenter != null && itemCount > 0) {
+          center = new Session(itemMapCenter.getLatitude(), itemMapCenter.getLongitude());
+        }
+      } else {
+        center = GISCommand.centerFromItems(itemList);
+      }
       if (center != null) {
         latitude = String.valueOf(center.getLatitude());
         longitude = String.valueOf(center.getLongitude());
@@ -117,7 +140,7 @@ public class ItemsMapAppWidget extends GenericWidget {
     context.getRequest().setAttribute("longitude", longitude);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Using center: " + latitude + " / " + longitude);
-      LOG.debug("Items found: " + itemList.size());
+      LOG.debug("Items found: " + itemCount);
     }
 
     // Determine optional map info
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.presentation.widgets.items;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.simisinc.platform.application.items.LoadCategoryCommand;
+import com.simisinc.platform.application.items.LoadCollectionCommand;
+import com.simisinc.platform.application.json.JsonCommand;
+import com.simisinc.platform.application.maps.MapTileCommand;
+import com.simisinc.platform.domain.model.items.Category;
+import com.simisinc.platform.domain.model.items.Collection;
+import com.simisinc.platform.domain.model.items.ItemMapCluster;
+import com.simisinc.platform.infrastructure.cache.ItemMapTile;
+import com.simisinc.platform.infrastructure.cache.ItemMapTileCache;
+import com.simisinc.platform.infrastructure.persistence.items.ItemRepository;
+import com.simisinc.platform.infrastructure.persistence.items.ItemSpecification;
+import com.simisinc.platform.presentation.controller.JsonServiceContext;
+import com.simisinc.platform.presentation.controller.UserSession;
+import com.simisinc.platform.presentation.services.GenericJsonService;
+
+/**
+ * Handles JSON/AJAX GET requests for /json/items/map-tile endpoint
+ * Returns the clustered items of a collection within a z/x/y map tile
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+public class ItemsMapTileJsonService extends GenericJsonService {
+
+  static final long serialVersionUID = -8484048371911908893L;
+  private static Log LOG = LogFactory.getLog(ItemsMapTileJsonService.class);
+
+  /**
+   * Handles GET requests for a map tile
+   *
+   * @param context the widget context
+   * @return context with the response written
+   */
+  public JsonServiceContext get(JsonServiceContext context) {
+
+    // Determine the tile
+    int z = context.getParameterAsInt("z", -1);
+    int x = context.getParameterAsInt("x", -1);
+    int y = context.getParameterAsInt("y", -1);
+    if (!MapTileCommand.isValid(z, x, y)) {
+      return context.writeError("A valid tile is required");
+    }
+
+    // Determine the collection, the user must have access
+    String collectionUniqueId = context.getParameter("collectionUniqueId");
+    Collection collection = LoadCollectionCommand.loadCollectionByUniqueIdForAuthorizedUser(collectionUniqueId,
+        context.getUserId());
+    if (collection == null) {
+      return context.writeError("Collection not found");
+    }
+
+    // Determine criteria
+    ItemSpecification specification = new ItemSpecification();
+    specification.setCollectionId(collection.getId());
+    specification.setForUserId(context.getUserId());
+    boolean approvedOnly = !context.hasRole("admin") && !context.hasRole("data-manager");
+    if (approvedOnly) {
+      specification.setApprovedOnly(true);
+    }
+    long categoryId = context.getParameterAsLong("categoryId", -1);
+    if (categoryId > -1) {
+      Category category = LoadCategoryCommand.loadCategoryById(categoryId);
+      if (category == null || category.getCollectionId() != collection.getId()) {
+        return context.writeError("Category not found");
+      }
+      specification.setCategoryId(categoryId);
+    }
+
+    // Guests share tiles, signed in users may also see the items they are members of
+    String userKey = (context.getUserId() == UserSession.GUEST_ID ? "guest" :
+        ItemMapTileCache.createUserKey(context.getUserId()));
+    String viewerKey = (approvedOnly ? "approved" : "all") + ":" + userKey + ":" + categoryId;
+    long version = ItemMapTileCache.getVersion(collection.getId());
+    String key = ItemMapTileCache.createKey(collection.getId(), version, viewerKey, z, x, y);
+    ItemMapTile tile = ItemMapTileCache.get(key);
+    if (tile == null) {
+      List<ItemMapCluster> clusterList = ItemRepository.findMapClusters(specification, z, x, y);
+      if (clusterList == null) {
+        return context.writeError("The tile could not be loaded");
+      }
+      tile = new ItemMapTile(createJson(clusterList));
+      ItemMapTileCache.put(collection.getId(), version, key, tile);
+    }
+
+    // Browsers keep the tile and revalidate it with the ETag
+    HttpServletResponse response = context.getResponse();
+    response.setHeader("Cache-Control", "private, no-cache");
+    response.setHeader("ETag", tile.getEtag());
+    context.setHandledResponse(true);
+    if (tile.matches(context.getRequest().getHeader("If-None-Match"))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return context;
+    }
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    response.setContentLength(tile.getJson().getBytes(StandardCharsets.UTF_8).length);
+    try (PrintWriter out = response.getWriter()) {
+      out.print(tile.getJson());
+      out.flush();
+    } catch (Exception e) {
+      LOG.warn("Could not write the tile: " + e.getMessage());
+    }
+    return context;
+  }
+
+  private static String createJson(List<ItemMapCluster> clusterList) {
+    StringBuilder sb = new StringBuilder("{\"status\":\"ok\",\"data\":[");
+    boolean isFirst = true;
+    for (ItemMapCluster cluster : clusterList) {
+      if (cluster == null) {
+        continue;
+      }
+      if (!isFirst) {
+        sb.append(",");
+      }
+      isFirst = false;
+      sb.append("{\"count\":").append(cluster.getItemCount());
+      sb.append(",\"latitude\":").append(cluster.getLatitude());
+      sb.append(",\"longitude\":").append(cluster.getLongitude());
+      if (cluster.getItemCount() == 1) {
+        sb.append(",\"name\":\"").append(JsonCommand.toJson(cluster.getName())).append("\"");
+        sb.append(",\"street\":\"").append(JsonCommand.toJson(cluster.getStreet())).append("\"");
+      }
+      sb.append("}");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+}
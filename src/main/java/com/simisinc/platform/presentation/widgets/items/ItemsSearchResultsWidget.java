@@ -87,6 +87,11 @@ public class ItemsSearchResultsWidget extends GenericWidget {
     if ("new".equals(sortBy)) {
       constraints.setColumnToSortBy("created", "desc");
     }
+    // Large result sets can stop counting at a limit and show an estimate
+    int countLimit = Integer.parseInt(context.getPreferences().getOrDefault("countLimit", "-1"));
+    if (countLimit > 0) {
+      constraints.setCountLimit(countLimit);
+    }
     context.getRequest().setAttribute(RequestConstants.RECORD_PAGING, constraints);
 
     // Determine criteria
@@ -63,6 +63,7 @@ public class EmailSubscribeWidget extends GenericWidget {
       context.setJsp(SUCCESS_JSP);
       return context;
     }
+    context.setCacheable(true);
 
     if ("inline".equals(context.getPreferences().get("view"))) {
       context.setJsp(INLINE_FORM_JSP);
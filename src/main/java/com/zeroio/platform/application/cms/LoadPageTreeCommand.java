@@ -26,6 +26,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.simisinc.platform.domain.model.cms.PageTreeNode;
+import com.simisinc.platform.infrastructure.cache.PageHierarchy;
+import com.simisinc.platform.infrastructure.cache.PageHierarchyCache;
 import com.simisinc.platform.infrastructure.database.DB;
 
 /**
@@ -52,6 +54,15 @@ public class LoadPageTreeCommand {
   public static List<PageTreeNode> loadPageTree(long parentId) {
     List<PageTreeNode> nodes = new ArrayList<>();
 
+    // Use the in-memory hierarchy when available
+    PageHierarchy hierarchy = PageHierarchyCache.getSnapshot();
+    if (hierarchy != null) {
+      for (PageHierarchy.Node child : hierarchy.getChildren(parentId)) {
+        nodes.add(createNode(child, child.getDepth(), hierarchy.hasChildren(child.getPageId())));
+      }
+      return nodes;
+    }
+
     // Build the SQL query to join web_page_hierarchy with web_pages
     StringBuilder sql = new StringBuilder();
     sql.append("SELECT p.web_page_id, p.page_title, p.link, h.sort_order, h.depth, ");
@@ -100,6 +111,11 @@ public class LoadPageTreeCommand {
    * @return true if the page has children, false otherwise
    */
   public static boolean hasChildren(long pageId) {
+    PageHierarchy hierarchy = PageHierarchyCache.getSnapshot();
+    if (hierarchy != null) {
+      return pageId > 0 && hierarchy.hasChildren(pageId);
+    }
+
     String sql = "SELECT COUNT(*) FROM web_page_hierarchy WHERE parent_page_id = ?";
 
     try (Connection connection = DB.getConnection();
@@ -130,6 +146,15 @@ public class LoadPageTreeCommand {
   public static List<PageTreeNode> loadPageTree(long parentId, int maxDepth, boolean filterPublished) {
     List<PageTreeNode> nodes = new ArrayList<>();
 
+    // Use the in-memory hierarchy when available
+    PageHierarchy hierarchy = PageHierarchyCache.getSnapshot();
+    if (hierarchy != null) {
+      for (PageHierarchy.TreeEntry entry : hierarchy.getSubtree(parentId, maxDepth, filterPublished)) {
+        nodes.add(createNode(entry.getNode(), entry.getLevel(), entry.hasChildren()));
+      }
+      return nodes;
+    }
+
     StringBuilder sql = new StringBuilder();
     sql.append("WITH RECURSIVE page_tree AS ( ");
     sql.append("SELECT p.web_page_id, p.page_title, p.page_description, p.link, p.enabled, p.draft, ");
@@ -186,4 +211,64 @@ public class LoadPageTreeCommand {
 
     return nodes;
   }
+
+  /**
+   * Loads the ancestors of a page for breadcrumbs, starting with the top level page
+   *
+   * @param pageId the page ID
+   * @return the ancestors with levels starting at 0, not including the page
+   */
+  public static List<PageTreeNode> loadAncestors(long pageId) {
+    List<PageTreeNode> nodes = new ArrayList<>();
+    if (pageId < 1) {
+      return nodes;
+    }
+    PageHierarchy hierarchy = PageHierarchyCache.getSnapshot();
+    if (hierarchy != null) {
+      for (PageHierarchy.Node ancestor : hierarchy.getAncestors(pageId)) {
+        nodes.add(createNode(ancestor, ancestor.getDepth(), true));
+      }
+      return nodes;
+    }
+
+    StringBuilder sql = new StringBuilder();
+    sql.append("SELECT p.web_page_id, p.page_title, p.page_description, p.link, h.depth ");
+    sql.append(SQL_FROM_WEB_PAGES);
+    sql.append(SQL_JOIN_HIERARCHY);
+    sql.append("WHERE (SELECT path FROM web_page_hierarchy WHERE web_page_id = ?) LIKE h.path || '%' ");
+    sql.append("AND h.web_page_id <> ? ");
+    sql.append("ORDER BY h.depth");
+
+    try (Connection connection = DB.getConnection();
+        PreparedStatement pst = connection.prepareStatement(sql.toString())) {
+      pst.setLong(1, pageId);
+      pst.setLong(2, pageId);
+      try (ResultSet rs = pst.executeQuery()) {
+        while (rs.next()) {
+          PageTreeNode node = new PageTreeNode();
+          node.setId(rs.getLong("web_page_id"));
+          node.setTitle(rs.getString("page_title"));
+          node.setDescription(rs.getString("page_description"));
+          node.setLink(rs.getString("link"));
+          node.setLevel(rs.getInt("depth"));
+          node.setHasChildren(true);
+          nodes.add(node);
+        }
+      }
+    } catch (SQLException se) {
+      log.error("loadAncestors error", se);
+    }
+    return nodes;
+  }
+
+  private static PageTreeNode createNode(PageHierarchy.Node page, int level, boolean hasChildren) {
+    PageTreeNode node = new PageTreeNode();
+    node.setId(page.getPageId());
+    node.setTitle(page.getTitle());
+    node.setDescription(page.getDescription());
+    node.setLink(page.getLink());
+    node.setLevel(level);
+    node.setHasChildren(hasChildren);
+    return node;
+  }
 }
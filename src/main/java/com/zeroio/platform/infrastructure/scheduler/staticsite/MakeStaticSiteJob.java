@@ -15,6 +15,7 @@
  */
 package com.zeroio.platform.infrastructure.scheduler.staticsite;
 
+import java.io.File;
 import java.net.URL;
 import java.time.Duration;
 import java.util.Map;
@@ -82,7 +83,9 @@ public class MakeStaticSiteJob implements JobRequest {
       Map<String, String> widgetLibrary = WebPageXmlLayoutCommand.init(servletContext);
       URL webPackageFile = servletContext.getResource("/WEB-INF/dependencies.json");
 
-      PageTemplateEngine.startup(templateResolver, "/WEB-INF/html-templates/", widgetLibrary, webPackageFile);
+      String templatePath = servletContext.getRealPath("/WEB-INF/html-templates/");
+      PageTemplateEngine.startup(templateResolver, "/WEB-INF/html-templates/", widgetLibrary, webPackageFile,
+          templatePath != null ? new File(templatePath) : null);
       Properties templateEngineProperties = new Properties();
       templateEngineProperties.setProperty("webAppPath", servletContext.getRealPath("/"));
 
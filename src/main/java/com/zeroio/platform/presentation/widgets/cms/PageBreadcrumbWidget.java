@@ -19,15 +19,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 
 import com.simisinc.platform.application.cms.LoadWebPageCommand;
+import com.simisinc.platform.domain.model.cms.PageTreeNode;
 import com.simisinc.platform.domain.model.cms.WebPage;
-import com.simisinc.platform.domain.model.cms.WebPageHierarchy;
-import com.simisinc.platform.infrastructure.persistence.cms.WebPageHierarchyRepository;
-import com.simisinc.platform.infrastructure.persistence.cms.WebPageRepository;
 import com.simisinc.platform.presentation.controller.WidgetContext;
 import com.simisinc.platform.presentation.widgets.GenericWidget;
+import com.zeroio.platform.application.cms.LoadPageTreeCommand;
 
 /**
  * Page Breadcrumb Widget for displaying page parent trail as breadcrumb navigation
@@ -101,13 +99,12 @@ public class PageBreadcrumbWidget extends GenericWidget {
       context.getRequest().setAttribute("breadcrumbItems", ancestors);
 
       // Set the current page as the last item
-      WebPage currentPage = WebPageRepository.findById(pageId);
-      context.getRequest().setAttribute("currentPage", currentPage);
+      context.getRequest().setAttribute("currentPage", page);
     }
   }
 
   /**
-   * Gets ancestor pages from the persisted hierarchy path in root-to-parent order
+   * Gets ancestor pages from the page hierarchy in root-to-parent order
    *
    * @param pageId the current page id
    * @param maxItems max number of ancestor pages
@@ -115,29 +112,15 @@ public class PageBreadcrumbWidget extends GenericWidget {
    */
   private List<WebPage> getAncestorsFromHierarchy(long pageId, int maxItems) {
     List<WebPage> ancestors = new ArrayList<>();
-    WebPageHierarchy hierarchy = WebPageHierarchyRepository.findByPageId(pageId);
-    if (hierarchy == null || StringUtils.isBlank(hierarchy.getPath())) {
-      return ancestors;
+    List<PageTreeNode> nodes = LoadPageTreeCommand.loadAncestors(pageId);
+    for (int i = Math.max(0, nodes.size() - maxItems); i < nodes.size(); i++) {
+      PageTreeNode node = nodes.get(i);
+      WebPage ancestor = new WebPage();
+      ancestor.setId(node.getId());
+      ancestor.setTitle(node.getTitle());
+      ancestor.setLink(node.getLink());
+      ancestors.add(ancestor);
     }
-
-    String[] pathSegments = StringUtils.split(hierarchy.getPath(), '/');
-    if (pathSegments == null || pathSegments.length == 0) {
-      return ancestors;
-    }
-
-    int ancestorCount = Math.max(0, pathSegments.length - 1);
-    int startIndex = Math.max(0, ancestorCount - maxItems);
-    for (int i = startIndex; i < ancestorCount; i++) {
-      long ancestorId = NumberUtils.toLong(pathSegments[i], -1);
-      if (ancestorId < 1) {
-        continue;
-      }
-      WebPage ancestor = WebPageRepository.findById(ancestorId);
-      if (ancestor != null) {
-        ancestors.add(ancestor);
-      }
-    }
-
     return ancestors;
   }
 }
@@ -38,6 +38,10 @@ INSERT INTO site_properties (property_label, property_name, property_value) VALU
 INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('File server path', 'system.filepath', '/opt/cms-platform/files');
 INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Configuration path', 'system.configpath', '/opt/cms-platform/config');
 INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Static Site path', 'system.staticsite.filepath', '/opt/cms-platform/static-site');
+INSERT INTO site_properties (property_label, property_name, property_value, property_type) VALUES ('Cache pages for visitors', 'system.cache.pages', 'false', 'boolean');
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Content cache settings', 'system.cache.ContentUniqueIdCache', '');
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Collection cache settings', 'system.cache.CollectionUniqueIdCache', '');
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Object cache settings', 'system.cache.ObjectCache', '');
 
 -- Site
 
@@ -147,6 +151,7 @@ INSERT INTO site_properties (property_order, property_label, property_name, prop
 INSERT INTO site_properties (property_order, property_label, property_name, property_value) VALUES (60, 'SMTP Password', 'mail.password', '');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (70, 'SMTP SSL', 'mail.ssl', 'false', 'boolean');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (80, 'SMTP TLS', 'mail.tls', 'false', 'boolean');
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (90, 'Messages per minute to each domain', 'mail.domain_rate', '60', 'text');
 
 -- Mailing List
 
@@ -222,6 +227,8 @@ INSERT INTO site_properties (property_order, property_label, property_name, prop
 INSERT INTO site_properties (property_order, property_label, property_name, property_value) VALUES (47, 'Order From Address Country Code', 'ecommerce.from.countryCode', '');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value) VALUES (48, 'Order From Address Postal Code', 'ecommerce.from.postalCode', '');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (50, 'Default Currency', 'ecommerce.defaultCurrency', 'USD', 'disabled');
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (60, 'Reserve inventory at checkout?', 'ecommerce.reserveInventory', 'false', 'boolean');
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (61, 'Minutes to hold inventory during checkout', 'ecommerce.reservationMinutes', '10', 'text');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (100, 'USPS Web Tools User Id', 'ecommerce.usps.webtools.userid', '', 'text');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (200, 'Stripe Test Key', 'ecommerce.stripe.test.key', '', 'text');
 INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (205, 'Stripe Test Secret', 'ecommerce.stripe.test.secret', '', 'text');
@@ -606,5 +613,30 @@ CREATE TABLE distributed_lock (
   name VARCHAR(64) PRIMARY KEY NOT NULL,
   locked_at TIMESTAMP(3) NOT NULL,
   lock_until TIMESTAMP(3) NOT NULL,
-  uuid VARCHAR(255) NOT NULL
+  uuid VARCHAR(255) NOT NULL,
+  fencing_token BIGINT NOT NULL DEFAULT 0,
+  renewed TIMESTAMP(3)
 );
+
+CREATE TABLE mail_queue (
+  queue_id BIGSERIAL PRIMARY KEY,
+  created TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  from_address VARCHAR(255),
+  from_name VARCHAR(255),
+  to_address VARCHAR(255) NOT NULL,
+  to_name VARCHAR(255),
+  to_domain VARCHAR(255) NOT NULL,
+  subject VARCHAR(512),
+  html_body TEXT,
+  text_body TEXT,
+  site_url VARCHAR(255),
+  status INTEGER NOT NULL DEFAULT 0,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  claimed TIMESTAMP(3),
+  sent_date TIMESTAMP(3),
+  message_id VARCHAR(255),
+  last_error TEXT
+);
+CREATE INDEX mail_queue_pending_idx ON mail_queue(next_attempt) WHERE status < 2;
+CREATE INDEX mail_queue_status_idx ON mail_queue(status, sent_date);
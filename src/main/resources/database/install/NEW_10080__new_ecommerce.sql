@@ -149,11 +149,31 @@ CREATE TABLE product_skus (
   modified_by BIGINT REFERENCES users(user_id),
   enabled BOOLEAN DEFAULT true,
   square_variation_id VARCHAR(56),
-  strike_price NUMERIC(15,6) DEFAULT 0
+  strike_price NUMERIC(15,6) DEFAULT 0,
+  inventory_allocated INTEGER NOT NULL DEFAULT 0
 );
 CREATE INDEX prod_sku_prod_id_idx ON product_skus(product_id);
 CREATE INDEX prod_sku_ord_idx ON product_skus(sku_order);
 
+-- Inventory claimed by each node for checkout reservations
+CREATE TABLE inventory_allocations (
+  sku_id BIGINT REFERENCES product_skus(sku_id) ON DELETE CASCADE NOT NULL,
+  node_id VARCHAR(64) NOT NULL,
+  quantity INTEGER NOT NULL DEFAULT 0,
+  renewed TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (sku_id, node_id)
+);
+CREATE INDEX inv_alloc_renewed_idx ON inventory_allocations(renewed);
+
+-- Reserved inventory which was sold, applied to product_skus in batches
+CREATE TABLE inventory_commits (
+  commit_id BIGSERIAL PRIMARY KEY,
+  sku_id BIGINT NOT NULL,
+  node_id VARCHAR(64) NOT NULL,
+  quantity INTEGER NOT NULL,
+  created TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Coupons
 -- Features:
 --   apply to max number of qualifying items
@@ -120,6 +120,8 @@ CREATE TABLE medicine_reminders (
 CREATE INDEX med_remind_med_id_idx ON medicine_reminders(medicine_id);
 CREATE INDEX med_remind_sched_id_idx ON medicine_reminders(schedule_id);
 CREATE INDEX med_remind_time_id_idx ON medicine_reminders(time_id);
+CREATE INDEX med_remind_med_date_idx ON medicine_reminders(medicine_id, reminder_date);
+CREATE UNIQUE INDEX med_remind_uni_idx ON medicine_reminders(medicine_id, time_id, reminder_date);
 
 CREATE TABLE medicine_log (
   log_id BIGSERIAL PRIMARY KEY,
@@ -0,0 +1 @@
+INSERT INTO site_properties (property_label, property_name, property_value, property_type) VALUES ('Cache pages for visitors', 'system.cache.pages', 'false', 'boolean');
@@ -0,0 +1,3 @@
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Content cache settings', 'system.cache.ContentUniqueIdCache', '');
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Collection cache settings', 'system.cache.CollectionUniqueIdCache', '');
+INSERT INTO site_properties (property_label, property_name, property_value) VALUES ('Object cache settings', 'system.cache.ObjectCache', '');
@@ -0,0 +1,26 @@
+-- Copyright 2026 Matt Rajkowski, Licensed under the Apache License, Version 2.0
+
+CREATE TABLE mail_queue (
+  queue_id BIGSERIAL PRIMARY KEY,
+  created TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  from_address VARCHAR(255),
+  from_name VARCHAR(255),
+  to_address VARCHAR(255) NOT NULL,
+  to_name VARCHAR(255),
+  to_domain VARCHAR(255) NOT NULL,
+  subject VARCHAR(512),
+  html_body TEXT,
+  text_body TEXT,
+  site_url VARCHAR(255),
+  status INTEGER NOT NULL DEFAULT 0,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  claimed TIMESTAMP(3),
+  sent_date TIMESTAMP(3),
+  message_id VARCHAR(255),
+  last_error TEXT
+);
+CREATE INDEX mail_queue_pending_idx ON mail_queue(next_attempt) WHERE status < 2;
+CREATE INDEX mail_queue_status_idx ON mail_queue(status, sent_date);
+
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (90, 'Messages per minute to each domain', 'mail.domain_rate', '60', 'text');
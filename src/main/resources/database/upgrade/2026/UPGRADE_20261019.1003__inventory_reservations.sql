@@ -0,0 +1,23 @@
+-- Copyright 2026 Matt Rajkowski, Licensed under the Apache License, Version 2.0
+
+ALTER TABLE product_skus ADD COLUMN inventory_allocated INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE inventory_allocations (
+  sku_id BIGINT REFERENCES product_skus(sku_id) ON DELETE CASCADE NOT NULL,
+  node_id VARCHAR(64) NOT NULL,
+  quantity INTEGER NOT NULL DEFAULT 0,
+  renewed TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (sku_id, node_id)
+);
+CREATE INDEX inv_alloc_renewed_idx ON inventory_allocations(renewed);
+
+CREATE TABLE inventory_commits (
+  commit_id BIGSERIAL PRIMARY KEY,
+  sku_id BIGINT NOT NULL,
+  node_id VARCHAR(64) NOT NULL,
+  quantity INTEGER NOT NULL,
+  created TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (60, 'Reserve inventory at checkout?', 'ecommerce.reserveInventory', 'false', 'boolean');
+INSERT INTO site_properties (property_order, property_label, property_name, property_value, property_type) VALUES (61, 'Minutes to hold inventory during checkout', 'ecommerce.reservationMinutes', '10', 'text');
@@ -0,0 +1,3 @@
+-- Copyright 2026 Matt Rajkowski, Licensed under the Apache License, Version 2.0
+
+CREATE INDEX med_remind_med_date_idx ON medicine_reminders(medicine_id, reminder_date);
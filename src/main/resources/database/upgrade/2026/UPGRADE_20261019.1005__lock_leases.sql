@@ -0,0 +1,4 @@
+-- Copyright 2026 Matt Rajkowski, Licensed under the Apache License, Version 2.0
+
+ALTER TABLE distributed_lock ADD COLUMN IF NOT EXISTS fencing_token BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE distributed_lock ADD COLUMN IF NOT EXISTS renewed TIMESTAMP(3);
@@ -0,0 +1,23 @@
+-- Copyright 2026 Matt Rajkowski, Licensed under the Apache License, Version 2.0
+
+-- Keep one reminder of each duplicate, preferring the one which was used, and move the log entries to it
+CREATE TEMPORARY TABLE medicine_reminder_duplicates AS
+SELECT reminder_id, keep_id FROM (
+  SELECT reminder_id, FIRST_VALUE(reminder_id) OVER (
+    PARTITION BY medicine_id, time_id, reminder_date
+    ORDER BY (COALESCE(was_taken, FALSE) OR COALESCE(was_skipped, FALSE) OR logged IS NOT NULL) DESC, reminder_id
+  ) AS keep_id
+  FROM medicine_reminders
+) AS reminders
+WHERE reminder_id <> keep_id;
+
+UPDATE medicine_log SET reminder_id = d.keep_id
+FROM medicine_reminder_duplicates d
+WHERE medicine_log.reminder_id = d.reminder_id;
+
+DELETE FROM medicine_reminders
+WHERE reminder_id IN (SELECT reminder_id FROM medicine_reminder_duplicates);
+
+DROP TABLE medicine_reminder_duplicates;
+
+CREATE UNIQUE INDEX med_remind_uni_idx ON medicine_reminders(medicine_id, time_id, reminder_date);
@@ -428,6 +428,87 @@
               </table>
             </div>
 
+            <!-- Database Queries -->
+            <div class="section-header" style="margin-top: 30px;">
+              <h3><i class="${font:far()} fa-database"></i> Database Queries</h3>
+            </div>
+            <div id="database-metrics" class="data-table skeleton">
+              <table>
+                <thead>
+                  <tr>
+                    <th>Query</th>
+                    <th>Count</th>
+                    <th>Avg</th>
+                    <th>p95</th>
+                    <th>Rows</th>
+                    <th>Errors</th>
+                  </tr>
+                </thead>
+                <tbody id="database-queries-tbody">
+                </tbody>
+              </table>
+            </div>
+
+            <!-- Caches -->
+            <div class="section-header" style="margin-top: 30px;">
+              <h3><i class="${font:far()} fa-memory"></i> Caches</h3>
+            </div>
+            <div id="cache-metrics" class="data-table skeleton">
+              <table>
+                <thead>
+                  <tr>
+                    <th>Cache</th>
+                    <th>Entries</th>
+                    <th>Size</th>
+                    <th>Hit Rate</th>
+                    <th>Misses</th>
+                    <th>Evictions</th>
+                    <th>Avg Load</th>
+                  </tr>
+                </thead>
+                <tbody id="cache-metrics-tbody">
+                </tbody>
+              </table>
+            </div>
+
+            <!-- Distributed Locks -->
+            <div class="section-header" style="margin-top: 30px;">
+              <h3><i class="${font:far()} fa-lock"></i> Distributed Locks</h3>
+            </div>
+            <div id="lock-metrics" class="data-table skeleton">
+              <table>
+                <thead>
+                  <tr>
+                    <th>Acquired</th>
+                    <th>Contended</th>
+                    <th>Skipped</th>
+                    <th>Avg Wait</th>
+                    <th>p95 Wait</th>
+                    <th>Steals</th>
+                    <th>Renewals</th>
+                    <th>Deferred</th>
+                    <th>Lost</th>
+                  </tr>
+                </thead>
+                <tbody id="lock-metrics-tbody">
+                </tbody>
+              </table>
+            </div>
+            <div id="lock-holders" class="data-table skeleton" style="margin-top: 15px;">
+              <table>
+                <thead>
+                  <tr>
+                    <th>Lock Held</th>
+                    <th>Fencing Token</th>
+                    <th>Held</th>
+                    <th>Expires In</th>
+                  </tr>
+                </thead>
+                <tbody id="lock-holders-tbody">
+                </tbody>
+              </table>
+            </div>
+
             <!-- Empty State -->
             <div id="technical-empty-state" class="empty-state" style="display: none;">
               <i class="${font:far()} fa-inbox"></i>
@@ -26,6 +26,8 @@
 <jsp:useBean id="mapHeight" class="java.lang.String" scope="request"/>
 <jsp:useBean id="mapZoomLevel" class="java.lang.String" scope="request"/>
 <jsp:useBean id="itemList" class="java.util.ArrayList" scope="request"/>
+<jsp:useBean id="collection" class="com.simisinc.platform.domain.model.items.Collection" scope="request"/>
+<jsp:useBean id="useTiles" class="java.lang.String" scope="request"/>
 <%-- Leaflet JS + Marker Cluster --%>
 <web:stylesheet package="leaflet" file="leaflet.css" />
 <web:stylesheet package="leaflet.markercluster" file="MarkerCluster.css" />
@@ -46,6 +48,7 @@
   }
 </style>
 <div class="grid-x grid-margin-x map-container">
+  <c:if test="${useTiles ne 'true'}">
   <div class="cell small-12 medium-5 large-4" style="padding: 0">
     <div id="tableContainer${widgetContext.uniqueId}">
       <table class="unstriped">
@@ -76,7 +79,8 @@
       </table>
     </div>
   </div>
-  <div class="cell small-12 medium-7 large-8">
+  </c:if>
+  <div class="cell small-12<c:if test="${useTiles ne 'true'}"> medium-7 large-8</c:if>">
     <div id="mapid${widgetContext.uniqueId}" style="height:${mapHeight};"></div>
   </div>
 </div>
@@ -101,6 +105,85 @@
     </c:otherwise>
   </c:choose>
 
+  <c:if test="${useTiles eq 'true'}">
+  (function(map) {
+    // Load the clustered items for the visible tiles, the browser revalidates tiles it already has
+    var tileLayers = {};
+    var tileSize = 256;
+    function escapeHtml(value) {
+      var div = document.createElement('div');
+      div.textContent = value || '';
+      return div.innerHTML;
+    }
+    function createLayer(clusterList) {
+      var layer = L.layerGroup();
+      clusterList.forEach(function(cluster) {
+        if (cluster.count === 1) {
+          L.marker([cluster.latitude, cluster.longitude])
+            .bindPopup('<b>' + escapeHtml(cluster.name) + '</b>' + (cluster.street ? '<br>' + escapeHtml(cluster.street) : ''))
+            .addTo(layer);
+          return;
+        }
+        var size = cluster.count < 10 ? 'small' : (cluster.count < 100 ? 'medium' : 'large');
+        L.marker([cluster.latitude, cluster.longitude], {
+          icon: L.divIcon({
+            html: '<div><span>' + cluster.count + '</span></div>',
+            className: 'marker-cluster marker-cluster-' + size,
+            iconSize: L.point(40, 40)
+          })
+        }).on('click', function() {
+          map.setView([cluster.latitude, cluster.longitude], Math.min(map.getZoom() + 2, map.getMaxZoom()));
+        }).addTo(layer);
+      });
+      return layer;
+    }
+    function loadTiles() {
+      var z = Math.round(map.getZoom());
+      var pixelBounds = map.getPixelBounds();
+      var min = pixelBounds.min.divideBy(tileSize).floor();
+      var max = pixelBounds.max.divideBy(tileSize).floor();
+      var tileCount = Math.pow(2, z);
+      var visible = {};
+      for (var x = Math.max(min.x, 0); x <= Math.min(max.x, tileCount - 1); x++) {
+        for (var y = Math.max(min.y, 0); y <= Math.min(max.y, tileCount - 1); y++) {
+          visible[z + '/' + x + '/' + y] = {z: z, x: x, y: y};
+        }
+      }
+      Object.keys(tileLayers).forEach(function(key) {
+        if (!visible[key]) {
+          if (tileLayers[key] !== true) {
+            map.removeLayer(tileLayers[key]);
+          }
+          delete tileLayers[key];
+        }
+      });
+      Object.keys(visible).forEach(function(key) {
+        if (tileLayers[key]) {
+          return;
+        }
+        tileLayers[key] = true;
+        var tile = visible[key];
+        fetch('${ctx}/json/items/map-tile?collectionUniqueId=' + encodeURIComponent('${js:escape(collection.uniqueId)}') +
+            '&z=' + tile.z + '&x=' + tile.x + '&y=' + tile.y, {credentials: 'same-origin'})
+          .then(function(response) { return response.json(); })
+          .then(function(json) {
+            if (tileLayers[key] !== true || json.status !== 'ok') {
+              return;
+            }
+            tileLayers[key] = createLayer(json.data).addTo(map);
+          })
+          .catch(function() {
+            if (tileLayers[key] === true) {
+              delete tileLayers[key];
+            }
+          });
+      });
+    }
+    map.on('moveend', loadTiles);
+    loadTiles();
+  })(map${widgetContext.uniqueId});
+  </c:if>
+
   <c:forEach items="${itemList}" var="item" varStatus="status">
     var marker${widgetContext.uniqueId}id${status.index} = L.marker([${item.latitude}, ${item.longitude}]).addTo(map${widgetContext.uniqueId});
     marker${widgetContext.uniqueId}id${status.index}.bindPopup("<b><c:out value="${js:escape(item.name)}" /></b><c:if test="${!fn:contains(markerText, '{')}"><br><c:out value="${js:escape(item.street)}" /></c:if>");
@@ -886,6 +886,112 @@ const AnalyticsDashboard = (function() {
         errorsContainer.innerHTML = '<tr><td colspan="3" class="text-muted text-center">No error metrics available</td></tr>';
       }
     }
+
+    // Database queries table
+    const queriesContainer = document.getElementById('database-queries-tbody');
+    const queriesTable = document.getElementById('database-metrics');
+    if (queriesTable) {
+      queriesTable.classList.remove('skeleton');
+    }
+    const database = (data.performance && data.performance.database) ? data.performance.database : {};
+    const queries = database.queries || [];
+    if (queriesContainer) {
+      if (queries.length > 0) {
+        queriesContainer.innerHTML = '';
+        queries.forEach(query => {
+          const row = document.createElement('tr');
+          row.innerHTML = `
+            <td><code>${escapeHtml(query.name)}</code></td>
+            <td>${formatNumber(query.count)}</td>
+            <td>${query.avg}ms</td>
+            <td>${query.p95}ms</td>
+            <td>${formatNumber(query.rows)}</td>
+            <td>${formatNumber(query.errors)}</td>
+          `;
+          queriesContainer.appendChild(row);
+        });
+      } else {
+        queriesContainer.innerHTML = '<tr><td colspan="6" class="text-muted text-center">No database metrics available</td></tr>';
+      }
+    }
+
+    // Caches table
+    const cachesContainer = document.getElementById('cache-metrics-tbody');
+    const cachesTable = document.getElementById('cache-metrics');
+    if (cachesTable) {
+      cachesTable.classList.remove('skeleton');
+    }
+    const caches = (data.performance && data.performance.caches) ? data.performance.caches : [];
+    if (cachesContainer) {
+      if (caches.length > 0) {
+        cachesContainer.innerHTML = '';
+        caches.forEach(cache => {
+          const row = document.createElement('tr');
+          row.innerHTML = `
+            <td><code>${escapeHtml(cache.name)}</code></td>
+            <td>${formatNumber(cache.size)}</td>
+            <td>${cache.weightMb !== undefined ? cache.weightMb + 'MB' : '-'}</td>
+            <td>${cache.hitRate}%</td>
+            <td>${formatNumber(cache.misses)}</td>
+            <td>${formatNumber(cache.evictions)}</td>
+            <td>${cache.avgLoadMs}ms</td>
+          `;
+          cachesContainer.appendChild(row);
+        });
+      } else {
+        cachesContainer.innerHTML = '<tr><td colspan="7" class="text-muted text-center">No cache metrics available</td></tr>';
+      }
+    }
+
+    // Distributed locks tables
+    const locksContainer = document.getElementById('lock-metrics-tbody');
+    const locksTable = document.getElementById('lock-metrics');
+    if (locksTable) {
+      locksTable.classList.remove('skeleton');
+    }
+    const locks = (data.performance && data.performance.locks) ? data.performance.locks : null;
+    if (locksContainer) {
+      if (locks) {
+        locksContainer.innerHTML = `
+          <tr>
+            <td>${formatNumber(locks.acquired)}</td>
+            <td>${formatNumber(locks.contended)}</td>
+            <td>${formatNumber(locks.skipped)}</td>
+            <td>${locks.waitAvg}ms</td>
+            <td>${locks.waitP95}ms</td>
+            <td>${formatNumber(locks.steals)}</td>
+            <td>${formatNumber(locks.renewals)}</td>
+            <td>${formatNumber(locks.renewalsDeferred)}</td>
+            <td>${formatNumber(locks.lost)}</td>
+          </tr>
+        `;
+      } else {
+        locksContainer.innerHTML = '<tr><td colspan="9" class="text-muted text-center">No lock metrics available</td></tr>';
+      }
+    }
+    const holdersContainer = document.getElementById('lock-holders-tbody');
+    const holdersTable = document.getElementById('lock-holders');
+    if (holdersTable) {
+      holdersTable.classList.remove('skeleton');
+    }
+    const holders = (locks && locks.holders) ? locks.holders : [];
+    if (holdersContainer) {
+      if (holders.length > 0) {
+        holdersContainer.innerHTML = '';
+        holders.forEach(holder => {
+          const row = document.createElement('tr');
+          row.innerHTML = `
+            <td><code>${escapeHtml(holder.name)}</code></td>
+            <td>${holder.fencingToken}</td>
+            <td>${formatNumber(holder.heldSeconds)}s</td>
+            <td>${formatNumber(holder.expiresSeconds)}s</td>
+          `;
+          holdersContainer.appendChild(row);
+        });
+      } else {
+        holdersContainer.innerHTML = '<tr><td colspan="4" class="text-muted text-center">No locks held by this node</td></tr>';
+      }
+    }
   }
 
   /**
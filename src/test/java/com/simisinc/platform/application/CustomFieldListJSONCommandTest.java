@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.CustomField;
+
+/**
+ * Tests decoding custom fields
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 3:00 PM
+ */
+class CustomFieldListJSONCommandTest {
+
+  private static String createItemJson(int i) {
+    return "[{\"label\":\"Size\",\"name\":\"size\",\"type\":\"list\",\"value\":\"Size " + (i % 3) + "\",\"list\":\"Small,Medium,large=Large\"}," +
+        "{\"name\":\"color\",\"type\":\"text\",\"value\":\"Color \\\"" + i + "\\\"\"}," +
+        "{\"label\":\"Weight\",\"name\":\"weight\",\"type\":\"number\",\"value\":" + (i * 1.5) + "}," +
+        "{\"label\":\"Notes\",\"name\":\"notes\",\"type\":\"textarea\",\"value\":\"Line one\\nLine two " + i + "\"}]";
+  }
+
+  private static void assertSameFields(Map<String, CustomField> expected, Map<String, CustomField> actual) {
+    assertEquals(expected.size(), actual.size());
+    Iterator<Map.Entry<String, CustomField>> actualEntries = actual.entrySet().iterator();
+    for (Map.Entry<String, CustomField> entry : expected.entrySet()) {
+      Map.Entry<String, CustomField> actualEntry = actualEntries.next();
+      assertEquals(entry.getKey(), actualEntry.getKey());
+      CustomField field = entry.getValue();
+      CustomField actualField = actualEntry.getValue();
+      assertEquals(field.getName(), actualField.getName());
+      assertEquals(field.getLabel(), actualField.getLabel());
+      assertEquals(field.getType(), actualField.getType());
+      assertEquals(field.getValue(), actualField.getValue());
+      assertEquals(field.getListOfOptions(), actualField.getListOfOptions());
+    }
+  }
+
+  @Test
+  void testLazyMatchesTree() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      String json = createItemJson(i);
+      assertSameFields(CustomFieldListJSONCommand.populateFromJSONString(json),
+          CustomFieldListJSONCommand.lazyFromJSONString(json, 1001));
+    }
+    String json = "[{\"name\":\"a\",\"value\":null,\"label\":true},{\"name\":\"a\",\"value\":\"2\"},{\"value\":{\"x\":1}}]";
+    assertSameFields(CustomFieldListJSONCommand.populateFromJSONString(json),
+        CustomFieldListJSONCommand.lazyFromJSONString(json, -1));
+    assertNull(CustomFieldListJSONCommand.lazyFromJSONString("", 1001));
+  }
+
+  @Test
+  void testChangesAndSharedSchema() {
+    Map<String, CustomField> first = CustomFieldListJSONCommand.lazyFromJSONString(createItemJson(1), 1002);
+    Map<String, CustomField> second = CustomFieldListJSONCommand.lazyFromJSONString(createItemJson(2), 1002);
+    assertEquals("Color \"1\"", first.get("color").getValue());
+    assertEquals("Color \"2\"", second.get("color").getValue());
+    assertEquals("color", first.get("color").getLabel());
+
+    // Fields and their options can be changed by the caller
+    CustomField size = first.get("size");
+    size.setValue("Huge");
+    size.getListOfOptions().put("huge", "Huge");
+    assertSame(size, first.get("size"));
+    assertEquals(3, second.get("size").getListOfOptions().size());
+
+    first.remove("notes");
+    CustomField added = new CustomField("extra", "Extra", "x");
+    first.put(added.getName(), added);
+    assertEquals(4, first.size());
+    assertEquals("Huge", first.get("size").getValue());
+    assertSame(added, first.get("extra"));
+    assertTrue(!first.containsKey("notes"));
+
+    Map<String, CustomField> invalid = CustomFieldListJSONCommand.lazyFromJSONString("[{\"name\":", 1002);
+    assertNotNull(invalid);
+    assertTrue(invalid.isEmpty());
+  }
+
+  /**
+   * Compares decoding 10k items into trees with the lazy, schema-compiled decoding; run with the test classpath,
+   * it is not part of the test suite
+   */
+  static class DecodeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+      int items = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+      List<String> rows = new ArrayList<>();
+      for (int i = 0; i < items; i++) {
+        rows.add(createItemJson(i));
+      }
+      // Warm up both paths
+      for (int run = 0; run < 3; run++) {
+        for (String json : rows) {
+          CustomFieldListJSONCommand.populateFromJSONString(json);
+          CustomFieldListJSONCommand.lazyFromJSONString(json, 1003).get("size");
+        }
+      }
+
+      long start = System.nanoTime();
+      long count = 0;
+      for (String json : rows) {
+        count += CustomFieldListJSONCommand.populateFromJSONString(json).get("size").getValue().length();
+      }
+      long treeNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      long lazyCount = 0;
+      for (String json : rows) {
+        lazyCount += CustomFieldListJSONCommand.lazyFromJSONString(json, 1003).get("size").getValue().length();
+      }
+      long lazyNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for (String json : rows) {
+        CustomFieldListJSONCommand.lazyFromJSONString(json, 1003);
+      }
+      long unusedNanos = System.nanoTime() - start;
+
+      System.out.println("Decoded " + items + " items: tree=" + treeNanos / 1_000_000 + "ms, lazy=" +
+          lazyNanos / 1_000_000 + "ms, not accessed=" + unusedNanos / 1_000_000 + "ms" +
+          (count == lazyCount ? "" : " (the values differ)"));
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+
+/**
+ * Tests creating iCalendar documents
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+class CalendarIcsCommandTest {
+
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+  private static Timestamp time(int year, int month, int day, int hour) {
+    return Timestamp.from(LocalDateTime.of(year, month, day, hour, 0).atZone(ZONE).toInstant());
+  }
+
+  @Test
+  void testCreateIcs() {
+    CalendarEvent meeting = new CalendarEvent();
+    meeting.setId(1L);
+    meeting.setUniqueId("board-meeting");
+    meeting.setTitle("Board meeting; budget, plans");
+    meeting.setSummary("Line one\nLine two");
+    meeting.setStartDate(time(2026, 10, 19, 18));
+    meeting.setEndDate(time(2026, 10, 19, 20));
+    meeting.setPublished(time(2026, 10, 1, 9));
+
+    CalendarEvent festival = new CalendarEvent();
+    festival.setId(2L);
+    festival.setUniqueId("festival");
+    festival.setTitle("Festival");
+    festival.setAllDay(true);
+    festival.setStartDate(time(2026, 10, 24, 0));
+    festival.setEndDate(time(2026, 10, 25, 0));
+    festival.setPublished(time(2026, 10, 1, 9));
+
+    CalendarEvent draft = new CalendarEvent();
+    draft.setId(3L);
+    draft.setTitle("Draft");
+    draft.setStartDate(time(2026, 10, 20, 9));
+
+    String ics = CalendarIcsCommand.createIcs("Events", List.of(meeting, festival, draft), "https://www.example.com",
+        ZONE);
+    assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+    assertTrue(ics.contains("UID:board-meeting@www.example.com\r\n"));
+    assertTrue(ics.contains("DTSTART:20261019T220000Z\r\nDTEND:20261020T000000Z\r\n"));
+    assertTrue(ics.contains("SUMMARY:Board meeting\\; budget\\, plans\r\n"));
+    assertTrue(ics.contains("DESCRIPTION:Line one\\nLine two\r\n"));
+    assertTrue(ics.contains("URL:https://www.example.com/calendar-event/board-meeting\r\n"));
+    assertTrue(ics.contains("DTSTART;VALUE=DATE:20261024\r\nDTEND;VALUE=DATE:20261026\r\n"));
+    assertFalse(ics.contains("Draft"));
+    assertEquals(2, ics.split("BEGIN:VEVENT").length - 1);
+  }
+
+  @Test
+  void testFoldsLongLines() {
+    StringBuilder sb = new StringBuilder();
+    CalendarIcsCommand.appendLine(sb, "DESCRIPTION:" + "é".repeat(100));
+    String[] lines = sb.toString().split("\r\n");
+    assertTrue(lines.length > 2);
+    for (String line : lines) {
+      assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75);
+    }
+    assertEquals("DESCRIPTION:" + "é".repeat(100), sb.toString().replace("\r\n ", "").trim());
+  }
+}
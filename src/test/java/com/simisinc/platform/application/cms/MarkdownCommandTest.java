@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.cms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tests rendering markdown with the shared renderers and the html cache
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 9:30 PM
+ */
+class MarkdownCommandTest {
+
+  private static String createLargePage() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("# Large Page\n\nSee [[Other Page]] and [the site](https://example.com).\n\n");
+    for (int section = 0; section < 20; section++) {
+      sb.append("## Section ").append(section).append("\n\n");
+      sb.append("| Name | Value | Notes |\n|------|------:|-------|\n");
+      for (int row = 0; row < 50; row++) {
+        sb.append("| Row ").append(row).append(" | ").append(row * section).append(" | *note* \"").append(row)
+            .append("\" |\n");
+      }
+      sb.append("\n```java\n");
+      for (int line = 0; line < 30; line++) {
+        sb.append("int value").append(line).append(" = ").append(line).append(" * 2;\n");
+      }
+      sb.append("```\n\n- [x] done\n- [ ] ~~not done~~\n\n");
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void testRenderMatchesAndCaches() {
+    Cache<String, String> cache = Caffeine.newBuilder().maximumSize(10).build();
+    MarkdownCommand.MarkdownRenderer renderer = MarkdownCommand.getWikiRenderer("/wiki");
+    String markdown = createLargePage();
+    String uncached = renderer.render(markdown);
+    assertTrue(uncached.contains("<table>"));
+    assertTrue(uncached.contains("href=\"/wiki/Other-Page\""));
+    assertTrue(uncached.contains("target=\"_blank\""));
+
+    String first = MarkdownCommand.html(markdown, renderer, cache);
+    assertEquals(uncached, first);
+    assertSame(first, MarkdownCommand.html(markdown, renderer, cache));
+    assertEquals(1, cache.estimatedSize());
+
+    // The extension settings are part of the key
+    assertSame(renderer, MarkdownCommand.getWikiRenderer("/wiki"));
+    String other = MarkdownCommand.html(markdown, MarkdownCommand.getWikiRenderer("/docs"), cache);
+    assertNotSame(first, other);
+    assertTrue(other.contains("href=\"/docs/Other-Page\""));
+    assertEquals(2, cache.estimatedSize());
+    assertEquals("", MarkdownCommand.html(" ", renderer, cache));
+  }
+
+  /**
+   * Compares a new renderer, the shared renderer and the cached html for a large page; run with the test
+   * classpath, it is not part of the test suite
+   */
+  static class RenderBenchmark {
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+      String markdown = createLargePage();
+      MarkdownCommand.MarkdownRenderer renderer = MarkdownCommand.getWikiRenderer("/wiki");
+      Cache<String, String> cache = Caffeine.newBuilder().maximumSize(10).build();
+      // Warm up
+      for (int i = 0; i < 5; i++) {
+        new MarkdownCommand.MarkdownRenderer("new", "/wiki").render(markdown);
+        MarkdownCommand.html(markdown, renderer, cache);
+      }
+      cache.invalidateAll();
+
+      long start = System.nanoTime();
+      for (int i = 0; i < runs; i++) {
+        new MarkdownCommand.MarkdownRenderer("new", "/wiki").render(markdown);
+      }
+      long newRendererNanos = (System.nanoTime() - start) / runs;
+
+      start = System.nanoTime();
+      for (int i = 0; i < runs; i++) {
+        renderer.render(markdown);
+      }
+      long sharedNanos = (System.nanoTime() - start) / runs;
+
+      start = System.nanoTime();
+      for (int i = 0; i < runs; i++) {
+        MarkdownCommand.html(markdown, renderer, cache);
+      }
+      long cachedNanos = (System.nanoTime() - start) / runs;
+
+      System.out.println("Rendered " + markdown.length() + " characters of markdown " + runs + " times: " +
+          "new renderer=" + newRendererNanos / 1_000 + "us, shared=" + sharedNanos / 1_000 + "us, cached=" +
+          cachedNanos / 1_000 + "us");
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.application.ecommerce;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.ecommerce.InventoryHold;
+
+/**
+ * Tests reserving inventory from each node's share of the skus
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+class InventoryReservationPoolTest {
+
+  private static final long HOT_SKU = 1L;
+  private static final long OTHER_SKU = 2L;
+
+  /** Stands in for product_skus: inventory_qty and inventory_allocated */
+  private static class SkuRows implements InventoryReservationPool.Allocator {
+
+    private final Map<Long, int[]> rows = new HashMap<>();
+    private final AtomicInteger claims = new AtomicInteger();
+
+    SkuRows(long skuId, int inventoryQty) {
+      rows.put(skuId, new int[] { inventoryQty, 0 });
+    }
+
+    SkuRows with(long skuId, int inventoryQty) {
+      rows.put(skuId, new int[] { inventoryQty, 0 });
+      return this;
+    }
+
+    @Override
+    public synchronized int claim(long skuId, int quantity) {
+      claims.incrementAndGet();
+      int[] row = rows.get(skuId);
+      if (row == null) {
+        return 0;
+      }
+      int granted = Math.max(0, Math.min(quantity, row[0] - row[1]));
+      row[1] += granted;
+      return granted;
+    }
+
+    @Override
+    public synchronized boolean release(long skuId, int quantity) {
+      int[] row = rows.get(skuId);
+      if (row == null || row[1] < quantity) {
+        return false;
+      }
+      row[1] -= quantity;
+      return true;
+    }
+
+    synchronized int allocated(long skuId) {
+      return rows.get(skuId)[1];
+    }
+
+    /** A node's allocation was not renewed and is returned to the sku */
+    synchronized void reclaim(long skuId, int quantity) {
+      rows.get(skuId)[1] -= quantity;
+    }
+  }
+
+  private static Map<Long, Integer> quantities(long skuId, int quantity) {
+    return Collections.singletonMap(skuId, quantity);
+  }
+
+  @Test
+  void testReserveFromBlocks() {
+    SkuRows skuRows = new SkuRows(HOT_SKU, 25).with(OTHER_SKU, 1);
+    InventoryReservationPool pool = new InventoryReservationPool("node-a", skuRows, 10);
+
+    InventoryHold hold = pool.reserve(100L, quantities(HOT_SKU, 3), Long.MAX_VALUE);
+    assertNotNull(hold);
+    assertEquals("node-a", hold.getNodeId());
+    // A block was claimed and the rest stays with the node
+    assertEquals(10, skuRows.allocated(HOT_SKU));
+    assertEquals(7, pool.getAvailable(HOT_SKU));
+    assertEquals(3, pool.getHeld(HOT_SKU));
+    assertNotNull(pool.reserve(101L, quantities(HOT_SKU, 5), Long.MAX_VALUE));
+    assertEquals(1, skuRows.claims.get());
+
+    // Nothing is held when any sku is short
+    Map<Long, Integer> both = new HashMap<>();
+    both.put(HOT_SKU, 2);
+    both.put(OTHER_SKU, 2);
+    assertNull(pool.reserve(102L, both, Long.MAX_VALUE));
+    assertEquals(2, pool.getAvailable(HOT_SKU));
+    assertEquals(1, pool.getAvailable(OTHER_SKU));
+
+    // Another checkout for the cart replaces its hold
+    assertNotNull(pool.reserve(100L, quantities(HOT_SKU, 1), Long.MAX_VALUE));
+    assertEquals(6, pool.getHeld(HOT_SKU));
+    assertEquals(2, pool.getHoldCount());
+
+    // Units above the amount kept on hand go back to the sku
+    assertEquals(5, pool.returnSurplus(0));
+    assertEquals(6, skuRows.allocated(HOT_SKU));
+    assertEquals(0, skuRows.allocated(OTHER_SKU));
+  }
+
+  @Test
+  void testExpireTakeAndRestore() {
+    SkuRows skuRows = new SkuRows(HOT_SKU, 5);
+    InventoryReservationPool pool = new InventoryReservationPool("node-a", skuRows, 1);
+    assertNotNull(pool.reserve(1L, quantities(HOT_SKU, 2), 1_000L));
+    assertNotNull(pool.reserve(2L, quantities(HOT_SKU, 3), 5_000L));
+    assertNull(pool.reserve(3L, quantities(HOT_SKU, 1), 5_000L));
+
+    assertEquals(1, pool.expire(2_000L));
+    assertEquals(2, pool.getAvailable(HOT_SKU));
+
+    // A hold being saved with an order does not expire
+    InventoryHold taken = pool.take(2L);
+    assertNotNull(taken);
+    assertEquals(0, pool.expire(10_000L));
+    pool.restore(taken);
+    assertSame(taken, pool.take(2L));
+    pool.complete(taken);
+    assertEquals(0, pool.getHeld(HOT_SKU));
+    assertEquals(2, pool.getAvailable(HOT_SKU));
+    assertEquals(5, skuRows.allocated(HOT_SKU));
+  }
+
+  @Test
+  void testStoppedRenewingWithLiveHolds() {
+    SkuRows skuRows = new SkuRows(HOT_SKU, 10).with(OTHER_SKU, 5);
+    InventoryReservationPool nodeA = new InventoryReservationPool("node-a", skuRows, 10);
+    InventoryReservationPool nodeB = new InventoryReservationPool("node-b", skuRows, 10);
+    Map<Long, Integer> both = new HashMap<>();
+    both.put(HOT_SKU, 4);
+    both.put(OTHER_SKU, 1);
+    assertNotNull(nodeA.reserve(1L, both, Long.MAX_VALUE));
+    assertNotNull(nodeA.reserve(2L, quantities(HOT_SKU, 2), Long.MAX_VALUE));
+    InventoryHold saving = nodeA.take(2L);
+    assertEquals(4, nodeA.getAvailable(OTHER_SKU));
+
+    // Node A stopped renewing, its hot sku allocation is reclaimed and claimed by node B
+    skuRows.reclaim(HOT_SKU, 10);
+    assertNotNull(nodeB.reserve(3L, quantities(HOT_SKU, 10), Long.MAX_VALUE));
+    assertEquals(10, skuRows.allocated(HOT_SKU));
+
+    // Node A finds out when it renews: the holds on the sku are dropped, the other sku's units are kept
+    assertEquals(1, nodeA.forget(Collections.singleton(HOT_SKU)));
+    assertEquals(0, nodeA.getAvailable(HOT_SKU));
+    assertEquals(0, nodeA.getHeld(HOT_SKU));
+    assertEquals(0, nodeA.getHoldCount());
+    assertEquals(5, nodeA.getAvailable(OTHER_SKU));
+    assertEquals(0, nodeA.getHeld(OTHER_SKU));
+    assertFalse(nodeA.release(1L));
+
+    // The hold which was being saved no longer changes the counters, and nothing is given back for node B's units
+    nodeA.restore(saving);
+    assertEquals(0, nodeA.getHoldCount());
+    assertEquals(0, nodeA.getAvailable(HOT_SKU));
+    assertEquals(0, nodeA.getHeld(HOT_SKU));
+    assertEquals(5, nodeA.returnSurplus(0));
+    assertEquals(10, skuRows.allocated(HOT_SKU));
+    assertNull(nodeA.reserve(4L, quantities(HOT_SKU, 1), Long.MAX_VALUE));
+  }
+
+  @Test
+  void testConcurrentCheckoutsDoNotOversell() throws Exception {
+    final int inventory = 500;
+    final int nodes = 4;
+    final int threadsPerNode = 16;
+    final int checkoutsPerThread = 200;
+    SkuRows skuRows = new SkuRows(HOT_SKU, inventory);
+    List<InventoryReservationPool> pools = new ArrayList<>();
+    for (int n = 0; n < nodes; n++) {
+      pools.add(new InventoryReservationPool("node-" + n, skuRows, 10));
+    }
+
+    AtomicInteger sold = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    AtomicLong nextCartId = new AtomicLong();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < nodes * threadsPerNode; t++) {
+      InventoryReservationPool pool = pools.get(t % nodes);
+      futures.add(executor.submit(() -> {
+        start.await();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < checkoutsPerThread; i++) {
+          long cartId = nextCartId.incrementAndGet();
+          int quantity = 1 + random.nextInt(3);
+          InventoryHold hold = pool.reserve(cartId, quantities(HOT_SKU, quantity), Long.MAX_VALUE);
+          if (hold == null) {
+            rejected.incrementAndGet();
+            continue;
+          }
+          // Most payments succeed, the rest give the units back
+          InventoryHold taken = pool.take(cartId);
+          if (random.nextInt(10) < 7) {
+            pool.complete(taken);
+            sold.addAndGet(quantity);
+          } else {
+            pool.release(taken);
+          }
+          if (random.nextInt(20) == 0) {
+            pool.returnSurplus(10);
+          }
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    int available = 0;
+    for (InventoryReservationPool pool : pools) {
+      assertEquals(0, pool.getHeld(HOT_SKU));
+      assertEquals(0, pool.getHoldCount());
+      available += pool.getAvailable(HOT_SKU);
+    }
+    assertTrue(sold.get() <= inventory, "Oversold: " + sold.get());
+    // Every allocated unit is either sold or still on hand with a node
+    assertEquals(skuRows.allocated(HOT_SKU), sold.get() + available);
+    assertTrue(skuRows.allocated(HOT_SKU) <= inventory);
+    // Demand is far above the inventory, so it sells out except for what the nodes still have on hand
+    assertTrue(sold.get() >= inventory - nodes * 12, "Sold: " + sold.get());
+    // Most checkouts never touch the sku row
+    assertTrue(skuRows.claims.get() < nextCartId.get() / 2, "Claims: " + skuRows.claims.get());
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import com.simisinc.platform.application.filesystem.FileChangeWatcher;
+import com.simisinc.platform.domain.model.ecommerce.Address;
+import com.simisinc.platform.presentation.controller.PageRenderInfo;
+import com.simisinc.platform.presentation.controller.PageTemplateEngine;
+import com.simisinc.platform.presentation.controller.RequestConstants;
+
+/**
+ * Tests the shared email template engine
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:30 PM
+ */
+class EmailTemplateEngineTest {
+
+  private static final String TEMPLATE = "ecommerce/order-confirmation.html";
+
+  private static TemplateEngine createEngine(String prefix, boolean cacheable) {
+    FileTemplateResolver templateResolver = new FileTemplateResolver();
+    templateResolver.setPrefix(prefix);
+    return EmailTemplateEngine.create(templateResolver, cacheable);
+  }
+
+  private static String emailTemplatePath() {
+    return new File("src/main/webapp/WEB-INF/email-templates").getAbsolutePath() + File.separator;
+  }
+
+  private static Context createOrderContext() {
+    Context ctx = new Context();
+    Map<String, String> site = new HashMap<>();
+    site.put("name", "Test Site");
+    site.put("url", "https://www.example.com");
+    site.put("contactUsUrl", "https://www.example.com/contact-us");
+    site.put("addressLine1", "1 Main St");
+    site.put("city", "Springfield");
+    site.put("state", "IL");
+    site.put("postalCode", "62701");
+    ctx.setVariable("site", site);
+
+    Map<String, Object> order = new HashMap<>();
+    order.put("uniqueId", "ORDER-1001");
+    order.put("date", new Timestamp(System.currentTimeMillis()));
+    order.put("totalAmount", new BigDecimal("64.50"));
+    order.put("subtotalAmount", new BigDecimal("55.00"));
+    order.put("shippingFee", new BigDecimal("5.00"));
+    order.put("salesTax", new BigDecimal("4.50"));
+    order.put("discountAmount", new BigDecimal("0"));
+    order.put("paymentBrand", "Visa");
+    order.put("shippingMethod", "Ground");
+    ctx.setVariable("order", order);
+
+    Address address = new Address();
+    address.setFirstName("Pat");
+    address.setLastName("Smith");
+    address.setStreet("2 Oak Ave");
+    address.setCity("Springfield");
+    address.setState("IL");
+    address.setPostalCode("62702");
+    address.setCountry("United States");
+    ctx.setVariable("shippingAddress", address);
+
+    List<Map<String, Object>> products = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      Map<String, Object> product = new HashMap<>();
+      product.put("sku", "SKU-" + i);
+      product.put("barcode", i % 2 == 0 ? "0001234" + i : "");
+      product.put("name", "Product " + i);
+      product.put("quantity", new BigDecimal(i));
+      product.put("price", new BigDecimal("11.00"));
+      products.add(product);
+    }
+    ctx.setVariable("products", products);
+    return ctx;
+  }
+
+  @Test
+  void testCachedOrderConfirmation() {
+    String prefix = emailTemplatePath();
+    Context ctx = createOrderContext();
+    TemplateEngine shared = createEngine(prefix, true);
+    String html = shared.process(TEMPLATE, ctx);
+    assertTrue(html.contains("ORDER-1001"));
+    assertTrue(html.contains("Product 5"));
+    // The cached template renders the same as a template read for each use
+    assertEquals(html, shared.process(TEMPLATE, ctx));
+    assertEquals(html, createEngine(prefix, false).process(TEMPLATE, ctx));
+  }
+
+  @Test
+  void testChangedTemplateIsReloaded(@TempDir Path directory) throws Exception {
+    Path template = directory.resolve("welcome.html");
+    Files.write(template, "<p th:text=\"${name}\">Hello</p>".getBytes(StandardCharsets.UTF_8));
+    TemplateEngine engine = createEngine(directory.toAbsolutePath() + File.separator, true);
+    FileChangeWatcher watcher = new FileChangeWatcher(directory.toFile(), 0L);
+
+    Context ctx = new Context();
+    ctx.setVariable("name", "Pat");
+    assertEquals("<p>Pat</p>", engine.process("welcome.html", ctx));
+    assertFalse(watcher.hasChanged());
+
+    Files.write(template, "<div th:text=\"${name}\">Hello there</div>".getBytes(StandardCharsets.UTF_8));
+    assertTrue(template.toFile().setLastModified(System.currentTimeMillis() + 2_000L));
+    // The parsed template is cached until the change is seen
+    assertEquals("<p>Pat</p>", engine.process("welcome.html", ctx));
+    assertTrue(watcher.hasChanged());
+    engine.clearTemplateCache();
+    assertEquals("<div>Pat</div>", engine.process("welcome.html", ctx));
+    assertFalse(watcher.hasChanged());
+  }
+
+  /**
+   * Reports the order confirmations and pages rendered per second with the template cache on and off
+   * (CMS_TEMPLATE_CACHE), each in its own JVM; run with the test classpath, it is not part of the test suite
+   */
+  static class RenderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+      int renders = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+      if (args.length > 1) {
+        render(renders);
+        return;
+      }
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+      for (String cacheable : new String[] { "true", "false" }) {
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+            RenderBenchmark.class.getName(), String.valueOf(renders), "run");
+        builder.environment().put("CMS_TEMPLATE_CACHE", cacheable);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        builder.start().waitFor();
+      }
+    }
+
+    private static void render(int renders) throws Exception {
+      // The order confirmation, with the email engine's settings
+      TemplateEngine emailEngine = createEngine(emailTemplatePath(), EmailTemplateEngine.CACHEABLE);
+      Context orderContext = createOrderContext();
+      double emailRate = rate(renders, () -> emailEngine.process(TEMPLATE, orderContext));
+
+      // The page layout, with the page engine's settings
+      File webAppPath = new File("src/main/webapp").getAbsoluteFile();
+      String htmlTemplates = new File(webAppPath, "WEB-INF/html-templates").getAbsolutePath() + File.separator;
+      PageTemplateEngine.startup(new FileTemplateResolver(), htmlTemplates,
+          Map.of("content", "com.simisinc.platform.presentation.widgets.cms.ContentWidget"),
+          new File(webAppPath, "WEB-INF/dependencies.json").toURI().toURL());
+      TemplateEngine pageEngine = PageTemplateEngine.useTemplateEngine();
+      Context pageContext = createPageContext();
+      double pageRate = rate(renders, () -> pageEngine.process("main", pageContext));
+
+      System.out.println("CMS_TEMPLATE_CACHE=" + System.getenv("CMS_TEMPLATE_CACHE") + ": order confirmations=" +
+          Math.round(emailRate) + "/s, pages=" + Math.round(pageRate) + "/s");
+    }
+
+    private static Context createPageContext() {
+      Context ctx = new Context();
+      ctx.setVariable("VERSION", "benchmark");
+      ctx.setVariable(RequestConstants.CONTEXT_PATH, "");
+      ctx.setVariable("TIMEZONE", TimeZone.getDefault());
+      ctx.setVariable("DATETIME_FORMAT", "MM-dd-yyyy HH:mm");
+      for (String map : new String[] { "systemPropertyMap", "sitePropertyMap", "themePropertyMap",
+          "socialPropertyMap", "analyticsPropertyMap", "ecommercePropertyMap" }) {
+        ctx.setVariable(map, new HashMap<String, String>());
+      }
+      ctx.setVariable(RequestConstants.SHOW_MAIN_MENU, "true");
+      ctx.setVariable(RequestConstants.MASTER_MENU_TAB_LIST, new ArrayList<>());
+      ctx.setVariable(RequestConstants.PAGE_RENDER_INFO, new PageRenderInfo());
+      ctx.setVariable(RequestConstants.HEADER_RENDER_INFO, new PageRenderInfo());
+      ctx.setVariable(RequestConstants.FOOTER_RENDER_INFO, new PageRenderInfo());
+      return ctx;
+    }
+
+    private static double rate(int renders, Runnable render) {
+      // Warm up
+      for (int i = 0; i < renders / 10; i++) {
+        render.run();
+      }
+      long start = System.nanoTime();
+      for (int i = 0; i < renders; i++) {
+        render.run();
+      }
+      return renders * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+  }
+}
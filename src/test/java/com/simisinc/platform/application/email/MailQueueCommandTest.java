@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.activation.DataSource;
+import javax.mail.util.ByteArrayDataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.mail.DataSourceResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.mailinglists.MailQueueMessage;
+
+/**
+ * Tests delivering the mail queue to a local SMTP server
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+class MailQueueCommandTest {
+
+  private SmtpServer server;
+
+  /** Accepts mail like an SMTP server, rejecting recipients with "reject" in the address */
+  private static class SmtpServer implements Runnable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    SmtpServer() throws IOException {
+      serverSocket = new ServerSocket(0);
+      Thread thread = new Thread(this, "test-smtp");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    int getPort() {
+      return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void run() {
+      while (!serverSocket.isClosed()) {
+        try {
+          Socket socket = serverSocket.accept();
+          connections.incrementAndGet();
+          Thread thread = new Thread(() -> handle(socket), "test-smtp-connection");
+          thread.setDaemon(true);
+          thread.start();
+        } catch (IOException e) {
+          return;
+        }
+      }
+    }
+
+    private void handle(Socket socket) {
+      try (Socket s = socket;
+          BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+          OutputStream out = s.getOutputStream()) {
+        reply(out, "220 localhost ESMTP");
+        String line;
+        while ((line = in.readLine()) != null) {
+          String command = line.toUpperCase();
+          if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+            reply(out, "250 localhost");
+          } else if (command.startsWith("RCPT") && command.contains("REJECT")) {
+            reply(out, "550 No such user");
+          } else if (command.startsWith("DATA")) {
+            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+            StringBuilder sb = new StringBuilder();
+            while ((line = in.readLine()) != null && !".".equals(line)) {
+              sb.append(line).append("\n");
+            }
+            messages.add(sb.toString());
+            reply(out, "250 OK");
+          } else if (command.startsWith("QUIT")) {
+            reply(out, "221 Bye");
+            return;
+          } else {
+            reply(out, "250 OK");
+          }
+        }
+      } catch (IOException e) {
+        // Closed
+      }
+    }
+
+    private static void reply(OutputStream out, String value) throws IOException {
+      out.write((value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+    }
+
+    void close() throws IOException {
+      serverSocket.close();
+    }
+  }
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = new SmtpServer();
+  }
+
+  @AfterEach
+  void stopServer() throws IOException {
+    server.close();
+  }
+
+  private static MailTransportPool createPool(int port) {
+    return createPool(port, 100);
+  }
+
+  private static MailTransportPool createPool(int port, int maxMessagesPerConnection) {
+    Map<String, String> settings = new HashMap<>();
+    settings.put("mail.host_name", "127.0.0.1");
+    settings.put("mail.port", String.valueOf(port));
+    return new MailTransportPool(EmailCommand.createMailSession(settings), 2, maxMessagesPerConnection, 60_000L);
+  }
+
+  private static List<MailQueueMessage> createMessages(int count, String... domains) {
+    List<MailQueueMessage> messages = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      MailQueueMessage message = new MailQueueMessage();
+      message.setId((long) i + 1);
+      message.setFromAddress("sender@example.com");
+      message.setFromName("Test Site");
+      message.setToAddress("user" + i + "@" + domains[i % domains.length]);
+      message.setToDomain(MailQueueCommand.domainOf(message.getToAddress()));
+      message.setSubject("Newsletter " + i);
+      message.setHtmlBody("<p><img src=\"cid:sitelogo\"/>Hello " + i + "</p>");
+      message.setTextBody("Hello " + i);
+      messages.add(message);
+    }
+    return messages;
+  }
+
+  @Test
+  void testBatchSharesOneConnection() throws Exception {
+    MailTransportPool pool = createPool(server.getPort());
+    ByteArrayDataSource logo = new ByteArrayDataSource(new byte[] { 1, 2, 3 }, "image/png");
+    logo.setName("logo.png");
+    List<MailQueueMessage> batch = createMessages(20, "example.com", "example.org");
+    assertEquals(20, MailQueueCommand.deliver(batch, pool, new DomainRateLimiter(6000), logo, 1_000_000L));
+    for (MailQueueMessage message : batch) {
+      assertEquals(MailQueueMessage.SENT, message.getStatus());
+      assertEquals(1, message.getAttempts());
+      assertNotNull(message.getMessageId());
+    }
+    // The next batch reuses the pooled connection
+    assertEquals(5, MailQueueCommand.deliver(createMessages(5, "example.net"), pool,
+        new DomainRateLimiter(6000), logo, 1_000_000L));
+    assertEquals(1, pool.getConnectionsOpened());
+    assertEquals(1, server.connections.get());
+    assertEquals(25, server.messages.size());
+    assertTrue(server.messages.get(0).contains("Content-ID: <sitelogo>"));
+    pool.close();
+  }
+
+  @Test
+  void testMessagesPerConnectionLimit() {
+    MailTransportPool pool = createPool(server.getPort(), 8);
+    List<MailQueueMessage> batch = createMessages(20, "example.com");
+    assertEquals(20, MailQueueCommand.deliver(batch, pool, new DomainRateLimiter(6000), null, 1_000_000L));
+    // 8 + 8 + 4 messages
+    assertEquals(3, pool.getConnectionsOpened());
+    assertEquals(20, server.messages.size());
+    pool.close();
+  }
+
+  @Test
+  void testDomainRateLimit() {
+    MailTransportPool pool = createPool(server.getPort());
+    long now = 1_000_000L;
+    // 60 per minute allows a burst of 10 for each domain
+    List<MailQueueMessage> batch = createMessages(30, "example.com", "example.com", "example.org");
+    assertEquals(20, MailQueueCommand.deliver(batch, pool, new DomainRateLimiter(60), null, now));
+    int deferred = 0;
+    for (MailQueueMessage message : batch) {
+      if (message.getStatus() == MailQueueMessage.QUEUED) {
+        deferred++;
+        assertEquals("example.com", message.getToDomain());
+        assertEquals(0, message.getAttempts());
+        assertTrue(message.getNextAttempt().getTime() > now);
+      }
+    }
+    assertEquals(10, deferred);
+    pool.close();
+
+    DomainRateLimiter limiter = new DomainRateLimiter(60);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0L, limiter.acquire("Example.com", now));
+    }
+    assertEquals(1_000L, limiter.acquire("example.com", now));
+    assertEquals(0L, limiter.acquire("example.com", now + 1_000L));
+  }
+
+  @Test
+  void testRejectedRecipientAndRetries() throws Exception {
+    MailTransportPool pool = createPool(server.getPort());
+    List<MailQueueMessage> batch = createMessages(3, "example.com");
+    batch.get(1).setToAddress("reject@example.com");
+    assertEquals(2, MailQueueCommand.deliver(batch, pool, new DomainRateLimiter(6000), null, 1_000_000L));
+    assertEquals(MailQueueMessage.FAILED, batch.get(1).getStatus());
+    assertEquals(MailQueueMessage.SENT, batch.get(2).getStatus());
+    assertEquals(1, pool.getConnectionsOpened());
+    pool.close();
+
+    // The server is unavailable, so the messages are retried later
+    server.close();
+    long now = 1_000_000L;
+    batch = createMessages(3, "example.com");
+    batch.get(0).setAttempts(2);
+    batch.get(1).setAttempts(MailQueueCommand.MAX_ATTEMPTS - 1);
+    assertEquals(0, MailQueueCommand.deliver(batch, createPool(server.getPort()), new DomainRateLimiter(6000),
+        null, now));
+    assertEquals(MailQueueMessage.QUEUED, batch.get(0).getStatus());
+    assertEquals(3, batch.get(0).getAttempts());
+    assertEquals(now + 240_000L, batch.get(0).getNextAttempt().getTime());
+    assertNotNull(batch.get(0).getLastError());
+    assertEquals(MailQueueMessage.FAILED, batch.get(1).getStatus());
+    assertEquals(MailQueueMessage.QUEUED, batch.get(2).getStatus());
+    assertEquals(now + 60_000L, batch.get(2).getNextAttempt().getTime());
+
+    assertEquals(60_000L, MailQueueCommand.retryDelayMillis(1));
+    assertEquals(120_000L, MailQueueCommand.retryDelayMillis(2));
+    assertEquals(6 * 60 * 60_000L, MailQueueCommand.retryDelayMillis(20));
+  }
+
+  @Test
+  void testResourcesAreLoadedOncePerBatch() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    DataSourceResolver delegate = new DataSourceResolver() {
+      @Override
+      public DataSource resolve(String resourceLocation) throws IOException {
+        return resolve(resourceLocation, false);
+      }
+
+      @Override
+      public DataSource resolve(String resourceLocation, boolean isLenient) throws IOException {
+        loads.incrementAndGet();
+        ByteArrayDataSource dataSource = new ByteArrayDataSource(new byte[] { 7, 8, 9 }, "image/png");
+        dataSource.setName(resourceLocation);
+        return dataSource;
+      }
+    };
+    MailQueueCommand.CachingDataSourceResolver resolver = new MailQueueCommand.CachingDataSourceResolver(delegate);
+    DataSource first = resolver.resolve("/images/header.png");
+    DataSource second = resolver.resolve("/images/header.png");
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(3, IOUtils.toByteArray(second.getInputStream()).length);
+    assertEquals("/images/header.png", second.getName());
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simisinc.platform.infrastructure.cache.RemoteContent;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the cached remote content against a local server with latency, failures and validators
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 9:00 PM
+ */
+class CachedHttpGetCommandTest {
+
+  private HttpServer server;
+  private String url;
+  private String authority;
+  private Cache<String, RemoteContent> cache;
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger notModified = new AtomicInteger();
+  private volatile String body = "one";
+  private volatile String etag = "\"v1\"";
+  private volatile String cacheControl = null;
+  private volatile int status = 200;
+  private volatile long delayMillis = 0;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/content", this::handle);
+    server.start();
+    authority = "localhost:" + server.getAddress().getPort();
+    url = "http://" + authority + "/content";
+    cache = Caffeine.newBuilder().maximumSize(10).build();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    hits.incrementAndGet();
+    try {
+      if (delayMillis > 0) {
+        Thread.sleep(delayMillis);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (cacheControl != null) {
+      exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+    }
+    if (status == 200 && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      notModified.incrementAndGet();
+      exchange.getResponseHeaders().set("ETag", etag);
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = (status == 200 ? body : "error").getBytes(StandardCharsets.UTF_8);
+    if (status == 200) {
+      exchange.getResponseHeaders().set("ETag", etag);
+    }
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Test
+  void testFreshContentIsNotRequested() {
+    cacheControl = "max-age=60";
+    assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis()).getBody());
+    body = "two";
+    assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis()).getBody());
+    assertEquals(1, hits.get());
+  }
+
+  @Test
+  void testStaleWhileRevalidate() throws Exception {
+    cacheControl = "max-age=0, stale-while-revalidate=60";
+    assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis()).getBody());
+
+    // The server is slow, the expired content is returned right away
+    delayMillis = 1_000;
+    body = "two";
+    etag = "\"v2\"";
+    long start = System.currentTimeMillis();
+    RemoteContent stale = CachedHttpGetCommand.execute(url, cache, start + 1_000);
+    assertEquals("one", stale.getBody());
+    assertTrue(System.currentTimeMillis() - start < 500);
+
+    // Only one background request while it is revalidating
+    CachedHttpGetCommand.execute(url, cache, start + 1_000);
+    long waitUntil = System.currentTimeMillis() + 10_000;
+    while (cache.getIfPresent(url) == stale && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(20);
+    }
+    assertEquals("two", cache.getIfPresent(url).getBody());
+    assertEquals(2, hits.get());
+  }
+
+  @Test
+  void testNotModifiedKeepsDerivedValues() {
+    cacheControl = "no-cache";
+    RemoteContent first = CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis());
+    AtomicInteger processed = new AtomicInteger();
+    assertEquals("ONE", first.getDerived("upper", value -> {
+      processed.incrementAndGet();
+      return value.toUpperCase();
+    }));
+
+    RemoteContent second = CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis() + 1_000);
+    assertEquals(1, notModified.get());
+    assertEquals("one", second.getBody());
+    assertEquals("ONE", second.getDerived("upper", value -> {
+      processed.incrementAndGet();
+      return value.toUpperCase();
+    }));
+    assertEquals(1, processed.get());
+  }
+
+  @Test
+  void testStaleIfErrorAndOpenCircuit() {
+    cacheControl = "max-age=0, stale-while-revalidate=0, stale-if-error=600";
+    assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis()).getBody());
+
+    // The server fails, the expired content is used
+    status = 500;
+    for (int i = 0; i < HttpClientService.FAILURE_THRESHOLD; i++) {
+      RemoteContent content = CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis() + 1_000);
+      assertNotNull(content);
+      assertEquals("one", content.getBody());
+    }
+    assertEquals(1 + HttpClientService.FAILURE_THRESHOLD, hits.get());
+    assertTrue(HttpClientService.getHost(authority).isOpen(System.currentTimeMillis()));
+
+    // While the circuit is open the server is not requested
+    for (int i = 0; i < 10; i++) {
+      assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis() + 1_000).getBody());
+    }
+    assertEquals(1 + HttpClientService.FAILURE_THRESHOLD, hits.get());
+  }
+
+  @Test
+  void testNoStoreIsNotCached() {
+    cacheControl = "private, max-age=60";
+    assertEquals("one", CachedHttpGetCommand.execute(url, cache, System.currentTimeMillis()).getBody());
+    assertEquals(null, cache.getIfPresent(url));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.application.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the map tile math
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+class MapTileCommandTest {
+
+  @Test
+  void testValid() {
+    assertTrue(MapTileCommand.isValid(0, 0, 0));
+    assertTrue(MapTileCommand.isValid(3, 7, 7));
+    assertFalse(MapTileCommand.isValid(3, 8, 0));
+    assertFalse(MapTileCommand.isValid(-1, 0, 0));
+    assertFalse(MapTileCommand.isValid(MapTileCommand.MAX_ZOOM + 1, 0, 0));
+  }
+
+  @Test
+  void testTileBounds() {
+    double[] world = MapTileCommand.tileBounds(0, 0, 0);
+    assertEquals(-85.0511, world[0], 0.0001);
+    assertEquals(-180.0, world[1], 0.0001);
+    assertEquals(85.0511, world[2], 0.0001);
+    assertEquals(180.0, world[3], 0.0001);
+
+    // The north east quarter
+    double[] bounds = MapTileCommand.tileBounds(1, 1, 0);
+    assertEquals(0.0, bounds[0], 0.0001);
+    assertEquals(0.0, bounds[1], 0.0001);
+    assertEquals(85.0511, bounds[2], 0.0001);
+    assertEquals(180.0, bounds[3], 0.0001);
+
+    // Neighboring tiles share edges
+    assertEquals(MapTileCommand.tileBounds(10, 300, 384)[0], MapTileCommand.tileBounds(10, 300, 385)[2], 0.0);
+    assertEquals(4096, MapTileCommand.clusterCellsPerWorld(10));
+  }
+}
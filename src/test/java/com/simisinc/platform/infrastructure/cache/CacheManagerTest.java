@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.simisinc.platform.domain.model.cms.Content;
+
+/**
+ * Tests building caches from their settings
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 7:00 PM
+ */
+class CacheManagerTest {
+
+  @Test
+  void testConfiguredSettings() {
+    Cache<String, Object> cache = CacheManager.buildCache("TestCache", "maximumSize=5,expireAfterAccess=1h",
+        "maximumSize=100", null, null);
+    assertEquals(5, cache.policy().eviction().get().getMaximum());
+    assertTrue(cache.policy().expireAfterAccess().isPresent());
+    assertTrue(cache.policy().isRecordingStats());
+
+    // Invalid settings use the defaults
+    cache = CacheManager.buildCache("TestCache", "maximumSize=five", "maximumSize=100", null, null);
+    assertEquals(100, cache.policy().eviction().get().getMaximum());
+    // Refreshing needs a loading cache
+    cache = CacheManager.buildCache("TestCache", "refreshAfterWrite=1m", "maximumSize=100", null, null);
+    assertFalse(cache.policy().refreshAfterWrite().isPresent());
+  }
+
+  @Test
+  void testRefreshAndStatistics() {
+    LoadingCache<String, String> cache = (LoadingCache<String, String>) CacheManager.buildCache("TestCache",
+        "maximumSize=10,refreshAfterWrite=10m,recordStats", "maximumSize=100", (String key) -> key.toUpperCase(), Runnable::run);
+    assertEquals(10, cache.policy().refreshAfterWrite().get().getRefreshesAfter(TimeUnit.MINUTES));
+    assertEquals("A", cache.get("a"));
+    assertEquals("A", cache.get("a"));
+
+    CacheStatistics statistics = CacheManager.createStatistics("TestCache", cache);
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(0.5, statistics.getHitRate());
+    assertEquals(1, statistics.getSize());
+    assertEquals(-1, statistics.getWeightedSize());
+  }
+
+  @Test
+  void testWeightedSettings() {
+    Cache<String, Object> cache = CacheManager.buildCache("TestCache", "maximumWeight=100000", "maximumSize=100",
+        null, null);
+    Content content = new Content();
+    content.setContent("x".repeat(10_000));
+    cache.put("content", content);
+    cache.put("text", "text");
+    cache.cleanUp();
+    long weight = cache.policy().eviction().get().weightedSize().getAsLong();
+    assertTrue(weight > 20_000 && weight < 21_000, "weight=" + weight);
+    assertEquals(CacheWeigher.weigh("text", "text"), weight - CacheWeigher.weigh("content", content));
+  }
+}
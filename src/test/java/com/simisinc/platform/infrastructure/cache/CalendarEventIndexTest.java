@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.cms.Calendar;
+import com.simisinc.platform.domain.model.cms.CalendarEvent;
+
+/**
+ * Tests finding calendar events by date range
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 PM
+ */
+class CalendarEventIndexTest {
+
+  private static final long HOUR = 3_600_000L;
+
+  private static CalendarEvent event(long id, long calendarId, long start, long end) {
+    CalendarEvent event = new CalendarEvent();
+    event.setId(id);
+    event.setCalendarId(calendarId);
+    event.setUniqueId("event-" + id);
+    event.setStartDate(new Timestamp(start));
+    event.setEndDate(new Timestamp(end));
+    return event;
+  }
+
+  private static Calendar calendar(long id, String uniqueId) {
+    Calendar calendar = new Calendar();
+    calendar.setId(id);
+    calendar.setUniqueId(uniqueId);
+    calendar.setColor("#00" + id);
+    return calendar;
+  }
+
+  private static List<Long> ids(List<CalendarEvent> events) {
+    return events.stream().map(CalendarEvent::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void testFindOverlapping() {
+    List<CalendarEvent> events = new ArrayList<>();
+    events.add(event(1, 1, 0, 10 * HOUR));
+    // Spans the whole range
+    events.add(event(2, 1, 0, 1_000 * HOUR));
+    events.add(event(3, 2, 20 * HOUR, 21 * HOUR));
+    events.add(event(4, 1, 30 * HOUR, 31 * HOUR));
+    events.add(event(5, 1, 100 * HOUR, 101 * HOUR));
+    CalendarEventIndex index = CalendarEventIndex.create(1, List.of(calendar(1, "events"), calendar(2, "other")),
+        events);
+
+    assertEquals(List.of(2L, 3L, 4L), ids(index.findOverlapping(CalendarEventIndex.ALL_CALENDARS, 15 * HOUR, 50 * HOUR)));
+    assertEquals(List.of(2L, 4L), ids(index.findOverlapping(1, 15 * HOUR, 50 * HOUR)));
+    assertEquals(List.of(1L, 2L), ids(index.findOverlapping(1, 10 * HOUR, 11 * HOUR)));
+    assertTrue(index.findOverlapping(3, 0, 50 * HOUR).isEmpty());
+    assertEquals(2L, index.getCalendarByUniqueId("other").getId());
+    assertEquals(3L, index.getEvent(3).getId());
+
+    assertEquals(4L, index.findLastEndingBefore(1, 50 * HOUR).getId());
+    assertNull(index.findLastEndingBefore(2, 20 * HOUR));
+  }
+
+  @Test
+  void testMatchesScanningAllEvents() {
+    Random random = new Random(41);
+    List<CalendarEvent> events = new ArrayList<>();
+    for (int i = 1; i <= 2_000; i++) {
+      long start = random.nextInt(24 * 365) * HOUR;
+      long length = random.nextInt(10) == 0 ? random.nextInt(24 * 60) * HOUR : random.nextInt(6) * HOUR;
+      events.add(event(i, 1 + random.nextInt(3), start, start + length));
+    }
+    CalendarEventIndex index = CalendarEventIndex.create(1, List.of(calendar(1, "a"), calendar(2, "b")), events);
+    for (int i = 0; i < 200; i++) {
+      long rangeStart = random.nextInt(24 * 365) * HOUR;
+      long rangeEnd = rangeStart + (1 + random.nextInt(24 * 31)) * HOUR;
+      long calendarId = random.nextInt(4) == 0 ? CalendarEventIndex.ALL_CALENDARS : 1 + random.nextInt(3);
+      List<Long> expected = events.stream()
+          .filter(e -> calendarId == CalendarEventIndex.ALL_CALENDARS || e.getCalendarId() == calendarId)
+          .filter(e -> e.getStartDate().getTime() < rangeEnd && e.getEndDate().getTime() >= rangeStart)
+          .sorted((a, b) -> a.getStartDate().getTime() != b.getStartDate().getTime()
+              ? Long.compare(a.getStartDate().getTime(), b.getStartDate().getTime())
+              : Long.compare(a.getId(), b.getId()))
+          .map(CalendarEvent::getId)
+          .collect(Collectors.toList());
+      assertEquals(expected, ids(index.findOverlapping(calendarId, rangeStart, rangeEnd)));
+    }
+  }
+}
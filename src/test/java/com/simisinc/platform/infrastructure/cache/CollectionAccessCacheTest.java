@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.simisinc.platform.domain.model.items.CollectionGroup;
+import com.simisinc.platform.domain.model.items.PrivacyType;
+import com.simisinc.platform.domain.model.login.UserGroup;
+
+/**
+ * @author matt rajkowski
+ * @created 10/19/26 3:00 PM
+ */
+class CollectionAccessCacheTest {
+
+  private Cache<Long, CollectionAccess> collectionCache;
+
+  @BeforeEach
+  void startup() {
+    collectionCache = CollectionAccessCache.startup();
+  }
+
+  @AfterEach
+  void shutdown() {
+    CollectionAccessCache.shutdown();
+  }
+
+  /**
+   * Evaluates the SQL of CheckCollectionPermissionCommand:
+   * SELECT COUNT(*) FROM user_groups WHERE user_id = ? AND group_id IN
+   * (SELECT group_id FROM collection_groups WHERE collection_id = ? AND [permission] = true)
+   */
+  private static boolean sqlHasPermission(List<UserGroup> userGroups, List<CollectionGroup> collectionGroups,
+      long collectionId, long userId, Predicate<CollectionGroup> permission) {
+    return userGroups.stream()
+        .filter(ug -> ug.getUserId() == userId)
+        .anyMatch(ug -> collectionGroups.stream()
+            .anyMatch(cg -> cg.getCollectionId() == collectionId && permission.test(cg)
+                && cg.getGroupId() == ug.getGroupId()));
+  }
+
+  /**
+   * Evaluates the SQL of CollectionRepository for the authorized user:
+   * allows_guests = true OR (has_allowed_groups = true AND EXISTS (SELECT 1 FROM collection_groups ...
+   * AND EXISTS (SELECT 1 FROM user_groups WHERE group_id = collection_groups.group_id AND user_id = ?)))
+   */
+  private static boolean sqlIsAuthorized(List<UserGroup> userGroups, List<CollectionGroup> collectionGroups,
+      long collectionId, boolean allowsGuests, boolean hasAllowedGroups, long userId) {
+    if (userId == 0) {
+      return allowsGuests;
+    }
+    return allowsGuests || (hasAllowedGroups
+        && sqlHasPermission(userGroups, collectionGroups, collectionId, userId, cg -> true));
+  }
+
+  @Test
+  void consistentWithSql() {
+    Random random = new Random(20261019L);
+    int collectionCount = 25;
+    int groupCount = 12;
+    int userCount = 40;
+
+    List<CollectionGroup> collectionGroups = new ArrayList<>();
+    boolean[] allowsGuests = new boolean[collectionCount + 1];
+    boolean[] hasAllowedGroups = new boolean[collectionCount + 1];
+    for (long collectionId = 1; collectionId <= collectionCount; collectionId++) {
+      allowsGuests[(int) collectionId] = random.nextInt(4) == 0;
+      for (long groupId = 100; groupId < 100 + groupCount; groupId++) {
+        if (random.nextInt(3) == 0) {
+          CollectionGroup collectionGroup = new CollectionGroup(collectionId, groupId);
+          collectionGroup.setPrivacyType(random.nextBoolean() ? PrivacyType.PRIVATE : PrivacyType.PUBLIC);
+          collectionGroup.setAddPermission(random.nextBoolean());
+          collectionGroup.setEditPermission(random.nextBoolean());
+          collectionGroup.setDeletePermission(random.nextInt(4) == 0);
+          collectionGroups.add(collectionGroup);
+          hasAllowedGroups[(int) collectionId] = true;
+        }
+      }
+    }
+    List<UserGroup> userGroups = new ArrayList<>();
+    for (long userId = 1; userId <= userCount; userId++) {
+      for (long groupId = 100; groupId < 100 + groupCount; groupId++) {
+        if (random.nextInt(5) == 0) {
+          UserGroup userGroup = new UserGroup();
+          userGroup.setUserId(userId);
+          userGroup.setGroupId(groupId);
+          userGroups.add(userGroup);
+        }
+      }
+    }
+
+    // Build the matrix from the same records
+    List<CollectionAccess> accessList = new ArrayList<>();
+    for (long collectionId = 1; collectionId <= collectionCount; collectionId++) {
+      final long id = collectionId;
+      List<CollectionGroup> rows = collectionGroups.stream().filter(cg -> cg.getCollectionId() == id).toList();
+      accessList.add(CollectionAccess.create(collectionId, "collection-" + collectionId,
+          allowsGuests[(int) collectionId], hasAllowedGroups[(int) collectionId], rows));
+    }
+    List<BitSet> userBits = new ArrayList<>();
+    userBits.add(new BitSet());
+    for (long userId = 1; userId <= userCount; userId++) {
+      BitSet bits = new BitSet();
+      for (UserGroup userGroup : userGroups) {
+        if (userGroup.getUserId() == userId) {
+          bits.set(CollectionAccessCache.groupBit(userGroup.getGroupId()));
+        }
+      }
+      userBits.add(bits);
+    }
+
+    int granted = 0;
+    for (CollectionAccess access : accessList) {
+      long collectionId = access.getCollectionId();
+      for (long userId = 0; userId <= userCount; userId++) {
+        BitSet bits = userBits.get((int) userId);
+        String message = "collection " + collectionId + ", user " + userId;
+        Assertions.assertEquals(
+            sqlHasPermission(userGroups, collectionGroups, collectionId, userId, cg -> cg.getPrivacyType() != PrivacyType.PRIVATE),
+            access.canView(bits), message);
+        Assertions.assertEquals(
+            sqlHasPermission(userGroups, collectionGroups, collectionId, userId, CollectionGroup::getAddPermission),
+            access.canAdd(bits), message);
+        Assertions.assertEquals(
+            sqlHasPermission(userGroups, collectionGroups, collectionId, userId, CollectionGroup::getEditPermission),
+            access.canEdit(bits), message);
+        Assertions.assertEquals(
+            sqlHasPermission(userGroups, collectionGroups, collectionId, userId, CollectionGroup::getDeletePermission),
+            access.canDelete(bits), message);
+        boolean authorized = sqlIsAuthorized(userGroups, collectionGroups, collectionId,
+            allowsGuests[(int) collectionId], hasAllowedGroups[(int) collectionId], userId);
+        Assertions.assertEquals(authorized, access.isAuthorized(userId, bits), message);
+        if (authorized) {
+          ++granted;
+        }
+      }
+    }
+    // Make sure the data covers both outcomes
+    Assertions.assertTrue(granted > 0 && granted < collectionCount * (userCount + 1));
+  }
+
+  @Test
+  void invalidateRows() {
+    CollectionGroup collectionGroup = new CollectionGroup(1L, 500L);
+    collectionGroup.setAddPermission(true);
+    long version = CollectionAccessCache.getVersion();
+    CollectionAccessCache.put(CollectionAccess.create(1L, "one", false, true, List.of(collectionGroup)), version);
+    CollectionAccessCache.put(CollectionAccess.create(2L, "two", true, false, null), version);
+    BitSet groups = new BitSet();
+    groups.set(CollectionAccessCache.groupBit(500L));
+    CollectionAccessCache.putUserGroups(7L, groups, version);
+    Assertions.assertTrue(CollectionAccessCache.getCollectionAccess(1L).canAdd(CollectionAccessCache.getUserGroups(7L)));
+
+    // A row loaded before an invalidation is not cached
+    CollectionAccessCache.invalidate(CollectionAccessCache.userKey(99L));
+    CollectionAccessCache.put(CollectionAccess.create(3L, "three", true, false, null), version);
+    Assertions.assertEquals(2, collectionCache.asMap().size());
+
+    // Removing the group drops only the rows which use it
+    CollectionAccessCache.invalidate(CollectionAccessCache.groupKey(500L));
+    Assertions.assertEquals(1, collectionCache.asMap().size());
+    Assertions.assertEquals("two", CollectionAccessCache.getCollectionAccess(2L).getUniqueId());
+  }
+}
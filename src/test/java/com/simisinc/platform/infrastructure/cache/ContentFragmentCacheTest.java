@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.cms.Content;
+
+/**
+ * @author matt rajkowski
+ * @created 10/19/26 10:00 AM
+ */
+class ContentFragmentCacheTest {
+
+  @BeforeEach
+  void startup() {
+    ContentFragmentCache.startup();
+  }
+
+  @AfterEach
+  void shutdown() {
+    ContentFragmentCache.shutdown();
+  }
+
+  private static ContentFragment fragment(String uniqueId, String... embeddedUniqueIds) {
+    Map<String, Content> dependencies = new LinkedHashMap<>();
+    dependencies.put(uniqueId, new Content());
+    for (String embeddedUniqueId : embeddedUniqueIds) {
+      dependencies.put(embeddedUniqueId, new Content());
+    }
+    return new ContentFragment(uniqueId, new String[] { "<p>" + uniqueId + "</p>" }, new boolean[] { false },
+        dependencies, null);
+  }
+
+  @Test
+  void invalidateEmbeddedContent() {
+    // page-a embeds shared-footer, page-b embeds intro which embeds shared-footer
+    ContentFragmentCache.put(fragment("page-a", "shared-footer"));
+    ContentFragmentCache.put(fragment("page-b", "intro", "shared-footer"));
+    ContentFragmentCache.put(fragment("intro", "shared-footer"));
+    ContentFragmentCache.put(fragment("page-c"));
+    Assertions.assertEquals(3, ContentFragmentCache.getDependents("shared-footer").size());
+
+    // Only the fragments which include the updated content are removed
+    ContentFragmentCache.invalidate("intro");
+    Assertions.assertNull(ContentFragmentCache.get("intro"));
+    Assertions.assertNull(ContentFragmentCache.get("page-b"));
+    Assertions.assertNotNull(ContentFragmentCache.get("page-a"));
+    Assertions.assertNotNull(ContentFragmentCache.get("page-c"));
+
+    ContentFragmentCache.invalidate("shared-footer");
+    Assertions.assertNull(ContentFragmentCache.get("page-a"));
+    Assertions.assertNotNull(ContentFragmentCache.get("page-c"));
+    Assertions.assertTrue(ContentFragmentCache.getDependents("shared-footer").isEmpty());
+  }
+
+  @Test
+  void recompiledFragmentReplacesDependencies() {
+    ContentFragmentCache.put(fragment("page-a", "old-block"));
+    ContentFragmentCache.put(fragment("page-a", "new-block"));
+    Assertions.assertTrue(ContentFragmentCache.getDependents("old-block").isEmpty());
+
+    // The old embedded content no longer affects the page
+    ContentFragmentCache.invalidate("old-block");
+    Assertions.assertNotNull(ContentFragmentCache.get("page-a"));
+    ContentFragmentCache.invalidate("new-block");
+    Assertions.assertNull(ContentFragmentCache.get("page-a"));
+  }
+
+  @Test
+  void circularReferences() {
+    ContentFragmentCache.put(fragment("a", "b"));
+    ContentFragmentCache.put(fragment("b", "a"));
+    ContentFragmentCache.invalidate("a");
+    Assertions.assertNull(ContentFragmentCache.get("a"));
+    Assertions.assertNull(ContentFragmentCache.get("b"));
+  }
+}
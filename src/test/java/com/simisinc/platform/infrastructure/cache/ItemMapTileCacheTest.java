@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests removing map tiles when the items or the viewer's access change
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 5:00 PM
+ */
+class ItemMapTileCacheTest {
+
+  @BeforeEach
+  void setUp() {
+    ItemMapTileCache.startup();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ItemMapTileCache.shutdown();
+  }
+
+  private static String putTile(long collectionId, String userKey) {
+    long version = ItemMapTileCache.getVersion(collectionId);
+    String key = ItemMapTileCache.createKey(collectionId, version, "all:" + userKey + ":-1", 10, 300, 400);
+    ItemMapTileCache.put(collectionId, version, key, new ItemMapTile("[]"));
+    return key;
+  }
+
+  @Test
+  void testMembershipChanges() {
+    String userKey = ItemMapTileCache.createUserKey(5);
+    String memberTile = putTile(1, userKey);
+    String otherTile = putTile(1, ItemMapTileCache.createUserKey(15));
+    String guestTile = putTile(2, "guest");
+
+    // The user's groups changed, only that user's tiles are removed and new tiles use a new key
+    ItemMapTileCache.invalidateAccess(CollectionAccessCache.userKey(5));
+    assertNull(ItemMapTileCache.get(memberTile));
+    assertNotNull(ItemMapTileCache.get(otherTile));
+    assertNotNull(ItemMapTileCache.get(guestTile));
+    assertNotEquals(userKey, ItemMapTileCache.createUserKey(5));
+
+    // A collection's group access changed
+    ItemMapTileCache.invalidateAccess(CollectionAccessCache.collectionKey(1));
+    assertNull(ItemMapTileCache.get(otherTile));
+    assertNotNull(ItemMapTileCache.get(guestTile));
+
+    // A group changed, any tile can depend on it
+    ItemMapTileCache.invalidateAccess(CollectionAccessCache.groupKey(3));
+    assertNull(ItemMapTileCache.get(guestTile));
+  }
+}
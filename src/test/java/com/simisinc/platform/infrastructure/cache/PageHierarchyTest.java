@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the page hierarchy snapshot
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 4:00 PM
+ */
+class PageHierarchyTest {
+
+  private static PageHierarchy.Node node(long pageId, long parentId, int sortOrder, int depth, String title) {
+    return new PageHierarchy.Node(pageId, parentId, sortOrder, depth, title, null, "/" + title.toLowerCase(), true,
+        false);
+  }
+
+  private static List<Long> ids(List<PageHierarchy.Node> nodes) {
+    return nodes.stream().map(PageHierarchy.Node::getPageId).collect(Collectors.toList());
+  }
+
+  //  1 Home
+  //    3 About (sort 1)
+  //      5 Team
+  //    4 Blog (sort 1, title after About)
+  //  2 Shop
+  //    6 Cart (draft)
+  private static PageHierarchy createHierarchy() {
+    List<PageHierarchy.Node> nodes = new ArrayList<>();
+    nodes.add(node(2, -1, 2, 0, "Shop"));
+    nodes.add(node(1, -1, 1, 0, "Home"));
+    nodes.add(node(4, 1, 1, 1, "Blog"));
+    nodes.add(node(3, 1, 1, 1, "About"));
+    nodes.add(node(5, 3, 1, 2, "Team"));
+    nodes.add(new PageHierarchy.Node(6, 2, 1, 1, "Cart", null, "/cart", true, true));
+    return PageHierarchy.create(nodes);
+  }
+
+  @Test
+  void testChildrenAndAncestors() {
+    PageHierarchy hierarchy = createHierarchy();
+    assertEquals(Arrays.asList(1L, 2L), ids(hierarchy.getChildren(PageHierarchy.ROOT)));
+    assertEquals(Arrays.asList(3L, 4L), ids(hierarchy.getChildren(1)));
+    assertEquals(Arrays.asList(1L, 3L), ids(hierarchy.getAncestors(5)));
+    assertTrue(hierarchy.getAncestors(1).isEmpty());
+    assertTrue(hierarchy.hasChildren(3));
+    assertFalse(hierarchy.hasChildren(5));
+    assertTrue(hierarchy.getAncestors(99).isEmpty());
+  }
+
+  @Test
+  void testSubtree() {
+    PageHierarchy hierarchy = createHierarchy();
+    List<PageHierarchy.TreeEntry> entries = hierarchy.getSubtree(PageHierarchy.ROOT, 5, false);
+    assertEquals(Arrays.asList(1L, 3L, 5L, 4L, 2L, 6L),
+        entries.stream().map(e -> e.getNode().getPageId()).collect(Collectors.toList()));
+    assertEquals(Arrays.asList(1, 2, 3, 2, 1, 2),
+        entries.stream().map(PageHierarchy.TreeEntry::getLevel).collect(Collectors.toList()));
+
+    // The depth limit and the published filter
+    entries = hierarchy.getSubtree(PageHierarchy.ROOT, 2, true);
+    assertEquals(Arrays.asList(1L, 3L, 4L, 2L),
+        entries.stream().map(e -> e.getNode().getPageId()).collect(Collectors.toList()));
+    assertTrue(entries.get(1).hasChildren());
+  }
+
+  @Test
+  void testMoveSubtree() {
+    PageHierarchy hierarchy = createHierarchy();
+    PageHierarchy.Node blog = hierarchy.getNode(4);
+
+    // Move About (with Team) under Shop, before Cart
+    List<PageHierarchy.Node> loaded = new ArrayList<>();
+    loaded.add(node(3, 2, 1, 1, "About"));
+    loaded.add(node(5, 3, 1, 2, "Team"));
+    loaded.add(new PageHierarchy.Node(6, 2, 2, 1, "Cart", null, "/cart", true, true));
+    loaded.add(node(4, 1, 1, 1, "Blog"));
+    PageHierarchy moved = hierarchy.withChanges(Arrays.asList(3L, 5L, 4L, 6L), loaded);
+
+    assertEquals(Arrays.asList(4L), ids(moved.getChildren(1)));
+    assertEquals(Arrays.asList(3L, 6L), ids(moved.getChildren(2)));
+    assertEquals(Arrays.asList(2L, 3L), ids(moved.getAncestors(5)));
+    assertEquals(Arrays.asList(1L), ids(moved.getAncestors(4)));
+    // Unaffected pages are shared with the previous snapshot
+    assertSame(hierarchy.getNode(1), moved.getNode(1));
+    // The previous snapshot is unchanged
+    assertEquals(Arrays.asList(1L, 3L), ids(hierarchy.getAncestors(5)));
+    assertSame(blog, hierarchy.getNode(4));
+  }
+
+  @Test
+  void testRemoveSubtree() {
+    PageHierarchy hierarchy = createHierarchy();
+    List<PageHierarchy.Node> loaded = new ArrayList<>();
+    loaded.add(node(4, 1, 1, 1, "Blog"));
+    PageHierarchy removed = hierarchy.withChanges(hierarchy.getSubtreeIds(3), loaded);
+    assertNull(removed.getNode(3));
+    assertNull(removed.getNode(5));
+    assertEquals(Arrays.asList(4L), ids(removed.getChildren(1)));
+    assertFalse(removed.hasChildren(3));
+    assertEquals(4, removed.size());
+  }
+}
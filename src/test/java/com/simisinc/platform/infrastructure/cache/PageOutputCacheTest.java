@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 AM
+ */
+class PageOutputCacheTest {
+
+  private static final String TOKEN = "7c1a4b52-0d8e-4f43-9a51-3f2e6f0b9c11";
+  private static final String VISITOR_TOKEN = "0f9e8d7c-6b5a-4948-8372-615a4b3c2d1e";
+
+  @BeforeEach
+  void startup() {
+    PageOutputCache.startup();
+  }
+
+  @AfterEach
+  void shutdown() {
+    PageOutputCache.shutdown();
+  }
+
+  private static String html(String token) {
+    StringBuilder sb = new StringBuilder("<html><head><script>window.CMS_FORM_TOKEN = \"" + token + "\";</script></head><body>");
+    for (int i = 0; i < 500; i++) {
+      sb.append("<p>Paragraph ").append(i).append(" café</p>");
+    }
+    sb.append("<form><input type=\"hidden\" name=\"token\" value=\"").append(token).append("\"/></form></body></html>");
+    return sb.toString();
+  }
+
+  private static String gunzip(byte[] bytes) throws Exception {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  void spliceVisitorToken() throws Exception {
+    PageOutput output = PageOutput.create(html(TOKEN), TOKEN, null, null);
+
+    ByteArrayOutputStream plain = new ByteArrayOutputStream();
+    output.writeTo(plain, VISITOR_TOKEN);
+    Assertions.assertEquals(html(VISITOR_TOKEN), plain.toString(StandardCharsets.UTF_8));
+
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    output.writeGzipTo(gzip, VISITOR_TOKEN);
+    Assertions.assertEquals(html(VISITOR_TOKEN), gunzip(gzip.toByteArray()));
+    Assertions.assertTrue(gzip.size() < plain.size());
+  }
+
+  @Test
+  void gzipWithoutToken() throws Exception {
+    PageOutput output = PageOutput.create(TOKEN + "<p>Hello</p>" + TOKEN, null, null, null);
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    output.writeGzipTo(gzip, VISITOR_TOKEN);
+    Assertions.assertEquals(TOKEN + "<p>Hello</p>" + TOKEN, gunzip(gzip.toByteArray()));
+
+    // Tokens at the start and end leave empty segments
+    output = PageOutput.create(TOKEN + "<p>Hello</p>" + TOKEN, TOKEN, null, null);
+    gzip = new ByteArrayOutputStream();
+    output.writeGzipTo(gzip, VISITOR_TOKEN);
+    Assertions.assertEquals(VISITOR_TOKEN + "<p>Hello</p>" + VISITOR_TOKEN, gunzip(gzip.toByteArray()));
+  }
+
+  @Test
+  void invalidateDependency() {
+    String contentKey = PageOutputCache.contentKey("welcome");
+    String footerKey = PageOutputCache.contentKey("footer");
+    PageOutputCache.put("/|a", PageOutput.create("a", null, null, Set.of(contentKey, footerKey)));
+    PageOutputCache.put("/about|a", PageOutput.create("b", null, null, Set.of(footerKey)));
+
+    PageOutputCache.invalidateDependency(contentKey);
+    Assertions.assertNull(PageOutputCache.get("/|a"));
+    Assertions.assertNotNull(PageOutputCache.get("/about|a"));
+    Assertions.assertEquals(Set.of("/about|a"), PageOutputCache.getDependents(footerKey));
+
+    // Replacing a page drops its previous dependencies
+    PageOutputCache.put("/about|a", PageOutput.create("c", null, null, Set.of(PageOutputCache.webPageKey("/About"))));
+    Assertions.assertTrue(PageOutputCache.getDependents(footerKey).isEmpty());
+    PageOutputCache.invalidateDependency(PageOutputCache.webPageKey("/about"));
+    Assertions.assertNull(PageOutputCache.get("/about|a"));
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.ecommerce.PricingRule;
+
+/**
+ * Tests the pricing rule index
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+class PricingRuleIndexTest {
+
+  private static Log LOG = LogFactory.getLog(PricingRuleIndexTest.class);
+
+  private static final long NOW = 1_800_000_000_000L;
+
+  private static PricingRule rule(long id, String promoCode, String validSkus) {
+    PricingRule pricingRule = new PricingRule();
+    pricingRule.setId(id);
+    pricingRule.setName("Rule " + id);
+    pricingRule.setPromoCode(promoCode);
+    pricingRule.setValidSkus(validSkus);
+    pricingRule.setEnabled(true);
+    return pricingRule;
+  }
+
+  private static List<Long> ids(List<PricingRule> pricingRuleList) {
+    return pricingRuleList.stream().map(PricingRule::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void testPromoCodeWindowsAndCountries() {
+    PricingRule summer = rule(1, "Summer", null);
+    summer.setFromDate(new Timestamp(NOW - 1_000));
+    summer.setToDate(new Timestamp(NOW + 1_000));
+    PricingRule local = rule(2, "LOCAL", null);
+    local.setCountryCode("US");
+    PricingRule disabled = rule(3, "OFF", null);
+    disabled.setEnabled(false);
+    PricingRuleIndex index = PricingRuleIndex.create(Arrays.asList(summer, local, disabled));
+
+    assertEquals(2, index.size());
+    assertEquals(1L, index.findValidPromoCode("summer", null, NOW).getId().longValue());
+    // The window includes the from date and excludes the to date
+    assertEquals(1L, index.findValidPromoCode("SUMMER", null, NOW - 1_000).getId().longValue());
+    assertNull(index.findValidPromoCode("SUMMER", null, NOW + 1_000));
+    assertNull(index.findValidPromoCode("SUMMER", null, NOW - 1_001));
+
+    assertEquals(2L, index.findValidPromoCode("local", "US", NOW).getId().longValue());
+    assertEquals(2L, index.findValidPromoCode("local", null, NOW).getId().longValue());
+    assertNull(index.findValidPromoCode("local", "CA", NOW));
+    assertNull(index.findValidPromoCode("OFF", null, NOW));
+    assertNull(index.findValidPromoCode(" ", null, NOW));
+
+    // A code used by more than one valid rule is not applied
+    PricingRuleIndex duplicates = PricingRuleIndex.create(Arrays.asList(summer, rule(4, "summer", null)));
+    assertNull(duplicates.findValidPromoCode("SUMMER", null, NOW));
+    assertEquals(4L, duplicates.findValidPromoCode("SUMMER", null, NOW + 5_000).getId().longValue());
+  }
+
+  @Test
+  void testRulesForSku() {
+    PricingRuleIndex index = PricingRuleIndex.create(Arrays.asList(
+        rule(3, null, "tea-s, TEA-L"),
+        rule(1, "", "TEA-S,MUG"),
+        rule(2, "CODE", "TEA-S"),
+        rule(4, null, "TEA-SAMPLER")));
+    assertEquals(Arrays.asList(1L, 3L), ids(index.findRulesForSku("tea-s")));
+    assertEquals(Arrays.asList(4L), ids(index.findRulesForSku("TEA-SAMPLER")));
+    assertTrue(index.findRulesForSku("TEA").isEmpty());
+    assertEquals(Arrays.asList("TEA-S", "TEA-L"), new ArrayList<>(index.getValidSkus(3)));
+    assertNull(index.getValidSkus(99));
+  }
+
+  @Test
+  void testHundredsOfRules() {
+    List<PricingRule> pricingRuleList = new ArrayList<>();
+    for (int i = 1; i <= 500; i++) {
+      PricingRule pricingRule = rule(i, i % 2 == 0 ? "CODE" + i : null, "SKU-" + (i % 50) + ",SKU-" + (i % 7));
+      pricingRule.setFromDate(new Timestamp(NOW - i * 1_000L));
+      pricingRule.setToDate(new Timestamp(NOW + i * 1_000L));
+      pricingRuleList.add(pricingRule);
+    }
+    PricingRuleIndex index = PricingRuleIndex.create(pricingRuleList);
+    long start = System.nanoTime();
+    int found = 0;
+    for (int run = 0; run < 10_000; run++) {
+      found += index.findRulesForSku("SKU-" + (run % 50)).size();
+      if (index.findValidPromoCode("code" + (2 + (run % 250) * 2), null, NOW) != null) {
+        ++found;
+      }
+    }
+    long nanos = System.nanoTime() - start;
+    assertTrue(found > 10_000);
+    LOG.info("Repriced 10k cart lines against 500 rules: " + nanos / 1_000 + "us");
+  }
+}
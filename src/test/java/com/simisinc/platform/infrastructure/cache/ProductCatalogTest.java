@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.ecommerce.Product;
+import com.simisinc.platform.domain.model.ecommerce.ProductCategory;
+import com.simisinc.platform.domain.model.ecommerce.ProductSku;
+
+/**
+ * Tests the product catalog snapshot
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+class ProductCatalogTest {
+
+  private static final long NOW = 1_800_000_000_000L;
+
+  private static Product product(long id, int order, String name, boolean enabled, ProductSku... skus) {
+    Product product = new Product();
+    product.setId(id);
+    product.setOrder(order);
+    product.setName(name);
+    product.setUniqueId(name.toLowerCase());
+    product.setEnabled(enabled);
+    List<ProductSku> productSkuList = new ArrayList<>();
+    for (ProductSku productSku : skus) {
+      productSku.setProductId(id);
+      productSkuList.add(productSku);
+    }
+    product.setProducts(productSkuList);
+    return product;
+  }
+
+  private static ProductSku sku(long id, String sku, String price, boolean enabled) {
+    ProductSku productSku = new ProductSku();
+    productSku.setId(id);
+    productSku.setSku(sku);
+    productSku.setPrice(new BigDecimal(price));
+    productSku.setEnabled(enabled);
+    return productSku;
+  }
+
+  private static List<Long> ids(List<Product> products) {
+    return products.stream().map(Product::getId).collect(Collectors.toList());
+  }
+
+  private static ProductCatalog createCatalog() {
+    List<Product> products = new ArrayList<>();
+    products.add(product(1, 100, "Tea", true,
+        sku(11, "TEA-S", "5.00", true), sku(12, "TEA-L", "8.00", true), sku(13, "TEA-X", "1.00", false)));
+    products.add(product(2, 50, "Mug", true, sku(21, "MUG", "12.00", true)));
+    products.add(product(3, 100, "Cup", true, sku(31, "CUP-A", "4.00", true), sku(32, "CUP-B", "4.00", true)));
+    products.add(product(4, 100, "Hidden", false, sku(41, "HID", "1.00", true)));
+    products.add(product(5, 100, "Soon", true, sku(51, "SOON", "1.00", false)));
+    ProductCategory category = new ProductCategory();
+    category.setId(7);
+    category.setUniqueId("drinkware");
+    Map<Long, List<Long>> categoryProducts = new HashMap<>();
+    categoryProducts.put(7L, Arrays.asList(3L, 2L, 99L));
+    return ProductCatalog.create(products, Arrays.asList(category), categoryProducts, NOW);
+  }
+
+  @Test
+  void testLookupsAndPrices() {
+    ProductCatalog catalog = createCatalog();
+    assertEquals(5, catalog.size());
+    assertEquals(1L, catalog.getProductByUniqueId("tea").getId().longValue());
+    assertEquals(1L, catalog.getProductBySku(" tea-l ").getId().longValue());
+    assertEquals("MUG", catalog.getProductSku(21).getSku());
+    assertNull(catalog.getProductSku(99));
+    assertEquals(Arrays.asList(11L, 12L),
+        catalog.getEnabledProductSkus(1).stream().map(ProductSku::getId).collect(Collectors.toList()));
+
+    // A range of prices, a single SKU, and the same price for each SKU
+    Product tea = catalog.getProduct(1);
+    assertEquals(new BigDecimal("5.00"), tea.getStartingFromPrice());
+    assertEquals(2, tea.getSkuCount());
+    assertEquals(new BigDecimal("12.00"), catalog.getProduct(2).getPrice());
+    assertNull(catalog.getProduct(3).getStartingFromPrice());
+    assertEquals(new BigDecimal("4.00"), catalog.getProduct(3).getPrice());
+
+    assertEquals(Arrays.asList(3L, 2L), ids(catalog.getProductsInCategory(7)));
+    assertSame(catalog.getCategories().get(0), catalog.getCategoryByUniqueId("DrinkWare"));
+  }
+
+  @Test
+  void testProductsForSale() {
+    ProductCatalog catalog = createCatalog();
+    // Ordered by product order then name, without disabled products or products without enabled SKUs
+    assertEquals(Arrays.asList(2L, 3L, 1L), ids(catalog.getProductsForSale(null, -1)));
+    assertEquals(Arrays.asList(2L, 3L), ids(catalog.getProductsForSale(new ArrayList<>(), 2)));
+    assertEquals(Arrays.asList(1L), ids(catalog.getProductsForSale(Arrays.asList("tea", "hidden"), -1)));
+  }
+
+  @Test
+  void testWithProduct() {
+    ProductCatalog catalog = createCatalog();
+    Product mug = catalog.getProduct(2);
+    Product tea = product(1, 10, "Tea", true, sku(11, "TEA-S", "6.00", true));
+    ProductCatalog changed = catalog.withProduct(tea, NOW);
+
+    assertEquals(Arrays.asList(1L, 2L, 3L), ids(changed.getProductsForSale(null, -1)));
+    assertEquals(new BigDecimal("6.00"), changed.getProduct(1).getPrice());
+    assertNull(changed.getProductSku(12));
+    assertNull(changed.getProductBySku("TEA-L"));
+    // Other products are shared with the previous snapshot, which is unchanged
+    assertSame(mug, changed.getProduct(2));
+    assertEquals(Arrays.asList(3L, 2L), ids(changed.getProductsInCategory(7)));
+    assertEquals(12L, catalog.getProductSku(12).getId().longValue());
+    assertEquals(Arrays.asList(2L, 3L, 1L), ids(catalog.getProductsForSale(null, -1)));
+  }
+
+  @Test
+  void testExpiresWhenAProductDateIsReached() {
+    assertEquals(Long.MAX_VALUE, createCatalog().getExpires());
+    Product product = product(8, 100, "Later", true, sku(81, "LATER", "1.00", true));
+    product.setActiveDate(new Timestamp(NOW + 60_000));
+    product.setDeactivateOnDate(new Timestamp(NOW + 120_000));
+    ProductCatalog catalog = createCatalog().withProduct(product, NOW);
+    assertEquals(NOW + 60_000, catalog.getExpires());
+    assertEquals(NOW + 120_000, catalog.withProduct(product, NOW + 90_000).getExpires());
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.ecommerce.SalesTaxNexusAddress;
+
+/**
+ * Tests the sales tax table lookups
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+class SalesTaxTableTest {
+
+  private static SalesTaxTable createTable() {
+    return SalesTaxTable.builder()
+        .add("PA", "19103", new BigDecimal("0.080000"))
+        .add("PA", "15213", new BigDecimal("0.070000"))
+        .add("PA", "17101", new BigDecimal("0.060000"))
+        .add("pa", "19103", new BigDecimal("0.050000"))
+        .add("NJ", "07001", new BigDecimal("0.066250"))
+        .add("NJ", "n/a", new BigDecimal("0.066250"))
+        .add("DE", null, new BigDecimal("0.000000"))
+        .build(null);
+  }
+
+  @Test
+  void testZipCodeRates() {
+    SalesTaxTable table = createTable();
+    assertEquals(7, table.size());
+    assertEquals(new BigDecimal("0.080000"), table.findZipCodeRate("PA", "19103"));
+    assertEquals(new BigDecimal("0.070000"), table.findZipCodeRate("pa", "15213-1234"));
+    assertEquals(new BigDecimal("0.066250"), table.findZipCodeRate("NJ", "07001"));
+    assertNull(table.findZipCodeRate("NJ", "19103"));
+    assertNull(table.findZipCodeRate("PA", "19104"));
+    assertNull(table.findZipCodeRate("PA", "ABCDE"));
+    // Fewer than 5 digits do not match a zip code with leading zeros
+    assertNull(table.findZipCodeRate("NJ", "7001"));
+    assertNull(table.findZipCodeRate("NJ", " 7001 "));
+    assertEquals(-1, SalesTaxTable.parseZipCode("123"));
+    assertEquals(123, SalesTaxTable.parseZipCode("00123"));
+    assertNull(table.findZipCodeRate("NY", "10001"));
+    assertNull(table.findZipCodeRate(null, "19103"));
+  }
+
+  @Test
+  void testStateRates() {
+    SalesTaxTable table = createTable();
+    // The first row read for the state
+    assertEquals(new BigDecimal("0.080000"), table.findStateRate("PA"));
+    assertEquals(new BigDecimal("0.000000"), table.findStateRate("de"));
+    assertNull(table.findStateRate("NY"));
+    assertNull(table.findStateRate(" "));
+  }
+
+  @Test
+  void testNexusAddresses() {
+    SalesTaxTable table = createTable();
+    assertNull(table.getNexusAddresses());
+
+    SalesTaxNexusAddress address = new SalesTaxNexusAddress();
+    address.setCountry("US");
+    address.setState("PA");
+    address.setPostalCode("19103");
+    SalesTaxTable withNexus = table.withNexusAddresses(Arrays.asList(address));
+    assertEquals(1, withNexus.getNexusAddresses().size());
+    assertEquals(new BigDecimal("0.080000"), withNexus.findZipCodeRate("PA", "19103"));
+    assertNull(table.getNexusAddresses());
+  }
+}
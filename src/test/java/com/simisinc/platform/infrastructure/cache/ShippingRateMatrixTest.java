@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.ecommerce.ShippingCountry;
+import com.simisinc.platform.domain.model.ecommerce.ShippingRate;
+import com.simisinc.platform.infrastructure.persistence.ecommerce.ShippingRateSpecification;
+
+/**
+ * Tests matching shipping rates in memory
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:50 PM
+ */
+class ShippingRateMatrixTest {
+
+  private static ShippingRate rate(long id, String countryCode, String region, String postalCode, String minSubtotal,
+      int method, String fee) {
+    ShippingRate shippingRate = new ShippingRate();
+    shippingRate.setId(id);
+    shippingRate.setCountryCode(countryCode);
+    shippingRate.setRegion(region);
+    shippingRate.setPostalCode(postalCode);
+    shippingRate.setMinSubTotal(new BigDecimal(minSubtotal));
+    shippingRate.setShippingMethodId(method);
+    shippingRate.setShippingFee(new BigDecimal(fee));
+    return shippingRate;
+  }
+
+  private static ShippingRateMatrix createMatrix() {
+    List<ShippingRate> rates = new ArrayList<>();
+    rates.add(rate(1, "US", "*", "*", "0", 1, "5.00"));
+    rates.add(rate(2, "US", "*", "*", "50", 1, "0.00"));
+    rates.add(rate(3, "US", "AK", "*", "0", 1, "10.00"));
+    rates.add(rate(4, "US", "*", "99501", "0", 2, "15.00"));
+    rates.add(rate(5, "US", "*", "*", "0", 3, "20.00"));
+    rates.add(rate(6, "*", "*", "*", "0", 1, "30.00"));
+    rates.add(rate(7, "CA", "*", "*", "0", 1, "12.00"));
+    // Method 3 is not enabled
+    Set<Long> enabledRateIds = new HashSet<>(Arrays.asList(1L, 2L, 3L, 4L, 6L, 7L));
+
+    ShippingCountry us = new ShippingCountry();
+    us.setCode("US");
+    us.setTitle("United States");
+    us.setEnabled(true);
+    ShippingCountry canada = new ShippingCountry();
+    canada.setCode("CA");
+    canada.setTitle("Canada");
+    canada.setEnabled(false);
+    return ShippingRateMatrix.create(rates, enabledRateIds, Arrays.asList(us, canada));
+  }
+
+  private static ShippingRateSpecification specification(String countryCode, String region, String postalCode,
+      String subtotal, boolean specificRegionOnly) {
+    ShippingRateSpecification specification = new ShippingRateSpecification();
+    specification.setAddress(countryCode, region, postalCode);
+    specification.setOrderSubtotal(subtotal != null ? new BigDecimal(subtotal) : null);
+    specification.setEnabledOnly(true);
+    specification.setSpecificRegionOnly(specificRegionOnly);
+    return specification;
+  }
+
+  private static List<Long> ids(List<ShippingRate> rates) {
+    return rates.stream().map(ShippingRate::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void testCountriesAndIds() {
+    ShippingRateMatrix matrix = createMatrix();
+    assertEquals("US", matrix.findEnabledCountry("united states").getCode());
+    assertNull(matrix.findEnabledCountry("Canada"));
+    assertNotNull(matrix.getRate(5));
+    assertNull(matrix.getRate(99));
+  }
+
+  @Test
+  void testRegionAndPostalCodeRates() {
+    ShippingRateMatrix matrix = createMatrix();
+    // Region specific first, in the query's order
+    assertEquals(Arrays.asList(3L, 4L), ids(matrix.findRates(specification("US", "AK", "99501-1234", "20", true))));
+    assertTrue(matrix.findRates(specification("US", "PA", "19103", "20", true)).isEmpty());
+
+    // Any region, with the subtotal minimum
+    assertEquals(Arrays.asList(1L), ids(matrix.findRates(specification("US", "PA", "19103", "20", false))));
+    assertEquals(Arrays.asList(2L, 1L), ids(matrix.findRates(specification("US", "PA", "19103", "60", false))));
+    // Free shipping promo codes remove the subtotal
+    assertEquals(Arrays.asList(2L, 1L), ids(matrix.findRates(specification("US", "PA", "19103", null, false))));
+
+    // The fall-back for any country
+    assertEquals(Arrays.asList(6L), ids(matrix.findRates(specification("*", "*", "*", "20", false))));
+
+    // Only enabled methods are in the matrix
+    ShippingRateSpecification all = specification("US", "PA", "19103", "20", false);
+    all.setEnabledOnly(false);
+    assertNull(matrix.findRates(all));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.simisinc.platform.domain.model.SiteProperty;
+
+/**
+ * Tests the site property snapshot
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 6:00 PM
+ */
+class SitePropertySnapshotTest {
+
+  private static SiteProperty property(String name, String value) {
+    SiteProperty siteProperty = new SiteProperty();
+    siteProperty.setName(name);
+    siteProperty.setValue(value);
+    return siteProperty;
+  }
+
+  private static List<SiteProperty> createProperties(String siteName) {
+    List<SiteProperty> list = new ArrayList<>();
+    list.add(property("site.name", siteName));
+    list.add(property("site.footer", ""));
+    list.add(property("site.cart", "true"));
+    list.add(property("theme.body.color", "#000000"));
+    list.add(property("system.timeout", " 30 "));
+    list.add(property("system.url", "https://www.example.com/"));
+    list.add(property("system.other", "ftp://www.example.com"));
+    return list;
+  }
+
+  @Test
+  void testIndexes() {
+    SitePropertySnapshot snapshot = SitePropertySnapshot.create(createProperties("Site"), null);
+    assertEquals(7, snapshot.size());
+    assertEquals("Site", snapshot.getValue("site.name"));
+    assertNull(snapshot.getValue("site.unknown"));
+    assertTrue(snapshot.getBoolean("site.cart"));
+    assertFalse(snapshot.getBoolean("site.name"));
+
+    Map<String, String> siteMap = snapshot.getMap("site");
+    assertEquals(3, siteMap.size());
+    assertEquals(2, snapshot.getNonEmptyMap("site").size());
+    assertTrue(snapshot.getMap("unknown").isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> siteMap.put("site.login", "false"));
+  }
+
+  @Test
+  void testTypedValues() {
+    SitePropertySnapshot snapshot = SitePropertySnapshot.create(createProperties("Site"), null);
+    assertEquals(30, snapshot.getInt("system.timeout", 10));
+    assertEquals(10, snapshot.getInt("site.name", 10));
+    assertEquals(10, snapshot.getInt("system.unknown", 10));
+    assertEquals("https://www.example.com", snapshot.getUrl("system.url"));
+    assertNull(snapshot.getUrl("system.other"));
+    assertNull(snapshot.getUrl("site.name"));
+  }
+
+  @Test
+  void testPrefixVersions() {
+    SitePropertySnapshot snapshot = SitePropertySnapshot.create(createProperties("Site"), null);
+    SitePropertySnapshot changed = SitePropertySnapshot.create(createProperties("New Site"), snapshot);
+    assertEquals("New Site", changed.getValue("site.name"));
+    assertEquals("Site", snapshot.getValue("site.name"));
+    assertNotSame(snapshot.getPrefixVersion("site"), changed.getPrefixVersion("site"));
+    // Prefixes which did not change keep their version
+    assertSame(snapshot.getPrefixVersion("theme"), changed.getPrefixVersion("theme"));
+    assertSame(snapshot.getMap("theme"), changed.getMap("theme"));
+  }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.simisinc.platform.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import com.univocity.parsers.csv.CsvWriter;
+
+/**
+ * Tests streaming query results to CSV
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:45 PM
+ */
+class DBExportTest {
+
+  private static Log LOG = LogFactory.getLog(DBExportTest.class);
+
+  private static final String[] COLUMNS = { "id", "name", "amount", "created", Keyset.KEY_COLUMN_ALIAS + "0" };
+
+  /** A result set which generates its rows as they are read, like a driver reading from a cursor */
+  private static ResultSet generateRows(long afterId, long lastId) {
+    ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(DBExportTest.class.getClassLoader(),
+        new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getColumnCount":
+              return COLUMNS.length;
+            case "getColumnLabel":
+            case "getColumnName":
+              return COLUMNS[(Integer) args[0] - 1];
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+    long[] current = { afterId };
+    return (ResultSet) Proxy.newProxyInstance(DBExportTest.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "next":
+              return ++current[0] <= lastId;
+            case "getMetaData":
+              return metaData;
+            case "getObject":
+              int column = args[0] instanceof Integer ? (Integer) args[0] : indexOf((String) args[0]);
+              return value(current[0], column);
+            case "close":
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  private static int indexOf(String label) {
+    for (int i = 0; i < COLUMNS.length; i++) {
+      if (COLUMNS[i].equals(label)) {
+        return i + 1;
+      }
+    }
+    throw new IllegalArgumentException(label);
+  }
+
+  private static Object value(long id, int column) {
+    switch (column) {
+      case 1:
+      case 5:
+        return id;
+      case 2:
+        return "Customer " + id + ", with a \"quoted\" name";
+      case 3:
+        return BigDecimal.valueOf(id * 7, 2);
+      default:
+        return new Timestamp(1_700_000_000_000L + id * 1000);
+    }
+  }
+
+  private static Keyset createKeyset() {
+    return Keyset.create(new DataConstraints().setDefaultColumnToSortBy("id").setKeyColumn("id"));
+  }
+
+  /** Fails once the limit is reached, like a browser which went away */
+  private static class FailingOutputStream extends ByteArrayOutputStream {
+
+    private final int limit;
+
+    FailingOutputStream(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      if (size() + len > limit) {
+        throw new IllegalStateException("Connection reset");
+      }
+      super.write(b, off, len);
+    }
+  }
+
+  /** Fails once the limit is reached and stays broken, like a disk which filled up */
+  private static class BrokenOutputStream extends FilterOutputStream {
+
+    private int remaining;
+
+    BrokenOutputStream(OutputStream out, int limit) {
+      super(out);
+      this.remaining = limit;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (len > remaining) {
+        remaining = -1;
+      }
+      if (remaining < 0) {
+        throw new IOException("No space left on device");
+      }
+      remaining -= len;
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (remaining < 0) {
+        throw new IOException("No space left on device");
+      }
+      out.flush();
+    }
+  }
+
+  private static List<String> lines(byte[] bytes) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  @Test
+  void testWritesRowsWithoutKeysetColumns() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+    assertEquals(3, DB.writeCsv(generateRows(0, 3), createKeyset(), true, writer, null));
+    List<String> lines = lines(bytes.toByteArray());
+    assertEquals(4, lines.size());
+    assertEquals("\"id\",\"name\",\"amount\",\"created\"", lines.get(0));
+    assertTrue(lines.get(1).startsWith("\"1\",\"Customer 1, with a \"\"quoted\"\" name\",\"0.07\","));
+  }
+
+  @Test
+  void testResumeAfterFailedOutput() throws Exception {
+    Keyset keyset = createKeyset();
+    DataConstraints constraints = new DataConstraints();
+    FailingOutputStream failing = new FailingOutputStream(200_000);
+    Writer writer = new OutputStreamWriter(failing, StandardCharsets.UTF_8);
+    long result = -2;
+    try {
+      result = DB.writeCsv(generateRows(0, 10_000), keyset, true, writer, constraints);
+    } catch (IllegalStateException e) {
+      // The writer may report the failure directly
+    }
+    assertEquals(-1, result);
+    assertNotNull(constraints.getNextCursor());
+    Object[] cursorValues = keyset.decode(constraints.getNextCursor());
+    long flushedId = (Long) cursorValues[0];
+    assertEquals(0, flushedId % DB.EXPORT_FETCH_SIZE);
+
+    // Everything up to the cursor was delivered
+    List<String> delivered = lines(failing.toByteArray());
+    assertTrue(delivered.size() > flushedId);
+    assertTrue(delivered.get((int) flushedId).startsWith("\"" + flushedId + "\","));
+
+    // The resumed export starts after the cursor, without a header
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+    assertEquals(10_000 - flushedId, DB.writeCsv(generateRows(flushedId, 10_000), keyset, false, writer, constraints));
+    List<String> resumed = lines(bytes.toByteArray());
+    assertTrue(resumed.get(0).startsWith("\"" + (flushedId + 1) + "\","));
+
+    List<String> exported = new ArrayList<>(delivered.subList(0, (int) flushedId + 1));
+    exported.addAll(resumed);
+    assertRows(exported, 10_000);
+  }
+
+  @Test
+  void testResumeFile(@TempDir Path tempDir) throws Exception {
+    assertResumedFile(tempDir.resolve("export.csv").toFile());
+  }
+
+  @Test
+  void testResumeGzipFile(@TempDir Path tempDir) throws Exception {
+    assertResumedFile(tempDir.resolve("export.csv.gz").toFile());
+  }
+
+  private static void assertResumedFile(File file) throws IOException {
+    Keyset keyset = createKeyset();
+    DataConstraints constraints = new DataConstraints();
+    assertEquals(-1, DB.exportToFile(file, constraints, out -> exportRows(out, keyset, constraints, 250_000)));
+    String cursor = constraints.getNextCursor();
+    assertNotNull(cursor);
+    long flushedLength = Long.parseLong(StringUtils.substringBefore(cursor, "."));
+    if (!file.getName().endsWith(".gz")) {
+      // The rows written after the last flush, including a partial row
+      assertTrue(file.length() > flushedLength);
+    }
+
+    // Failing again before the next flush keeps the same resume point
+    constraints.setCursor(cursor);
+    assertEquals(-1, DB.exportToFile(file, constraints, out -> exportRows(out, keyset, constraints, 10)));
+    assertEquals(cursor, constraints.getNextCursor());
+    assertEquals(cursor, constraints.getCursor());
+
+    constraints.setCursor(cursor);
+    long resumed = DB.exportToFile(file, constraints, out -> exportRows(out, keyset, constraints, 0));
+    assertTrue(resumed > 0 && resumed < 10_000);
+    assertNull(constraints.getNextCursor());
+
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    if (file.getName().endsWith(".gz")) {
+      try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+        bytes = in.readAllBytes();
+      }
+    }
+    assertRows(lines(bytes), 10_000);
+  }
+
+  /** Writes the rows after the constraints' cursor, with the output failing after the given number of bytes */
+  private static long exportRows(OutputStream outputStream, Keyset keyset, DataConstraints constraints,
+      int failAfter) {
+    Object[] cursorValues = keyset.decode(constraints.getCursor());
+    long afterId = cursorValues == null ? 0 : (Long) cursorValues[0];
+    OutputStream target = failAfter > 0 ? new BrokenOutputStream(outputStream, failAfter) : outputStream;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 8192);
+    try {
+      return DB.writeCsv(generateRows(afterId, 10_000), keyset, cursorValues == null, writer, constraints);
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Checks for the header and each row once, in order, with no partial rows */
+  private static void assertRows(List<String> lines, int rows) {
+    assertEquals(rows + 1, lines.size());
+    assertEquals("\"id\",\"name\",\"amount\",\"created\"", lines.get(0));
+    for (int id = 1; id <= rows; id++) {
+      String line = lines.get(id);
+      assertTrue(line.startsWith("\"" + id + "\",\"Customer " + id + ", with a \"\"quoted\"\" name\","), line);
+      assertEquals(3, StringUtils.countMatches(line, "\",\""), line);
+      assertTrue(line.endsWith("\""), line);
+    }
+  }
+
+  /** Exports millions of rows in a separate JVM with a heap far smaller than the export */
+  @Test
+  void testExportMillionsOfRowsWithSmallHeap() throws Exception {
+    List<String> classPath = new ArrayList<>();
+    for (Class<?> c : new Class<?>[] { DBExportTest.class, DB.class, CsvWriter.class, LogFactory.class,
+        LoggerFactory.class, StringUtils.class }) {
+      classPath.add(new File(c.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+    }
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    ProcessBuilder builder = new ProcessBuilder(java, "-Xmx32m", "-cp", String.join(File.pathSeparator, classPath),
+        LargeExport.class.getName(), "2000000");
+    builder.redirectErrorStream(true);
+    Process process = builder.start();
+    String output;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      StringBuilder sb = new StringBuilder();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        sb.append(line).append("\n");
+      }
+      output = sb.toString();
+    }
+    assertTrue(process.waitFor(3, TimeUnit.MINUTES));
+    LOG.info(output.trim());
+    assertEquals(0, process.exitValue(), output);
+    assertTrue(output.contains("rows=2000000"), output);
+  }
+
+  /** Streams the generated rows through gzip, counting the uncompressed and compressed bytes */
+  static class LargeExport {
+
+    public static void main(String[] args) throws Exception {
+      long rows = Long.parseLong(args[0]);
+      long[] compressed = { 0 };
+      OutputStream counter = new OutputStream() {
+        @Override
+        public void write(int b) {
+          ++compressed[0];
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+          compressed[0] += len;
+        }
+      };
+      long start = System.currentTimeMillis();
+      Writer writer = new OutputStreamWriter(new GZIPOutputStream(counter, 8192, true), StandardCharsets.UTF_8);
+      long written = DB.writeCsv(generateRows(0, rows), createKeyset(), true, writer, new DataConstraints());
+      long maxHeap = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+      System.out.println("rows=" + written + " gzipBytes=" + compressed[0] + " maxHeapMB=" + maxHeap + " ms="
+          + (System.currentTimeMillis() - start));
+      System.exit(written == rows ? 0 : 1);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author matt rajkowski
+ * @created 10/19/26 1:00 PM
+ */
+class KeysetTest {
+
+  @Test
+  void defaultSortWithKeyColumn() {
+    DataConstraints constraints = new DataConstraints(1, 20)
+        .setDefaultColumnToSortBy("LOWER(items.name)")
+        .setKeyColumn("items.item_id");
+    Keyset keyset = Keyset.create(constraints);
+    Assertions.assertNotNull(keyset);
+    Assertions.assertEquals(2, keyset.size());
+    Assertions.assertEquals(" ORDER BY LOWER(items.name) ASC NULLS LAST, items.item_id ASC", keyset.createOrderByClause());
+
+    SqlValue condition = keyset.createCondition(new Object[] { "widget", 42L });
+    Assertions.assertEquals("((LOWER(items.name), items.item_id) > (?, ?) OR (LOWER(items.name) IS NULL))",
+        condition.getFieldOrClause());
+    Assertions.assertArrayEquals(new Object[] { "widget", 42L }, condition.getObjectValues());
+  }
+
+  @Test
+  void mixedDirections() {
+    DataConstraints constraints = new DataConstraints(1, 20)
+        .setDefaultColumnToSortBy("created desc, COALESCE(last_name, first_name) asc")
+        .setKeyColumn("user_id");
+    Keyset keyset = Keyset.create(constraints);
+    Assertions.assertNotNull(keyset);
+    Assertions.assertEquals(3, keyset.size());
+
+    SqlValue condition = keyset.createCondition(new Object[] { 1L, "b", 7L });
+    Assertions.assertEquals("((created < ?) OR (created = ? AND (COALESCE(last_name, first_name) > ? OR "
+        + "COALESCE(last_name, first_name) IS NULL)) OR "
+        + "(created = ? AND COALESCE(last_name, first_name) = ? AND user_id > ?))", condition.getFieldOrClause());
+    Assertions.assertEquals(6, condition.getObjectValues().length);
+  }
+
+  @Test
+  void nullSortValues() {
+    DataConstraints constraints = new DataConstraints(1, 20)
+        .setDefaultColumnToSortBy("shipped desc, name")
+        .setKeyColumn("id");
+    Keyset keyset = Keyset.create(constraints);
+    Assertions.assertEquals(" ORDER BY shipped DESC NULLS FIRST, name ASC NULLS LAST, id ASC",
+        keyset.createOrderByClause());
+
+    // The last row of the page had no shipped date or name, the cursor keeps the NULLs
+    Object[] values = new Object[] { null, null, 12L };
+    String cursor = keyset.encode(values);
+    Assertions.assertNotNull(cursor);
+    Assertions.assertArrayEquals(values, keyset.decode(cursor));
+
+    SqlValue condition = keyset.createCondition(keyset.decode(cursor));
+    Assertions.assertEquals("((shipped IS NOT NULL) OR (shipped IS NULL AND name IS NULL AND id > ?))",
+        condition.getFieldOrClause());
+    Assertions.assertArrayEquals(new Object[] { 12L }, condition.getObjectValues());
+
+    // Ascending NULLs are last, only the rows with the same NULLs and a higher key follow
+    Keyset ascending = Keyset.create(new DataConstraints(1, 20).setDefaultColumnToSortBy("name").setKeyColumn("id"));
+    Assertions.assertEquals("((name IS NULL AND id > ?))",
+        ascending.createCondition(new Object[] { null, 5L }).getFieldOrClause());
+    Assertions.assertEquals("((name, id) > (?, ?) OR (name IS NULL))",
+        ascending.createCondition(new Object[] { "b", 5L }).getFieldOrClause());
+  }
+
+  @Test
+  void keyColumnInSort() {
+    DataConstraints constraints = new DataConstraints(1, 20)
+        .setDefaultColumnToSortBy("order_id desc")
+        .setKeyColumn("order_id");
+    Keyset keyset = Keyset.create(constraints);
+    Assertions.assertEquals(" ORDER BY order_id DESC", keyset.createOrderByClause());
+    Assertions.assertEquals("((order_id) < (?))", keyset.createCondition(new Object[] { 100L }).getFieldOrClause());
+
+    // Without a key column, or with a nulls ordering, the sort is not used for seeking
+    Assertions.assertNull(Keyset.create(new DataConstraints(1, 20).setDefaultColumnToSortBy("order_id desc")));
+    Assertions.assertNull(Keyset.create(
+        new DataConstraints(1, 20).setDefaultColumnToSortBy("shipped desc nulls last").setKeyColumn("order_id")));
+  }
+
+  @Test
+  void cursorRoundTrip() {
+    DataConstraints constraints = new DataConstraints(1, 20)
+        .setDefaultColumnToSortBy("created desc, name")
+        .setKeyColumn("id");
+    Keyset keyset = Keyset.create(constraints);
+    Timestamp created = new Timestamp(1760000000123L);
+    created.setNanos(123456789);
+    Object[] values = new Object[] { created, "Café", 12L };
+    String cursor = keyset.encode(values);
+    Assertions.assertNotNull(cursor);
+    Assertions.assertArrayEquals(values, keyset.decode(cursor));
+
+    // A different sort or a damaged value starts over
+    Keyset otherKeyset = Keyset.create(new DataConstraints(1, 20).setDefaultColumnToSortBy("created, name").setKeyColumn("id"));
+    Assertions.assertNull(otherKeyset.decode(cursor));
+    Assertions.assertNull(keyset.decode("not a cursor!"));
+    Assertions.assertNull(keyset.decode(cursor.substring(0, 8)));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.database;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author matt rajkowski
+ * @created 10/19/26 2:00 PM
+ */
+class QueryProfilerTest {
+
+  @AfterEach
+  void reset() {
+    QueryProfiler.reset();
+  }
+
+  @Test
+  void fingerprint() {
+    Assertions.assertEquals("select * from items where item_id = ? and name = ?",
+        QueryFingerprint.normalize("SELECT *\n  FROM items WHERE item_id = 42 AND name = 'O''Brien'"));
+    Assertions.assertEquals("select * from users where user_id in (?+) limit ?",
+        QueryFingerprint.normalize("SELECT * FROM users WHERE user_id IN (?,?,?) LIMIT 20"));
+    Assertions.assertEquals(QueryFingerprint.normalize("SELECT * FROM users WHERE user_id IN (1, 2)"),
+        QueryFingerprint.normalize("select * from users where user_id in (7, 8, 9, 10)"));
+    Assertions.assertEquals("insert into t (a, b) values (?+), ...",
+        QueryFingerprint.normalize("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)"));
+    // Identifiers with digits are kept
+    Assertions.assertEquals("select col2 from \"Table1\" where t1.id = ?",
+        QueryFingerprint.normalize("SELECT col2 FROM \"Table1\" WHERE t1.id = 5 -- comment"));
+  }
+
+  @Test
+  void histogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.recordMicros(i * 1000L);
+    }
+    Assertions.assertEquals(1000, histogram.getCount());
+    Assertions.assertEquals(1_000_000L, histogram.getMaxMicros());
+    Assertions.assertEquals(500.5, histogram.getAverageMillis(), 0.01);
+    // Within the precision of the buckets
+    Assertions.assertEquals(500.0, histogram.getPercentileMillis(50), 500.0 * 0.125);
+    Assertions.assertEquals(950.0, histogram.getPercentileMillis(95), 950.0 * 0.125);
+    Assertions.assertTrue(histogram.getPercentileMillis(100) <= 1000.0);
+
+    for (long value : new long[] { 0, 7, 8, 15, 16, 1023, 1024, 123_456_789 }) {
+      int index = LatencyHistogram.bucketIndex(value);
+      Assertions.assertTrue(LatencyHistogram.bucketLowerBound(index) <= value);
+      Assertions.assertTrue(LatencyHistogram.bucketLowerBound(index + 1) > value);
+    }
+  }
+
+  @Test
+  void recordSlowQuery() {
+    QueryProfiler.setSlowQueryThresholdMillis(100);
+    QueryStatistics pool = QueryProfiler.getPool("Test-Pool");
+    String sql = "SELECT * FROM orders WHERE order_id = ?";
+    QueryProfiler.record(pool, sql, 2_000_000L, 1, false, new Object[] { 5L });
+    QueryProfiler.record(pool, sql, 150_000_000L, 1, false, new Object[] { 6L });
+    QueryProfiler.record(pool, sql, 300_000_000L, -1, true, new Object[] { "abc", null, new Timestamp(0) });
+
+    Assertions.assertEquals(3, pool.getExecutions());
+    Assertions.assertEquals(2, pool.getRows());
+    Assertions.assertEquals(1, pool.getErrors());
+    QueryStatistics query = QueryProfiler.getTopQueries(10).get(0);
+    Assertions.assertEquals("select * from orders where order_id = ?", query.getName());
+    Assertions.assertEquals(3, query.getExecutions());
+
+    // Only the first slow query of the interval is sampled
+    Assertions.assertEquals(1, QueryProfiler.getSlowQueries().size());
+    Assertions.assertEquals("[Long]", QueryProfiler.getSlowQueries().get(0).getParameterShape());
+    Assertions.assertEquals("[String(3), null, Timestamp]",
+        QueryProfiler.describeParameters(new Object[] { "abc", null, new Timestamp(0) }));
+    QueryProfiler.setSlowQueryThresholdMillis(250);
+  }
+}
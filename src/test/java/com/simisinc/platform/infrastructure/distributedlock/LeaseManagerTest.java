@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.distributedlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests leases shared by several nodes, including a node which dies while holding one
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:00 PM
+ */
+class LeaseManagerTest {
+
+  private static final String NAME = "process-queue";
+  private static final Duration DURATION = Duration.ofSeconds(60);
+
+  /** The distributed_lock table, on a clock shared by the nodes */
+  private static class MemoryLeaseStore implements LeaseStore {
+
+    private final AtomicLong clock;
+    private final Map<String, Object[]> rows = new HashMap<>();
+    private int acquireCalls = 0;
+    // The leases a writer's transaction is checking
+    private final Set<String> inUse = new HashSet<>();
+
+    MemoryLeaseStore(AtomicLong clock) {
+      this.clock = clock;
+    }
+
+    // uuid, fencing token, lock until, renewing
+    @Override
+    public synchronized Acquisition acquire(String name, String uuid, Duration duration, boolean renewing) {
+      ++acquireCalls;
+      long now = clock.get();
+      Object[] row = rows.get(name);
+      long fencingToken = 1L;
+      boolean stolen = false;
+      if (row != null) {
+        long heldFor = (long) row[2] - now;
+        if (heldFor > 0) {
+          return Acquisition.heldFor(heldFor);
+        }
+        fencingToken = (long) row[1] + 1;
+        stolen = (boolean) row[3];
+      }
+      rows.put(name, new Object[] { uuid, fencingToken, now + LeaseManager.leaseMillis(duration), renewing });
+      return Acquisition.acquired(fencingToken, stolen);
+    }
+
+    @Override
+    public synchronized int renew(String name, String uuid, long fencingToken, Duration duration) {
+      if (!isCurrent(null, name, uuid, fencingToken)) {
+        return LOST;
+      }
+      if (inUse.contains(name)) {
+        return BUSY;
+      }
+      rows.get(name)[2] = clock.get() + LeaseManager.leaseMillis(duration);
+      return RENEWED;
+    }
+
+    @Override
+    public synchronized boolean release(String name, String uuid) {
+      Object[] row = rows.get(name);
+      if (row == null || !row[0].equals(uuid)) {
+        return false;
+      }
+      row[2] = clock.get();
+      row[3] = false;
+      return true;
+    }
+
+    @Override
+    public synchronized boolean isCurrent(Connection connection, String name, String uuid, long fencingToken) {
+      Object[] row = rows.get(name);
+      return row != null && row[0].equals(uuid) && (long) row[1] == fencingToken && (long) row[2] > clock.get();
+    }
+  }
+
+  /** Processes the item only when the lease is current, checked atomically with the write */
+  private static boolean process(MemoryLeaseStore store, LeaseManager node, Lease lease, int item,
+      List<Integer> processed) throws Exception {
+    synchronized (store) {
+      if (!node.isCurrent(null, lease)) {
+        return false;
+      }
+      processed.add(item);
+      return true;
+    }
+  }
+
+  @Test
+  void testTakeoverAfterNodeDies() throws Exception {
+    AtomicLong clock = new AtomicLong(1_000_000L);
+    MemoryLeaseStore store = new MemoryLeaseStore(clock);
+    LeaseManager nodeA = new LeaseManager(store, clock::get);
+    LeaseManager nodeB = new LeaseManager(store, clock::get);
+    List<Integer> processed = new ArrayList<>();
+
+    Lease leaseA = nodeA.acquire(NAME, DURATION, true);
+    assertNotNull(leaseA);
+    assertNull(nodeB.acquire(NAME, DURATION, true));
+    assertEquals(1, nodeB.getStatistics().getContended());
+
+    // Node A works well past the original lease while renewing it, node B keeps trying
+    for (int item = 1; item <= 10; item++) {
+      assertTrue(process(store, nodeA, leaseA, item, processed));
+      clock.addAndGet(10_000L);
+      nodeA.renewAll();
+      assertNull(nodeB.acquire(NAME, DURATION, true));
+    }
+    assertTrue(leaseA.isHeld());
+    assertTrue(nodeA.getStatistics().getRenewals() > 0);
+    assertEquals(1, nodeA.getHolders().size());
+    // Node B only asked the store again once the lease could have expired
+    assertTrue(store.acquireCalls < 12);
+    assertTrue(nodeB.getStatistics().getSkipped() > 0);
+
+    // Node A dies without releasing, node B takes over once the lease expires
+    clock.addAndGet(LeaseManager.leaseMillis(DURATION));
+    Lease leaseB = nodeB.acquire(NAME, DURATION, true);
+    assertNotNull(leaseB);
+    assertTrue(leaseB.getFencingToken() > leaseA.getFencingToken());
+    assertEquals(1, nodeB.getStatistics().getSteals());
+
+    // Node A comes back, its writes are fenced off and its lease is lost
+    assertFalse(process(store, nodeA, leaseA, 11, processed));
+    assertFalse(store.isCurrent(null, NAME, leaseA.getUuid(), leaseA.getFencingToken()));
+    nodeA.renewAll();
+    assertTrue(leaseA.isLost());
+    assertEquals(1, nodeA.getStatistics().getLost());
+    assertTrue(nodeA.getHolders().isEmpty());
+
+    for (int item = 11; item <= 20; item++) {
+      assertTrue(process(store, nodeB, leaseB, item, processed));
+      clock.addAndGet(10_000L);
+      nodeB.renewAll();
+    }
+    assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()), processed);
+
+    // A released lease is taken right away and is not a steal
+    assertTrue(nodeB.release(leaseB));
+    assertFalse(leaseB.isHeld());
+    Lease next = nodeA.acquire(NAME, DURATION, true);
+    assertNotNull(next);
+    assertEquals(leaseB.getFencingToken() + 1, next.getFencingToken());
+    assertEquals(0, nodeA.getStatistics().getSteals());
+  }
+
+  @Test
+  void testLockExpiresWithoutRenewal() {
+    AtomicLong clock = new AtomicLong(1_000_000L);
+    MemoryLeaseStore store = new MemoryLeaseStore(clock);
+    LeaseManager nodeA = new LeaseManager(store, clock::get);
+    LeaseManager nodeB = new LeaseManager(store, clock::get);
+
+    // Locks which are not renewed limit how often a job runs, taking an expired one is not a steal
+    Lease lease = nodeA.acquire(NAME, DURATION, false);
+    assertNotNull(lease);
+    assertEquals(0, nodeA.renewAll());
+    clock.addAndGet(30_000L);
+    assertNull(nodeB.acquire(NAME, DURATION, false));
+    clock.addAndGet(LeaseManager.leaseMillis(DURATION));
+    assertFalse(lease.isHeld());
+    assertFalse(lease.isLost());
+    assertNotNull(nodeB.acquire(NAME, DURATION, false));
+    assertEquals(0, nodeB.getStatistics().getSteals());
+
+    // Releasing by uuid, as the jobs which unlock do
+    Lease other = nodeA.acquire("other", DURATION, false);
+    assertTrue(nodeA.release("other", other.getUuid()));
+    assertFalse(other.isHeld());
+    assertNotNull(nodeB.acquire("other", DURATION, false));
+  }
+
+  @Test
+  void testRenewalWhileLeaseInUse() {
+    AtomicLong clock = new AtomicLong(1_000_000L);
+    MemoryLeaseStore store = new MemoryLeaseStore(clock);
+    LeaseManager node = new LeaseManager(store, clock::get);
+    Lease checked = node.acquire(NAME, DURATION, true);
+    Lease other = node.acquire("other", DURATION, true);
+
+    // A writer is checking one lease, the other is still renewed
+    store.inUse.add(NAME);
+    clock.addAndGet(30_000L);
+    assertEquals(1, node.renewAll());
+    assertEquals(1, node.getStatistics().getRenewalsDeferred());
+    assertEquals(0, node.getStatistics().getRenewalErrors());
+    assertTrue(checked.isHeld());
+    assertEquals(clock.get() + LeaseManager.leaseMillis(DURATION), other.getExpiresAt());
+
+    // Renewed once the writer finishes
+    store.inUse.clear();
+    assertEquals(1, node.renewAll());
+    assertEquals(clock.get() + LeaseManager.leaseMillis(DURATION), checked.getExpiresAt());
+    assertEquals(2, node.getHolders().size());
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests running the startup phases
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 8:00 PM
+ */
+class StartupGraphTest {
+
+  @Test
+  void testDependenciesAndCriticalPath() throws Exception {
+    List<String> finished = new CopyOnWriteArrayList<>();
+    CountDownLatch background = new CountDownLatch(1);
+    CountDownLatch backgroundDone = new CountDownLatch(1);
+    StartupGraph startupGraph = new StartupGraph()
+        .add("a", true, () -> finished.add("a"))
+        .add("b", true, () -> finished.add("b"))
+        .add("c", true, () -> finished.add("c"), "a", "b")
+        .add("later", false, () -> {
+          try {
+            background.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          finished.add("later");
+          backgroundDone.countDown();
+        });
+    startupGraph.start(2).join();
+
+    // The critical phases finished without waiting for the background phase
+    assertEquals(3, finished.size());
+    assertEquals("c", finished.get(2));
+    assertFalse(finished.contains("later"));
+    assertEquals(3, startupGraph.getTimings().size());
+
+    background.countDown();
+    assertTrue(backgroundDone.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testFailures() {
+    List<String> finished = new CopyOnWriteArrayList<>();
+    StartupGraph startupGraph = new StartupGraph()
+        .add("a", true, () -> {
+          throw new IllegalStateException("Expected");
+        })
+        .add("b", true, () -> finished.add("b"), "a");
+    assertThrows(CompletionException.class, () -> startupGraph.start(2).join());
+    assertTrue(finished.isEmpty());
+
+    // Dependencies must already be added
+    assertThrows(IllegalArgumentException.class, () -> new StartupGraph().add("a", true, () -> {
+    }, "b"));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.persistence.medicine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parameters of the statement which creates the medicine reminders
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+class MedicineReminderRepositoryTest {
+
+  /** A statement which keeps the parameters it is given */
+  private static PreparedStatement recordParameters(Map<Integer, Object> parameters) {
+    return (PreparedStatement) Proxy.newProxyInstance(MedicineReminderRepositoryTest.class.getClassLoader(),
+        new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "setLong":
+            case "setTimestamp":
+              parameters.put((Integer) args[0], args[1]);
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test
+  void testCreateParameters() throws Exception {
+    TreeMap<Integer, Object> parameters = new TreeMap<>();
+    Timestamp from = Timestamp.valueOf("2026-10-19 14:30:00");
+    MedicineReminderRepository.setCreateParameters(recordParameters(parameters), 10_001, 20_000, from,
+        LocalDate.of(2026, 10, 19), 31);
+
+    // Every placeholder is set, in order
+    assertEquals(StringUtils.countMatches(MedicineReminderRepository.SQL_CREATE_REMINDERS, "?"), parameters.size());
+    assertEquals(1, parameters.firstKey());
+    assertEquals(parameters.size(), parameters.lastKey());
+
+    // The days generated
+    assertEquals(Timestamp.valueOf("2026-10-19 00:00:00"), parameters.get(1));
+    assertEquals(Timestamp.valueOf("2026-11-18 00:00:00"), parameters.get(2));
+    assertEquals(10_001L, parameters.get(3));
+    assertEquals(20_000L, parameters.get(4));
+    assertEquals(from, parameters.get(5));
+
+    // The unused reminders removed, from the given time through the end of the last day
+    assertEquals(10_001L, parameters.get(6));
+    assertEquals(20_000L, parameters.get(7));
+    assertEquals(from, parameters.get(8));
+    assertEquals(Timestamp.valueOf("2026-11-19 00:00:00"), parameters.get(9));
+  }
+
+  @Test
+  void testSingleDay() throws Exception {
+    TreeMap<Integer, Object> parameters = new TreeMap<>();
+    LocalDate day = LocalDate.of(2026, 11, 8);
+    Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+    MedicineReminderRepository.setCreateParameters(recordParameters(parameters), 7, 7, from, day, 1);
+    assertEquals(parameters.get(1), parameters.get(2));
+    assertEquals(Timestamp.valueOf("2026-11-09 00:00:00"), parameters.get(9));
+    assertEquals(7L, parameters.get(3));
+    assertEquals(7L, parameters.get(4));
+  }
+}
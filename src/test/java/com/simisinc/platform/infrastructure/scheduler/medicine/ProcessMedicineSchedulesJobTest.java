@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Matt Rajkowski (https://github.com/rajkowski)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.simisinc.platform.infrastructure.scheduler.medicine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the medicine id ranges the reminders are created for
+ *
+ * @author matt rajkowski
+ * @created 10/19/26 11:30 PM
+ */
+class ProcessMedicineSchedulesJobTest {
+
+  @Test
+  void testNoMedicines() {
+    assertTrue(ProcessMedicineSchedulesJob.createBatches(0, 10_000).isEmpty());
+    assertTrue(ProcessMedicineSchedulesJob.createBatches(-1, 10_000).isEmpty());
+  }
+
+  @Test
+  void testBatches() {
+    List<long[]> batches = ProcessMedicineSchedulesJob.createBatches(1, 10_000);
+    assertEquals(1, batches.size());
+    assertArrayEquals(new long[] { 1, 10_000 }, batches.get(0));
+
+    assertEquals(1, ProcessMedicineSchedulesJob.createBatches(10_000, 10_000).size());
+
+    batches = ProcessMedicineSchedulesJob.createBatches(25_000, 10_000);
+    assertEquals(3, batches.size());
+    assertArrayEquals(new long[] { 1, 10_000 }, batches.get(0));
+    assertArrayEquals(new long[] { 10_001, 20_000 }, batches.get(1));
+    assertArrayEquals(new long[] { 20_001, 30_000 }, batches.get(2));
+  }
+}
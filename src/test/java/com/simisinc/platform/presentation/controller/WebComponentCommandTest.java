@@ -362,4 +362,74 @@ class WebComponentCommandTest {
     groups.add("researchers");
     Assertions.assertFalse(WebComponentCommand.allowsUser(roles, groups, userSession));
   }
+
+  @Test
+  void compiledWidgetMaskTest() {
+    // Related user information
+    List<Role> roleList = new ArrayList<>();
+    roleList.add(new Role("Content Manager", "content-manager"));
+    List<Group> groupList = new ArrayList<>();
+    Group ssoGroup = new Group("Staff", "staff");
+    ssoGroup.setOAuthPath("STAFF-SSO");
+    groupList.add(ssoGroup);
+
+    // User information
+    User user = new User();
+    user.setId(1L);
+    user.setRoleList(roleList);
+    user.setGroupList(groupList);
+
+    // Log the user in
+    UserSession userSession = new UserSession();
+    userSession.login(user);
+    UserSession guestSession = new UserSession();
+
+    // Component with no restrictions
+    Widget widget = new Widget();
+    Assertions.assertFalse(widget.getAccessMask().isRestricted());
+    Assertions.assertTrue(WebComponentCommand.allowsUser(widget, userSession));
+    Assertions.assertTrue(WebComponentCommand.allowsUser(widget, guestSession));
+
+    // Any of these: admin, content-manager AND any of these: STAFF-SSO
+    List<String> roles = new ArrayList<>();
+    roles.add("admin");
+    roles.add("content-manager");
+    widget.setRoles(roles);
+    List<String> groups = new ArrayList<>();
+    groups.add("STAFF-SSO");
+    widget.setGroups(groups);
+    Assertions.assertTrue(WebComponentCommand.allowsUser(widget, userSession));
+    Assertions.assertFalse(WebComponentCommand.allowsUser(widget, guestSession));
+
+    // The mask is recompiled when the roles change
+    List<String> guestRoles = new ArrayList<>();
+    guestRoles.add("guest");
+    widget.setRoles(guestRoles);
+    widget.setGroups(new ArrayList<>());
+    Assertions.assertFalse(WebComponentCommand.allowsUser(widget, userSession));
+    Assertions.assertTrue(WebComponentCommand.allowsUser(widget, guestSession));
+  }
+
+  @Test
+  void attributeValuesTest() {
+    // Related user information
+    List<Role> roleList = new ArrayList<>();
+    roleList.add(new Role("System Administrator", "admin"));
+
+    // User information
+    User user = new User();
+    user.setId(1L);
+    user.setRoleList(roleList);
+    user.setGroupList(new ArrayList<>());
+
+    // Log the user in
+    UserSession userSession = new UserSession();
+    userSession.login(user);
+
+    Assertions.assertTrue(WebComponentCommand.allowsUser((String) null, null, userSession));
+    Assertions.assertTrue(WebComponentCommand.allowsUser("admin, content-manager", "", userSession));
+    Assertions.assertFalse(WebComponentCommand.allowsUser("guest", null, userSession));
+    Assertions.assertFalse(WebComponentCommand.allowsUser("admin", "testers", userSession));
+    Assertions.assertTrue(WebComponentCommand.allowsUser("guest", null, new UserSession()));
+  }
 }